@@ -0,0 +1,239 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics.currency;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.io.Serializable;
+import java.lang.invoke.MethodHandles;
+import java.util.Collection;
+
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaBean;
+import org.joda.beans.TypedMetaBean;
+import org.joda.beans.gen.BeanDefinition;
+import org.joda.beans.gen.ImmutableConstructor;
+import org.joda.beans.gen.PropertyDefinition;
+import org.joda.beans.impl.light.LightMetaBean;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+
+/**
+ * The FX rates between a set of currencies, used to convert many amounts.
+ * <p>
+ * The context is built once from an {@link FxRateProvider}, which may derive each rate
+ * from market data and triangulation. The rates between all the currencies of the context
+ * are then held in a dense matrix, indexed by the position of the currencies in the context.
+ * <p>
+ * Converting an amount only involves a lookup in the matrix.
+ * Callers converting many amounts can find the index of each currency once with
+ * {@link #currencyIndex(Currency)} and use {@link #fxRate(int, int)} for each amount.
+ */
+@BeanDefinition(style = "light")
+public final class FxConversionContext
+    implements FxRateProvider, ImmutableBean, Serializable {
+
+  /**
+   * The currencies, in the order of the indices.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ImmutableList<Currency> currencies;
+  /**
+   * The rates, with one row per base currency and one column per counter currency.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final DoubleMatrix rates;
+  /**
+   * The index of each currency.
+   */
+  private final transient ImmutableMap<Currency, Integer> currencyIndices;  // derived
+  /**
+   * The rates, indexed by base currency then counter currency.
+   */
+  private final transient double[][] rateArray;  // derived
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance holding the FX rates between the specified currencies.
+   * <p>
+   * The rate between each pair of currencies is obtained from the provider once.
+   *
+   * @param currencies  the currencies
+   * @param fxRateProvider  the provider of the FX rates
+   * @return the context
+   * @throws RuntimeException if an FX rate between the currencies is not available
+   */
+  public static FxConversionContext of(Collection<Currency> currencies, FxRateProvider fxRateProvider) {
+    ArgChecker.noNulls(currencies, "currencies");
+    ArgChecker.notNull(fxRateProvider, "fxRateProvider");
+    ImmutableList<Currency> list = currencies.stream().distinct().collect(toImmutableList());
+    int size = list.size();
+    double[][] rates = new double[size][size];
+    for (int i = 0; i < size; i++) {
+      for (int j = 0; j < size; j++) {
+        rates[i][j] = i == j ? 1d : fxRateProvider.fxRate(list.get(i), list.get(j));
+      }
+    }
+    return new FxConversionContext(list, DoubleMatrix.ofUnsafe(rates));
+  }
+
+  @ImmutableConstructor
+  private FxConversionContext(ImmutableList<Currency> currencies, DoubleMatrix rates) {
+    JodaBeanUtils.notNull(currencies, "currencies");
+    JodaBeanUtils.notNull(rates, "rates");
+    ArgChecker.isTrue(
+        rates.rowCount() == currencies.size() && rates.columnCount() == currencies.size(),
+        "The rates must be a square matrix of size {}, but was {}x{}",
+        currencies.size(),
+        rates.rowCount(),
+        rates.columnCount());
+    this.currencies = currencies;
+    this.rates = rates;
+    ImmutableMap.Builder<Currency, Integer> builder = ImmutableMap.builder();
+    for (int i = 0; i < currencies.size(); i++) {
+      builder.put(currencies.get(i), i);
+    }
+    this.currencyIndices = builder.build();
+    this.rateArray = rates.toArrayUnsafe();
+  }
+
+  // ensure standard constructor is invoked
+  private Object readResolve() {
+    return new FxConversionContext(currencies, rates);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the index of a currency in the context.
+   *
+   * @param currency  the currency
+   * @return the index of the currency
+   * @throws IllegalArgumentException if the currency is not in the context
+   */
+  public int currencyIndex(Currency currency) {
+    Integer index = currencyIndices.get(currency);
+    if (index == null) {
+      throw new IllegalArgumentException(Messages.format(
+          "No FX rate found for {}, context only contains rates for {}", currency, currencies));
+    }
+    return index;
+  }
+
+  /**
+   * Gets the FX rate between two currencies of the context, identified by their index.
+   * <p>
+   * The rate returned is the rate from the base currency to the counter currency
+   * as defined by this formula: {@code (1 * baseCurrency = fxRate * counterCurrency)}.
+   *
+   * @param baseIndex  the index of the base currency, to convert from
+   * @param counterIndex  the index of the counter currency, to convert to
+   * @return the FX rate
+   */
+  public double fxRate(int baseIndex, int counterIndex) {
+    return rateArray[baseIndex][counterIndex];
+  }
+
+  @Override
+  public double fxRate(Currency baseCurrency, Currency counterCurrency) {
+    if (baseCurrency.equals(counterCurrency)) {
+      return 1d;
+    }
+    return rateArray[currencyIndex(baseCurrency)][currencyIndex(counterCurrency)];
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  /**
+   * The meta-bean for {@code FxConversionContext}.
+   */
+  private static final TypedMetaBean<FxConversionContext> META_BEAN =
+      LightMetaBean.of(
+          FxConversionContext.class,
+          MethodHandles.lookup(),
+          new String[] {
+              "currencies",
+              "rates"},
+          ImmutableList.of(),
+          null);
+
+  /**
+   * The meta-bean for {@code FxConversionContext}.
+   * @return the meta-bean, not null
+   */
+  public static TypedMetaBean<FxConversionContext> meta() {
+    return META_BEAN;
+  }
+
+  static {
+    MetaBean.register(META_BEAN);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  @Override
+  public TypedMetaBean<FxConversionContext> metaBean() {
+    return META_BEAN;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the currencies, in the order of the indices.
+   * @return the value of the property, not null
+   */
+  public ImmutableList<Currency> getCurrencies() {
+    return currencies;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the rates, with one row per base currency and one column per counter currency.
+   * @return the value of the property, not null
+   */
+  public DoubleMatrix getRates() {
+    return rates;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      FxConversionContext other = (FxConversionContext) obj;
+      return JodaBeanUtils.equal(currencies, other.currencies) &&
+          JodaBeanUtils.equal(rates, other.rates);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(currencies);
+    hash = hash * 31 + JodaBeanUtils.hashCode(rates);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(96);
+    buf.append("FxConversionContext{");
+    buf.append("currencies").append('=').append(currencies).append(',').append(' ');
+    buf.append("rates").append('=').append(JodaBeanUtils.toString(rates));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-------------------------- AUTOGENERATED END --------------------------
+}
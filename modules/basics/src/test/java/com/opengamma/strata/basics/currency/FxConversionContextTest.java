@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics.currency;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.JPY;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * Test {@link FxConversionContext}.
+ */
+@Test
+public class FxConversionContextTest {
+
+  private static final double TOL = 1e-12;
+  private static final FxMatrix MATRIX = FxMatrix.builder()
+      .addRate(GBP, USD, 1.4d)
+      .addRate(EUR, USD, 1.2d)
+      .build();
+
+  //-------------------------------------------------------------------------
+  public void test_of() {
+    FxConversionContext test = FxConversionContext.of(ImmutableList.of(GBP, EUR, USD, GBP), MATRIX);
+    assertThat(test.getCurrencies()).containsExactly(GBP, EUR, USD);
+    assertThat(test.currencyIndex(GBP)).isEqualTo(0);
+    assertThat(test.currencyIndex(EUR)).isEqualTo(1);
+    assertThat(test.currencyIndex(USD)).isEqualTo(2);
+    assertThat(test.fxRate(0, 0)).isEqualTo(1d);
+    assertThat(test.fxRate(0, 2)).isEqualTo(1.4d);
+    assertThat(test.fxRate(2, 0)).isCloseTo(1 / 1.4d, offset(TOL));
+    assertThat(test.fxRate(0, 1)).isCloseTo(1.4d / 1.2d, offset(TOL));
+    assertThat(test.fxRate(GBP, EUR)).isEqualTo(test.fxRate(0, 1));
+    assertThat(test.fxRate(EUR, GBP)).isCloseTo(MATRIX.fxRate(EUR, GBP), offset(TOL));
+    assertThat(test.fxRate(JPY, JPY)).isEqualTo(1d);
+  }
+
+  public void test_of_missingRate() {
+    assertThrowsIllegalArg(() -> FxConversionContext.of(ImmutableList.of(GBP, JPY), MATRIX));
+  }
+
+  public void test_unknownCurrency() {
+    FxConversionContext test = FxConversionContext.of(ImmutableList.of(GBP, USD), MATRIX);
+    assertThrowsIllegalArg(() -> test.currencyIndex(EUR));
+    assertThrowsIllegalArg(() -> test.fxRate(GBP, EUR));
+  }
+
+  public void test_convertedTo() {
+    FxConversionContext test = FxConversionContext.of(ImmutableList.of(GBP, EUR, USD), MATRIX);
+    MultiCurrencyAmountArray amounts = MultiCurrencyAmountArray.of(
+        MultiCurrencyAmount.of(CurrencyAmount.of(GBP, 10), CurrencyAmount.of(EUR, 20)),
+        MultiCurrencyAmount.of(CurrencyAmount.of(USD, 30)));
+    CurrencyAmountArray converted = amounts.convertedTo(USD, test);
+    assertThat(converted.getCurrency()).isEqualTo(USD);
+    assertThat(converted.getValues().equalWithTolerance(DoubleArray.of(10 * 1.4 + 20 * 1.2, 30), TOL)).isTrue();
+    assertThat(amounts.get(0).convertedTo(GBP, test).getAmount())
+        .isCloseTo(amounts.get(0).convertedTo(GBP, MATRIX).getAmount(), offset(TOL));
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    FxConversionContext test = FxConversionContext.of(ImmutableList.of(GBP, USD), MATRIX);
+    coverImmutableBean(test);
+    FxConversionContext test2 = FxConversionContext.of(ImmutableList.of(GBP, EUR), MATRIX);
+    coverBeanEquals(test, test2);
+  }
+
+  public void test_serialization() {
+    assertSerialization(FxConversionContext.of(ImmutableList.of(GBP, USD), MATRIX));
+  }
+
+}
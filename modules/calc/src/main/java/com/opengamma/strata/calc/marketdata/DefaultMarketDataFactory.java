@@ -18,11 +18,13 @@ import java.util.Set;
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.collect.MapStream;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.data.MarketDataId;
 import com.opengamma.strata.data.ObservableId;
+import com.opengamma.strata.data.scenario.DoubleScenarioArray;
 import com.opengamma.strata.data.scenario.MarketDataBox;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 
@@ -328,11 +330,33 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
       PerturbationMapping<Object> mapping = (PerturbationMapping<Object>) optionalMapping.get();
       MarketDataBox<Object> objectValue = ((MarketDataBox<Object>) value);
       // Result.of() catches any exceptions thrown by the mapping and wraps them in a failure
-      Result<MarketDataBox<?>> result = Result.of(() -> mapping.applyPerturbation(objectValue, refData));
+      Result<MarketDataBox<?>> result =
+          Result.of(() -> toPrimitiveStorage(id, mapping.applyPerturbation(objectValue, refData)));
       builder.addResult(id, result);
     } else {
       builder.addBox(id, value);
     }
   }
 
+  /**
+   * Stores the scenario values of observable market data in a primitive array.
+   * <p>
+   * Perturbations of observable data may return a list of boxed values, one for each scenario.
+   * The values are copied to a primitive array, which reduces the memory footprint when there are many scenarios.
+   *
+   * @param id  ID of the market data value
+   * @param value  the market data value
+   * @return the market data value, with the scenario values of observable data in a primitive array
+   */
+  @SuppressWarnings("unchecked")
+  private static MarketDataBox<?> toPrimitiveStorage(MarketDataId<?> id, MarketDataBox<?> value) {
+    if (id instanceof ObservableId && value.isScenarioValue() &&
+        !(value.getScenarioValue() instanceof DoubleScenarioArray)) {
+      // the value type of an observable ID is Double
+      MarketDataBox<Double> doubleValue = (MarketDataBox<Double>) value;
+      return MarketDataBox.ofScenarioValues(DoubleArray.of(value.getScenarioCount(), doubleValue::getValue));
+    }
+    return value;
+  }
+
 }
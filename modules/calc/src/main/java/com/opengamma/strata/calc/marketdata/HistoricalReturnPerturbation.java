@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.marketdata;
+
+import java.lang.invoke.MethodHandles;
+
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaBean;
+import org.joda.beans.TypedMetaBean;
+import org.joda.beans.gen.BeanDefinition;
+import org.joda.beans.gen.PropertyDefinition;
+import org.joda.beans.impl.light.LightMetaBean;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.data.scenario.MarketDataBox;
+import com.opengamma.strata.data.scenario.ScenarioPerturbation;
+
+/**
+ * A perturbation that applies the historical returns of a value to the current value.
+ * <p>
+ * The returns are those of one value of a historical simulation, see {@link HistoricalScenarioGenerator}.
+ */
+@BeanDefinition(style = "light", constructorScope = "package")
+final class HistoricalReturnPerturbation
+    implements ScenarioPerturbation<Double>, ImmutableBean {
+
+  /**
+   * The type of the returns.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final HistoricalReturnType returnType;
+  /**
+   * The returns of the perturbed value, one per scenario.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final DoubleArray returns;
+
+  //-------------------------------------------------------------------------
+  @Override
+  public MarketDataBox<Double> applyTo(MarketDataBox<Double> marketData, ReferenceData refData) {
+    int scenarioCount = getScenarioCount();
+    if (marketData.isScenarioValue() && marketData.getScenarioCount() != scenarioCount) {
+      throw new IllegalArgumentException(Messages.format(
+          "Scenario count {} does not equal the scenario count of the value {}",
+          scenarioCount,
+          marketData.getScenarioCount()));
+    }
+    DoubleArray values = DoubleArray.of(
+        scenarioCount,
+        scenarioIndex -> returnType.applyReturn(
+            marketData.getValue(scenarioIndex), returns.get(scenarioIndex)));
+    return MarketDataBox.ofScenarioValues(values);
+  }
+
+  @Override
+  public int getScenarioCount() {
+    return returns.size();
+  }
+
+  @Override
+  public Class<Double> getMarketDataType() {
+    return Double.class;
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  /**
+   * The meta-bean for {@code HistoricalReturnPerturbation}.
+   */
+  private static final TypedMetaBean<HistoricalReturnPerturbation> META_BEAN =
+      LightMetaBean.of(
+          HistoricalReturnPerturbation.class,
+          MethodHandles.lookup(),
+          new String[] {
+              "returnType",
+              "returns"},
+          new Object[0]);
+
+  /**
+   * The meta-bean for {@code HistoricalReturnPerturbation}.
+   * @return the meta-bean, not null
+   */
+  public static TypedMetaBean<HistoricalReturnPerturbation> meta() {
+    return META_BEAN;
+  }
+
+  static {
+    MetaBean.register(META_BEAN);
+  }
+
+  /**
+   * Creates an instance.
+   * @param returnType  the value of the property, not null
+   * @param returns  the value of the property, not null
+   */
+  HistoricalReturnPerturbation(
+      HistoricalReturnType returnType,
+      DoubleArray returns) {
+    JodaBeanUtils.notNull(returnType, "returnType");
+    JodaBeanUtils.notNull(returns, "returns");
+    this.returnType = returnType;
+    this.returns = returns;
+  }
+
+  @Override
+  public TypedMetaBean<HistoricalReturnPerturbation> metaBean() {
+    return META_BEAN;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the type of the returns.
+   * @return the value of the property, not null
+   */
+  public HistoricalReturnType getReturnType() {
+    return returnType;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the returns of the perturbed value, one per scenario.
+   * @return the value of the property, not null
+   */
+  public DoubleArray getReturns() {
+    return returns;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      HistoricalReturnPerturbation other = (HistoricalReturnPerturbation) obj;
+      return JodaBeanUtils.equal(returnType, other.returnType) &&
+          JodaBeanUtils.equal(returns, other.returns);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(returnType);
+    hash = hash * 31 + JodaBeanUtils.hashCode(returns);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(96);
+    buf.append("HistoricalReturnPerturbation{");
+    buf.append("returnType").append('=').append(returnType).append(',').append(' ');
+    buf.append("returns").append('=').append(JodaBeanUtils.toString(returns));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-------------------------- AUTOGENERATED END --------------------------
+}
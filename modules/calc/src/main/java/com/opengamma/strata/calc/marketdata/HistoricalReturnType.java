@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.marketdata;
+
+import org.joda.convert.FromString;
+import org.joda.convert.ToString;
+
+import com.opengamma.strata.collect.named.EnumNames;
+import com.opengamma.strata.collect.named.NamedEnum;
+
+/**
+ * The type of return used in a historical simulation.
+ * <p>
+ * The return between two observations of a value is applied to the current value to obtain
+ * the value of a scenario, see {@link HistoricalScenarioGenerator}.
+ */
+public enum HistoricalReturnType implements NamedEnum {
+
+  /**
+   * An absolute return, the difference between the two observations.
+   * <p>
+   * {@code return = (endValue - startValue)}
+   * <p>
+   * {@code scenarioValue = (value + return)}
+   */
+  ABSOLUTE {
+    @Override
+    public double calculateReturn(double startValue, double endValue) {
+      return endValue - startValue;
+    }
+
+    @Override
+    public double applyReturn(double value, double returnValue) {
+      return value + returnValue;
+    }
+  },
+
+  /**
+   * A relative return, the change between the two observations as a decimal percentage.
+   * <p>
+   * {@code return = (endValue / startValue - 1)}
+   * <p>
+   * {@code scenarioValue = (value + value * return)}
+   * <p>
+   * The return is well-defined for nonzero {@code startValue}.
+   */
+  RELATIVE {
+    @Override
+    public double calculateReturn(double startValue, double endValue) {
+      return endValue / startValue - 1d;
+    }
+
+    @Override
+    public double applyReturn(double value, double returnValue) {
+      return value + value * returnValue;
+    }
+  };
+
+  // helper for name conversions
+  private static final EnumNames<HistoricalReturnType> NAMES = EnumNames.of(HistoricalReturnType.class);
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from the specified name.
+   * <p>
+   * Parsing handles the mixed case form produced by {@link #toString()} and
+   * the upper and lower case variants of the enum constant name.
+   *
+   * @param name  the name to parse
+   * @return the type
+   * @throws IllegalArgumentException if the name is not known
+   */
+  @FromString
+  public static HistoricalReturnType of(String name) {
+    return NAMES.parse(name);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the return between two observations.
+   *
+   * @param startValue  the observation at the start of the period
+   * @param endValue  the observation at the end of the period
+   * @return the return
+   */
+  public abstract double calculateReturn(double startValue, double endValue);
+
+  /**
+   * Applies a return to a value.
+   *
+   * @param value  the value
+   * @param returnValue  the return
+   * @return the value after the return
+   */
+  public abstract double applyReturn(double value, double returnValue);
+
+  /**
+   * Returns the formatted name of the type.
+   *
+   * @return the formatted string representing the type
+   */
+  @ToString
+  @Override
+  public String toString() {
+    return NAMES.format(this);
+  }
+
+}
@@ -0,0 +1,291 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.marketdata;
+
+import java.lang.invoke.MethodHandles;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.Set;
+
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaBean;
+import org.joda.beans.TypedMetaBean;
+import org.joda.beans.gen.BeanDefinition;
+import org.joda.beans.gen.PropertyDefinition;
+import org.joda.beans.impl.light.LightMetaBean;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.ObservableId;
+
+/**
+ * Generates the scenarios of a historical simulation from the histories of observable market data.
+ * <p>
+ * The scenarios are based on the last {@code lookback + 1} observation dates on or before an end date.
+ * Each scenario applies the return of each value between two consecutive observation dates
+ * to the current value. There are thus {@code lookback} scenarios.
+ * The observation dates are the dates of all the histories.
+ * If a history has no observation on a date, its previous observation is used.
+ * <p>
+ * The returns of all the values are calculated in a single pass into a matrix with one row per scenario
+ * and one column per value. The matrix is shared by the perturbations of all the values,
+ * thus the scenario definition does not hold any market data for each date.
+ * <p>
+ * Curves are perturbed through the histories of the quotes of their nodes,
+ * the perturbed quotes being used when the curves are calibrated.
+ */
+@BeanDefinition(style = "light")
+public final class HistoricalScenarioGenerator implements ImmutableBean {
+
+  /**
+   * The number of returns in the lookback window, which is the number of scenarios.
+   */
+  @PropertyDefinition(validate = "ArgChecker.notNegativeOrZero")
+  private final int lookback;
+  /**
+   * The type of the returns.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final HistoricalReturnType returnType;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from the lookback window and the type of the returns.
+   *
+   * @param lookback  the number of returns in the lookback window, which is the number of scenarios
+   * @param returnType  the type of the returns
+   * @return the generator
+   */
+  public static HistoricalScenarioGenerator of(int lookback, HistoricalReturnType returnType) {
+    return new HistoricalScenarioGenerator(lookback, returnType);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Generates the scenario definition of a historical simulation.
+   * <p>
+   * The scenario definition contains a perturbation mapping for each identifier.
+   * The name of each scenario is the end date of its returns.
+   *
+   * @param histories  the histories, keyed by identifier
+   * @param endDate  the last observation date, typically the valuation date
+   * @return the scenario definition
+   * @throws IllegalArgumentException if there are not enough observations
+   */
+  public ScenarioDefinition generate(
+      Map<? extends ObservableId, LocalDateDoubleTimeSeries> histories,
+      LocalDate endDate) {
+
+    ArgChecker.notNull(histories, "histories");
+    ImmutableList<ObservableId> ids = ImmutableList.copyOf(histories.keySet());
+    ImmutableList<LocalDateDoubleTimeSeries> series = ImmutableList.copyOf(histories.values());
+    LocalDate[] dates = findObservationDates(series, endDate);
+    DoubleMatrix returns = calculateReturns(series, dates);
+    List<PerturbationMapping<Double>> mappings = new ArrayList<>(ids.size());
+    for (int i = 0; i < ids.size(); i++) {
+      mappings.add(PerturbationMapping.of(
+          MarketDataFilter.ofId(ids.get(i)),
+          new HistoricalReturnPerturbation(returnType, returns.column(i))));
+    }
+    List<String> scenarioNames = new ArrayList<>(lookback);
+    for (int i = 1; i < dates.length; i++) {
+      scenarioNames.add(dates[i].toString());
+    }
+    return ScenarioDefinition.ofMappings(mappings, scenarioNames);
+  }
+
+  /**
+   * Calculates the returns of the histories.
+   * <p>
+   * This is used to build the perturbations of data that is not observable, such as the nodes of a curve.
+   * The returns are in the form of a matrix with one row per scenario and one column per history.
+   *
+   * @param histories  the histories
+   * @param endDate  the last observation date, typically the valuation date
+   * @return the returns, with one row per scenario and one column per history
+   * @throws IllegalArgumentException if there are not enough observations
+   */
+  public DoubleMatrix calculateReturns(List<LocalDateDoubleTimeSeries> histories, LocalDate endDate) {
+    ArgChecker.noNulls(histories, "histories");
+    return calculateReturns(histories, findObservationDates(histories, endDate));
+  }
+
+  /**
+   * Finds the observation dates of the histories.
+   * <p>
+   * These are the last {@code lookback + 1} dates on or before the end date of any of the histories.
+   * The return of each scenario is between two consecutive observation dates.
+   *
+   * @param histories  the histories
+   * @param endDate  the last observation date, typically the valuation date
+   * @return the observation dates, in ascending order
+   * @throws IllegalArgumentException if there are not enough observations
+   */
+  public ImmutableList<LocalDate> observationDates(List<LocalDateDoubleTimeSeries> histories, LocalDate endDate) {
+    ArgChecker.noNulls(histories, "histories");
+    return ImmutableList.copyOf(findObservationDates(histories, endDate));
+  }
+
+  //-------------------------------------------------------------------------
+  // the last dates on or before the end date, the last dates of the union being among the last dates of each history
+  private LocalDate[] findObservationDates(List<LocalDateDoubleTimeSeries> histories, LocalDate endDate) {
+    ArgChecker.notNull(endDate, "endDate");
+    int count = lookback + 1;
+    Set<LocalDate> union = new HashSet<>();
+    for (LocalDateDoubleTimeSeries history : histories) {
+      truncate(history, endDate).tailSeries(count).dates().forEach(union::add);
+    }
+    ArgChecker.isTrue(
+        union.size() >= count,
+        "The histories must have at least {} observation dates on or before {}, but have {}",
+        count,
+        endDate,
+        union.size());
+    LocalDate[] dates = union.stream().sorted().toArray(LocalDate[]::new);
+    LocalDate[] observationDates = new LocalDate[count];
+    System.arraycopy(dates, dates.length - count, observationDates, 0, count);
+    return observationDates;
+  }
+
+  // the returns of all the histories in a single pass
+  private DoubleMatrix calculateReturns(List<LocalDateDoubleTimeSeries> histories, LocalDate[] dates) {
+    int count = dates.length;
+    double[][] returns = new double[count - 1][histories.size()];
+    for (int j = 0; j < histories.size(); j++) {
+      LocalDateDoubleTimeSeries history = truncate(histories.get(j), dates[count - 1]).tailSeries(count);
+      double previous = valueOnOrBefore(history, dates[0]);
+      for (int i = 1; i < count; i++) {
+        OptionalDouble value = history.get(dates[i]);
+        double current = value.isPresent() ? value.getAsDouble() : previous;
+        returns[i - 1][j] = returnType.calculateReturn(previous, current);
+        previous = current;
+      }
+    }
+    return DoubleMatrix.ofUnsafe(returns);
+  }
+
+  // the observations on or before the end date
+  private static LocalDateDoubleTimeSeries truncate(LocalDateDoubleTimeSeries history, LocalDate endDate) {
+    if (history.isEmpty() || !history.getLatestDate().isAfter(endDate)) {
+      return history;
+    }
+    if (history.getEarliestDate().isAfter(endDate)) {
+      return LocalDateDoubleTimeSeries.empty();
+    }
+    return history.subSeries(history.getEarliestDate(), endDate.plusDays(1));
+  }
+
+  // the observation on a date, or the previous observation if there is none on the date
+  private static double valueOnOrBefore(LocalDateDoubleTimeSeries history, LocalDate date) {
+    OptionalDouble value = history.get(date);
+    if (value.isPresent()) {
+      return value.getAsDouble();
+    }
+    ArgChecker.isTrue(
+        !history.isEmpty() && history.getEarliestDate().isBefore(date),
+        "History has no observation on or before {}",
+        date);
+    return history.subSeries(history.getEarliestDate(), date).getLatestValue();
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  /**
+   * The meta-bean for {@code HistoricalScenarioGenerator}.
+   */
+  private static final TypedMetaBean<HistoricalScenarioGenerator> META_BEAN =
+      LightMetaBean.of(
+          HistoricalScenarioGenerator.class,
+          MethodHandles.lookup(),
+          new String[] {
+              "lookback",
+              "returnType"},
+          new Object[0]);
+
+  /**
+   * The meta-bean for {@code HistoricalScenarioGenerator}.
+   * @return the meta-bean, not null
+   */
+  public static TypedMetaBean<HistoricalScenarioGenerator> meta() {
+    return META_BEAN;
+  }
+
+  static {
+    MetaBean.register(META_BEAN);
+  }
+
+  private HistoricalScenarioGenerator(
+      int lookback,
+      HistoricalReturnType returnType) {
+    ArgChecker.notNegativeOrZero(lookback, "lookback");
+    JodaBeanUtils.notNull(returnType, "returnType");
+    this.lookback = lookback;
+    this.returnType = returnType;
+  }
+
+  @Override
+  public TypedMetaBean<HistoricalScenarioGenerator> metaBean() {
+    return META_BEAN;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the number of returns in the lookback window, which is the number of scenarios.
+   * @return the value of the property
+   */
+  public int getLookback() {
+    return lookback;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the type of the returns.
+   * @return the value of the property, not null
+   */
+  public HistoricalReturnType getReturnType() {
+    return returnType;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      HistoricalScenarioGenerator other = (HistoricalScenarioGenerator) obj;
+      return (lookback == other.lookback) &&
+          JodaBeanUtils.equal(returnType, other.returnType);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(lookback);
+    hash = hash * 31 + JodaBeanUtils.hashCode(returnType);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(96);
+    buf.append("HistoricalScenarioGenerator{");
+    buf.append("lookback").append('=').append(lookback).append(',').append(' ');
+    buf.append("returnType").append('=').append(JodaBeanUtils.toString(returnType));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-------------------------- AUTOGENERATED END --------------------------
+}
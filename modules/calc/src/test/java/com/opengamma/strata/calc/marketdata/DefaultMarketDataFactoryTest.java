@@ -21,6 +21,7 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
@@ -476,7 +477,7 @@ public class DefaultMarketDataFactoryTest {
         suppliedData,
         REF_DATA, scenarioDefinition);
 
-    assertThat(marketData.getValue(id1)).isEqualTo(MarketDataBox.ofScenarioValues(2d, 3d, 4d));
+    assertThat(marketData.getValue(id1)).isEqualTo(MarketDataBox.ofScenarioValues(DoubleArray.of(2d, 3d, 4d)));
     assertThat(marketData.getValue(id2)).isEqualTo(MarketDataBox.ofSingleValue(2d));
   }
 
@@ -506,7 +507,7 @@ public class DefaultMarketDataFactoryTest {
         REF_DATA, scenarioDefinition);
 
     assertThat(marketData.getValue(id1)).isEqualTo(MarketDataBox.ofSingleValue(1d));
-    assertThat(marketData.getValue(id2)).isEqualTo(MarketDataBox.ofScenarioValues(2.2d, 2.4d, 2.6d));
+    assertThat(marketData.getValue(id2)).isEqualTo(MarketDataBox.ofScenarioValues(DoubleArray.of(2.2d, 2.4d, 2.6d)));
   }
 
   /**
@@ -823,7 +824,7 @@ public class DefaultMarketDataFactoryTest {
         suppliedData,
         REF_DATA, scenarioDefinition);
     MarketDataBox<Double> values = marketData.getValue(id);
-    MarketDataBox<Double> expectedValues = MarketDataBox.ofScenarioValues(2.2, 2.4, 2.6);
+    MarketDataBox<Double> expectedValues = MarketDataBox.ofScenarioValues(DoubleArray.of(2.2, 2.4, 2.6));
     assertThat(values).isEqualTo(expectedValues);
   }
 
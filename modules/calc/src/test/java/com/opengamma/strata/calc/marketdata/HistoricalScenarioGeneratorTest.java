@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.marketdata;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverEnum;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.scenario.MarketDataBox;
+
+/**
+ * Test {@link HistoricalScenarioGenerator}.
+ */
+@Test
+public class HistoricalScenarioGeneratorTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final double TOL = 1e-12;
+  private static final TestObservableId ID_A = TestObservableId.of("A");
+  private static final TestObservableId ID_B = TestObservableId.of("B");
+  private static final LocalDate DATE_1 = date(2018, 6, 4);
+  private static final LocalDate DATE_2 = date(2018, 6, 5);
+  private static final LocalDate DATE_3 = date(2018, 6, 6);
+  private static final LocalDate DATE_4 = date(2018, 6, 7);
+  private static final LocalDate DATE_5 = date(2018, 6, 8);
+  private static final LocalDateDoubleTimeSeries HISTORY_A = LocalDateDoubleTimeSeries.builder()
+      .put(DATE_1, 1d)
+      .put(DATE_2, 2d)
+      .put(DATE_3, 4d)
+      .put(DATE_4, 3d)
+      .put(DATE_5, 5d)
+      .build();
+  // no observation on the third date
+  private static final LocalDateDoubleTimeSeries HISTORY_B = LocalDateDoubleTimeSeries.builder()
+      .put(DATE_1, 10d)
+      .put(DATE_2, 11d)
+      .put(DATE_4, 12d)
+      .put(DATE_5, 14d)
+      .build();
+  private static final Map<TestObservableId, LocalDateDoubleTimeSeries> HISTORIES =
+      ImmutableMap.of(ID_A, HISTORY_A, ID_B, HISTORY_B);
+  private static final List<LocalDateDoubleTimeSeries> HISTORY_LIST = ImmutableList.of(HISTORY_A, HISTORY_B);
+
+  //-------------------------------------------------------------------------
+  public void test_of() {
+    HistoricalScenarioGenerator test = HistoricalScenarioGenerator.of(3, HistoricalReturnType.RELATIVE);
+    assertEquals(test.getLookback(), 3);
+    assertEquals(test.getReturnType(), HistoricalReturnType.RELATIVE);
+    assertThrowsIllegalArg(() -> HistoricalScenarioGenerator.of(0, HistoricalReturnType.RELATIVE));
+  }
+
+  public void test_observationDates() {
+    HistoricalScenarioGenerator test = HistoricalScenarioGenerator.of(3, HistoricalReturnType.ABSOLUTE);
+    assertEquals(test.observationDates(HISTORY_LIST, DATE_5), ImmutableList.of(DATE_2, DATE_3, DATE_4, DATE_5));
+    assertEquals(test.observationDates(HISTORY_LIST, DATE_4), ImmutableList.of(DATE_1, DATE_2, DATE_3, DATE_4));
+    assertEquals(
+        test.observationDates(ImmutableList.of(HISTORY_B), DATE_5.plusDays(3)),
+        ImmutableList.of(DATE_1, DATE_2, DATE_4, DATE_5));
+  }
+
+  public void test_calculateReturns_absolute() {
+    HistoricalScenarioGenerator test = HistoricalScenarioGenerator.of(3, HistoricalReturnType.ABSOLUTE);
+    DoubleMatrix returns = test.calculateReturns(HISTORY_LIST, DATE_5);
+    assertEquals(returns, DoubleMatrix.copyOf(new double[][] {{2d, 0d}, {-1d, 1d}, {2d, 2d}}));
+    DoubleMatrix returnsBefore = test.calculateReturns(HISTORY_LIST, DATE_4);
+    assertEquals(returnsBefore, DoubleMatrix.copyOf(new double[][] {{1d, 1d}, {2d, 0d}, {-1d, 1d}}));
+  }
+
+  public void test_calculateReturns_relative() {
+    HistoricalScenarioGenerator test = HistoricalScenarioGenerator.of(3, HistoricalReturnType.RELATIVE);
+    DoubleMatrix returns = test.calculateReturns(HISTORY_LIST, DATE_5);
+    assertTrue(returns.column(0).equalWithTolerance(DoubleArray.of(1d, -0.25d, 2d / 3d), TOL));
+    assertTrue(returns.column(1).equalWithTolerance(DoubleArray.of(0d, 1d / 11d, 2d / 12d), TOL));
+  }
+
+  public void test_calculateReturns_notEnoughObservations() {
+    assertThrowsIllegalArg(
+        () -> HistoricalScenarioGenerator.of(5, HistoricalReturnType.ABSOLUTE).calculateReturns(HISTORY_LIST, DATE_5));
+    // the history starts after the first observation date
+    LocalDateDoubleTimeSeries late = HISTORY_A.subSeries(DATE_3, DATE_5.plusDays(1));
+    assertThrowsIllegalArg(() -> HistoricalScenarioGenerator.of(3, HistoricalReturnType.ABSOLUTE)
+        .calculateReturns(ImmutableList.of(HISTORY_A, late), DATE_5));
+  }
+
+  public void test_generate() {
+    HistoricalScenarioGenerator test = HistoricalScenarioGenerator.of(3, HistoricalReturnType.RELATIVE);
+    ScenarioDefinition definition = test.generate(HISTORIES, DATE_5);
+    assertEquals(definition.getScenarioCount(), 3);
+    assertEquals(definition.getScenarioNames(), ImmutableList.of("2018-06-06", "2018-06-07", "2018-06-08"));
+    assertEquals(definition.getMappings().size(), 2);
+    PerturbationMapping<?> mappingA = definition.getMappings().get(0);
+    PerturbationMapping<?> mappingB = definition.getMappings().get(1);
+    assertEquals(mappingA.getFilter(), MarketDataFilter.ofId(ID_A));
+    assertEquals(mappingB.getFilter(), MarketDataFilter.ofId(ID_B));
+    // the returns are applied to the current value
+    @SuppressWarnings("unchecked")
+    PerturbationMapping<Double> doubleMappingB = (PerturbationMapping<Double>) mappingB;
+    MarketDataBox<Double> perturbed = doubleMappingB.applyPerturbation(MarketDataBox.ofSingleValue(20d), REF_DATA);
+    assertEquals(perturbed.getScenarioCount(), 3);
+    assertEquals(perturbed.getValue(0), 20d, TOL);
+    assertEquals(perturbed.getValue(1), 20d * 12d / 11d, TOL);
+    assertEquals(perturbed.getValue(2), 20d * 14d / 12d, TOL);
+    MarketDataBox<Double> scenarios = MarketDataBox.ofScenarioValues(DoubleArray.of(20d, 30d, 40d));
+    MarketDataBox<Double> perturbedScenarios = doubleMappingB.applyPerturbation(scenarios, REF_DATA);
+    assertEquals(perturbedScenarios.getValue(0), 20d, TOL);
+    assertEquals(perturbedScenarios.getValue(1), 30d * 12d / 11d, TOL);
+    assertEquals(perturbedScenarios.getValue(2), 40d * 14d / 12d, TOL);
+    assertThrowsIllegalArg(
+        () -> doubleMappingB.applyPerturbation(MarketDataBox.ofScenarioValues(DoubleArray.of(1d, 2d)), REF_DATA));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_returnType() {
+    assertEquals(HistoricalReturnType.ABSOLUTE.calculateReturn(2d, 3d), 1d);
+    assertEquals(HistoricalReturnType.ABSOLUTE.applyReturn(2d, 1d), 3d);
+    assertEquals(HistoricalReturnType.RELATIVE.calculateReturn(2d, 3d), 0.5d);
+    assertEquals(HistoricalReturnType.RELATIVE.applyReturn(2d, 0.5d), 3d);
+    assertEquals(HistoricalReturnType.of("Absolute"), HistoricalReturnType.ABSOLUTE);
+    assertEquals(HistoricalReturnType.RELATIVE.toString(), "Relative");
+  }
+
+  public void coverage() {
+    coverEnum(HistoricalReturnType.class);
+    HistoricalScenarioGenerator test = HistoricalScenarioGenerator.of(3, HistoricalReturnType.RELATIVE);
+    coverImmutableBean(test);
+    coverBeanEquals(test, HistoricalScenarioGenerator.of(2, HistoricalReturnType.ABSOLUTE));
+    HistoricalReturnPerturbation perturbation = new HistoricalReturnPerturbation(
+        HistoricalReturnType.RELATIVE, DoubleArray.of(0.1, 0.2));
+    coverImmutableBean(perturbation);
+    coverBeanEquals(perturbation, new HistoricalReturnPerturbation(
+        HistoricalReturnType.ABSOLUTE, DoubleArray.of(0.1)));
+  }
+
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.io;
+
+import java.time.LocalDate;
+
+/**
+ * Parses primitive values directly from a region of a CSV line.
+ * <p>
+ * These methods avoid creating a {@code String} for common simple formats.
+ * Where the text is not in a simple format, the text is extracted and the standard JDK parser is used,
+ * ensuring that the result and any exception is the same as the JDK parser.
+ */
+final class CsvFieldParser {
+
+  /**
+   * The maximum mantissa that can be represented exactly as a double.
+   */
+  private static final long MAX_EXACT_MANTISSA = 1L << 53;
+  /**
+   * The powers of ten that can be represented exactly as a double.
+   */
+  private static final double[] EXACT_POWERS_OF_TEN = {
+      1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+      1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+  //-------------------------------------------------------------------------
+  /**
+   * Parses a double from the specified region of the text.
+   * <p>
+   * Decimal numbers with up to 18 significant digits and a small exponent are parsed directly.
+   * In this case the mantissa and power of ten are both exact doubles, thus the result of
+   * a single multiplication or division is correctly rounded, matching {@link Double#parseDouble(String)}.
+   * All other text is passed to {@code Double.parseDouble}.
+   *
+   * @param text  the text
+   * @param start  the start index, inclusive
+   * @param end  the end index, exclusive
+   * @return the parsed value
+   * @throws NumberFormatException if the text cannot be parsed
+   */
+  static double parseDouble(CharSequence text, int start, int end) {
+    int pos = start;
+    boolean negative = false;
+    if (pos < end && (text.charAt(pos) == '-' || text.charAt(pos) == '+')) {
+      negative = text.charAt(pos) == '-';
+      pos++;
+    }
+    long mantissa = 0;
+    int digits = 0;
+    int significantDigits = 0;
+    int fractionDigits = 0;
+    boolean fraction = false;
+    while (pos < end) {
+      char ch = text.charAt(pos);
+      if (ch >= '0' && ch <= '9') {
+        digits++;
+        if (mantissa > 0 || ch != '0') {
+          significantDigits++;
+        }
+        if (significantDigits > 18) {
+          return Double.parseDouble(text.subSequence(start, end).toString());
+        }
+        mantissa = mantissa * 10 + (ch - '0');
+        if (fraction) {
+          fractionDigits++;
+        }
+      } else if (ch == '.' && !fraction) {
+        fraction = true;
+      } else {
+        break;
+      }
+      pos++;
+    }
+    if (digits == 0) {
+      return Double.parseDouble(text.subSequence(start, end).toString());
+    }
+    int exponent = 0;
+    if (pos < end && (text.charAt(pos) == 'e' || text.charAt(pos) == 'E')) {
+      pos++;
+      boolean negativeExponent = false;
+      if (pos < end && (text.charAt(pos) == '-' || text.charAt(pos) == '+')) {
+        negativeExponent = text.charAt(pos) == '-';
+        pos++;
+      }
+      int exponentDigits = 0;
+      while (pos < end && text.charAt(pos) >= '0' && text.charAt(pos) <= '9' && exponentDigits < 4) {
+        exponent = exponent * 10 + (text.charAt(pos) - '0');
+        exponentDigits++;
+        pos++;
+      }
+      if (exponentDigits == 0) {
+        return Double.parseDouble(text.subSequence(start, end).toString());
+      }
+      exponent = negativeExponent ? -exponent : exponent;
+    }
+    if (pos != end) {
+      return Double.parseDouble(text.subSequence(start, end).toString());
+    }
+    int power = exponent - fractionDigits;
+    if (mantissa == 0) {
+      return negative ? -0d : 0d;
+    }
+    if (mantissa > MAX_EXACT_MANTISSA || power < -22 || power > 22) {
+      return Double.parseDouble(text.subSequence(start, end).toString());
+    }
+    double value = power >= 0 ? mantissa * EXACT_POWERS_OF_TEN[power] : mantissa / EXACT_POWERS_OF_TEN[-power];
+    return negative ? -value : value;
+  }
+
+  /**
+   * Parses an int from the specified region of the text.
+   * <p>
+   * Simple decimal integers are parsed directly.
+   * All other text is passed to {@link Integer#parseInt(String)}.
+   *
+   * @param text  the text
+   * @param start  the start index, inclusive
+   * @param end  the end index, exclusive
+   * @return the parsed value
+   * @throws NumberFormatException if the text cannot be parsed
+   */
+  static int parseInt(CharSequence text, int start, int end) {
+    int pos = start;
+    boolean negative = false;
+    if (pos < end && (text.charAt(pos) == '-' || text.charAt(pos) == '+')) {
+      negative = text.charAt(pos) == '-';
+      pos++;
+    }
+    // up to 9 digits cannot overflow
+    if (pos == end || end - pos > 9) {
+      return Integer.parseInt(text.subSequence(start, end).toString());
+    }
+    int value = 0;
+    while (pos < end) {
+      char ch = text.charAt(pos);
+      if (ch < '0' || ch > '9') {
+        return Integer.parseInt(text.subSequence(start, end).toString());
+      }
+      value = value * 10 + (ch - '0');
+      pos++;
+    }
+    return negative ? -value : value;
+  }
+
+  /**
+   * Parses a date in the ISO-8601 'yyyy-MM-dd' format from the specified region of the text.
+   * <p>
+   * If the text is not a valid date in the ISO format, null is returned.
+   *
+   * @param text  the text
+   * @param start  the start index, inclusive
+   * @param end  the end index, exclusive
+   * @return the parsed date, null if the text is not a valid ISO date
+   */
+  static LocalDate parseIsoDate(CharSequence text, int start, int end) {
+    if (end - start != 10 || text.charAt(start + 4) != '-' || text.charAt(start + 7) != '-') {
+      return null;
+    }
+    int year = parseDigits(text, start, start + 4);
+    int month = parseDigits(text, start + 5, start + 7);
+    int day = parseDigits(text, start + 8, start + 10);
+    if (year < 0 || month < 1 || month > 12 || day < 1 ||
+        (day > 28 && day > LocalDate.of(year, month, 1).lengthOfMonth())) {
+      return null;
+    }
+    return LocalDate.of(year, month, day);
+  }
+
+  // parses a fixed number of digits, returning -1 if a character is not a digit
+  private static int parseDigits(CharSequence text, int start, int end) {
+    int value = 0;
+    for (int i = start; i < end; i++) {
+      char ch = text.charAt(i);
+      if (ch < '0' || ch > '9') {
+        return -1;
+      }
+      value = value * 10 + (ch - '0');
+    }
+    return value;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Restricted constructor.
+   */
+  private CsvFieldParser() {
+  }
+
+}
@@ -198,14 +198,60 @@ public final class CsvFile {
     
     ImmutableList.Builder<CsvRow> rows = ImmutableList.builder();
     for (int i = lineIndex; i < lines.size(); i++) {
-      ImmutableList<String> fields = parseLine(lines.get(i), i + 1, separator);
-      if (!fields.isEmpty()) {
-        rows.add(new CsvRow(headers, searchHeaders, i + 1, fields));
+      CsvRow row = parseRow(lines.get(i), i + 1, separator, headers, searchHeaders);
+      if (row != null) {
+        rows.add(row);
       }
     }
     return new CsvFile(headers, rows.build());
   }
 
+  // parse a single line into a row, returning null if the line has no content
+  // a line without quotes is tokenized into a view onto the line, avoiding creating a string per field
+  static CsvRow parseRow(
+      String line,
+      int lineNumber,
+      char separator,
+      ImmutableList<String> headers,
+      ImmutableMap<String, Integer> searchHeaders) {
+
+    if (line.length() == 0 || line.startsWith("#") || line.startsWith(";")) {
+      return null;
+    }
+    if (line.indexOf('"') >= 0) {
+      ImmutableList<String> fields = parseLine(line, lineNumber, separator);
+      return fields.isEmpty() ? null : new CsvRow(headers, searchHeaders, lineNumber, fields);
+    }
+    int fieldCount = 1;
+    for (int i = 0; i < line.length(); i++) {
+      if (line.charAt(i) == separator) {
+        fieldCount++;
+      }
+    }
+    int[] fieldBounds = new int[fieldCount * 2];
+    boolean hasContent = false;
+    int fieldStart = 0;
+    int boundsIndex = 0;
+    for (int i = 0; i <= line.length(); i++) {
+      if (i == line.length() || line.charAt(i) == separator) {
+        // trim as per String.trim()
+        int start = fieldStart;
+        int end = i;
+        while (start < end && line.charAt(start) <= ' ') {
+          start++;
+        }
+        while (end > start && line.charAt(end - 1) <= ' ') {
+          end--;
+        }
+        fieldBounds[boundsIndex++] = start;
+        fieldBounds[boundsIndex++] = end;
+        hasContent |= end > start;
+        fieldStart = i + 1;
+      }
+    }
+    return hasContent ? new CsvRow(headers, searchHeaders, lineNumber, line, fieldBounds) : null;
+  }
+
   // parse a single line
   static ImmutableList<String> parseLine(String line, int lineNumber, char separator) {
     if (line.length() == 0 || line.startsWith("#") || line.startsWith(";")) {
@@ -292,9 +292,9 @@ public final class CsvIterator implements AutoCloseable, PeekingIterator<CsvRow>
       String line = null;
       while ((line = Unchecked.wrap(() -> reader.readLine())) != null) {
         currentLineNumber++;
-        ImmutableList<String> fields = CsvFile.parseLine(line, currentLineNumber, separator);
-        if (!fields.isEmpty()) {
-          nextRow = new CsvRow(headers, searchHeaders, currentLineNumber, fields);
+        CsvRow row = CsvFile.parseRow(line, currentLineNumber, separator, headers, searchHeaders);
+        if (row != null) {
+          nextRow = row;
           return true;
         }
       }
@@ -5,10 +5,12 @@
  */
 package com.opengamma.strata.collect.io;
 
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 
 import com.google.common.collect.ImmutableList;
@@ -20,6 +22,11 @@ import com.google.common.collect.ImmutableMap;
  * Represents a single row in a CSV file, accessed via {@link CsvFile}.
  * Each row object provides access to the data in the row by field index.
  * If the CSV file has headers, the headers can also be used to lookup the fields.
+ * <p>
+ * When a line in the file contains no quotes, the row is a view onto the line,
+ * with each field only converted to a {@code String} when requested.
+ * The {@link #getDouble(String)}, {@link #getInteger(String)} and {@link #getDate(String, Function)}
+ * methods parse simple values directly from the line without creating a {@code String}.
  */
 public final class CsvRow {
 
@@ -32,9 +39,21 @@ public final class CsvRow {
    */
   private final ImmutableMap<String, Integer> searchHeaders;
   /**
-   * The fields in the row.
+   * The fields in the row, null until requested if the row is a view onto the line.
+   */
+  private ImmutableList<String> fields;
+  /**
+   * The line in the source file, null if the fields were supplied.
+   */
+  private final String line;
+  /**
+   * The start and end index of each trimmed field within the line, null if the fields were supplied.
+   */
+  private final int[] fieldBounds;
+  /**
+   * The number of fields in the row.
    */
-  private final ImmutableList<String> fields;
+  private final int fieldSize;
   /**
    * The line number in the source file.
    */
@@ -60,6 +79,9 @@ public final class CsvRow {
     this.searchHeaders = ImmutableMap.copyOf(searchHeaders);
     this.lineNumber = lineNumber;
     this.fields = fields;
+    this.line = null;
+    this.fieldBounds = null;
+    this.fieldSize = fields.size();
   }
 
   /**
@@ -81,6 +103,35 @@ public final class CsvRow {
     this.searchHeaders = searchHeaders;
     this.lineNumber = lineNumber;
     this.fields = fields;
+    this.line = null;
+    this.fieldBounds = null;
+    this.fieldSize = fields.size();
+  }
+
+  /**
+   * Creates an instance that is a view onto a line.
+   * <p>
+   * See {@link CsvFile}.
+   * 
+   * @param headers  the headers
+   * @param searchHeaders  the search headers
+   * @param line  the line
+   * @param fieldBounds  the start and end index of each trimmed field within the line
+   */
+  CsvRow(
+      ImmutableList<String> headers,
+      ImmutableMap<String, Integer> searchHeaders,
+      int lineNumber,
+      String line,
+      int[] fieldBounds) {
+
+    this.headers = headers;
+    this.searchHeaders = searchHeaders;
+    this.lineNumber = lineNumber;
+    this.fields = null;
+    this.line = line;
+    this.fieldBounds = fieldBounds;
+    this.fieldSize = fieldBounds.length / 2;
   }
 
   //------------------------------------------------------------------------
@@ -110,7 +161,17 @@ public final class CsvRow {
    * @return the fields
    */
   public ImmutableList<String> fields() {
-    return fields;
+    // racy single-check idiom, safe as ImmutableList is immutable
+    ImmutableList<String> result = fields;
+    if (result == null) {
+      ImmutableList.Builder<String> builder = ImmutableList.builder();
+      for (int i = 0; i < fieldSize; i++) {
+        builder.add(line.substring(fieldBounds[i * 2], fieldBounds[i * 2 + 1]));
+      }
+      result = builder.build();
+      fields = result;
+    }
+    return result;
   }
 
   /**
@@ -121,7 +182,7 @@ public final class CsvRow {
    * @return the number of fields
    */
   public int fieldCount() {
-    return Math.max(fields.size(), headers.size());
+    return Math.max(fieldSize, headers.size());
   }
 
   /**
@@ -132,10 +193,13 @@ public final class CsvRow {
    * @throws IndexOutOfBoundsException if the field index is invalid
    */
   public String field(int index) {
-    if (index >= fields.size() && index < headers.size()) {
+    if (index >= fieldSize && index < headers.size()) {
       return "";
     }
-    return fields.get(index);
+    if (fields == null && index >= 0 && index < fieldSize) {
+      return line.substring(fieldBounds[index * 2], fieldBounds[index * 2 + 1]);
+    }
+    return fields().get(index);
   }
 
   /**
@@ -272,6 +336,81 @@ public final class CsvRow {
     }
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Gets a single field value from the row by header, parsed as a {@code double}.
+   * <p>
+   * This returns the value of the first column where the header matches the specified header.
+   * Matching is case insensitive.
+   * The value is parsed as per {@link Double#parseDouble(String)}.
+   * Simple decimal values are parsed without creating a {@code String}.
+   * 
+   * @param header  the column header
+   * @return the parsed field value
+   * @throws IllegalArgumentException if the header is not found or the value cannot be parsed
+   */
+  public double getDouble(String header) {
+    int index = headerIndex(header);
+    if (fields != null || index >= fieldSize) {
+      return Double.parseDouble(field(index));
+    }
+    return CsvFieldParser.parseDouble(line, fieldBounds[index * 2], fieldBounds[index * 2 + 1]);
+  }
+
+  /**
+   * Gets a single field value from the row by header, parsed as an {@code int}.
+   * <p>
+   * This returns the value of the first column where the header matches the specified header.
+   * Matching is case insensitive.
+   * The value is parsed as per {@link Integer#parseInt(String)}.
+   * Simple integer values are parsed without creating a {@code String}.
+   * 
+   * @param header  the column header
+   * @return the parsed field value
+   * @throws IllegalArgumentException if the header is not found or the value cannot be parsed
+   */
+  public int getInteger(String header) {
+    int index = headerIndex(header);
+    if (fields != null || index >= fieldSize) {
+      return Integer.parseInt(field(index));
+    }
+    return CsvFieldParser.parseInt(line, fieldBounds[index * 2], fieldBounds[index * 2 + 1]);
+  }
+
+  /**
+   * Gets a single field value from the row by header, parsed as a date.
+   * <p>
+   * This returns the value of the first column where the header matches the specified header.
+   * Matching is case insensitive.
+   * Valid dates in the ISO-8601 'yyyy-MM-dd' format are parsed without creating a {@code String}.
+   * Any other value is passed to the specified parser, which must also accept the ISO-8601 format.
+   * 
+   * @param header  the column header
+   * @param parser  the parser to use for values that are not in the ISO-8601 format
+   * @return the parsed field value
+   * @throws IllegalArgumentException if the header is not found
+   * @throws RuntimeException if the parser throws an exception
+   */
+  public LocalDate getDate(String header, Function<String, LocalDate> parser) {
+    int index = headerIndex(header);
+    if (fields == null && index < fieldSize) {
+      LocalDate date = CsvFieldParser.parseIsoDate(line, fieldBounds[index * 2], fieldBounds[index * 2 + 1]);
+      if (date != null) {
+        return date;
+      }
+    }
+    return parser.apply(field(index));
+  }
+
+  // finds the index of the header, throwing an exception if not found
+  private int headerIndex(String header) {
+    Integer index = searchHeaders.get(header.toLowerCase(Locale.ENGLISH));
+    if (index == null) {
+      throw new IllegalArgumentException("Header not found: '" + header + "'");
+    }
+    return index;
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Obtains a sub-row, containing a selection of fields by index.
@@ -282,7 +421,7 @@ public final class CsvRow {
    * @return the sub row
    */
   public CsvRow subRow(int startInclusive) {
-    return subRow(startInclusive, fields.size());
+    return subRow(startInclusive, fieldSize);
   }
 
   /**
@@ -296,7 +435,7 @@ public final class CsvRow {
     return new CsvRow(
         headers.subList(Math.min(startInclusive, headers.size()), Math.min(endExclusive, headers.size())),
         lineNumber,
-        fields.subList(startInclusive, endExclusive));
+        fields().subList(startInclusive, endExclusive));
   }
 
   //-------------------------------------------------------------------------
@@ -315,7 +454,7 @@ public final class CsvRow {
     }
     if (obj instanceof CsvRow) {
       CsvRow other = (CsvRow) obj;
-      return headers.equals(other.headers) && fields.equals(other.fields);
+      return headers.equals(other.headers) && fields().equals(other.fields());
     }
     return false;
   }
@@ -327,7 +466,7 @@ public final class CsvRow {
    */
   @Override
   public int hashCode() {
-    return headers.hashCode() ^ fields.hashCode();
+    return headers.hashCode() ^ fields().hashCode();
   }
 
   /**
@@ -337,7 +476,7 @@ public final class CsvRow {
    */
   @Override
   public String toString() {
-    return "CsvRow" + fields.toString();
+    return "CsvRow" + fields().toString();
   }
 
 }
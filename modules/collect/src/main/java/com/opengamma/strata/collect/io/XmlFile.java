@@ -9,6 +9,8 @@ import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamConstants;
@@ -30,6 +32,8 @@ import com.opengamma.strata.collect.Unchecked;
  * Once parsed, the XML is represented as a DOM-like structure, see {@link XmlElement}.
  * This approach is suitable for XML files where the size of the parsed XML file is
  * known to be manageable in memory.
+ * For larger files, selected elements can be streamed to a consumer one at a time,
+ * such that they are not retained in memory, see {@link #of(ByteSource, String, Predicate, Consumer)}.
  * <p>
  * Note that the {@link XmlElement} representation does not express all XML features.
  * No support is provided for processing instructions, comments or mixed content.
@@ -92,7 +96,57 @@ public final class XmlFile {
         XMLStreamReader xmlReader = xmlInputFactory().createXMLStreamReader(in);
         try {
           HashMap<String, XmlElement> refs = new HashMap<>();
-          XmlElement root = parse(xmlReader, refAttrName, refs);
+          XmlElement root = parse(xmlReader, refAttrName, refs, name -> false, null);
+          return new XmlFile(root, refs);
+        } finally {
+          xmlReader.close();
+        }
+      }
+    });
+  }
+
+  /**
+   * Parses the specified source as an XML file, streaming selected elements to a consumer.
+   * <p>
+   * This parses the specified byte source expecting an XML file format.
+   * Whenever an element is found with a name matching the filter, the element is parsed
+   * in full, including its descendants, and passed to the consumer as an {@code XmlFile}.
+   * Streamed elements are not retained, thus the memory needed is bounded by the size of
+   * the largest streamed element plus the size of the rest of the file.
+   * The root element of the file is never streamed, nor are elements within a streamed element.
+   * The consumer is invoked in the order that the elements occur in the file.
+   * <p>
+   * The returned file contains all the elements that were not streamed.
+   * Each streamed element is replaced by an element with the same name and attributes,
+   * but no children or content, allowing the structure of the file to be examined.
+   * <p>
+   * This supports capturing attribute references, such as an id/href pair.
+   * References found within a streamed element are only available from the {@code XmlFile}
+   * passed to the consumer. All other references are available from the returned file.
+   * 
+   * @param source  the XML source data
+   * @param refAttrName  the attribute name that should be parsed as a reference
+   * @param streamFilter  the filter used to select elements to stream, based on the element name
+   * @param streamConsumer  the consumer of the streamed elements
+   * @return the parsed file, with the streamed elements replaced by empty elements
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the file cannot be parsed
+   */
+  public static XmlFile of(
+      ByteSource source,
+      String refAttrName,
+      Predicate<String> streamFilter,
+      Consumer<XmlFile> streamConsumer) {
+
+    ArgChecker.notNull(source, "source");
+    ArgChecker.notNull(streamFilter, "streamFilter");
+    ArgChecker.notNull(streamConsumer, "streamConsumer");
+    return Unchecked.wrap(() -> {
+      try (InputStream in = source.openBufferedStream()) {
+        XMLStreamReader xmlReader = xmlInputFactory().createXMLStreamReader(in);
+        try {
+          HashMap<String, XmlElement> refs = new HashMap<>();
+          XmlElement root = parse(xmlReader, refAttrName, refs, streamFilter, streamConsumer);
           return new XmlFile(root, refs);
         } finally {
           xmlReader.close();
@@ -110,14 +164,24 @@ public final class XmlFile {
    * This method supports capturing attribute references, such as an id/href pair.
    * Wherever the parser finds an attribute with the specified name, the element is added
    * to the specified map. Note that the map is mutated.
+   * <p>
+   * Child elements matching the stream filter are passed to the consumer and not retained.
    * 
    * @param reader  the StAX stream reader, positioned at or before the element to be parsed
    * @param refAttr  the attribute name that should be parsed as a reference, null if not applicable
    * @param refs  the mutable map of references to update, null if not applicable
+   * @param streamFilter  the filter used to select child elements to stream
+   * @param streamConsumer  the consumer of streamed elements, null if not applicable
    * @return the parsed element
    * @throws IllegalArgumentException if the input cannot be parsed
    */
-  private static XmlElement parse(XMLStreamReader reader, String refAttr, Map<String, XmlElement> refs) {
+  private static XmlElement parse(
+      XMLStreamReader reader,
+      String refAttr,
+      Map<String, XmlElement> refs,
+      Predicate<String> streamFilter,
+      Consumer<XmlFile> streamConsumer) {
+
     try {
       // parse start element
       String elementName = parseElementName(reader);
@@ -125,19 +189,31 @@ public final class XmlFile {
 
       // parse children or content
       ImmutableList.Builder<XmlElement> childBuilder = ImmutableList.builder();
-      String content = "";
+      boolean hasChildren = false;
+      StringBuilder content = new StringBuilder();
       int event = reader.next();
       while (event != XMLStreamConstants.END_ELEMENT) {
         switch (event) {
           // parse child when start element found
           case XMLStreamConstants.START_ELEMENT:
-            childBuilder.add(parse(reader, refAttr, refs));
+            hasChildren = true;
+            if (streamConsumer != null && streamFilter.test(reader.getLocalName())) {
+              HashMap<String, XmlElement> streamedRefs = new HashMap<>();
+              XmlElement streamed = parse(reader, refAttr, streamedRefs, streamFilter, null);
+              streamConsumer.accept(new XmlFile(streamed, streamedRefs));
+              childBuilder.add(XmlElement.ofContent(streamed.getName(), streamed.getAttributes(), ""));
+            } else {
+              childBuilder.add(parse(reader, refAttr, refs, streamFilter, streamConsumer));
+            }
             break;
           // append content when characters found
           // since XMLStreamReader has IS_COALESCING=true means there should only be one content call
+          // content is ignored once a child has been found, avoiding building up whitespace between children
           case XMLStreamConstants.CHARACTERS:
           case XMLStreamConstants.CDATA:
-            content += reader.getText();
+            if (!hasChildren) {
+              content.append(reader.getText());
+            }
             break;
           default:
             break;
@@ -146,7 +222,7 @@ public final class XmlFile {
       }
       ImmutableList<XmlElement> children = childBuilder.build();
       XmlElement parsed = children.isEmpty() ?
-          XmlElement.ofContent(elementName, attrs, content) :
+          XmlElement.ofContent(elementName, attrs, content.toString()) :
           XmlElement.ofChildren(elementName, attrs, children);
       String ref = attrs.get(refAttr);
       if (ref != null) {
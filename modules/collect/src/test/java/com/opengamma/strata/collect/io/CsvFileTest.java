@@ -14,10 +14,12 @@ import java.io.File;
 import java.io.StringReader;
 import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Random;
 import java.util.regex.Pattern;
 
 import org.testng.annotations.Test;
@@ -352,6 +354,56 @@ public class CsvFileTest {
     assertThrowsIllegalArg(() -> CsvFile.of(CharSource.wrap("\"al,pha"), false));
   }
 
+  //-------------------------------------------------------------------------
+  public void test_of_parsedValues() {
+    CsvFile csvFile = CsvFile.of(CharSource.wrap("" +
+        "Value,Count,Date\n" +
+        " 1.25 ,12,2017-06-30\n" +
+        "-3e-2,-7,30/06/2017\n" +
+        "\"4\",\"5\",\"2017-06-30\"\n" +
+        "x,,2017-02-30\n"), true);
+    CsvRow row0 = csvFile.row(0);
+    assertEquals(row0.getDouble("Value"), 1.25d);
+    assertEquals(row0.getDouble("value"), 1.25d);
+    assertEquals(row0.getInteger("Count"), 12);
+    assertEquals(row0.getDate("Date", str -> LocalDate.MIN), LocalDate.of(2017, 6, 30));
+    assertThrowsIllegalArg(() -> row0.getDouble("Foo"), "Header not found: 'Foo'");
+    CsvRow row1 = csvFile.row(1);
+    assertEquals(row1.getDouble("Value"), -0.03d);
+    assertEquals(row1.getInteger("Count"), -7);
+    assertEquals(row1.getDate("Date", str -> LocalDate.MIN), LocalDate.MIN);
+    CsvRow row2 = csvFile.row(2);
+    assertEquals(row2.getDouble("Value"), 4d);
+    assertEquals(row2.getInteger("Count"), 5);
+    assertEquals(row2.getDate("Date", LocalDate::parse), LocalDate.of(2017, 6, 30));
+    CsvRow row3 = csvFile.row(3);
+    assertThrows(() -> row3.getDouble("Value"), NumberFormatException.class);
+    assertThrows(() -> row3.getInteger("Count"), NumberFormatException.class);
+    assertEquals(row3.getDate("Date", str -> LocalDate.MIN), LocalDate.MIN);
+  }
+
+  public void test_of_parsedValues_matchJdk() {
+    String[] texts = {"0", "-0", "+1", "1.", ".5", "0.1", "123456789012345678", "1234567890123456789", "0.000001",
+        "1e22", "1e23", "1E-22", "2.5e-300", "4.9e-324", "1.7976931348623157e308", "9007199254740993",
+        "NaN", "-Infinity", "1d", "0x1p3", "00012.5000"};
+    for (String text : texts) {
+      CsvRow row = CsvFile.of(CharSource.wrap("A\n" + text), true).row(0);
+      assertEquals(row.getDouble("A"), Double.parseDouble(text), text);
+    }
+    Random random = new Random(12345);
+    for (int i = 0; i < 10_000; i++) {
+      String text = Double.toString(random.nextDouble() * Math.pow(10, random.nextInt(20) - 10));
+      CsvRow row = CsvFile.of(CharSource.wrap("A\n" + text), true).row(0);
+      assertEquals(row.getDouble("A"), Double.parseDouble(text), text);
+    }
+    String[] ints = {"0", "-0", "+7", "123456789", "-123456789", "2147483647", "-2147483648"};
+    for (String text : ints) {
+      CsvRow row = CsvFile.of(CharSource.wrap("A\n" + text), true).row(0);
+      assertEquals(row.getInteger("A"), Integer.parseInt(text), text);
+    }
+    assertThrows(() -> CsvFile.of(CharSource.wrap("A\n2147483648"), true).row(0).getInteger("A"), NumberFormatException.class);
+  }
+
   //-------------------------------------------------------------------------
   public void test_of_lists_noHeader() {
     List<String> headers = Collections.emptyList();
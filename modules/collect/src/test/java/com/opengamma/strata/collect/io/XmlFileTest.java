@@ -13,6 +13,7 @@ import static org.testng.Assert.assertFalse;
 import java.io.File;
 import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -130,6 +131,33 @@ public class XmlFileTest {
     assertThrows(() -> XmlFile.of(source, "key"), UncheckedIOException.class);
   }
 
+  public void test_of_ByteSource_streamed() {
+    String xml = "" +
+        "<base>" +
+        " <trade id=\"t1\"><leaf1 id=\"l1\">leaf</leaf1></trade>" +
+        " <party id=\"p1\">a</party>" +
+        " <trade id=\"t2\"><leaf2>b</leaf2></trade>" +
+        "</base>";
+    ByteSource source = ByteSource.wrap(xml.getBytes(StandardCharsets.UTF_8));
+    List<XmlFile> streamed = new ArrayList<>();
+    XmlFile test = XmlFile.of(source, "id", name -> name.equals("trade"), streamed::add);
+    XmlElement party = XmlElement.ofContent("party", ImmutableMap.of("id", "p1"), "a");
+    XmlElement placeholder1 = XmlElement.ofContent("trade", ImmutableMap.of("id", "t1"), "");
+    XmlElement placeholder2 = XmlElement.ofContent("trade", ImmutableMap.of("id", "t2"), "");
+    assertEquals(
+        test.getRoot(),
+        XmlElement.ofChildren("base", ATTR_MAP_EMPTY, ImmutableList.of(placeholder1, party, placeholder2)));
+    assertEquals(test.getReferences(), ImmutableMap.of("p1", party));
+    assertEquals(streamed.size(), 2);
+    XmlElement trade1 = XmlElement.ofChildren("trade", ImmutableMap.of("id", "t1"), ImmutableList.of(
+        XmlElement.ofContent("leaf1", ImmutableMap.of("id", "l1"), "leaf")));
+    assertEquals(streamed.get(0).getRoot(), trade1);
+    assertEquals(streamed.get(0).getReferences(), ImmutableMap.of("t1", trade1, "l1", trade1.getChild(0)));
+    XmlElement trade2 = XmlElement.ofChildren("trade", ImmutableMap.of("id", "t2"), ImmutableList.of(LEAF2B));
+    assertEquals(streamed.get(1).getRoot(), trade2);
+    assertEquals(streamed.get(1).getReferences(), ImmutableMap.of("t2", trade2));
+  }
+
   //-------------------------------------------------------------------------
   public void test_equalsHashCodeToString() {
     ByteSource source = ByteSource.wrap(SAMPLE.getBytes(StandardCharsets.UTF_8));
@@ -138,9 +138,8 @@ public final class CurrencyScenarioArray
       throw new IllegalArgumentException(Messages.format(
           "Expected {} FX rates but received {}", amounts.size(), fxRateProvider.getScenarioCount()));
     }
-    DoubleArray convertedValues =
-        amounts.getValues().mapWithIndex((i, v) -> v * fxRateProvider.fxRate(getCurrency(), reportingCurrency, i));
-    return of(reportingCurrency, convertedValues);
+    DoubleArray rates = fxRateProvider.fxRates(getCurrency(), reportingCurrency);
+    return of(reportingCurrency, amounts.getValues().multipliedBy(rates));
   }
   
   //-------------------------------------------------------------------------
@@ -13,6 +13,8 @@ import java.util.Map.Entry;
 
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
 import com.opengamma.strata.data.MarketDataId;
 import com.opengamma.strata.data.ObservableId;
@@ -172,6 +174,55 @@ public final class ImmutableScenarioMarketDataBuilder {
     return this;
   }
 
+  /**
+   * Adds {@code double} market data for each scenario.
+   * <p>
+   * This is typically used for observable data, such as quotes.
+   * The values are held in a primitive array rather than as a list of boxed values.
+   * Any existing value with the same identifier will be replaced.
+   *
+   * @param id  the identifier
+   * @param values  the market data values, one for each scenario
+   * @return this builder
+   */
+  public ImmutableScenarioMarketDataBuilder addScenarioValue(MarketDataId<Double> id, DoubleArray values) {
+    ArgChecker.notNull(id, "id");
+    ArgChecker.notNull(values, "values");
+    MarketDataBox<Double> box = MarketDataBox.ofScenarioValues(values);
+    checkAndUpdateScenarioCount(box);
+    this.values.put(id, box);
+    return this;
+  }
+
+  /**
+   * Adds {@code double} market data for each scenario, for several identifiers.
+   * <p>
+   * This is typically used for observable data, such as the quotes of a historical simulation.
+   * The matrix has one row per scenario and one column per identifier.
+   * The values of each identifier are held in a primitive array rather than as a list of boxed values.
+   * Any existing value with the same identifier will be replaced.
+   *
+   * @param ids  the identifiers, one for each column of the matrix
+   * @param values  the market data values, with one row per scenario and one column per identifier
+   * @return this builder
+   */
+  public ImmutableScenarioMarketDataBuilder addScenarioValues(
+      List<? extends MarketDataId<Double>> ids,
+      DoubleMatrix values) {
+
+    ArgChecker.noNulls(ids, "ids");
+    ArgChecker.notNull(values, "values");
+    ArgChecker.isTrue(
+        ids.size() == values.columnCount(),
+        "The number of identifiers {} must match the number of columns {}",
+        ids.size(),
+        values.columnCount());
+    for (int i = 0; i < ids.size(); i++) {
+      addScenarioValue(ids.get(i), values.column(i));
+    }
+    return this;
+  }
+
   /**
    * Adds market data values for each scenario.
    * <p>
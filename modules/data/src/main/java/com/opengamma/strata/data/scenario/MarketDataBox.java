@@ -10,6 +10,7 @@ import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.function.ObjIntFunction;
 
 /**
@@ -100,6 +101,20 @@ public interface MarketDataBox<T> {
     return ScenarioMarketDataBox.of(scenarioValues);
   }
 
+  /**
+   * Obtains an instance containing a {@code double} market data value with data for multiple scenarios.
+   * <p>
+   * The market data is made up of multiple values, one for each scenario.
+   * The values are held in a primitive array, see {@link DoubleScenarioArray}.
+   * This is more efficient than a list of boxed values for observable data, such as quotes.
+   *
+   * @param scenarioValues  the market data values for each scenario
+   * @return a box containing a scenario market data value with data for multiple scenarios
+   */
+  public static MarketDataBox<Double> ofScenarioValues(DoubleArray scenarioValues) {
+    return ScenarioMarketDataBox.of(DoubleScenarioArray.of(scenarioValues));
+  }
+
   /**
    * Obtains an instance containing no market data.
    *
@@ -195,10 +195,10 @@ public final class MultiCurrencyScenarioArray
     for (Map.Entry<Currency, DoubleArray> entry : amounts.getValues().entrySet()) {
       Currency currency = entry.getKey();
       DoubleArray currencyValues = entry.getValue();
+      DoubleArray rates = fxRateProvider.fxRates(currency, reportingCurrency);
 
       for (int i = 0; i < size; i++) {
-        double convertedValue = currencyValues.get(i) * fxRateProvider.fxRate(currency, reportingCurrency, i);
-        singleCurrencyValues[i] += convertedValue;
+        singleCurrencyValues[i] += currencyValues.get(i) * rates.get(i);
       }
     }
     return CurrencyScenarioArray.of(reportingCurrency, DoubleArray.ofUnsafe(singleCurrencyValues));
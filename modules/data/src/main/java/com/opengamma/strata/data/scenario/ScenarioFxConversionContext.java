@@ -0,0 +1,222 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.data.scenario;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.io.Serializable;
+import java.lang.invoke.MethodHandles;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaBean;
+import org.joda.beans.TypedMetaBean;
+import org.joda.beans.gen.BeanDefinition;
+import org.joda.beans.gen.ImmutableConstructor;
+import org.joda.beans.gen.PropertyDefinition;
+import org.joda.beans.impl.light.LightMetaBean;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.FxConversionContext;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * A provider of FX rates for scenarios holding the rates between a set of currencies.
+ * <p>
+ * An {@link FxConversionContext} is built once for each scenario from an underlying provider.
+ * The rate between each pair of currencies is therefore derived from market data and triangulated
+ * once per scenario, rather than for each amount converted.
+ * <p>
+ * This is useful when many amounts in a known set of currencies are converted,
+ * for example when converting the results of many trades to a reporting currency.
+ */
+@BeanDefinition(style = "light")
+public final class ScenarioFxConversionContext
+    implements ScenarioFxRateProvider, ImmutableBean, Serializable {
+
+  /**
+   * The conversion context of each scenario.
+   * <p>
+   * All contexts hold the rates of the same currencies, in the same order.
+   */
+  @PropertyDefinition(validate = "notEmpty")
+  private final ImmutableList<FxConversionContext> contexts;
+  /**
+   * The currencies, in the order of the indices of each context.
+   */
+  private final transient ImmutableList<Currency> currencies;  // derived
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance holding the FX rates between the specified currencies in all scenarios.
+   * <p>
+   * The rate between each pair of currencies in each scenario is obtained from the provider once.
+   *
+   * @param fxRateProvider  the provider of the FX rates for scenarios
+   * @param currencies  the currencies
+   * @return the context
+   * @throws RuntimeException if an FX rate between the currencies is not available
+   */
+  public static ScenarioFxConversionContext of(
+      ScenarioFxRateProvider fxRateProvider,
+      Collection<Currency> currencies) {
+
+    ArgChecker.notNull(fxRateProvider, "fxRateProvider");
+    ArgChecker.noNulls(currencies, "currencies");
+    ImmutableList<FxConversionContext> contexts = IntStream.range(0, fxRateProvider.getScenarioCount())
+        .mapToObj(i -> FxConversionContext.of(currencies, fxRateProvider.fxRateProvider(i)))
+        .collect(toImmutableList());
+    return new ScenarioFxConversionContext(contexts);
+  }
+
+  /**
+   * Obtains an instance from the conversion context of each scenario.
+   * <p>
+   * All contexts must hold the rates of the same currencies, in the same order.
+   *
+   * @param contexts  the conversion context of each scenario
+   * @return the context
+   */
+  public static ScenarioFxConversionContext of(List<FxConversionContext> contexts) {
+    return new ScenarioFxConversionContext(ImmutableList.copyOf(contexts));
+  }
+
+  @ImmutableConstructor
+  private ScenarioFxConversionContext(ImmutableList<FxConversionContext> contexts) {
+    ArgChecker.notEmpty(contexts, "contexts");
+    this.currencies = contexts.get(0).getCurrencies();
+    for (FxConversionContext context : contexts) {
+      ArgChecker.isTrue(
+          context.getCurrencies().equals(currencies),
+          "All contexts must have the same currencies, expected {} but found {}",
+          currencies,
+          context.getCurrencies());
+    }
+    this.contexts = contexts;
+  }
+
+  // ensure standard constructor is invoked
+  private Object readResolve() {
+    return new ScenarioFxConversionContext(contexts);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the currencies of the context.
+   *
+   * @return the currencies
+   */
+  public ImmutableList<Currency> getCurrencies() {
+    return currencies;
+  }
+
+  @Override
+  public int getScenarioCount() {
+    return contexts.size();
+  }
+
+  @Override
+  public double fxRate(Currency baseCurrency, Currency counterCurrency, int scenarioIndex) {
+    return contexts.get(scenarioIndex).fxRate(baseCurrency, counterCurrency);
+  }
+
+  @Override
+  public DoubleArray fxRates(Currency baseCurrency, Currency counterCurrency) {
+    if (baseCurrency.equals(counterCurrency)) {
+      return DoubleArray.filled(contexts.size(), 1d);
+    }
+    // the indices are the same in all scenarios, so the currencies are only looked up once
+    int baseIndex = contexts.get(0).currencyIndex(baseCurrency);
+    int counterIndex = contexts.get(0).currencyIndex(counterCurrency);
+    return DoubleArray.of(contexts.size(), i -> contexts.get(i).fxRate(baseIndex, counterIndex));
+  }
+
+  @Override
+  public FxConversionContext fxRateProvider(int scenarioIndex) {
+    return contexts.get(scenarioIndex);
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  /**
+   * The meta-bean for {@code ScenarioFxConversionContext}.
+   */
+  private static final TypedMetaBean<ScenarioFxConversionContext> META_BEAN =
+      LightMetaBean.of(
+          ScenarioFxConversionContext.class,
+          MethodHandles.lookup(),
+          new String[] {
+              "contexts"},
+          ImmutableList.of());
+
+  /**
+   * The meta-bean for {@code ScenarioFxConversionContext}.
+   * @return the meta-bean, not null
+   */
+  public static TypedMetaBean<ScenarioFxConversionContext> meta() {
+    return META_BEAN;
+  }
+
+  static {
+    MetaBean.register(META_BEAN);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  @Override
+  public TypedMetaBean<ScenarioFxConversionContext> metaBean() {
+    return META_BEAN;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the conversion context of each scenario.
+   * <p>
+   * All contexts hold the rates of the same currencies, in the same order.
+   * @return the value of the property, not empty
+   */
+  public ImmutableList<FxConversionContext> getContexts() {
+    return contexts;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      ScenarioFxConversionContext other = (ScenarioFxConversionContext) obj;
+      return JodaBeanUtils.equal(contexts, other.contexts);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(contexts);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(64);
+    buf.append("ScenarioFxConversionContext{");
+    buf.append("contexts").append('=').append(JodaBeanUtils.toString(contexts));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-------------------------- AUTOGENERATED END --------------------------
+}
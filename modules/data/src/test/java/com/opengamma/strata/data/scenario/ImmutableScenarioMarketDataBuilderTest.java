@@ -23,6 +23,7 @@ import com.opengamma.strata.basics.StandardId;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.FxRate;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
 import com.opengamma.strata.data.FieldName;
 import com.opengamma.strata.data.FxRateId;
@@ -139,6 +140,33 @@ public class ImmutableScenarioMarketDataBuilderTest {
     assertEquals(marketData.getValue(eurUsdId), MarketDataBox.ofSingleValue(eurUsdRate));
   }
 
+  public void test_addScenarioValue_doubleArray() {
+    TestObservableId id = TestObservableId.of("1");
+    ImmutableScenarioMarketData marketData = ImmutableScenarioMarketData.builder(VAL_DATE)
+        .addScenarioValue(id, DoubleArray.of(1d, 2d, 3d))
+        .build();
+    assertEquals(marketData.getScenarioCount(), 3);
+    assertEquals(
+        marketData.getValue(id),
+        MarketDataBox.ofScenarioValue(DoubleScenarioArray.of(DoubleArray.of(1d, 2d, 3d))));
+    assertEquals(marketData.getValue(id).getValue(1), 2d);
+  }
+
+  public void test_addScenarioValues_doubleMatrix() {
+    TestObservableId id1 = TestObservableId.of("1");
+    TestObservableId id2 = TestObservableId.of("2");
+    ImmutableScenarioMarketData marketData = ImmutableScenarioMarketData.builder(VAL_DATE)
+        .addScenarioValues(ImmutableList.of(id1, id2), DoubleMatrix.of(3, 2, 1d, 10d, 2d, 20d, 3d, 30d))
+        .build();
+    assertEquals(marketData.getScenarioCount(), 3);
+    assertEquals(marketData.getIds(), ImmutableSet.of(id1, id2));
+    assertEquals(marketData.getValue(id1), MarketDataBox.ofScenarioValues(DoubleArray.of(1d, 2d, 3d)));
+    assertEquals(marketData.getValue(id2), MarketDataBox.ofScenarioValues(DoubleArray.of(10d, 20d, 30d)));
+    ImmutableScenarioMarketDataBuilder builder = ImmutableScenarioMarketData.builder(VAL_DATE);
+    assertThrowsIllegalArg(
+        () -> builder.addScenarioValues(ImmutableList.of(id1), DoubleMatrix.of(3, 2, new double[6])));
+  }
+
   //-------------------------------------------------------------------------
   public void test_addScenarioValueMap() {
     FxRateId eurGbpId = FxRateId.of(Currency.EUR, Currency.GBP);
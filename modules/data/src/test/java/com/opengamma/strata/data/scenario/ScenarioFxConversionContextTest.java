@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.data.scenario;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.FxConversionContext;
+import com.opengamma.strata.basics.currency.FxMatrix;
+import com.opengamma.strata.basics.currency.FxRateProvider;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * Test {@link ScenarioFxConversionContext}.
+ */
+@Test
+public class ScenarioFxConversionContextTest {
+
+  private static final double TOL = 1e-12;
+  private static final FxRateScenarioArray GBP_USD = FxRateScenarioArray.of(GBP, USD, DoubleArray.of(1.4, 1.5, 1.6));
+  private static final FxRateScenarioArray EUR_USD = FxRateScenarioArray.of(EUR, USD, DoubleArray.of(1.1, 1.2, 1.3));
+  private static final ScenarioFxRateProvider PROVIDER = new ScenarioFxRateProvider() {
+
+    @Override
+    public int getScenarioCount() {
+      return 3;
+    }
+
+    @Override
+    public FxRateProvider fxRateProvider(int scenarioIndex) {
+      return FxMatrix.builder()
+          .addRate(GBP, USD, GBP_USD.fxRate(GBP, USD, scenarioIndex))
+          .addRate(EUR, USD, EUR_USD.fxRate(EUR, USD, scenarioIndex))
+          .build();
+    }
+  };
+
+  //-------------------------------------------------------------------------
+  public void test_of() {
+    ScenarioFxConversionContext test = ScenarioFxConversionContext.of(PROVIDER, ImmutableList.of(GBP, EUR, USD));
+    assertThat(test.getCurrencies()).containsExactly(GBP, EUR, USD);
+    assertThat(test.getScenarioCount()).isEqualTo(3);
+    assertThat(test.fxRates(GBP, USD)).isEqualTo(DoubleArray.of(1.4, 1.5, 1.6));
+    assertThat(test.fxRates(EUR, USD)).isEqualTo(DoubleArray.of(1.1, 1.2, 1.3));
+    assertThat(test.fxRates(GBP, GBP)).isEqualTo(DoubleArray.of(1, 1, 1));
+    assertThat(test.fxRate(GBP, USD, 1)).isEqualTo(1.5);
+    assertThat(test.fxRateProvider(2).fxRate(EUR, USD)).isEqualTo(1.3);
+    assertThat(test.fxRates(USD, GBP)).isEqualTo(PROVIDER.fxRates(USD, GBP));
+  }
+
+  public void test_of_contexts() {
+    FxConversionContext context1 = FxConversionContext.of(ImmutableList.of(GBP, USD), FxMatrix.of(GBP, USD, 1.4));
+    FxConversionContext context2 = FxConversionContext.of(ImmutableList.of(GBP, USD), FxMatrix.of(GBP, USD, 1.5));
+    FxConversionContext context3 = FxConversionContext.of(ImmutableList.of(USD, GBP), FxMatrix.of(GBP, USD, 1.5));
+    ScenarioFxConversionContext test = ScenarioFxConversionContext.of(ImmutableList.of(context1, context2));
+    assertThat(test.getCurrencies()).containsExactly(GBP, USD);
+    assertThat(test.fxRates(GBP, USD)).isEqualTo(DoubleArray.of(1.4, 1.5));
+    assertThat(test.fxRateProvider(0)).isEqualTo(context1);
+    assertThrowsIllegalArg(() -> ScenarioFxConversionContext.of(ImmutableList.of(context1, context3)));
+    assertThrowsIllegalArg(() -> ScenarioFxConversionContext.of(ImmutableList.of()));
+  }
+
+  public void test_unknownCurrency() {
+    ScenarioFxConversionContext test = ScenarioFxConversionContext.of(PROVIDER, ImmutableList.of(GBP, USD));
+    assertThrowsIllegalArg(() -> test.fxRates(EUR, USD));
+    assertThrowsIllegalArg(() -> test.fxRate(EUR, USD, 0));
+  }
+
+  public void test_convertedTo() {
+    ScenarioFxConversionContext test = ScenarioFxConversionContext.of(PROVIDER, ImmutableList.of(GBP, EUR, USD));
+    MultiCurrencyScenarioArray amounts = MultiCurrencyScenarioArray.of(
+        MultiCurrencyAmount.of(CurrencyAmount.of(GBP, 10), CurrencyAmount.of(EUR, 20)),
+        MultiCurrencyAmount.of(CurrencyAmount.of(GBP, 10), CurrencyAmount.of(USD, 30)),
+        MultiCurrencyAmount.of(CurrencyAmount.of(EUR, 40)));
+    CurrencyScenarioArray expected = amounts.convertedTo(USD, PROVIDER);
+    CurrencyScenarioArray converted = amounts.convertedTo(USD, test);
+    assertThat(converted.getCurrency()).isEqualTo(USD);
+    assertThat(converted.getAmounts().getValues().equalWithTolerance(expected.getAmounts().getValues(), TOL)).isTrue();
+    DoubleArray expectedValues = DoubleArray.of(10 * 1.4 + 20 * 1.1, 10 * 1.5 + 30, 40 * 1.3);
+    assertThat(converted.getAmounts().getValues().equalWithTolerance(expectedValues, TOL)).isTrue();
+
+    CurrencyScenarioArray gbp = CurrencyScenarioArray.of(GBP, DoubleArray.of(1, 2, 3));
+    DoubleArray gbpConverted = gbp.convertedTo(USD, test).getAmounts().getValues();
+    assertThat(gbpConverted.equalWithTolerance(DoubleArray.of(1.4, 3.0, 4.8), TOL)).isTrue();
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    ScenarioFxConversionContext test = ScenarioFxConversionContext.of(PROVIDER, ImmutableList.of(GBP, USD));
+    coverImmutableBean(test);
+    ScenarioFxConversionContext test2 = ScenarioFxConversionContext.of(PROVIDER, ImmutableList.of(EUR, USD));
+    coverBeanEquals(test, test2);
+  }
+
+  public void test_serialization() {
+    assertSerialization(ScenarioFxConversionContext.of(PROVIDER, ImmutableList.of(GBP, USD)));
+  }
+
+}
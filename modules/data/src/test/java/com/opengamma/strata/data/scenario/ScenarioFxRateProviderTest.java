@@ -14,6 +14,7 @@ import org.testng.annotations.Test;
 
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.FxRate;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.data.FxRateId;
 import com.opengamma.strata.data.ObservableSource;
 
@@ -51,4 +52,21 @@ public class ScenarioFxRateProviderTest {
     assertThat(defaultRateProvider.fxRate(Currency.GBP, Currency.USD, 0)).isEqualTo(1.4d);
     assertThat(sourceRateProvider.fxRate(Currency.GBP, Currency.USD, 0)).isEqualTo(1.41d);
   }
+
+  public void fxRates() {
+    ScenarioMarketData marketData = ImmutableScenarioMarketData.builder(LocalDate.of(2011, 3, 8))
+        .addBox(FxRateId.of(Currency.GBP, Currency.USD), MarketDataBox.ofScenarioValues(
+            FxRate.of(Currency.GBP, Currency.USD, 1.4d), FxRate.of(Currency.GBP, Currency.USD, 1.5d)))
+        .addBox(FxRateId.of(Currency.EUR, Currency.USD), MarketDataBox.ofScenarioValues(
+            FxRate.of(Currency.EUR, Currency.USD, 1.1d), FxRate.of(Currency.EUR, Currency.USD, 1.2d)))
+        .build();
+    ScenarioFxRateProvider test = ScenarioFxRateProvider.of(marketData);
+    assertThat(test.fxRates(Currency.GBP, Currency.USD)).isEqualTo(DoubleArray.of(1.4d, 1.5d));
+    assertThat(test.fxRates(Currency.USD, Currency.GBP)).isEqualTo(DoubleArray.of(1d / 1.4d, 1d / 1.5d));
+    assertThat(test.fxRates(Currency.GBP, Currency.GBP)).isEqualTo(DoubleArray.of(1d, 1d));
+    // triangulated in each scenario
+    assertThat(test.fxRates(Currency.GBP, Currency.EUR))
+        .isEqualTo(DoubleArray.of(2, i -> test.fxRate(Currency.GBP, Currency.EUR, i)));
+  }
+
 }
@@ -118,14 +118,13 @@ public final class FixingSeriesCsvLoader {
       CsvFile csv = CsvFile.of(resource, true);
       for (CsvRow row : csv.rows()) {
         String referenceStr = row.getField(REFERENCE_FIELD);
-        String dateStr = row.getField(DATE_FIELD);
-        String valueStr = row.getField(VALUE_FIELD);
 
         Index index = LoaderUtils.findIndex(referenceStr);
         ObservableId id = IndexQuoteId.of(index);
-        double value = Double.parseDouble(valueStr);
+        double value = row.getDouble(VALUE_FIELD);
         LocalDate date;
         if (index instanceof PriceIndex) {
+          String dateStr = row.getField(DATE_FIELD);
           try {
             YearMonth ym = LoaderUtils.parseYearMonth(dateStr);
             date = ym.atEndOfMonth();
@@ -137,7 +136,7 @@ public final class FixingSeriesCsvLoader {
             }
           }
         } else {
-          date = LoaderUtils.parseDate(dateStr);
+          date = row.getDate(DATE_FIELD, LoaderUtils::parseDate);
         }
 
         LocalDateDoubleTimeSeriesBuilder builder = builders.computeIfAbsent(id, k -> LocalDateDoubleTimeSeries.builder());
@@ -214,15 +214,13 @@ public final class QuotesCsvLoader {
     try {
       CsvFile csv = CsvFile.of(resource, true);
       for (CsvRow row : csv.rows()) {
-        String dateText = row.getField(DATE_FIELD);
-        LocalDate date = LoaderUtils.parseDate(dateText);
+        LocalDate date = row.getDate(DATE_FIELD, LoaderUtils::parseDate);
         if (datePredicate.test(date)) {
           String symbologyStr = row.getField(SYMBOLOGY_FIELD);
           String tickerStr = row.getField(TICKER_FIELD);
           String fieldNameStr = row.getField(FIELD_NAME_FIELD);
-          String valueStr = row.getField(VALUE_FIELD);
 
-          double value = Double.valueOf(valueStr);
+          double value = row.getDouble(VALUE_FIELD);
           StandardId id = StandardId.of(symbologyStr, tickerStr);
           FieldName fieldName = fieldNameStr.isEmpty() ? FieldName.MARKET_VALUE : FieldName.of(fieldNameStr);
 
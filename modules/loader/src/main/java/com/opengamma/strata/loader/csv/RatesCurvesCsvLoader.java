@@ -297,16 +297,12 @@ public final class RatesCurvesCsvLoader {
     CsvFile csv = CsvFile.of(curvesResource, true);
     Map<LoadedCurveKey, List<LoadedCurveNode>> allNodes = new HashMap<>();
     for (CsvRow row : csv.rows()) {
-      String dateStr = row.getField(CURVE_DATE);
-      String curveNameStr = row.getField(CURVE_NAME);
-      String pointDateStr = row.getField(CURVE_POINT_DATE);
-      String pointValueStr = row.getField(CURVE_POINT_VALUE);
-      String pointLabel = row.getField(CURVE_POINT_LABEL);
-
-      LocalDate date = LoaderUtils.parseDate(dateStr);
+      LocalDate date = row.getDate(CURVE_DATE, LoaderUtils::parseDate);
       if (datePredicate.test(date)) {
-        LocalDate pointDate = LoaderUtils.parseDate(pointDateStr);
-        double pointValue = Double.valueOf(pointValueStr);
+        String curveNameStr = row.getField(CURVE_NAME);
+        String pointLabel = row.getField(CURVE_POINT_LABEL);
+        LocalDate pointDate = row.getDate(CURVE_POINT_DATE, LoaderUtils::parseDate);
+        double pointValue = row.getDouble(CURVE_POINT_VALUE);
 
         LoadedCurveKey key = LoadedCurveKey.of(date, CurveName.of(curveNameStr));
         List<LoadedCurveNode> curveNodes = allNodes.computeIfAbsent(key, k -> new ArrayList<>());
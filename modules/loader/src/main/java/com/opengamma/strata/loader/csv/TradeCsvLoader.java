@@ -9,13 +9,20 @@ import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
 
 import java.time.ZoneId;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.PeekingIterator;
 import com.google.common.io.CharSource;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.StandardId;
@@ -175,6 +182,13 @@ import com.opengamma.strata.product.swap.type.SingleCurrencySwapConvention;
  * <p>
  * The quantity will normally be set from the 'Quantity' column.
  * If that column is not found, the 'Long Quantity' and 'Short Quantity' columns will be used instead.
+ * 
+ * <h4>Large files</h4>
+ * <p>
+ * The {@code parse} methods return all the trades in memory.
+ * For very large files, the {@code parseBatches} methods can be used instead.
+ * These read the files in fixed size batches of rows, which may be parsed in parallel.
+ * The batches are passed to a consumer in file and row order, with a bounded number held in memory.
  */
 public final class TradeCsvLoader {
 
@@ -208,6 +222,9 @@ public final class TradeCsvLoader {
   private static final String TRADE_TIME_FIELD = "Trade Time";
   private static final String TRADE_ZONE_FIELD = "Trade Zone";
 
+  // the maximum number of batches that are parsed but not yet passed to the consumer
+  private static final int MAX_PENDING_BATCHES = Math.max(2, Runtime.getRuntime().availableProcessors() * 2);
+
   /**
    * The resolver, providing additional information.
    */
@@ -372,6 +389,142 @@ public final class TradeCsvLoader {
     }
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Parses one or more CSV format trade files in batches with a quiet type filter.
+   * <p>
+   * This is the streaming equivalent of {@link #parse(Collection, Class)}.
+   * Each file is read in batches of rows, with the trades and failures of each batch passed to the consumer.
+   * The batches are parsed on the calling thread.
+   * <p>
+   * A 'Swap' row and its following 'Variable' rows are always kept in the same batch,
+   * thus a batch may contain slightly more rows than the batch size.
+   * <p>
+   * CSV files sometimes contain a Unicode Byte Order Mark.
+   * Callers are responsible for handling this, such as by using {@link UnicodeBom}.
+   * 
+   * @param <T>  the trade type
+   * @param charSources  the CSV character sources
+   * @param tradeType  the trade type to return
+   * @param batchSize  the number of rows in each batch
+   * @param consumer  the consumer of each batch of trades, errors are captured in each batch
+   */
+  public <T extends Trade> void parseBatches(
+      Collection<CharSource> charSources,
+      Class<T> tradeType,
+      int batchSize,
+      Consumer<ValueWithFailures<List<T>>> consumer) {
+
+    parseBatches(charSources, tradeType, batchSize, Runnable::run, consumer);
+  }
+
+  /**
+   * Parses one or more CSV format trade files in batches with a quiet type filter, using an executor.
+   * <p>
+   * This is the streaming equivalent of {@link #parse(Collection, Class)}.
+   * Each file is read in batches of rows on the calling thread.
+   * Each batch is then parsed using the executor, allowing batches to be parsed in parallel.
+   * The trades and failures of each batch are passed to the consumer on the calling thread,
+   * in the same order as the files and rows.
+   * Only a small number of batches are held in memory at any one time.
+   * <p>
+   * A 'Swap' row and its following 'Variable' rows are always kept in the same batch,
+   * thus a batch may contain slightly more rows than the batch size.
+   * If a file cannot be read, an empty batch containing the failure is passed to the consumer.
+   * Batches read from the file before the problem occurred will already have been passed to the consumer.
+   * <p>
+   * CSV files sometimes contain a Unicode Byte Order Mark.
+   * Callers are responsible for handling this, such as by using {@link UnicodeBom}.
+   * 
+   * @param <T>  the trade type
+   * @param charSources  the CSV character sources
+   * @param tradeType  the trade type to return
+   * @param batchSize  the number of rows in each batch
+   * @param executor  the executor used to parse each batch
+   * @param consumer  the consumer of each batch of trades, errors are captured in each batch
+   */
+  public <T extends Trade> void parseBatches(
+      Collection<CharSource> charSources,
+      Class<T> tradeType,
+      int batchSize,
+      Executor executor,
+      Consumer<ValueWithFailures<List<T>>> consumer) {
+
+    ArgChecker.notNull(charSources, "charSources");
+    ArgChecker.notNull(tradeType, "tradeType");
+    ArgChecker.notNegativeOrZero(batchSize, "batchSize");
+    ArgChecker.notNull(executor, "executor");
+    ArgChecker.notNull(consumer, "consumer");
+    Deque<CompletableFuture<ValueWithFailures<List<T>>>> pending = new ArrayDeque<>();
+    for (CharSource charSource : charSources) {
+      parseFileBatches(charSource, tradeType, batchSize, executor, pending, consumer);
+    }
+    while (!pending.isEmpty()) {
+      consumer.accept(pending.removeFirst().join());
+    }
+  }
+
+  // loads a single CSV file in batches, passing completed batches to the consumer
+  private <T extends Trade> void parseFileBatches(
+      CharSource charSource,
+      Class<T> tradeType,
+      int batchSize,
+      Executor executor,
+      Deque<CompletableFuture<ValueWithFailures<List<T>>>> pending,
+      Consumer<ValueWithFailures<List<T>>> consumer) {
+
+    CsvIterator csv;
+    try {
+      csv = CsvIterator.of(charSource, true);
+    } catch (RuntimeException ex) {
+      pending.add(CompletableFuture.completedFuture(fileFailure(charSource, ex)));
+      return;
+    }
+    try (CsvIterator closeable = csv) {
+      if (!csv.headers().contains(TYPE_FIELD)) {
+        pending.add(CompletableFuture.completedFuture(ValueWithFailures.of(
+            ImmutableList.of(),
+            FailureItem.of(FailureReason.PARSING, "CSV file does not contain '{header}' header: {}", TYPE_FIELD, charSource))));
+        return;
+      }
+      while (true) {
+        List<CsvRow> batch;
+        try {
+          batch = nextBatch(csv, batchSize);
+        } catch (RuntimeException ex) {
+          pending.add(CompletableFuture.completedFuture(fileFailure(charSource, ex)));
+          return;
+        }
+        if (batch.isEmpty()) {
+          return;
+        }
+        PeekingIterator<CsvRow> rows = Iterators.peekingIterator(batch.iterator());
+        pending.add(CompletableFuture.supplyAsync(() -> parseFile(rows, tradeType), executor));
+        while (pending.size() >= MAX_PENDING_BATCHES) {
+          consumer.accept(pending.removeFirst().join());
+        }
+      }
+    }
+  }
+
+  // reads the next batch of rows, ensuring that 'Variable' rows stay with the preceding row
+  private static List<CsvRow> nextBatch(CsvIterator csv, int batchSize) {
+    List<CsvRow> rows = new ArrayList<>(csv.nextBatch(batchSize));
+    while (csv.hasNext() && csv.peek().findField(TYPE_FIELD).orElse("").toUpperCase(Locale.ENGLISH).equals("VARIABLE")) {
+      rows.add(csv.next());
+    }
+    return rows;
+  }
+
+  // creates the result when a file could not be parsed
+  private static <T> ValueWithFailures<List<T>> fileFailure(CharSource charSource, RuntimeException ex) {
+    return ValueWithFailures.of(
+        ImmutableList.of(),
+        FailureItem.of(
+            FailureReason.PARSING, ex, "CSV file could not be parsed: {exceptionMessage}: {}", ex.getMessage(), charSource));
+  }
+
+  //-------------------------------------------------------------------------
   // loads a single CSV file, filtering by trade type
   private <T extends Trade> ValueWithFailures<List<T>> parseFile(CharSource charSource, Class<T> tradeType) {
     try (CsvIterator csv = CsvIterator.of(charSource, true)) {
@@ -383,15 +536,12 @@ public final class TradeCsvLoader {
       return parseFile(csv, tradeType);
 
     } catch (RuntimeException ex) {
-      return ValueWithFailures.of(
-          ImmutableList.of(),
-          FailureItem.of(
-              FailureReason.PARSING, ex, "CSV file could not be parsed: {exceptionMessage}: {}", ex.getMessage(), charSource));
+      return fileFailure(charSource, ex);
     }
   }
 
-  // loads a single CSV file
-  private <T extends Trade> ValueWithFailures<List<T>> parseFile(CsvIterator csv, Class<T> tradeType) {
+  // loads a single CSV file, or a batch of rows from a file
+  private <T extends Trade> ValueWithFailures<List<T>> parseFile(PeekingIterator<CsvRow> csv, Class<T> tradeType) {
     List<T> trades = new ArrayList<>();
     List<FailureItem> failures = new ArrayList<>();
     while (csv.hasNext()) {
@@ -13,6 +13,7 @@ import java.time.Period;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -218,6 +219,39 @@ public final class FpmlDocument {
     this.refData = refData;
   }
 
+  /**
+   * Creates an instance from another document, replacing the references.
+   * 
+   * @param base  the document to copy
+   * @param references  the map of id/href to referenced element
+   */
+  private FpmlDocument(FpmlDocument base, Map<String, XmlElement> references) {
+    this.fpmlRoot = base.fpmlRoot;
+    this.references = ImmutableMap.copyOf(references);
+    this.parties = base.parties;
+    this.ourPartyHrefIds = base.ourPartyHrefIds;
+    this.tradeInfoParser = base.tradeInfoParser;
+    this.refData = base.refData;
+  }
+
+  /**
+   * Returns a copy of this document with additional references.
+   * <p>
+   * This is used when trades are streamed, as the references within each trade
+   * are only known when the trade is parsed.
+   * 
+   * @param additionalReferences  the additional references, taking priority over those in this document
+   * @return the document with the combined references
+   */
+  FpmlDocument withAdditionalReferences(Map<String, XmlElement> additionalReferences) {
+    if (additionalReferences.isEmpty()) {
+      return this;
+    }
+    Map<String, XmlElement> combined = new HashMap<>(references);
+    combined.putAll(additionalReferences);
+    return new FpmlDocument(this, combined);
+  }
+
   // parse all the root-level party elements
   private static ImmutableListMultimap<String, String> parseParties(XmlElement root) {
     ListMultimap<String, String> parties = ArrayListMultimap.create();
@@ -7,16 +7,27 @@ package com.opengamma.strata.loader.fpml;
 
 import static com.opengamma.strata.collect.Guavate.toImmutableSet;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.io.ByteSource;
 import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.io.XmlElement;
 import com.opengamma.strata.collect.io.XmlFile;
 import com.opengamma.strata.collect.named.ExtendedEnum;
@@ -34,11 +45,20 @@ import com.opengamma.strata.product.Trade;
 public final class FpmlDocumentParser {
   // Notes: Streaming trades directly from the file is difficult due to the
   // need to parse the party element at the root, which is after the trades
+  // As such, streaming reads the file twice, once for the parties and once for the trades
 
   /**
    * The lookup of trade parsers.
    */
   static final ExtendedEnum<FpmlParserPlugin> ENUM_LOOKUP = ExtendedEnum.of(FpmlParserPlugin.class);
+  /**
+   * The name of the trade element.
+   */
+  private static final String TRADE = "trade";
+  /**
+   * The maximum number of streamed trades that are parsed but not yet passed to the consumer.
+   */
+  private static final int MAX_PENDING_TRADES = Math.max(2, Runtime.getRuntime().availableProcessors() * 4);
 
   /**
    * The selector used to find "our" party within the set of parties in the FpML document.
@@ -252,6 +272,113 @@ public final class FpmlDocumentParser {
     return null;
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Parses FpML from the specified source, streaming the trades to a consumer.
+   * <p>
+   * This is equivalent to {@link #streamTrades(ByteSource, Executor, Consumer)} with
+   * the trades parsed on the calling thread.
+   * 
+   * @param source  the source of the FpML XML document
+   * @param consumer  the consumer of the parsed trades
+   * @throws RuntimeException if a parse error occurred
+   */
+  public void streamTrades(ByteSource source, Consumer<Trade> consumer) {
+    streamTrades(source, Runnable::run, consumer);
+  }
+
+  /**
+   * Parses FpML from the specified source, streaming the trades to a consumer.
+   * <p>
+   * This parses the specified byte source which must be an XML document.
+   * Unlike {@link #parseTrades(ByteSource)}, the whole document is not held in memory.
+   * Instead, each {@code <trade>} element is read and parsed one at a time, with the memory
+   * needed bounded by the size of the largest trade. The source is read twice, once to find
+   * the {@code <party>} elements, which occur after the trades, and once to parse the trades.
+   * <p>
+   * The trade elements are parsed using the executor, allowing trades to be parsed in parallel.
+   * The parsed trades are passed to the consumer on the calling thread, in the order that they
+   * occur in the document. Only a small number of trades are held in memory at any one time.
+   * <p>
+   * When parsing a trade, href/id references are resolved against the elements within the
+   * trade itself and the elements outside all trades, such as the {@code <party>} elements.
+   * References from one trade to another are not supported.
+   * <p>
+   * Sometimes, the FpML document is embedded in a non-FpML wrapper.
+   * This method will intelligently find the FpML document at the root or within one or two levels
+   * of wrapper by searching for an element that contains both {@code <trade>} and {@code <party>}.
+   * 
+   * @param source  the source of the FpML XML document
+   * @param executor  the executor used to parse each trade
+   * @param consumer  the consumer of the parsed trades
+   * @throws RuntimeException if a parse error occurred
+   */
+  public void streamTrades(ByteSource source, Executor executor, Consumer<Trade> consumer) {
+    ArgChecker.notNull(source, "source");
+    ArgChecker.notNull(executor, "executor");
+    ArgChecker.notNull(consumer, "consumer");
+    // first pass finds the parties and the location of the trades, ignoring the trade content
+    XmlFile skeletonFile = XmlFile.of(source, FpmlDocument.ID, TRADE::equals, tradeFile -> { });
+    XmlElement root = findFpmlRoot(skeletonFile.getRoot());
+    FpmlDocument document = new FpmlDocument(root, skeletonFile.getReferences(), ourPartySelector, tradeInfoParser, refData);
+    Set<Integer> fpmlTradeIndices = findFpmlTradeIndices(skeletonFile.getRoot(), root);
+
+    // second pass parses each trade that is within the FpML root
+    Deque<CompletableFuture<Trade>> pending = new ArrayDeque<>();
+    int[] tradeIndex = {0};
+    XmlFile.of(source, FpmlDocument.ID, TRADE::equals, tradeFile -> {
+      if (fpmlTradeIndices.contains(tradeIndex[0]++)) {
+        FpmlDocument tradeDocument = document.withAdditionalReferences(tradeFile.getReferences());
+        pending.add(CompletableFuture.supplyAsync(() -> parseTrade(tradeDocument, tradeFile.getRoot()), executor));
+        while (pending.size() >= MAX_PENDING_TRADES) {
+          consumer.accept(join(pending.removeFirst()));
+        }
+      }
+    });
+    while (!pending.isEmpty()) {
+      consumer.accept(join(pending.removeFirst()));
+    }
+  }
+
+  // finds the index of each streamed trade that is within the FpML root
+  // the streamed trades are in document order, matching a depth-first traversal of the elements
+  private static Set<Integer> findFpmlTradeIndices(XmlElement skeletonRoot, XmlElement fpmlRoot) {
+    Set<XmlElement> fpmlTrades = Collections.newSetFromMap(new IdentityHashMap<>());
+    fpmlTrades.addAll(fpmlRoot.getChildren(TRADE));
+    List<XmlElement> allTrades = new ArrayList<>();
+    findTrades(skeletonRoot, allTrades);
+    Set<Integer> indices = new HashSet<>();
+    for (int i = 0; i < allTrades.size(); i++) {
+      if (fpmlTrades.contains(allTrades.get(i))) {
+        indices.add(i);
+      }
+    }
+    return indices;
+  }
+
+  // finds the streamed trades, which are never nested
+  private static void findTrades(XmlElement el, List<XmlElement> trades) {
+    for (XmlElement child : el.getChildren()) {
+      if (child.getName().equals(TRADE)) {
+        trades.add(child);
+      } else {
+        findTrades(child, trades);
+      }
+    }
+  }
+
+  // waits for the trade to be parsed, unwrapping the exception
+  private static Trade join(CompletableFuture<Trade> future) {
+    try {
+      return future.join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) ex.getCause();
+      }
+      throw ex;
+    }
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Parses the FpML document extracting the trades.
@@ -28,7 +28,10 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.Period;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.testng.annotations.Test;
@@ -1303,6 +1306,67 @@ public class TradeCsvLoaderTest {
     assertBeanEquals(expected2, filtered.get(1));
   }
 
+  //-------------------------------------------------------------------------
+  public void test_parseBatches() {
+    TradeCsvLoader test = TradeCsvLoader.standard();
+    ValueWithFailures<List<Trade>> expected = test.parse(ImmutableList.of(FILE.getCharSource()));
+
+    List<Trade> trades = new ArrayList<>();
+    List<Integer> batchSizes = new ArrayList<>();
+    test.parseBatches(ImmutableList.of(FILE.getCharSource()), Trade.class, 2, batch -> {
+      assertEquals(batch.getFailures().size(), 0, batch.getFailures().toString());
+      trades.addAll(batch.getValue());
+      batchSizes.add(batch.getValue().size());
+    });
+    assertEquals(trades, expected.getValue());
+    assertEquals(batchSizes.stream().allMatch(size -> size <= 2), true);
+  }
+
+  public void test_parseBatches_executor() {
+    TradeCsvLoader test = TradeCsvLoader.standard();
+    List<CharSource> sources = ImmutableList.of(FILE.getCharSource(), FILE_CPTY.getCharSource(), FILE.getCharSource());
+    ValueWithFailures<List<Trade>> expected = test.parse(sources);
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Trade> trades = new ArrayList<>();
+      List<FailureItem> failures = new ArrayList<>();
+      test.parseBatches(sources, Trade.class, 1, executor, batch -> {
+        trades.addAll(batch.getValue());
+        failures.addAll(batch.getFailures());
+      });
+      assertEquals(trades, expected.getValue());
+      assertEquals(failures, expected.getFailures());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  public void test_parseBatches_filtered() {
+    TradeCsvLoader test = TradeCsvLoader.standard();
+    List<FraTrade> trades = new ArrayList<>();
+    test.parseBatches(ImmutableList.of(FILE.getCharSource()), FraTrade.class, 3, batch -> trades.addAll(batch.getValue()));
+    assertEquals(trades, test.parse(ImmutableList.of(FILE.getCharSource()), FraTrade.class).getValue());
+  }
+
+  public void test_parseBatches_invalid() {
+    TradeCsvLoader test = TradeCsvLoader.standard();
+    List<CharSource> sources = ImmutableList.of(
+        CharSource.wrap(""),
+        CharSource.wrap("Id"),
+        CharSource.wrap("Strata Trade Type,Buy Sell\nFoo,Buy\nFra,Buy"));
+    List<FailureItem> failures = new ArrayList<>();
+    test.parseBatches(sources, Trade.class, 1, batch -> {
+      assertEquals(batch.getValue().size(), 0);
+      failures.addAll(batch.getFailures());
+    });
+    assertEquals(failures.size(), 4);
+    assertEquals(failures.get(0).getMessage().contains("CSV file could not be parsed"), true);
+    assertEquals(failures.get(1).getMessage().contains("CSV file does not contain 'Strata Trade Type' header"), true);
+    assertEquals(failures.get(2).getMessage(), "CSV file trade type 'Foo' is not known at line 2");
+    assertEquals(failures.get(3).getMessage(), "CSV file trade could not be parsed at line 3: Header not found: 'Notional'");
+  }
+
   //-------------------------------------------------------------------------
   public void test_load_invalidNoHeader() {
     TradeCsvLoader test = TradeCsvLoader.standard();
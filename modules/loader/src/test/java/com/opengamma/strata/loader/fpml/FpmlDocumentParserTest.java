@@ -52,8 +52,11 @@ import java.time.LocalTime;
 import java.time.Period;
 import java.time.ZoneId;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.regex.Pattern;
 
 import org.joda.beans.Bean;
@@ -1464,6 +1467,57 @@ public class FpmlDocumentParserTest {
     assertEquals(trades.size(), 1);
   }
 
+  //-------------------------------------------------------------------------
+  @DataProvider(name = "stream")
+  Object[][] data_stream() {
+    return new Object[][] {
+        {"classpath:com/opengamma/strata/loader/fpml/bullet-payment-weird.xml"},
+        {"classpath:com/opengamma/strata/loader/fpml/cd-ex01-long-asia-corp-fixreg.xml"},
+        {"classpath:com/opengamma/strata/loader/fpml/cdindex-ex01-cdx.xml"},
+        {"classpath:com/opengamma/strata/loader/fpml/fx-ex08-fx-swap.xml"},
+        {"classpath:com/opengamma/strata/loader/fpml/ird-ex02-stub-amort-swap.xml"},
+        {"classpath:com/opengamma/strata/loader/fpml/ird-ex06-xccy-swap.xml"},
+        {"classpath:com/opengamma/strata/loader/fpml/ird-ex08-fra-wrapper1.xml"},
+        {"classpath:com/opengamma/strata/loader/fpml/ird-ex08-fra-wrapper2.xml"},
+        {"classpath:com/opengamma/strata/loader/fpml/ird-ex08-fra-wrapper-clearing-status.xml"},
+        {"classpath:com/opengamma/strata/loader/fpml/ird-ex10-euro-swaption-relative.xml"},
+        {"classpath:com/opengamma/strata/loader/fpml/td-ex01-simple-term-deposit.xml"},
+    };
+  }
+
+  @Test(dataProvider = "stream")
+  public void streamTrades(String location) {
+    ByteSource resource = ResourceLocator.of(location).getByteSource();
+    FpmlDocumentParser parser = FpmlDocumentParser.of(FpmlPartySelector.matchingRegex(Pattern.compile("Party1.*")));
+    List<Trade> expected = parser.parseTrades(resource);
+    List<Trade> trades = new ArrayList<>();
+    parser.streamTrades(resource, trades::add);
+    assertEquals(trades, expected);
+  }
+
+  public void streamTrades_executor() {
+    ByteSource resource = ResourceLocator.of("classpath:com/opengamma/strata/loader/fpml/bullet-payment-weird.xml").getByteSource();
+    FpmlDocumentParser parser = FpmlDocumentParser.of(FpmlPartySelector.matchingRegex(Pattern.compile("Party1[ab]")));
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      List<Trade> trades = new ArrayList<>();
+      parser.streamTrades(resource, executor, trades::add);
+      assertEquals(trades, parser.parseTrades(resource));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  public void streamTrades_notFpml() {
+    String location = "classpath:com/opengamma/strata/loader/fpml/not-fpml.xml";
+    ByteSource resource = ResourceLocator.of(location).getByteSource();
+    FpmlDocumentParser parser = FpmlDocumentParser.of(FpmlPartySelector.any());
+    assertThrows(
+        () -> parser.streamTrades(resource, trade -> { }),
+        FpmlParseException.class,
+        "Unable to find FpML root element.*");
+  }
+
   //-------------------------------------------------------------------------
   public void noTrades() {
     XmlElement rootEl = XmlElement.ofChildren("dataDocument", ImmutableList.of());
@@ -23,6 +23,7 @@ import org.joda.beans.impl.direct.DirectMetaPropertyMap;
 import org.joda.beans.impl.direct.DirectPrivateBeanBuilder;
 
 import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.data.scenario.MarketDataBox;
 import com.opengamma.strata.data.scenario.ScenarioPerturbation;
@@ -87,9 +88,19 @@ public final class GenericDoubleShifts
   //-------------------------------------------------------------------------
   @Override
   public MarketDataBox<Double> applyTo(MarketDataBox<Double> marketData, ReferenceData refData) {
-    return marketData.mapWithIndex(
-        getScenarioCount(),
-        (value, scenarioIndex) -> shiftType.applyShift(value + spread, shiftAmount.get(scenarioIndex)) - spread);
+    int scenarioCount = getScenarioCount();
+    if (marketData.isScenarioValue() && marketData.getScenarioCount() != scenarioCount) {
+      throw new IllegalArgumentException(Messages.format(
+          "Scenario count {} does not equal the scenario count of the value {}",
+          scenarioCount,
+          marketData.getScenarioCount()));
+    }
+    // the shifted values are held in a primitive array rather than as a list of boxed values
+    DoubleArray shifted = DoubleArray.of(
+        scenarioCount,
+        scenarioIndex -> shiftType.applyShift(
+            marketData.getValue(scenarioIndex) + spread, shiftAmount.get(scenarioIndex)) - spread);
+    return MarketDataBox.ofScenarioValues(shifted);
   }
 
   @Override
@@ -37,6 +37,7 @@ import com.opengamma.strata.data.scenario.ScenarioPerturbation;
 import com.opengamma.strata.market.ShiftType;
 import com.opengamma.strata.market.param.ParameterMetadata;
 import com.opengamma.strata.market.param.PointShifts;
+import com.opengamma.strata.market.param.ShiftedParameterizedDataScenarioArray;
 
 /**
  * A perturbation that applies different shifts to specific points on a curve.
@@ -116,6 +117,15 @@ public final class CurvePointShifts
   @Override
   public MarketDataBox<Curve> applyTo(MarketDataBox<Curve> marketData, ReferenceData refData) {
     log.debug("Applying {} point shift to curve '{}'", shiftType, marketData.getValue(0).getName());
+    if (marketData.isSingleValue()) {
+      // the shifts of each node are stored rather than the shifted curve of each scenario
+      Curve curve = marketData.getSingleValue();
+      DoubleMatrix nodeShifts = DoubleMatrix.of(
+          shifts.rowCount(),
+          curve.getParameterCount(),
+          (scenarioIndex, index) -> shiftForNode(scenarioIndex, curve.getParameterMetadata(index)));
+      return MarketDataBox.ofScenarioValue(ShiftedParameterizedDataScenarioArray.of(curve, shiftType, nodeShifts));
+    }
     return marketData.mapWithIndex(shifts.rowCount(), (curve, scenarioIndex) -> applyShifts(scenarioIndex, curve));
   }
 
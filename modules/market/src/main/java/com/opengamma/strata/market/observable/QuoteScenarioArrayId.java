@@ -25,6 +25,7 @@ import org.joda.beans.impl.direct.DirectPrivateBeanBuilder;
 import com.opengamma.strata.basics.StandardId;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.data.FieldName;
+import com.opengamma.strata.data.scenario.DoubleScenarioArray;
 import com.opengamma.strata.data.scenario.MarketDataBox;
 import com.opengamma.strata.data.scenario.ScenarioMarketDataId;
 
@@ -73,6 +74,11 @@ public final class QuoteScenarioArrayId
 
   @Override
   public QuoteScenarioArray createScenarioValue(MarketDataBox<Double> marketDataBox, int scenarioCount) {
+    if (marketDataBox.isScenarioValue() && marketDataBox.getScenarioCount() == scenarioCount &&
+        marketDataBox.getScenarioValue() instanceof DoubleScenarioArray) {
+      // the primitive array is immutable and shared without copying
+      return QuoteScenarioArray.of(((DoubleScenarioArray) marketDataBox.getScenarioValue()).getValues());
+    }
     return QuoteScenarioArray.of(DoubleArray.of(scenarioCount, i -> marketDataBox.getValue(i)));
   }
 
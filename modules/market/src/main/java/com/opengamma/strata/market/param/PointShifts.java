@@ -123,6 +123,15 @@ public final class PointShifts
 
     log.debug("Applying {} point shift to ParameterizedData '{}'", shiftType,
         marketData.getValue(0).toString());
+    if (marketData.isSingleValue()) {
+      // the shifts of each parameter are stored rather than the shifted data of each scenario
+      ParameterizedData prams = marketData.getSingleValue();
+      DoubleMatrix parameterShifts = DoubleMatrix.of(
+          shifts.rowCount(),
+          prams.getParameterCount(),
+          (scenarioIndex, index) -> shiftForNode(scenarioIndex, prams.getParameterMetadata(index)));
+      return MarketDataBox.ofScenarioValue(ShiftedParameterizedDataScenarioArray.of(prams, shiftType, parameterShifts));
+    }
     return marketData.mapWithIndex(
         shifts.rowCount(),
         (prams, scenarioIndex) -> applyShifts(scenarioIndex, prams));
@@ -0,0 +1,435 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.param;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.joda.beans.Bean;
+import org.joda.beans.BeanBuilder;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaBean;
+import org.joda.beans.MetaProperty;
+import org.joda.beans.gen.BeanDefinition;
+import org.joda.beans.gen.ImmutableConstructor;
+import org.joda.beans.gen.PropertyDefinition;
+import org.joda.beans.impl.direct.DirectMetaBean;
+import org.joda.beans.impl.direct.DirectMetaProperty;
+import org.joda.beans.impl.direct.DirectMetaPropertyMap;
+import org.joda.beans.impl.direct.DirectPrivateBeanBuilder;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.data.scenario.ScenarioArray;
+import com.opengamma.strata.market.ShiftType;
+
+/**
+ * Parameterized data in multiple scenarios, stored as base data and a shift of each parameter in each scenario.
+ * <p>
+ * This class is a more efficient alternative to storing the shifted data of each scenario
+ * using {@code MarketDataBox.ofScenarioValues}.
+ * The base data is stored once, together with a matrix of shifts with one row per scenario
+ * and one column per parameter of the base data.
+ * The memory footprint thus grows with the number of shifts, not with the size of the data.
+ * <p>
+ * The shifted data of a scenario is created on demand when it is requested, by applying
+ * the shifts of the scenario to the base data with {@link ParameterizedData#withPerturbation(ParameterPerturbation)}.
+ * For example, the interpolator of a nodal curve is only bound for the scenarios in use.
+ * The shifted data of each scenario is retained once created, so the perturbation is only applied
+ * the first time a scenario is requested.
+ *
+ * @param <T>  the type of the parameterized data
+ */
+@BeanDefinition(builderScope = "private")
+public final class ShiftedParameterizedDataScenarioArray<T extends ParameterizedData>
+    implements ScenarioArray<T>, ImmutableBean, Serializable {
+
+  /**
+   * The base data, to which the shifts are applied.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final T baseData;
+  /**
+   * The type of shift applied to the parameters.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ShiftType shiftType;
+  /**
+   * The shifts, with one row per scenario and one column per parameter of the base data.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final DoubleMatrix shifts;
+  /**
+   * The shifted data of each scenario, null until first requested.
+   */
+  private final transient AtomicReferenceArray<T> scenarioData;  // derived and cached, not a property
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from base data and the shifts of its parameters.
+   * <p>
+   * The matrix of shifts has one row per scenario and one column per parameter of the base data.
+   *
+   * @param <T>  the type of the parameterized data
+   * @param baseData  the base data
+   * @param shiftType  the type of shift applied to the parameters
+   * @param shifts  the shifts, with one row per scenario and one column per parameter
+   * @return the scenario array
+   */
+  public static <T extends ParameterizedData> ShiftedParameterizedDataScenarioArray<T> of(
+      T baseData,
+      ShiftType shiftType,
+      DoubleMatrix shifts) {
+
+    return new ShiftedParameterizedDataScenarioArray<>(baseData, shiftType, shifts);
+  }
+
+  @ImmutableConstructor
+  private ShiftedParameterizedDataScenarioArray(T baseData, ShiftType shiftType, DoubleMatrix shifts) {
+    ArgChecker.notNull(baseData, "baseData");
+    ArgChecker.notNull(shiftType, "shiftType");
+    ArgChecker.notNull(shifts, "shifts");
+    ArgChecker.isTrue(shifts.rowCount() > 0, "The number of scenarios must be positive");
+    ArgChecker.isTrue(
+        shifts.columnCount() == baseData.getParameterCount(),
+        "The number of shifts {} must match the number of parameters {}",
+        shifts.columnCount(),
+        baseData.getParameterCount());
+    this.baseData = baseData;
+    this.shiftType = shiftType;
+    this.shifts = shifts;
+    this.scenarioData = new AtomicReferenceArray<>(shifts.rowCount());
+  }
+
+  // ensure standard constructor is invoked
+  private Object readResolve() {
+    return new ShiftedParameterizedDataScenarioArray<>(baseData, shiftType, shifts);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public int getScenarioCount() {
+    return shifts.rowCount();
+  }
+
+  @Override
+  public T get(int scenarioIndex) {
+    ArgChecker.inRange(scenarioIndex, 0, shifts.rowCount(), "scenarioIndex");
+    T data = scenarioData.get(scenarioIndex);
+    if (data == null) {
+      // concurrent callers may both create the data, the first one stored is returned to all
+      scenarioData.compareAndSet(scenarioIndex, null, shiftedData(scenarioIndex));
+      data = scenarioData.get(scenarioIndex);
+    }
+    return data;
+  }
+
+  // applies the shifts of the scenario to the base data
+  @SuppressWarnings("unchecked")
+  private T shiftedData(int scenarioIndex) {
+    // implementations of ParameterizedData return their own type from withPerturbation
+    return (T) baseData.withPerturbation(
+        (index, value, meta) -> shiftType.applyShift(value, shifts.get(scenarioIndex, index)));
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  /**
+   * The meta-bean for {@code ShiftedParameterizedDataScenarioArray}.
+   * @return the meta-bean, not null
+   */
+  @SuppressWarnings("rawtypes")
+  public static ShiftedParameterizedDataScenarioArray.Meta meta() {
+    return ShiftedParameterizedDataScenarioArray.Meta.INSTANCE;
+  }
+
+  /**
+   * The meta-bean for {@code ShiftedParameterizedDataScenarioArray}.
+   * @param <R>  the bean's generic type
+   * @param cls  the bean's generic type
+   * @return the meta-bean, not null
+   */
+  @SuppressWarnings("unchecked")
+  public static <R extends ParameterizedData> ShiftedParameterizedDataScenarioArray.Meta<R> metaShiftedParameterizedDataScenarioArray(Class<R> cls) {
+    return ShiftedParameterizedDataScenarioArray.Meta.INSTANCE;
+  }
+
+  static {
+    MetaBean.register(ShiftedParameterizedDataScenarioArray.Meta.INSTANCE);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public ShiftedParameterizedDataScenarioArray.Meta<T> metaBean() {
+    return ShiftedParameterizedDataScenarioArray.Meta.INSTANCE;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the base data, to which the shifts are applied.
+   * @return the value of the property, not null
+   */
+  public T getBaseData() {
+    return baseData;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the type of shift applied to the parameters.
+   * @return the value of the property, not null
+   */
+  public ShiftType getShiftType() {
+    return shiftType;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the shifts, with one row per scenario and one column per parameter of the base data.
+   * @return the value of the property, not null
+   */
+  public DoubleMatrix getShifts() {
+    return shifts;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      ShiftedParameterizedDataScenarioArray<?> other = (ShiftedParameterizedDataScenarioArray<?>) obj;
+      return JodaBeanUtils.equal(baseData, other.baseData) &&
+          JodaBeanUtils.equal(shiftType, other.shiftType) &&
+          JodaBeanUtils.equal(shifts, other.shifts);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(baseData);
+    hash = hash * 31 + JodaBeanUtils.hashCode(shiftType);
+    hash = hash * 31 + JodaBeanUtils.hashCode(shifts);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(128);
+    buf.append("ShiftedParameterizedDataScenarioArray{");
+    buf.append("baseData").append('=').append(baseData).append(',').append(' ');
+    buf.append("shiftType").append('=').append(shiftType).append(',').append(' ');
+    buf.append("shifts").append('=').append(JodaBeanUtils.toString(shifts));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The meta-bean for {@code ShiftedParameterizedDataScenarioArray}.
+   * @param <T>  the type
+   */
+  public static final class Meta<T extends ParameterizedData> extends DirectMetaBean {
+    /**
+     * The singleton instance of the meta-bean.
+     */
+    @SuppressWarnings("rawtypes")
+    static final Meta INSTANCE = new Meta();
+
+    /**
+     * The meta-property for the {@code baseData} property.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes" })
+    private final MetaProperty<T> baseData = (DirectMetaProperty) DirectMetaProperty.ofImmutable(
+        this, "baseData", ShiftedParameterizedDataScenarioArray.class, Object.class);
+    /**
+     * The meta-property for the {@code shiftType} property.
+     */
+    private final MetaProperty<ShiftType> shiftType = DirectMetaProperty.ofImmutable(
+        this, "shiftType", ShiftedParameterizedDataScenarioArray.class, ShiftType.class);
+    /**
+     * The meta-property for the {@code shifts} property.
+     */
+    private final MetaProperty<DoubleMatrix> shifts = DirectMetaProperty.ofImmutable(
+        this, "shifts", ShiftedParameterizedDataScenarioArray.class, DoubleMatrix.class);
+    /**
+     * The meta-properties.
+     */
+    private final Map<String, MetaProperty<?>> metaPropertyMap$ = new DirectMetaPropertyMap(
+        this, null,
+        "baseData",
+        "shiftType",
+        "shifts");
+
+    /**
+     * Restricted constructor.
+     */
+    private Meta() {
+    }
+
+    @Override
+    protected MetaProperty<?> metaPropertyGet(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case -1721984485:  // baseData
+          return baseData;
+        case 893345500:  // shiftType
+          return shiftType;
+        case -903338959:  // shifts
+          return shifts;
+      }
+      return super.metaPropertyGet(propertyName);
+    }
+
+    @Override
+    public BeanBuilder<? extends ShiftedParameterizedDataScenarioArray<T>> builder() {
+      return new ShiftedParameterizedDataScenarioArray.Builder<>();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes" })
+    @Override
+    public Class<? extends ShiftedParameterizedDataScenarioArray<T>> beanType() {
+      return (Class) ShiftedParameterizedDataScenarioArray.class;
+    }
+
+    @Override
+    public Map<String, MetaProperty<?>> metaPropertyMap() {
+      return metaPropertyMap$;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The meta-property for the {@code baseData} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<T> baseData() {
+      return baseData;
+    }
+
+    /**
+     * The meta-property for the {@code shiftType} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<ShiftType> shiftType() {
+      return shiftType;
+    }
+
+    /**
+     * The meta-property for the {@code shifts} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<DoubleMatrix> shifts() {
+      return shifts;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    protected Object propertyGet(Bean bean, String propertyName, boolean quiet) {
+      switch (propertyName.hashCode()) {
+        case -1721984485:  // baseData
+          return ((ShiftedParameterizedDataScenarioArray<?>) bean).getBaseData();
+        case 893345500:  // shiftType
+          return ((ShiftedParameterizedDataScenarioArray<?>) bean).getShiftType();
+        case -903338959:  // shifts
+          return ((ShiftedParameterizedDataScenarioArray<?>) bean).getShifts();
+      }
+      return super.propertyGet(bean, propertyName, quiet);
+    }
+
+    @Override
+    protected void propertySet(Bean bean, String propertyName, Object newValue, boolean quiet) {
+      metaProperty(propertyName);
+      if (quiet) {
+        return;
+      }
+      throw new UnsupportedOperationException("Property cannot be written: " + propertyName);
+    }
+
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The bean-builder for {@code ShiftedParameterizedDataScenarioArray}.
+   * @param <T>  the type
+   */
+  private static final class Builder<T extends ParameterizedData> extends DirectPrivateBeanBuilder<ShiftedParameterizedDataScenarioArray<T>> {
+
+    private T baseData;
+    private ShiftType shiftType;
+    private DoubleMatrix shifts;
+
+    /**
+     * Restricted constructor.
+     */
+    private Builder() {
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public Object get(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case -1721984485:  // baseData
+          return baseData;
+        case 893345500:  // shiftType
+          return shiftType;
+        case -903338959:  // shifts
+          return shifts;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Builder<T> set(String propertyName, Object newValue) {
+      switch (propertyName.hashCode()) {
+        case -1721984485:  // baseData
+          this.baseData = (T) newValue;
+          break;
+        case 893345500:  // shiftType
+          this.shiftType = (ShiftType) newValue;
+          break;
+        case -903338959:  // shifts
+          this.shifts = (DoubleMatrix) newValue;
+          break;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+      return this;
+    }
+
+    @Override
+    public ShiftedParameterizedDataScenarioArray<T> build() {
+      return new ShiftedParameterizedDataScenarioArray<>(
+          baseData,
+          shiftType,
+          shifts);
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public String toString() {
+      StringBuilder buf = new StringBuilder(128);
+      buf.append("ShiftedParameterizedDataScenarioArray.Builder{");
+      buf.append("baseData").append('=').append(JodaBeanUtils.toString(baseData)).append(',').append(' ');
+      buf.append("shiftType").append('=').append(JodaBeanUtils.toString(shiftType)).append(',').append(' ');
+      buf.append("shifts").append('=').append(JodaBeanUtils.toString(shifts));
+      buf.append('}');
+      return buf.toString();
+    }
+
+  }
+
+  //-------------------------- AUTOGENERATED END --------------------------
+}
@@ -11,7 +11,6 @@ import static org.testng.Assert.assertEquals;
 
 import org.testng.annotations.Test;
 
-import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.data.scenario.MarketDataBox;
@@ -47,21 +46,21 @@ public class GenericDoubleShiftsTest {
     MarketDataBox<Double> marketData = MarketDataBox.ofSingleValue(baseValue);
     GenericDoubleShifts testScaled = GenericDoubleShifts.of(ShiftType.SCALED, SHIFT_AMOUNT, SPREAD);
     MarketDataBox<Double> computedScaled = testScaled.applyTo(marketData, REF_DATA);
-    MarketDataBox<Double> expectedScaled = MarketDataBox.ofScenarioValues(ImmutableList.of(
+    MarketDataBox<Double> expectedScaled = MarketDataBox.ofScenarioValues(DoubleArray.of(
         (baseValue + SPREAD) * SHIFT_AMOUNT.get(0) - SPREAD,
         (baseValue + SPREAD) * SHIFT_AMOUNT.get(1) - SPREAD,
         (baseValue + SPREAD) * SHIFT_AMOUNT.get(2) - SPREAD));
     assertEquals(computedScaled, expectedScaled);
     GenericDoubleShifts testRelative = GenericDoubleShifts.of(ShiftType.RELATIVE, SHIFT_AMOUNT, SPREAD);
     MarketDataBox<Double> computedRelative = testRelative.applyTo(marketData, REF_DATA);
-    MarketDataBox<Double> expectedRelative = MarketDataBox.ofScenarioValues(ImmutableList.of(
+    MarketDataBox<Double> expectedRelative = MarketDataBox.ofScenarioValues(DoubleArray.of(
         (baseValue + SPREAD) * (1d + SHIFT_AMOUNT.get(0)) - SPREAD,
         (baseValue + SPREAD) * (1d + SHIFT_AMOUNT.get(1)) - SPREAD,
         (baseValue + SPREAD) * (1d + SHIFT_AMOUNT.get(2)) - SPREAD));
     assertEquals(computedRelative, expectedRelative);
     GenericDoubleShifts testAbsolute = GenericDoubleShifts.of(ShiftType.ABSOLUTE, SHIFT_AMOUNT);
     MarketDataBox<Double> computedAbsolute = testAbsolute.applyTo(marketData, REF_DATA);
-    MarketDataBox<Double> expectedAbsolute = MarketDataBox.ofScenarioValues(ImmutableList.of(
+    MarketDataBox<Double> expectedAbsolute = MarketDataBox.ofScenarioValues(DoubleArray.of(
         baseValue + SHIFT_AMOUNT.get(0),
         baseValue + SHIFT_AMOUNT.get(1),
         baseValue + SHIFT_AMOUNT.get(2)));
@@ -36,6 +36,13 @@ public class QuoteScenarioArrayIdTest {
     assertThat(quotesArray.getQuotes()).isEqualTo(DoubleArray.of(1d, 2d, 3d));
   }
 
+  public void createScenarioValueFromDoubleArray() {
+    DoubleArray values = DoubleArray.of(1d, 2d, 3d);
+    MarketDataBox<Double> box = MarketDataBox.ofScenarioValues(values);
+    QuoteScenarioArray quotesArray = KEY.createScenarioValue(box, 3);
+    assertThat(quotesArray.getQuotes()).isSameAs(values);
+  }
+
   public void createScenarioValueFromSingleValue() {
     MarketDataBox<Double> box = MarketDataBox.ofSingleValue(3d);
     QuoteScenarioArray quotesArray = KEY.createScenarioValue(box, 3);
@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.param;
+
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.date.DayCounts;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.data.scenario.MarketDataBox;
+import com.opengamma.strata.market.ShiftType;
+import com.opengamma.strata.market.curve.Curve;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.Curves;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
+
+/**
+ * Test {@link ShiftedParameterizedDataScenarioArray}.
+ */
+@Test
+public class ShiftedParameterizedDataScenarioArrayTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final Curve CURVE = InterpolatedNodalCurve.of(
+      Curves.zeroRates(CurveName.of("curve"), DayCounts.ACT_365F),
+      DoubleArray.of(1, 2, 3),
+      DoubleArray.of(5, 6, 7),
+      CurveInterpolators.LINEAR);
+  private static final DoubleMatrix SHIFTS = DoubleMatrix.of(2, 3, 0d, 0d, 0d, 0.1, 0.2, 0.3);
+
+  public void test_of() {
+    ShiftedParameterizedDataScenarioArray<Curve> test =
+        ShiftedParameterizedDataScenarioArray.of(CURVE, ShiftType.RELATIVE, SHIFTS);
+    assertThat(test.getBaseData()).isEqualTo(CURVE);
+    assertThat(test.getShiftType()).isEqualTo(ShiftType.RELATIVE);
+    assertThat(test.getShifts()).isEqualTo(SHIFTS);
+    assertThat(test.getScenarioCount()).isEqualTo(2);
+    assertThat(test.get(0)).isEqualTo(CURVE);
+    assertThat(test.get(1))
+        .isEqualTo(CURVE.withPerturbation((i, v, m) -> ShiftType.RELATIVE.applyShift(v, SHIFTS.get(1, i))));
+    assertThat(test.stream()).containsExactly(test.get(0), test.get(1));
+    // the shifted data is created once per scenario
+    assertThat(test.get(1)).isSameAs(test.get(1));
+    assertThrowsIllegalArg(() -> test.get(2));
+  }
+
+  public void test_of_invalid() {
+    assertThrowsIllegalArg(
+        () -> ShiftedParameterizedDataScenarioArray.of(CURVE, ShiftType.ABSOLUTE, DoubleMatrix.of(1, 2, 0d, 0d)));
+    assertThrowsIllegalArg(
+        () -> ShiftedParameterizedDataScenarioArray.of(CURVE, ShiftType.ABSOLUTE, DoubleMatrix.EMPTY));
+  }
+
+  public void test_pointShifts() {
+    PointShifts shifts = PointShifts.builder(ShiftType.ABSOLUTE)
+        .addShift(1, CURVE.getParameterMetadata(0).getIdentifier(), 0.1)
+        .addShift(1, CURVE.getParameterMetadata(2).getIdentifier(), 0.3)
+        .build();
+    MarketDataBox<ParameterizedData> box = shifts.applyTo(MarketDataBox.ofSingleValue(CURVE), REF_DATA);
+    ShiftedParameterizedDataScenarioArray<ParameterizedData> expected = ShiftedParameterizedDataScenarioArray.of(
+        CURVE, ShiftType.ABSOLUTE, DoubleMatrix.of(2, 3, 0d, 0d, 0d, 0.1, 0d, 0.3));
+    assertThat(box.getScenarioValue()).isEqualTo(expected);
+    assertThat(box.getMarketDataType()).isEqualTo(InterpolatedNodalCurve.class);
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    ShiftedParameterizedDataScenarioArray<Curve> test =
+        ShiftedParameterizedDataScenarioArray.of(CURVE, ShiftType.RELATIVE, SHIFTS);
+    ShiftedParameterizedDataScenarioArray<Curve> test2 =
+        ShiftedParameterizedDataScenarioArray.of(CURVE, ShiftType.ABSOLUTE, SHIFTS);
+    coverImmutableBean(test);
+    coverBeanEquals(test, test2);
+    assertSerialization(test);
+    test.get(1);
+    assertThat(test).isEqualTo(ShiftedParameterizedDataScenarioArray.of(CURVE, ShiftType.RELATIVE, SHIFTS));
+  }
+
+}
@@ -10,11 +10,9 @@ import java.util.function.DoubleUnaryOperator;
 import org.apache.commons.math3.util.CombinatoricsUtils;
 
 import com.opengamma.strata.collect.ArgChecker;
-import com.opengamma.strata.collect.tuple.Pair;
-import com.opengamma.strata.math.impl.function.DoubleFunction1D;
+import com.opengamma.strata.math.MathException;
 import com.opengamma.strata.math.impl.function.special.GammaFunction;
 import com.opengamma.strata.math.impl.function.special.LaguerrePolynomialFunction;
-import com.opengamma.strata.math.impl.rootfinding.NewtonRaphsonSingleRootFinder;
 
 /**
  * Class that generates weights and abscissas for Gauss-Laguerre quadrature.
@@ -26,13 +24,17 @@ import com.opengamma.strata.math.impl.rootfinding.NewtonRaphsonSingleRootFinder;
  * $$
  * where $x_i$ is the $i^{th}$ root of the orthogonal polynomial, $L_i$ is the
  * $i^{th}$ polynomial and $L_i'$ is the first derivative of the $i^{th}$
- * polynomial. The orthogonal polynomial is generated by
- * {@link LaguerrePolynomialFunction}.
+ * polynomial. The orthogonal polynomial is the one of {@link LaguerrePolynomialFunction}.
+ * <p>
+ * The roots are found by Newton-Raphson iterations, the polynomial and its derivative being
+ * evaluated by the three-term recurrence. This remains accurate for a large number of points.
  */
 public class GaussLaguerreWeightAndAbscissaFunction implements QuadratureWeightAndAbscissaFunction {
 
-  private static final LaguerrePolynomialFunction LAGUERRE = new LaguerrePolynomialFunction();
-  private static final NewtonRaphsonSingleRootFinder ROOT_FINDER = new NewtonRaphsonSingleRootFinder(1e-10);
+  /** The relative accuracy of the roots, before the last Newton-Raphson step. */
+  private static final double ACCURACY = 1e-14;
+  /** The maximum number of Newton-Raphson steps for each root. */
+  private static final int MAX_ITERATIONS = 100;
   private static final DoubleUnaryOperator GAMMA_FUNCTION = new GammaFunction();
   private final double _alpha;
 
@@ -58,20 +60,34 @@ public class GaussLaguerreWeightAndAbscissaFunction implements QuadratureWeightA
   @Override
   public GaussianQuadratureData generate(int n) {
     ArgChecker.isTrue(n > 0);
-    Pair<DoubleFunction1D, DoubleFunction1D>[] polynomials = LAGUERRE.getPolynomialsAndFirstDerivative(n, _alpha);
-    Pair<DoubleFunction1D, DoubleFunction1D> pair = polynomials[n];
-    DoubleFunction1D p1 = polynomials[n - 1].getFirst();
-    DoubleFunction1D function = pair.getFirst();
-    DoubleFunction1D derivative = pair.getSecond();
     double[] x = new double[n];
     double[] w = new double[n];
+    double factor = -GAMMA_FUNCTION.applyAsDouble(_alpha + n) / CombinatoricsUtils.factorialDouble(n);
     double root = 0;
     for (int i = 0; i < n; i++) {
-      root = ROOT_FINDER.getRoot(function, derivative, getInitialRootGuess(root, i, n, x));
+      root = getInitialRootGuess(root, i, n, x);
+      double dp = 0;
+      double pPrevious = 0;
+      int count = 0;
+      double dx;
+      do {
+        if (count++ == MAX_ITERATIONS) {
+          throw new MathException("Could not find root in " + MAX_ITERATIONS + " attempts");
+        }
+        // value and derivative of the polynomial of degree n by the recurrence
+        double p = 1;
+        pPrevious = 0;
+        for (int j = 1; j <= n; j++) {
+          double pPrevious2 = pPrevious;
+          pPrevious = p;
+          p = ((2 * j - 1 + _alpha - root) * pPrevious - (j - 1 + _alpha) * pPrevious2) / j;
+        }
+        dp = (n * p - (n + _alpha) * pPrevious) / root;
+        dx = p / dp;
+        root -= dx;
+      } while (Math.abs(dx) > ACCURACY * Math.max(1d, root));
       x[i] = root;
-      w[i] =
-          -GAMMA_FUNCTION.applyAsDouble(_alpha + n) / CombinatoricsUtils.factorialDouble(n) /
-              (derivative.applyAsDouble(root) * p1.applyAsDouble(root));
+      w[i] = factor / (dp * pPrevious);
     }
     return new GaussianQuadratureData(x, w);
   }
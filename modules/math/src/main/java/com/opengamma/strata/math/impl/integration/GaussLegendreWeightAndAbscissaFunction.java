@@ -6,10 +6,8 @@
 package com.opengamma.strata.math.impl.integration;
 
 import com.opengamma.strata.collect.ArgChecker;
-import com.opengamma.strata.collect.tuple.Pair;
-import com.opengamma.strata.math.impl.function.DoubleFunction1D;
+import com.opengamma.strata.math.MathException;
 import com.opengamma.strata.math.impl.function.special.LegendrePolynomialFunction;
-import com.opengamma.strata.math.impl.rootfinding.NewtonRaphsonSingleRootFinder;
 
 /**
  * Class that generates weights and abscissas for Gauss-Legendre quadrature.
@@ -21,13 +19,17 @@ import com.opengamma.strata.math.impl.rootfinding.NewtonRaphsonSingleRootFinder;
  * $$
  * where $x_i$ is the $i^{th}$ root of the orthogonal polynomial and $L_i'$ is
  * the first derivative of the $i^{th}$ polynomial. The orthogonal polynomial
- * is generated by
- * {@link LegendrePolynomialFunction}.
+ * is the one of {@link LegendrePolynomialFunction}.
+ * <p>
+ * The roots are found by Newton-Raphson iterations, the polynomial and its derivative being
+ * evaluated by the three-term recurrence. This remains accurate for a large number of points.
  */
 public class GaussLegendreWeightAndAbscissaFunction implements QuadratureWeightAndAbscissaFunction {
 
-  private static final LegendrePolynomialFunction LEGENDRE = new LegendrePolynomialFunction();
-  private static final NewtonRaphsonSingleRootFinder ROOT_FINDER = new NewtonRaphsonSingleRootFinder(1e-15);
+  /** The accuracy of the roots, before the last Newton-Raphson step. */
+  private static final double ACCURACY = 1e-14;
+  /** The maximum number of Newton-Raphson steps for each root. */
+  private static final int MAX_ITERATIONS = 100;
 
   /**
    * {@inheritDoc}
@@ -38,15 +40,29 @@ public class GaussLegendreWeightAndAbscissaFunction implements QuadratureWeightA
     int mid = (n + 1) / 2;
     double[] x = new double[n];
     double[] w = new double[n];
-    Pair<DoubleFunction1D, DoubleFunction1D>[] polynomials = LEGENDRE.getPolynomialsAndFirstDerivative(n);
-    Pair<DoubleFunction1D, DoubleFunction1D> pair = polynomials[n];
-    DoubleFunction1D function = pair.getFirst();
-    DoubleFunction1D derivative = pair.getSecond();
     for (int i = 0; i < mid; i++) {
-      double root = ROOT_FINDER.getRoot(function, derivative, getInitialRootGuess(i, n));
+      double root = getInitialRootGuess(i, n);
+      double dp = 0;
+      int count = 0;
+      double dx;
+      do {
+        if (count++ == MAX_ITERATIONS) {
+          throw new MathException("Could not find root in " + MAX_ITERATIONS + " attempts");
+        }
+        // value and derivative of the polynomial of degree n by the recurrence
+        double p = 1;
+        double pPrevious = 0;
+        for (int j = 1; j <= n; j++) {
+          double pPrevious2 = pPrevious;
+          pPrevious = p;
+          p = ((2 * j - 1) * root * pPrevious - (j - 1) * pPrevious2) / j;
+        }
+        dp = n * (root * p - pPrevious) / (root * root - 1);
+        dx = p / dp;
+        root -= dx;
+      } while (Math.abs(dx) > ACCURACY);
       x[i] = -root;
       x[n - i - 1] = root;
-      double dp = derivative.applyAsDouble(root);
       w[i] = 2 / ((1 - root * root) * dp * dp);
       w[n - i - 1] = w[i];
     }
@@ -0,0 +1,204 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.linearalgebra;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.math.linearalgebra.Decomposition;
+import com.opengamma.strata.math.linearalgebra.DecompositionResult;
+
+/**
+ * Decomposition exploiting the sparsity of a matrix that can be permuted to block lower triangular form.
+ * <p>
+ * The sparsity pattern of the matrix is analysed as a directed graph, where row i depends on column j
+ * if the element (i, j) is not zero. The strongly connected components of this graph, in dependency order,
+ * define a symmetric permutation of the matrix to block lower triangular form.
+ * Each diagonal block is then decomposed separately and the off-diagonal elements are stored in compressed rows.
+ * A system is solved by forward substitution over the blocks.
+ * <p>
+ * This is typical of the Jacobian of a multi-curve calibration, where the instruments of a curve only depend
+ * on the nodes of that curve and of the curves calibrated before it, and where an instrument often only
+ * depends on the nodes up to its maturity. The cost is then driven by the size of the largest diagonal block
+ * rather than by the size of the matrix.
+ * <p>
+ * If the matrix has a zero on its diagonal, forms a single block, or has a singular diagonal block,
+ * the fallback decomposition is applied to the whole matrix.
+ */
+public class BlockTriangularDecomposition implements Decomposition<DecompositionResult> {
+
+  /**
+   * The decomposition of the diagonal blocks.
+   */
+  private final Decomposition<?> blockDecomposition;
+  /**
+   * The decomposition of the whole matrix, used when no block structure can be exploited.
+   */
+  private final Decomposition<?> fallbackDecomposition;
+
+  /**
+   * Creates an instance.
+   * <p>
+   * The diagonal blocks are decomposed using {@link LUDecompositionOpenGamma}
+   * and the fallback is {@link SVDecompositionCommons}.
+   */
+  public BlockTriangularDecomposition() {
+    this(new LUDecompositionOpenGamma(), new SVDecompositionCommons());
+  }
+
+  /**
+   * Creates an instance.
+   *
+   * @param blockDecomposition  the decomposition of the diagonal blocks
+   * @param fallbackDecomposition  the decomposition of the whole matrix, used when no block structure can be exploited
+   */
+  public BlockTriangularDecomposition(Decomposition<?> blockDecomposition, Decomposition<?> fallbackDecomposition) {
+    this.blockDecomposition = ArgChecker.notNull(blockDecomposition, "blockDecomposition");
+    this.fallbackDecomposition = ArgChecker.notNull(fallbackDecomposition, "fallbackDecomposition");
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public DecompositionResult apply(DoubleMatrix x) {
+    ArgChecker.notNull(x, "x");
+    ArgChecker.isTrue(x.isSquare(), "Matrix not square");
+    double[][] data = x.toArrayUnsafe();
+    int n = data.length;
+    for (int i = 0; i < n; i++) {
+      if (data[i][i] == 0d) {
+        return fallbackDecomposition.apply(x);
+      }
+    }
+    int[][] blocks = blocks(data);
+    if (blocks.length <= 1) {
+      return fallbackDecomposition.apply(x);
+    }
+    int[] blockOf = new int[n];
+    for (int b = 0; b < blocks.length; b++) {
+      for (int i : blocks[b]) {
+        blockOf[i] = b;
+      }
+    }
+    // decompose the diagonal blocks, 1 by 1 blocks are solved directly
+    DecompositionResult[] blockResults = new DecompositionResult[blocks.length];
+    for (int b = 0; b < blocks.length; b++) {
+      int[] indices = blocks[b];
+      if (indices.length > 1) {
+        DoubleMatrix block = DoubleMatrix.of(indices.length, indices.length, (i, j) -> data[indices[i]][indices[j]]);
+        try {
+          blockResults[b] = blockDecomposition.apply(block);
+        } catch (IllegalArgumentException ex) {
+          // a singular diagonal block means the matrix is singular
+          return fallbackDecomposition.apply(x);
+        }
+      }
+    }
+    // store the elements outside the diagonal blocks in compressed rows
+    int[] rowStarts = new int[n + 1];
+    int count = 0;
+    for (int i = 0; i < n; i++) {
+      for (int j = 0; j < n; j++) {
+        if (data[i][j] != 0d && blockOf[j] != blockOf[i]) {
+          count++;
+        }
+      }
+      rowStarts[i + 1] = count;
+    }
+    int[] columns = new int[count];
+    double[] values = new double[count];
+    int index = 0;
+    for (int i = 0; i < n; i++) {
+      for (int j = 0; j < n; j++) {
+        if (data[i][j] != 0d && blockOf[j] != blockOf[i]) {
+          columns[index] = j;
+          values[index] = data[i][j];
+          index++;
+        }
+      }
+    }
+    double[] diagonal = new double[n];
+    for (int i = 0; i < n; i++) {
+      diagonal[i] = data[i][i];
+    }
+    return new BlockTriangularDecompositionResult(blocks, blockResults, diagonal, rowStarts, columns, values);
+  }
+
+  // finds the strongly connected components of the sparsity graph, in dependency order (Tarjan)
+  private static int[][] blocks(double[][] data) {
+    int n = data.length;
+    int[] order = new int[n];
+    int[] low = new int[n];
+    Arrays.fill(order, -1);
+    boolean[] onStack = new boolean[n];
+    int[] stack = new int[n];
+    int stackSize = 0;
+    // explicit call stack, holding the node and the next column to explore
+    int[] callNode = new int[n];
+    int[] callColumn = new int[n];
+    int counter = 0;
+    List<int[]> blocks = new ArrayList<>();
+    for (int root = 0; root < n; root++) {
+      if (order[root] >= 0) {
+        continue;
+      }
+      int depth = 0;
+      callNode[0] = root;
+      callColumn[0] = 0;
+      order[root] = counter;
+      low[root] = counter;
+      counter++;
+      stack[stackSize++] = root;
+      onStack[root] = true;
+      while (depth >= 0) {
+        int node = callNode[depth];
+        double[] row = data[node];
+        int j = callColumn[depth];
+        while (j < n && (j == node || row[j] == 0d || (order[j] >= 0 && !onStack[j]))) {
+          j++;
+        }
+        if (j < n) {
+          callColumn[depth] = j + 1;
+          if (order[j] < 0) {
+            // descend
+            order[j] = counter;
+            low[j] = counter;
+            counter++;
+            stack[stackSize++] = j;
+            onStack[j] = true;
+            depth++;
+            callNode[depth] = j;
+            callColumn[depth] = 0;
+          } else {
+            low[node] = Math.min(low[node], order[j]);
+          }
+          continue;
+        }
+        // all dependencies explored
+        if (low[node] == order[node]) {
+          int start = stackSize;
+          do {
+            start--;
+            onStack[stack[start]] = false;
+          } while (stack[start] != node);
+          int[] block = Arrays.copyOfRange(stack, start, stackSize);
+          Arrays.sort(block);
+          blocks.add(block);
+          stackSize = start;
+        }
+        depth--;
+        if (depth >= 0) {
+          int parent = callNode[depth];
+          low[parent] = Math.min(low[parent], low[node]);
+        }
+      }
+    }
+    return blocks.toArray(new int[blocks.size()][]);
+  }
+
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.linearalgebra;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.math.linearalgebra.DecompositionResult;
+
+/**
+ * Results of the block triangular decomposition.
+ * <p>
+ * This holds the decomposed diagonal blocks, in dependency order,
+ * and the elements outside the diagonal blocks in compressed rows.
+ */
+public class BlockTriangularDecompositionResult implements DecompositionResult {
+
+  /**
+   * The indices of each block, in dependency order.
+   */
+  private final int[][] blocks;
+  /**
+   * The decomposition of each diagonal block, null for 1 by 1 blocks.
+   */
+  private final DecompositionResult[] blockResults;
+  /**
+   * The diagonal of the matrix.
+   */
+  private final double[] diagonal;
+  /**
+   * The start of each row in the compressed off-block elements.
+   */
+  private final int[] rowStarts;
+  /**
+   * The columns of the off-block elements.
+   */
+  private final int[] columns;
+  /**
+   * The values of the off-block elements.
+   */
+  private final double[] values;
+
+  /**
+   * Creates an instance.
+   * <p>
+   * The arrays are not copied.
+   *
+   * @param blocks  the indices of each block, in dependency order
+   * @param blockResults  the decomposition of each diagonal block, null for 1 by 1 blocks
+   * @param diagonal  the diagonal of the matrix
+   * @param rowStarts  the start of each row in the compressed off-block elements
+   * @param columns  the columns of the off-block elements
+   * @param values  the values of the off-block elements
+   */
+  BlockTriangularDecompositionResult(
+      int[][] blocks,
+      DecompositionResult[] blockResults,
+      double[] diagonal,
+      int[] rowStarts,
+      int[] columns,
+      double[] values) {
+
+    this.blocks = blocks;
+    this.blockResults = blockResults;
+    this.diagonal = diagonal;
+    this.rowStarts = rowStarts;
+    this.columns = columns;
+    this.values = values;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of diagonal blocks.
+   *
+   * @return the number of blocks
+   */
+  public int getBlockCount() {
+    return blocks.length;
+  }
+
+  /**
+   * Gets the size of the largest diagonal block.
+   *
+   * @return the size of the largest block
+   */
+  public int getMaxBlockSize() {
+    int max = 0;
+    for (int[] block : blocks) {
+      max = Math.max(max, block.length);
+    }
+    return max;
+  }
+
+  @Override
+  public DoubleArray solve(DoubleArray input) {
+    ArgChecker.notNull(input, "input");
+    return DoubleArray.ofUnsafe(solve(input.toArrayUnsafe()));
+  }
+
+  @Override
+  public double[] solve(double[] input) {
+    ArgChecker.notNull(input, "input");
+    int n = diagonal.length;
+    ArgChecker.isTrue(input.length == n, "Input array of incorrect size");
+    double[] x = new double[n];
+    for (int b = 0; b < blocks.length; b++) {
+      int[] indices = blocks[b];
+      double[] rhs = new double[indices.length];
+      for (int k = 0; k < indices.length; k++) {
+        int i = indices[k];
+        double sum = input[i];
+        for (int p = rowStarts[i]; p < rowStarts[i + 1]; p++) {
+          sum -= values[p] * x[columns[p]];
+        }
+        rhs[k] = sum;
+      }
+      if (blockResults[b] == null) {
+        x[indices[0]] = rhs[0] / diagonal[indices[0]];
+      } else {
+        double[] solution = blockResults[b].solve(rhs);
+        for (int k = 0; k < indices.length; k++) {
+          x[indices[k]] = solution[k];
+        }
+      }
+    }
+    return x;
+  }
+
+  @Override
+  public DoubleMatrix solve(DoubleMatrix input) {
+    ArgChecker.notNull(input, "input");
+    ArgChecker.isTrue(input.rowCount() == diagonal.length, "Input matrix of incorrect size");
+    int m = input.columnCount();
+    double[][] result = new double[input.rowCount()][m];
+    for (int j = 0; j < m; j++) {
+      double[] column = solve(input.columnArray(j));
+      for (int i = 0; i < column.length; i++) {
+        result[i][j] = column[i];
+      }
+    }
+    return DoubleMatrix.ofUnsafe(result);
+  }
+
+}
@@ -11,6 +11,10 @@ import com.opengamma.strata.math.linearalgebra.Decomposition;
 
 /**
  * OpenGamma implementation of the Cholesky decomposition and its differentiation.
+ * <p>
+ * The decomposition works directly on the row arrays of {@link DoubleMatrix}.
+ * The lower triangular factor is computed in place, row by row, so that all the inner products
+ * run over contiguous row arrays.
  */
 public class CholeskyDecompositionOpenGamma implements Decomposition<CholeskyDecompositionResult> {
 
@@ -45,31 +49,38 @@ public class CholeskyDecompositionOpenGamma implements Decomposition<CholeskyDec
     int nbRow = matrix.rowCount();
     int nbCol = matrix.columnCount();
     ArgChecker.isTrue(nbRow == nbCol, "Matrix not square");
+    double[][] a = matrix.toArrayUnsafe();
     double[][] l = new double[nbRow][nbRow];
-    // Check symmetry and initial fill of _lTArray
+    // Check symmetry and initial fill of the lower triangle
     for (int looprow = 0; looprow < nbRow; looprow++) {
+      double[] row = a[looprow];
+      double[] lRow = l[looprow];
       for (int loopcol = 0; loopcol <= looprow; loopcol++) {
-        double rowcol = matrix.get(looprow, loopcol);
-        double colrow = matrix.get(loopcol, looprow);
+        double rowcol = row[loopcol];
+        double colrow = a[loopcol][looprow];
         double maxValue = Math.max(Math.abs(rowcol), Math.abs(colrow));
         double diff = Math.abs(rowcol - colrow);
         ArgChecker.isTrue(diff <= maxValue * symmetryThreshold, "Matrix not symmetrical");
-        l[looprow][loopcol] = rowcol;
+        lRow[loopcol] = rowcol;
       }
     }
-    // The decomposition
-    for (int loopcol = 0; loopcol < nbCol; loopcol++) {
-      ArgChecker.isTrue(l[loopcol][loopcol] > positivityThreshold, "Matrix not positive");
-      l[loopcol][loopcol] = Math.sqrt(l[loopcol][loopcol]); // Pivot
-      double lInverse = 1.0 / l[loopcol][loopcol];
-      for (int looprow = loopcol + 1; looprow < nbRow; looprow++) { // Current column
-        l[looprow][loopcol] *= lInverse;
-      }
-      for (int j = loopcol + 1; j < nbRow; j++) { // Other columns
-        for (int i = j; i < nbRow; i++) {
-          l[i][j] -= l[i][loopcol] * l[j][loopcol];
+    // The decomposition, in place and row by row so that the inner products are on contiguous row arrays
+    for (int looprow = 0; looprow < nbRow; looprow++) {
+      double[] lRow = l[looprow];
+      for (int loopcol = 0; loopcol < looprow; loopcol++) {
+        double[] lCol = l[loopcol];
+        double sum = lRow[loopcol];
+        for (int k = 0; k < loopcol; k++) {
+          sum -= lRow[k] * lCol[k];
         }
+        lRow[loopcol] = sum / lCol[loopcol];
+      }
+      double pivot = lRow[looprow];
+      for (int k = 0; k < looprow; k++) {
+        pivot -= lRow[k] * lRow[k];
       }
+      ArgChecker.isTrue(pivot > positivityThreshold, "Matrix not positive");
+      lRow[looprow] = Math.sqrt(pivot);
     }
     return new CholeskyDecompositionOpenGammaResult(l);
   }
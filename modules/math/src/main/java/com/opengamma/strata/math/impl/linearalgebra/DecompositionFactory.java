@@ -21,12 +21,20 @@ public final class DecompositionFactory {
   public static final String QR_COMMONS_NAME = "QR_COMMONS";
   /** Commons SV decomposition */
   public static final String SV_COMMONS_NAME = "SV_COMMONS";
+  /** OpenGamma LU decomposition */
+  public static final String LU_OG_NAME = "LU_OG";
+  /** OpenGamma Cholesky decomposition */
+  public static final String CHOLESKY_OG_NAME = "CHOLESKY_OG";
   /** {@link LUDecompositionCommons} */
   public static final Decomposition<?> LU_COMMONS = new LUDecompositionCommons();
   /** {@link QRDecompositionCommons} */
   public static final Decomposition<?> QR_COMMONS = new QRDecompositionCommons();
   /** {@link SVDecompositionCommons} */
   public static final Decomposition<?> SV_COMMONS = new SVDecompositionCommons();
+  /** {@link LUDecompositionOpenGamma} */
+  public static final Decomposition<?> LU_OG = new LUDecompositionOpenGamma();
+  /** {@link CholeskyDecompositionOpenGamma} */
+  public static final Decomposition<?> CHOLESKY_OG = new CholeskyDecompositionOpenGamma();
   private static final Map<String, Decomposition<?>> STATIC_INSTANCES;
   private static final Map<Class<?>, String> INSTANCE_NAMES;
 
@@ -35,10 +43,14 @@ public final class DecompositionFactory {
     STATIC_INSTANCES.put(LU_COMMONS_NAME, LU_COMMONS);
     STATIC_INSTANCES.put(QR_COMMONS_NAME, QR_COMMONS);
     STATIC_INSTANCES.put(SV_COMMONS_NAME, SV_COMMONS);
+    STATIC_INSTANCES.put(LU_OG_NAME, LU_OG);
+    STATIC_INSTANCES.put(CHOLESKY_OG_NAME, CHOLESKY_OG);
     INSTANCE_NAMES = new HashMap<>();
     INSTANCE_NAMES.put(LU_COMMONS.getClass(), LU_COMMONS_NAME);
     INSTANCE_NAMES.put(QR_COMMONS.getClass(), QR_COMMONS_NAME);
     INSTANCE_NAMES.put(SV_COMMONS.getClass(), SV_COMMONS_NAME);
+    INSTANCE_NAMES.put(LU_OG.getClass(), LU_OG_NAME);
+    INSTANCE_NAMES.put(CHOLESKY_OG.getClass(), CHOLESKY_OG_NAME);
   }
 
   private DecompositionFactory() {
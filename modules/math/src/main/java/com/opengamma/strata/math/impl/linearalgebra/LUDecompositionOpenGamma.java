@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.linearalgebra;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.math.linearalgebra.Decomposition;
+
+/**
+ * OpenGamma implementation of the LU decomposition with partial pivoting.
+ * <p>
+ * The decomposition works directly on the row arrays of {@link DoubleMatrix}.
+ * The input is copied once and the factors are then computed in place, with row interchanges
+ * performed by swapping row references.
+ * This avoids the round trip through the commons-math matrix representation used by {@link LUDecompositionCommons}.
+ */
+// CSOFF: AbbreviationAsWordInName
+public class LUDecompositionOpenGamma implements Decomposition<LUDecompositionResult> {
+
+  /**
+   * The default threshold below which the absolute value of a pivot is considered to be zero.
+   * This is the same as the default used by commons-math.
+   */
+  public static final double DEFAULT_SINGULARITY_THRESHOLD = 1.0E-11;
+
+  /**
+   * The singularity threshold.
+   */
+  private final double singularityThreshold;
+
+  /**
+   * Creates an instance using the default singularity threshold.
+   */
+  public LUDecompositionOpenGamma() {
+    this(DEFAULT_SINGULARITY_THRESHOLD);
+  }
+
+  /**
+   * Creates an instance.
+   *
+   * @param singularityThreshold  the threshold below which the absolute value of a pivot is considered to be zero
+   */
+  public LUDecompositionOpenGamma(double singularityThreshold) {
+    this.singularityThreshold = ArgChecker.notNegative(singularityThreshold, "singularityThreshold");
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * {@inheritDoc}
+   * @throws IllegalArgumentException if the matrix is not square or is singular
+   */
+  @Override
+  public LUDecompositionResult apply(DoubleMatrix x) {
+    ArgChecker.notNull(x, "x");
+    ArgChecker.isTrue(x.isSquare(), "Matrix not square");
+    int n = x.rowCount();
+    double[][] lu = x.toArray();
+    int[] pivot = new int[n];
+    for (int i = 0; i < n; i++) {
+      pivot[i] = i;
+    }
+    boolean even = true;
+    for (int k = 0; k < n; k++) {
+      // select the pivot
+      int max = k;
+      double maxValue = Math.abs(lu[k][k]);
+      for (int i = k + 1; i < n; i++) {
+        double value = Math.abs(lu[i][k]);
+        if (value > maxValue) {
+          max = i;
+          maxValue = value;
+        }
+      }
+      ArgChecker.isTrue(maxValue > singularityThreshold, "Matrix is singular; could not perform LU decomposition");
+      if (max != k) {
+        double[] tmpRow = lu[max];
+        lu[max] = lu[k];
+        lu[k] = tmpRow;
+        int tmpIndex = pivot[max];
+        pivot[max] = pivot[k];
+        pivot[k] = tmpIndex;
+        even = !even;
+      }
+      // eliminate below the pivot, row by row so that the inner loop is contiguous
+      double[] rowK = lu[k];
+      double pivotInverse = 1d / rowK[k];
+      for (int i = k + 1; i < n; i++) {
+        double[] rowI = lu[i];
+        double factor = rowI[k] * pivotInverse;
+        rowI[k] = factor;
+        if (factor != 0d) {
+          for (int j = k + 1; j < n; j++) {
+            rowI[j] -= factor * rowK[j];
+          }
+        }
+      }
+    }
+    return new LUDecompositionOpenGammaResult(lu, pivot, even);
+  }
+
+}
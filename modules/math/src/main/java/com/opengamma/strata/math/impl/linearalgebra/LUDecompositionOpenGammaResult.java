@@ -0,0 +1,206 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.linearalgebra;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+
+/**
+ * Results of the OpenGamma implementation of LU decomposition.
+ * <p>
+ * The factors are stored packed in a single array, with the unit diagonal of $\mathbf{L}$ implicit.
+ */
+// CSOFF: AbbreviationAsWordInName
+public class LUDecompositionOpenGammaResult implements LUDecompositionResult {
+
+  /**
+   * The packed factors, L strictly below the diagonal and U on and above it.
+   */
+  private final double[][] _lu;
+  /**
+   * The pivot permutation vector.
+   */
+  private final int[] _pivot;
+  /**
+   * The determinant of the original matrix.
+   */
+  private final double _determinant;
+
+  /**
+   * Constructor.
+   * @param lu The packed factors, L strictly below the diagonal and U on and above it, not copied.
+   * @param pivot The pivot permutation vector, not copied.
+   * @param even True if the permutation is even.
+   */
+  public LUDecompositionOpenGammaResult(double[][] lu, int[] pivot, boolean even) {
+    ArgChecker.notNull(lu, "lu");
+    ArgChecker.notNull(pivot, "pivot");
+    ArgChecker.isTrue(lu.length == pivot.length, "Pivot vector of incorrect size");
+    _lu = lu;
+    _pivot = pivot;
+    double determinant = even ? 1d : -1d;
+    for (int i = 0; i < lu.length; i++) {
+      determinant *= lu[i][i];
+    }
+    _determinant = determinant;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public double getDeterminant() {
+    return _determinant;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public DoubleMatrix getL() {
+    int n = _lu.length;
+    return DoubleMatrix.of(n, n, (i, j) -> i > j ? _lu[i][j] : (i == j ? 1d : 0d));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public DoubleMatrix getU() {
+    int n = _lu.length;
+    return DoubleMatrix.of(n, n, (i, j) -> i <= j ? _lu[i][j] : 0d);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public DoubleMatrix getP() {
+    int n = _lu.length;
+    return DoubleMatrix.of(n, n, (i, j) -> _pivot[i] == j ? 1d : 0d);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int[] getPivot() {
+    return _pivot.clone();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public DoubleArray solve(DoubleArray b) {
+    ArgChecker.notNull(b, "b");
+    return DoubleArray.ofUnsafe(solve(b.toArrayUnsafe()));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public double[] solve(double[] b) {
+    ArgChecker.notNull(b, "b");
+    int n = _lu.length;
+    ArgChecker.isTrue(b.length == n, "b array of incorrect size");
+    double[] x = new double[n];
+    for (int i = 0; i < n; i++) {
+      x[i] = b[_pivot[i]];
+    }
+    // L y = P b (y stored in x array)
+    for (int i = 1; i < n; i++) {
+      double[] row = _lu[i];
+      double sum = x[i];
+      for (int k = 0; k < i; k++) {
+        sum -= row[k] * x[k];
+      }
+      x[i] = sum;
+    }
+    // U x = y
+    for (int i = n - 1; i >= 0; i--) {
+      double[] row = _lu[i];
+      double sum = x[i];
+      for (int k = i + 1; k < n; k++) {
+        sum -= row[k] * x[k];
+      }
+      x[i] = sum / row[i];
+    }
+    return x;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public DoubleMatrix solve(DoubleMatrix b) {
+    ArgChecker.notNull(b, "b");
+    int n = _lu.length;
+    ArgChecker.isTrue(b.rowCount() == n, "b matrix of incorrect size");
+    int m = b.columnCount();
+    double[][] x = new double[n][];
+    for (int i = 0; i < n; i++) {
+      x[i] = b.rowArray(_pivot[i]);
+    }
+    solveInPlace(x, m);
+    return DoubleMatrix.ofUnsafe(x);
+  }
+
+  /**
+   * Computes the inverse of the original matrix.
+   * <p>
+   * This is equivalent to solving against the identity matrix, without creating it.
+   *
+   * @return the inverse
+   */
+  public DoubleMatrix getInverse() {
+    int n = _lu.length;
+    double[][] x = new double[n][n];
+    for (int i = 0; i < n; i++) {
+      x[i][_pivot[i]] = 1d;
+    }
+    solveInPlace(x, n);
+    return DoubleMatrix.ofUnsafe(x);
+  }
+
+  // solves L U X = B for rows already permuted, operating on whole rows for contiguous access
+  private void solveInPlace(double[][] x, int m) {
+    int n = _lu.length;
+    for (int i = 1; i < n; i++) {
+      double[] rowLu = _lu[i];
+      double[] rowX = x[i];
+      for (int k = 0; k < i; k++) {
+        double factor = rowLu[k];
+        if (factor != 0d) {
+          double[] rowK = x[k];
+          for (int j = 0; j < m; j++) {
+            rowX[j] -= factor * rowK[j];
+          }
+        }
+      }
+    }
+    for (int i = n - 1; i >= 0; i--) {
+      double[] rowLu = _lu[i];
+      double[] rowX = x[i];
+      for (int k = i + 1; k < n; k++) {
+        double factor = rowLu[k];
+        if (factor != 0d) {
+          double[] rowK = x[k];
+          for (int j = 0; j < m; j++) {
+            rowX[j] -= factor * rowK[j];
+          }
+        }
+      }
+      double diagonalInverse = 1d / rowLu[i];
+      for (int j = 0; j < m; j++) {
+        rowX[j] *= diagonalInverse;
+      }
+    }
+  }
+
+}
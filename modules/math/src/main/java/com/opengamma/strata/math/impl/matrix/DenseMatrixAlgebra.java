@@ -0,0 +1,291 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.matrix;
+
+import java.util.stream.IntStream;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.collect.array.Matrix;
+import com.opengamma.strata.math.impl.linearalgebra.LUDecompositionOpenGamma;
+import com.opengamma.strata.math.impl.linearalgebra.LUDecompositionOpenGammaResult;
+
+/**
+ * Matrix algebra operating directly on the row arrays of {@link DoubleMatrix}.
+ * <p>
+ * This extends {@link OGMatrixAlgebra} with a cache-blocked matrix product and with the inverse,
+ * determinant, norms and integer powers, computed using {@link LUDecompositionOpenGamma}.
+ * Unlike {@link CommonsMatrixAlgebra}, no copy of the data to and from the commons-math representation is needed.
+ * <p>
+ * If enabled, large matrix products are split by blocks of rows over the common fork-join pool.
+ * This is disabled by default, as callers are frequently already running in parallel.
+ */
+public class DenseMatrixAlgebra extends OGMatrixAlgebra {
+
+  /**
+   * The number of multiply-add operations above which a product is computed in parallel, if enabled.
+   */
+  public static final long DEFAULT_PARALLEL_THRESHOLD = 1L << 21;
+  /**
+   * The size of the square blocks used in the matrix product.
+   */
+  private static final int BLOCK_SIZE = 64;
+  /**
+   * The LU decomposition.
+   */
+  private static final LUDecompositionOpenGamma LU = new LUDecompositionOpenGamma();
+
+  /**
+   * The number of multiply-add operations above which a product is computed in parallel.
+   */
+  private final long parallelThreshold;
+
+  /**
+   * Creates an instance that performs all operations on the calling thread.
+   */
+  public DenseMatrixAlgebra() {
+    this(Long.MAX_VALUE);
+  }
+
+  /**
+   * Creates an instance that computes large matrix products in parallel.
+   * <p>
+   * A product of an n by p matrix by a p by m matrix is computed in parallel
+   * if n * p * m is greater than or equal to the threshold.
+   *
+   * @param parallelThreshold  the number of multiply-add operations above which a product is computed in parallel
+   */
+  public DenseMatrixAlgebra(long parallelThreshold) {
+    this.parallelThreshold = ArgChecker.notNegativeOrZero(parallelThreshold, "parallelThreshold");
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public double getDeterminant(Matrix m) {
+    return LU.apply(toSquareMatrix(m)).getDeterminant();
+  }
+
+  /**
+   * {@inheritDoc}
+   * @throws IllegalArgumentException if the matrix is singular
+   */
+  @Override
+  public DoubleMatrix getInverse(Matrix m) {
+    return ((LUDecompositionOpenGammaResult) LU.apply(toSquareMatrix(m))).getInverse();
+  }
+
+  /**
+   * {@inheritDoc} For a matrix, this is the maximum absolute column sum.
+   */
+  @Override
+  public double getNorm1(Matrix m) {
+    ArgChecker.notNull(m, "m");
+    if (m instanceof DoubleArray) {
+      return ((DoubleArray) m).reduce(0d, (r, v) -> r + Math.abs(v));
+    } else if (m instanceof DoubleMatrix) {
+      DoubleMatrix matrix = (DoubleMatrix) m;
+      double[] sums = new double[matrix.columnCount()];
+      for (double[] row : matrix.toArrayUnsafe()) {
+        for (int j = 0; j < sums.length; j++) {
+          sums[j] += Math.abs(row[j]);
+        }
+      }
+      double max = 0d;
+      for (double sum : sums) {
+        max = Math.max(max, sum);
+      }
+      return max;
+    }
+    throw new IllegalArgumentException("Can only find norm1 of DoubleArray or DoubleMatrix; have " + m.getClass());
+  }
+
+  /**
+   * {@inheritDoc} For a matrix, this is the maximum absolute row sum.
+   */
+  @Override
+  public double getNormInfinity(Matrix m) {
+    ArgChecker.notNull(m, "m");
+    if (m instanceof DoubleArray) {
+      return ((DoubleArray) m).reduce(0d, (r, v) -> Math.max(r, Math.abs(v)));
+    } else if (m instanceof DoubleMatrix) {
+      double max = 0d;
+      for (double[] row : ((DoubleMatrix) m).toArrayUnsafe()) {
+        double sum = 0d;
+        for (double value : row) {
+          sum += Math.abs(value);
+        }
+        max = Math.max(max, sum);
+      }
+      return max;
+    }
+    throw new IllegalArgumentException(
+        "Can only find normInfinity of DoubleArray or DoubleMatrix; have " + m.getClass());
+  }
+
+  /**
+   * {@inheritDoc} The power must be non-negative.
+   */
+  @Override
+  public DoubleMatrix getPower(Matrix m, int p) {
+    DoubleMatrix matrix = toSquareMatrix(m);
+    ArgChecker.notNegative(p, "p");
+    DoubleMatrix result = DoubleMatrix.identity(matrix.rowCount());
+    DoubleMatrix square = matrix;
+    for (int remaining = p; remaining > 0; remaining >>= 1) {
+      if ((remaining & 1) == 1) {
+        result = multiply(result, square);
+      }
+      if (remaining > 1) {
+        square = multiply(square, square);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public DoubleMatrix getTranspose(Matrix m) {
+    ArgChecker.notNull(m, "m");
+    if (m instanceof DoubleMatrix) {
+      DoubleMatrix matrix = (DoubleMatrix) m;
+      double[][] data = matrix.toArrayUnsafe();
+      double[][] result = new double[matrix.columnCount()][matrix.rowCount()];
+      for (int i = 0; i < data.length; i++) {
+        double[] row = data[i];
+        for (int j = 0; j < row.length; j++) {
+          result[j][i] = row[j];
+        }
+      }
+      return DoubleMatrix.ofUnsafe(result);
+    }
+    throw new IllegalArgumentException("Can only take transpose of DoubleMatrix; have " + m.getClass());
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Matrix multiply(Matrix m1, Matrix m2) {
+    ArgChecker.notNull(m1, "m1");
+    ArgChecker.notNull(m2, "m2");
+    if (m1 instanceof DoubleMatrix && m2 instanceof DoubleMatrix) {
+      return multiply((DoubleMatrix) m1, (DoubleMatrix) m2);
+    } else if (m1 instanceof DoubleMatrix && m2 instanceof DoubleArray) {
+      return multiply((DoubleMatrix) m1, (DoubleArray) m2);
+    }
+    return super.multiply(m1, m2);
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * This accumulates the outer products of the rows of the matrix, so that the data is accessed contiguously.
+   */
+  @Override
+  public DoubleMatrix matrixTransposeMultiplyMatrix(DoubleMatrix a) {
+    ArgChecker.notNull(a, "a");
+    int m = a.columnCount();
+    double[][] data = new double[m][m];
+    for (double[] row : a.toArrayUnsafe()) {
+      for (int i = 0; i < m; i++) {
+        double value = row[i];
+        if (value != 0d) {
+          double[] dataRow = data[i];
+          for (int j = i; j < m; j++) {
+            dataRow[j] += value * row[j];
+          }
+        }
+      }
+    }
+    for (int i = 0; i < m; i++) {
+      for (int j = i + 1; j < m; j++) {
+        data[j][i] = data[i][j];
+      }
+    }
+    return DoubleMatrix.ofUnsafe(data);
+  }
+
+  //-------------------------------------------------------------------------
+  // the blocked product of two matrices
+  private DoubleMatrix multiply(DoubleMatrix m1, DoubleMatrix m2) {
+    int n = m1.rowCount();
+    int p = m2.rowCount();
+    int m = m2.columnCount();
+    ArgChecker.isTrue(
+        m1.columnCount() == p,
+        "Matrix size mismatch. m1 is " + n + " by " + m1.columnCount() + ", but m2 is " + p + " by " + m);
+    double[][] a = m1.toArrayUnsafe();
+    double[][] b = m2.toArrayUnsafe();
+    double[][] c = new double[n][m];
+    int nbBlocks = (n + BLOCK_SIZE - 1) / BLOCK_SIZE;
+    if (nbBlocks > 1 && (long) n * p * m >= parallelThreshold) {
+      IntStream.range(0, nbBlocks).parallel()
+          .forEach(block -> multiplyRows(a, b, c, block * BLOCK_SIZE, Math.min(n, (block + 1) * BLOCK_SIZE), p, m));
+    } else {
+      multiplyRows(a, b, c, 0, n, p, m);
+    }
+    return DoubleMatrix.ofUnsafe(c);
+  }
+
+  // accumulates the product for a range of rows, by blocks of the inner dimension and the columns
+  private static void multiplyRows(double[][] a, double[][] b, double[][] c, int rowStart, int rowEnd, int p, int m) {
+    for (int kStart = 0; kStart < p; kStart += BLOCK_SIZE) {
+      int kEnd = Math.min(p, kStart + BLOCK_SIZE);
+      for (int jStart = 0; jStart < m; jStart += BLOCK_SIZE) {
+        int jEnd = Math.min(m, jStart + BLOCK_SIZE);
+        for (int i = rowStart; i < rowEnd; i++) {
+          double[] rowA = a[i];
+          double[] rowC = c[i];
+          for (int k = kStart; k < kEnd; k++) {
+            double value = rowA[k];
+            if (value != 0d) {
+              double[] rowB = b[k];
+              for (int j = jStart; j < jEnd; j++) {
+                rowC[j] += value * rowB[j];
+              }
+            }
+          }
+        }
+      }
+    }
+  }
+
+  // the product of a matrix and a vector
+  private DoubleArray multiply(DoubleMatrix matrix, DoubleArray vector) {
+    int n = vector.size();
+    ArgChecker.isTrue(matrix.columnCount() == n, "Matrix/vector size mismatch");
+    double[][] data = matrix.toArrayUnsafe();
+    double[] x = vector.toArrayUnsafe();
+    double[] result = new double[data.length];
+    for (int i = 0; i < data.length; i++) {
+      double[] row = data[i];
+      double sum = 0d;
+      for (int j = 0; j < n; j++) {
+        sum += row[j] * x[j];
+      }
+      result[i] = sum;
+    }
+    return DoubleArray.ofUnsafe(result);
+  }
+
+  // checks that the matrix is a square DoubleMatrix
+  private static DoubleMatrix toSquareMatrix(Matrix m) {
+    ArgChecker.notNull(m, "m");
+    if (m instanceof DoubleMatrix) {
+      DoubleMatrix matrix = (DoubleMatrix) m;
+      ArgChecker.isTrue(matrix.isSquare(), "Matrix not square");
+      return matrix;
+    }
+    throw new IllegalArgumentException("Can only perform this operation on DoubleMatrix; have " + m.getClass());
+  }
+
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.random;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * Construction of standard Brownian motion paths from independent standard normal numbers.
+ * <p>
+ * The path is made of the values of the Brownian motion at a set of strictly increasing positive times,
+ * the motion starting at zero at time zero.
+ * <p>
+ * With the Brownian bridge construction, the first normal number drives the value at the last time,
+ * the second the value at the middle time conditional on the last value, and so on by successive bisection.
+ * Most of the variance of the path is then concentrated in the first normal numbers, which improves
+ * the convergence of quasi-random simulations.
+ * The incremental construction simply adds the scaled normal numbers one time step after the other.
+ * <p>
+ * The bridge construction follows P. Jäckel, Monte Carlo Methods in Finance, Wiley (2002), Section 10.8.
+ */
+public final class BrownianBridge {
+
+  /**
+   * The times.
+   */
+  private final double[] times;
+  /**
+   * Whether the bridge construction is used, the incremental construction being used otherwise.
+   */
+  private final boolean bridge;
+  /**
+   * The index of the path value computed at each step.
+   */
+  private final int[] bridgeIndex;
+  /**
+   * The index following the left point of the bridge at each step, zero if the left point is the origin.
+   */
+  private final int[] leftIndex;
+  /**
+   * The index of the right point of the bridge at each step.
+   */
+  private final int[] rightIndex;
+  /**
+   * The weight of the left point at each step.
+   */
+  private final double[] leftWeight;
+  /**
+   * The weight of the right point at each step.
+   */
+  private final double[] rightWeight;
+  /**
+   * The conditional standard deviation at each step.
+   */
+  private final double[] stdDev;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance using the Brownian bridge construction.
+   *
+   * @param times  the strictly increasing positive times
+   * @return the instance
+   */
+  public static BrownianBridge of(DoubleArray times) {
+    return new BrownianBridge(times, true);
+  }
+
+  /**
+   * Obtains an instance using the incremental construction.
+   *
+   * @param times  the strictly increasing positive times
+   * @return the instance
+   */
+  public static BrownianBridge ofIncremental(DoubleArray times) {
+    return new BrownianBridge(times, false);
+  }
+
+  // restricted constructor
+  private BrownianBridge(DoubleArray times, boolean bridge) {
+    ArgChecker.notNull(times, "times");
+    int n = times.size();
+    ArgChecker.isTrue(n > 0, "At least one time must be provided");
+    ArgChecker.isTrue(times.get(0) > 0d, "Times must be positive");
+    for (int i = 1; i < n; i++) {
+      ArgChecker.isTrue(times.get(i) > times.get(i - 1), "Times must be strictly increasing");
+    }
+    this.times = times.toArray();
+    this.bridge = bridge;
+    this.bridgeIndex = new int[n];
+    this.leftIndex = new int[n];
+    this.rightIndex = new int[n];
+    this.leftWeight = new double[n];
+    this.rightWeight = new double[n];
+    this.stdDev = new double[n];
+    if (bridge) {
+      initializeBridge();
+    } else {
+      stdDev[0] = Math.sqrt(this.times[0]);
+      for (int i = 1; i < n; i++) {
+        stdDev[i] = Math.sqrt(this.times[i] - this.times[i - 1]);
+      }
+    }
+  }
+
+  // computes the order of construction and the weights of the bridge
+  private void initializeBridge() {
+    int n = times.length;
+    // map[i] is non-zero once the path value i is scheduled for computation
+    int[] map = new int[n];
+    map[n - 1] = 1;
+    bridgeIndex[0] = n - 1;
+    stdDev[0] = Math.sqrt(times[n - 1]);
+    int j = 0;
+    for (int i = 1; i < n; i++) {
+      while (map[j] != 0) {
+        j++;
+      }
+      int k = j;
+      while (map[k] == 0) {
+        k++;
+      }
+      // the value to compute is in the middle of the points j to k-1, between the known values j-1 and k
+      int l = j + ((k - 1 - j) >> 1);
+      map[l] = i;
+      bridgeIndex[i] = l;
+      leftIndex[i] = j;
+      rightIndex[i] = k;
+      double tLeft = j == 0 ? 0d : times[j - 1];
+      double span = times[k] - tLeft;
+      leftWeight[i] = (times[k] - times[l]) / span;
+      rightWeight[i] = (times[l] - tLeft) / span;
+      stdDev[i] = Math.sqrt((times[l] - tLeft) * (times[k] - times[l]) / span);
+      j = k + 1;
+      if (j >= n) {
+        j = 0;
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of times, which is also the number of normal numbers required for a path.
+   *
+   * @return the number of times
+   */
+  public int getSize() {
+    return times.length;
+  }
+
+  /**
+   * Gets the times.
+   *
+   * @return the times
+   */
+  public DoubleArray getTimes() {
+    return DoubleArray.copyOf(times);
+  }
+
+  /**
+   * Checks whether the Brownian bridge construction is used.
+   *
+   * @return true for the bridge construction, false for the incremental construction
+   */
+  public boolean isBridge() {
+    return bridge;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the values of the Brownian motion at the times from independent standard normal numbers.
+   * <p>
+   * The arrays must have a length of at least the number of times. No array is allocated.
+   *
+   * @param normals  the independent standard normal numbers
+   * @param path  the array to fill with the values of the Brownian motion at the times
+   */
+  public void buildPath(double[] normals, double[] path) {
+    int n = times.length;
+    if (!bridge) {
+      double value = 0d;
+      for (int i = 0; i < n; i++) {
+        value += stdDev[i] * normals[i];
+        path[i] = value;
+      }
+      return;
+    }
+    path[n - 1] = stdDev[0] * normals[0];
+    for (int i = 1; i < n; i++) {
+      int j = leftIndex[i];
+      int l = bridgeIndex[i];
+      double value = rightWeight[i] * path[rightIndex[i]] + stdDev[i] * normals[i];
+      if (j != 0) {
+        value += leftWeight[i] * path[j - 1];
+      }
+      path[l] = value;
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "BrownianBridge{times=" + DoubleArray.ofUnsafe(times) + ", bridge=" + bridge + "}";
+  }
+
+}
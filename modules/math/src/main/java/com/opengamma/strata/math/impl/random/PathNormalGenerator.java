@@ -0,0 +1,36 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.random;
+
+import java.util.function.Consumer;
+
+/**
+ * Generator of standard normal vectors indexed by path.
+ * <p>
+ * Unlike {@link RandomNumberGenerator}, the numbers produced for a path depend only on the path index
+ * and not on the order in which the paths are requested. A simulation can therefore be split into blocks
+ * of consecutive paths that are generated independently, for example on different threads, while
+ * remaining reproducible.
+ * <p>
+ * Implementations must be immutable and thread-safe. The sequences they create are not thread-safe
+ * and must be confined to a single thread.
+ */
+public interface PathNormalGenerator {
+
+  /**
+   * Creates a sequence of normal vectors starting at the specified path.
+   * <p>
+   * Each call to the returned consumer fills the array with the {@code dimension} standard normal numbers
+   * of the next path, the first call filling those of path {@code firstPath}.
+   * The array passed to the consumer must have a length of at least {@code dimension}.
+   *
+   * @param dimension  the number of normal numbers in each path
+   * @param firstPath  the index of the first path of the sequence, zero-based
+   * @return the sequence
+   */
+  public abstract Consumer<double[]> sequence(int dimension, long firstPath);
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.random;
+
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.math.impl.statistics.distribution.NormalDistribution;
+
+/**
+ * Pseudo-random generator of standard normal vectors indexed by path.
+ * <p>
+ * Each path uses its own {@link SplittableRandom} stream, seeded by mixing the generator seed
+ * with the path index. The numbers of a path are thus independent of the other paths and
+ * of the way the simulation is split into blocks.
+ * Uniform numbers are mapped to normal numbers by inversion of the cumulative distribution.
+ */
+public final class PseudoRandomPathNormalGenerator
+    implements PathNormalGenerator {
+
+  /**
+   * The odd constant used to space the seeds of the paths.
+   */
+  private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+  /**
+   * The spacing of the uniform numbers, 2^-53.
+   */
+  private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+  /**
+   * The seed.
+   */
+  private final long seed;
+
+  /**
+   * Creates an instance.
+   *
+   * @param seed  the seed
+   */
+  public PseudoRandomPathNormalGenerator(long seed) {
+    this.seed = seed;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public Consumer<double[]> sequence(int dimension, long firstPath) {
+    ArgChecker.notNegativeOrZero(dimension, "dimension");
+    ArgChecker.notNegative(firstPath, "firstPath");
+    long[] path = new long[] {firstPath};
+    return normals -> {
+      ArgChecker.isTrue(normals.length >= dimension, "Array must have a length of at least {}", dimension);
+      fill(path[0]++, normals, dimension);
+    };
+  }
+
+  // fills the normal numbers of a single path
+  private void fill(long path, double[] normals, int dimension) {
+    SplittableRandom random = new SplittableRandom(mix64(seed + GOLDEN_GAMMA * (path + 1)));
+    for (int i = 0; i < dimension; i++) {
+      // uniform in the open interval (0,1), avoiding infinite normal numbers
+      double uniform = ((random.nextLong() >>> 11) + 0.5) * DOUBLE_UNIT;
+      normals[i] = NormalDistribution.inverseCdf(uniform);
+    }
+  }
+
+  // variant 13 of the 64-bit finalizer of MurmurHash3
+  private static long mix64(long z) {
+    z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+    return z ^ (z >>> 31);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "PseudoRandomPathNormalGenerator{seed=" + seed + "}";
+  }
+
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.random;
+
+import java.util.function.Consumer;
+
+import org.apache.commons.math3.random.SobolSequenceGenerator;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.math.impl.statistics.distribution.NormalDistribution;
+
+/**
+ * Quasi-random generator of standard normal vectors indexed by path, based on a Sobol sequence.
+ * <p>
+ * Path {@code k} uses the point {@code k + 1} of the Sobol sequence of the requested dimension,
+ * the origin being skipped as it cannot be mapped to finite normal numbers.
+ * A sequence starting at an arbitrary path is positioned directly, so that blocks of paths can be generated
+ * independently.
+ * Uniform numbers are mapped to normal numbers by inversion of the cumulative distribution.
+ * <p>
+ * The low discrepancy of the Sobol points is concentrated in the first coordinates.
+ * When simulating paths, the normal numbers should therefore be combined with a
+ * {@link BrownianBridge} so that the first coordinates drive the largest scales of the paths.
+ * The dimension is limited to 1000.
+ */
+public final class SobolPathNormalGenerator
+    implements PathNormalGenerator {
+
+  /**
+   * The default instance.
+   */
+  public static final SobolPathNormalGenerator DEFAULT = new SobolPathNormalGenerator();
+  /**
+   * The maximum dimension supported.
+   */
+  private static final int MAX_DIMENSION = 1000;
+
+  // restricted constructor
+  private SobolPathNormalGenerator() {
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public Consumer<double[]> sequence(int dimension, long firstPath) {
+    ArgChecker.inRange(dimension, 1, MAX_DIMENSION + 1, "dimension");
+    ArgChecker.isTrue(firstPath >= 0 && firstPath < Integer.MAX_VALUE, "Path index must be in [0, 2^31-1)");
+    SobolSequenceGenerator sobol = new SobolSequenceGenerator(dimension);
+    // after skipping to a point, the next vector is the following point
+    sobol.skipTo((int) firstPath);
+    return normals -> {
+      ArgChecker.isTrue(normals.length >= dimension, "Array must have a length of at least {}", dimension);
+      double[] uniforms = sobol.nextVector();
+      for (int i = 0; i < dimension; i++) {
+        normals[i] = NormalDistribution.inverseCdf(uniforms[i]);
+      }
+    };
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "SobolPathNormalGenerator";
+  }
+
+}
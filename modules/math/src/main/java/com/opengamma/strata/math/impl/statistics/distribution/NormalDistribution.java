@@ -22,10 +22,15 @@ import com.opengamma.strata.math.impl.cern.RandomEngine;
  * $$
  * where $\mu$ is the mean and $\sigma$ the standard deviation of
  * the distribution.
+ * <p>
+ * The static methods {@link #cdf(double)}, {@link #pdf(double)} and {@link #inverseCdf(double)}
+ * evaluate the standard normal distribution on primitives without allocation.
+ * Array variants are provided for batch evaluation.
  */
 public class NormalDistribution implements ProbabilityDistribution<Double> {
 
   private static final double ROOT2 = Math.sqrt(2);
+  private static final double INV_ROOT2PI = 1d / Math.sqrt(2d * Math.PI);
 
   // TODO need a better seed
   private final double _mean;
@@ -53,13 +58,93 @@ public class NormalDistribution implements ProbabilityDistribution<Double> {
     _normal = new Normal(mean, standardDeviation, randomEngine);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the cumulative distribution function of the standard normal distribution.
+   *
+   * @param x  the value
+   * @return the cumulative probability
+   */
+  public static double cdf(double x) {
+    return DERFC.getErfc(-x / ROOT2) / 2;
+  }
+
+  /**
+   * Calculates the probability density function of the standard normal distribution.
+   *
+   * @param x  the value
+   * @return the probability density
+   */
+  public static double pdf(double x) {
+    return INV_ROOT2PI * Math.exp(-(x * x) / 2d);
+  }
+
+  /**
+   * Calculates the inverse cumulative distribution function of the standard normal distribution.
+   *
+   * @param p  the probability, from zero to one inclusive
+   * @return the value
+   * @throws IllegalArgumentException if the probability is less than zero or greater than one
+   */
+  public static double inverseCdf(double p) {
+    ArgChecker.isTrue(p >= 0 && p <= 1, "Probability must be >= 0 and <= 1");
+    return Probability.normalInverse(p);
+  }
+
+  /**
+   * Calculates the cumulative distribution function of the standard normal distribution for each value.
+   * <p>
+   * The result array may be the same as the input array.
+   *
+   * @param x  the values
+   * @param result  the array to populate with the cumulative probabilities, at least as long as the values
+   */
+  public static void cdf(double[] x, double[] result) {
+    ArgChecker.isTrue(result.length >= x.length, "Result array must be at least as long as the input array");
+    for (int i = 0; i < x.length; i++) {
+      result[i] = cdf(x[i]);
+    }
+  }
+
+  /**
+   * Calculates the probability density function of the standard normal distribution for each value.
+   * <p>
+   * The result array may be the same as the input array.
+   *
+   * @param x  the values
+   * @param result  the array to populate with the probability densities, at least as long as the values
+   */
+  public static void pdf(double[] x, double[] result) {
+    ArgChecker.isTrue(result.length >= x.length, "Result array must be at least as long as the input array");
+    for (int i = 0; i < x.length; i++) {
+      result[i] = pdf(x[i]);
+    }
+  }
+
+  /**
+   * Calculates the inverse cumulative distribution function of the standard normal distribution for each probability.
+   * <p>
+   * The result array may be the same as the input array.
+   *
+   * @param p  the probabilities, each from zero to one inclusive
+   * @param result  the array to populate with the values, at least as long as the probabilities
+   * @throws IllegalArgumentException if a probability is less than zero or greater than one
+   */
+  public static void inverseCdf(double[] p, double[] result) {
+    ArgChecker.isTrue(result.length >= p.length, "Result array must be at least as long as the input array");
+    for (int i = 0; i < p.length; i++) {
+      result[i] = inverseCdf(p[i]);
+    }
+  }
+
+  //-------------------------------------------------------------------------
   /**
    * {@inheritDoc}
    */
   @Override
   public double getCDF(Double x) {
     ArgChecker.notNull(x, "x");
-    return DERFC.getErfc(-x / ROOT2) / 2;
+    return cdf(x);
   }
 
   /**
@@ -22,9 +22,10 @@ public class LeastSquareResults {
   private final DoubleArray _parameters;
   private final DoubleMatrix _covariance;
   private final DoubleMatrix _inverseJacobian;
+  private final int _iterations;
 
   public LeastSquareResults(LeastSquareResults from) {
-    this(from._chiSq, from._parameters, from._covariance, from._inverseJacobian);
+    this(from._chiSq, from._parameters, from._covariance, from._inverseJacobian, from._iterations);
   }
 
   public LeastSquareResults(double chiSq, DoubleArray parameters, DoubleMatrix covariance) {
@@ -37,6 +38,16 @@ public class LeastSquareResults {
       DoubleMatrix covariance,
       DoubleMatrix inverseJacobian) {
 
+    this(chiSq, parameters, covariance, inverseJacobian, 0);
+  }
+
+  public LeastSquareResults(
+      double chiSq,
+      DoubleArray parameters,
+      DoubleMatrix covariance,
+      DoubleMatrix inverseJacobian,
+      int iterations) {
+
     ArgChecker.isTrue(chiSq >= 0, "chi square < 0");
     ArgChecker.notNull(parameters, "parameters");
     ArgChecker.notNull(covariance, "covariance");
@@ -48,6 +59,7 @@ public class LeastSquareResults {
     _parameters = parameters;
     _covariance = covariance;
     _inverseJacobian = inverseJacobian;
+    _iterations = ArgChecker.notNegative(iterations, "iterations");
   }
 
   /**
@@ -91,6 +103,17 @@ public class LeastSquareResults {
     return _inverseJacobian;
   }
 
+  /**
+   * Gets the number of iterations performed by the solver to reach the fit.
+   * <p>
+   * This is diagnostic information only and is not part of the equality of the results.
+   * Zero is returned if the start position was already the solution or if the count is not known.
+   * @return the number of iterations
+   */
+  public int getIterations() {
+    return _iterations;
+  }
+
   @Override
   public int hashCode() {
     int prime = 31;
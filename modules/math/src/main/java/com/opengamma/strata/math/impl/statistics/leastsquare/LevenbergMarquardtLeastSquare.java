@@ -0,0 +1,585 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.statistics.leastsquare;
+
+import java.util.Arrays;
+import java.util.function.Function;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.math.MathException;
+import com.opengamma.strata.math.impl.differentiation.VectorFieldFirstOrderDifferentiator;
+import com.opengamma.strata.math.impl.linearalgebra.DecompositionFactory;
+import com.opengamma.strata.math.linearalgebra.Decomposition;
+import com.opengamma.strata.math.linearalgebra.DecompositionResult;
+
+/**
+ * Levenberg-Marquardt non linear least square calculator using preallocated work arrays.
+ * <p>
+ * This solves the same problem as {@link NonLinearLeastSquare}, with the same damping and convergence criterion,
+ * and reports the results in the same form. It is intended for small problems solved many times,
+ * such as the calibration of smile models.
+ * <p>
+ * The work arrays are allocated once per call to {@code solve} and reused over the iterations.
+ * The damped step is obtained from a column pivoting Householder QR decomposition of the Jacobian,
+ * augmented by the damping rows, which avoids forming the normal equations.
+ * If the QR decomposition reveals that the problem is rank deficient, the step is obtained from
+ * the SVD of the normal equations, as in {@link NonLinearLeastSquare}.
+ * <p>
+ * If enabled, which is not the default, the geodesic acceleration of Transtrum and Sethna is added to the step.
+ * The second directional derivative of the model is estimated by finite difference along the step,
+ * at the cost of one model evaluation.
+ * The acceleration is dropped, rather than the step rejected, when it is large compared to the step.
+ * <p>
+ * Unlike {@link NonLinearLeastSquare}, no check is made that the converged point is not a saddle point.
+ */
+public class LevenbergMarquardtLeastSquare {
+
+  /**
+   * The maximum number of attempted steps.
+   */
+  private static final int MAX_ATTEMPTS = 10000;
+  /**
+   * The relative step, along the velocity, used to estimate the second directional derivative.
+   */
+  private static final double ACCELERATION_STEP = 0.1;
+  /**
+   * The maximum allowed ratio between twice the acceleration and the velocity.
+   */
+  private static final double MAX_ACCELERATION_RATIO = 0.75;
+  /**
+   * The relative size of a diagonal element of R below which the Jacobian is considered rank deficient.
+   */
+  private static final double RANK_TOLERANCE = 1e-12;
+  /**
+   * No constraints.
+   */
+  private static final Function<DoubleArray, Boolean> UNCONSTRAINED = new Function<DoubleArray, Boolean>() {
+    @Override
+    public Boolean apply(DoubleArray x) {
+      return true;
+    }
+  };
+
+  /**
+   * The convergence tolerance on the relative change of chi-square.
+   */
+  private final double eps;
+  /**
+   * Whether the geodesic acceleration is used.
+   */
+  private final boolean geodesicAcceleration;
+  /**
+   * The decomposition used when the Jacobian is rank deficient.
+   */
+  private final Decomposition<?> decomposition;
+
+  /**
+   * Creates an instance with a tolerance of 1e-8 and no geodesic acceleration.
+   */
+  public LevenbergMarquardtLeastSquare() {
+    this(1e-8, false);
+  }
+
+  /**
+   * Creates an instance.
+   *
+   * @param eps  the convergence tolerance on the relative change of chi-square
+   * @param geodesicAcceleration  whether the geodesic acceleration is used
+   */
+  public LevenbergMarquardtLeastSquare(double eps, boolean geodesicAcceleration) {
+    this.eps = ArgChecker.notNegativeOrZero(eps, "eps");
+    this.geodesicAcceleration = geodesicAcceleration;
+    this.decomposition = DecompositionFactory.SV_COMMONS;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Solves the problem, computing the Jacobian by finite difference.
+   * <p>
+   * The model is given as a function of its parameters only.
+   *
+   * @param observedValues  the measurement values
+   * @param sigma  the measurement errors
+   * @param func  the model as a function of its parameters only
+   * @param startPos  the initial value of the parameters
+   * @return the results
+   */
+  public LeastSquareResults solve(
+      DoubleArray observedValues,
+      DoubleArray sigma,
+      Function<DoubleArray, DoubleArray> func,
+      DoubleArray startPos) {
+
+    VectorFieldFirstOrderDifferentiator jac = new VectorFieldFirstOrderDifferentiator();
+    return solve(observedValues, sigma, func, jac.differentiate(func), startPos, UNCONSTRAINED, null);
+  }
+
+  /**
+   * Solves the problem using an analytic Jacobian.
+   * <p>
+   * The model and its Jacobian are given as functions of the parameters only.
+   *
+   * @param observedValues  the measurement values
+   * @param sigma  the measurement errors
+   * @param func  the model as a function of its parameters only
+   * @param jac  the model sensitivity to its parameters as a function of its parameters only
+   * @param startPos  the initial value of the parameters
+   * @return the results
+   */
+  public LeastSquareResults solve(
+      DoubleArray observedValues,
+      DoubleArray sigma,
+      Function<DoubleArray, DoubleArray> func,
+      Function<DoubleArray, DoubleMatrix> jac,
+      DoubleArray startPos) {
+
+    return solve(observedValues, sigma, func, jac, startPos, UNCONSTRAINED, null);
+  }
+
+  /**
+   * Solves the problem using an analytic Jacobian, subject to constraints and maximum steps.
+   * <p>
+   * The model and its Jacobian are given as functions of the parameters only.
+   *
+   * @param observedValues  the measurement values
+   * @param sigma  the measurement errors
+   * @param func  the model as a function of its parameters only
+   * @param jac  the model sensitivity to its parameters as a function of its parameters only
+   * @param startPos  the initial value of the parameters
+   * @param constraints  the function returning true if the trial point is within the constraints of the model
+   * @param maxJumps  the maximum absolute step allowed in each direction in each iteration, null if unlimited
+   * @return the results
+   */
+  public LeastSquareResults solve(
+      DoubleArray observedValues,
+      DoubleArray sigma,
+      Function<DoubleArray, DoubleArray> func,
+      Function<DoubleArray, DoubleMatrix> jac,
+      DoubleArray startPos,
+      Function<DoubleArray, Boolean> constraints,
+      DoubleArray maxJumps) {
+
+    ArgChecker.notNull(observedValues, "observedValues");
+    ArgChecker.notNull(sigma, "sigma");
+    ArgChecker.notNull(func, "func");
+    ArgChecker.notNull(jac, "jac");
+    ArgChecker.notNull(startPos, "startPos");
+    ArgChecker.notNull(constraints, "constraints");
+    int nObs = observedValues.size();
+    int nParms = startPos.size();
+    ArgChecker.isTrue(nObs == sigma.size(), "observedValues and sigma must be same length");
+    ArgChecker.isTrue(nObs >= nParms,
+        "must have data points greater or equal to number of parameters. #date points = {}, #parameters = {}",
+        nObs, nParms);
+    ArgChecker.isTrue(constraints.apply(startPos),
+        "The inital value of the parameters (startPos) is {} - this is not an allowed value", startPos);
+
+    Workspace ws = new Workspace(observedValues.toArrayUnsafe(), sigma.toArrayUnsafe(), nParms);
+    DoubleArray theta = startPos;
+    double oldChiSqr = ws.error(func, theta, ws.error);
+    ws.jacobian(jac, theta);
+    // if we start at the solution we are done
+    if (oldChiSqr == 0d) {
+      return finish(ws, oldChiSqr, theta, 0);
+    }
+    double lambda = 0d;
+    for (int count = 0; count < MAX_ATTEMPTS; count++) {
+      boolean fullRank = ws.factorize(lambda);
+      if (fullRank) {
+        ws.solve(ws.error, ws.velocity);
+      } else {
+        ws.solveNormalEquations(decomposition, lambda);
+      }
+      DoubleArray trialTheta = add(theta, ws.velocity, 1d);
+      if (!constraints.apply(trialTheta) || !allowJump(ws.velocity, maxJumps)) {
+        lambda = increaseLambda(lambda);
+        continue;
+      }
+      if (geodesicAcceleration && fullRank) {
+        DoubleArray probe = add(theta, ws.velocity, ACCELERATION_STEP);
+        if (constraints.apply(probe)) {
+          ws.error(func, probe, ws.trialError);
+          ws.secondDirectionalDerivative(ACCELERATION_STEP);
+          ws.solve(ws.rhs, ws.acceleration);
+          // the acceleration is only used if the second order correction is small
+          if (2d * norm(ws.acceleration) <= MAX_ACCELERATION_RATIO * norm(ws.velocity)) {
+            for (int j = 0; j < nParms; j++) {
+              ws.step[j] = ws.velocity[j] + 0.5 * ws.acceleration[j];
+            }
+            DoubleArray acceleratedTheta = add(theta, ws.step, 1d);
+            if (constraints.apply(acceleratedTheta) && allowJump(ws.step, maxJumps)) {
+              trialTheta = acceleratedTheta;
+            }
+          }
+        }
+      }
+      double newChiSqr = ws.error(func, trialTheta, ws.trialError);
+      // check for convergence when no improvement in chiSqr occurs
+      if (Math.abs(newChiSqr - oldChiSqr) / (1 + oldChiSqr) < eps) {
+        return finish(ws, newChiSqr, trialTheta, count + 1);
+      }
+      if (newChiSqr < oldChiSqr) {
+        lambda = decreaseLambda(lambda);
+        theta = trialTheta;
+        ws.acceptTrial();
+        ws.jacobian(jac, theta);
+        oldChiSqr = newChiSqr;
+      } else {
+        lambda = increaseLambda(lambda);
+      }
+    }
+    throw new MathException("Could not converge in " + MAX_ATTEMPTS + " attempts");
+  }
+
+  //-------------------------------------------------------------------------
+  // computes the covariance and the inverse Jacobian in the same form as NonLinearLeastSquare
+  private LeastSquareResults finish(Workspace ws, double chiSqr, DoubleArray theta, int iterations) {
+    int m = ws.nParms;
+    int n = ws.nObs;
+    double[][] covariance;
+    if (ws.factorize(0d)) {
+      covariance = ws.normalInverse();
+    } else {
+      DoubleMatrix alpha = DoubleMatrix.ofUnsafe(ws.normalMatrix(0d));
+      DecompositionResult decmp = decomposition.apply(alpha);
+      covariance = decmp.solve(DoubleMatrix.identity(m)).toArray();
+    }
+    double[][] inverseJacobian = new double[m][n];
+    for (int i = 0; i < n; i++) {
+      double[] row = ws.jac[i];
+      double sigmaInv = 1d / ws.sigma[i];
+      for (int a = 0; a < m; a++) {
+        double sum = 0d;
+        for (int b = 0; b < m; b++) {
+          sum += covariance[a][b] * row[b];
+        }
+        inverseJacobian[a][i] = sum * sigmaInv;
+      }
+    }
+    return new LeastSquareResults(
+        chiSqr, theta, DoubleMatrix.ofUnsafe(covariance), DoubleMatrix.ofUnsafe(inverseJacobian), iterations);
+  }
+
+  private static DoubleArray add(DoubleArray theta, double[] step, double scale) {
+    return DoubleArray.of(theta.size(), i -> theta.get(i) + scale * step[i]);
+  }
+
+  private static double norm(double[] values) {
+    double sum = 0d;
+    for (double value : values) {
+      sum += value * value;
+    }
+    return Math.sqrt(sum);
+  }
+
+  private static double decreaseLambda(double lambda) {
+    return lambda / 10;
+  }
+
+  private static double increaseLambda(double lambda) {
+    if (lambda == 0d) { // this will happen the first time a full quadratic step fails
+      return 0.1;
+    }
+    return lambda * 10;
+  }
+
+  private static boolean allowJump(double[] deltaTheta, DoubleArray maxJumps) {
+    if (maxJumps == null) {
+      return true;
+    }
+    for (int i = 0; i < deltaTheta.length; i++) {
+      if (Math.abs(deltaTheta[i]) > maxJumps.get(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The work arrays of a single solve.
+   * <p>
+   * The Jacobian and errors are stored scaled by the measurement errors.
+   */
+  private static final class Workspace {
+    private final int nObs;
+    private final int nParms;
+    private final double[] observed;
+    private final double[] sigma;
+    // the scaled Jacobian at the current point, and the squared norms of its columns
+    private final double[][] jac;
+    private final double[] diag;
+    // the scaled errors at the current and trial points
+    private double[] error;
+    private double[] trialError;
+    // the Householder vectors below the diagonal and R above it, for the Jacobian augmented by the damping rows
+    private final double[][] qr;
+    private final double[] rDiag;
+    private final double[] householderNorms;
+    private final double[] columnNorms;
+    private final int[] permutation;
+    private int rows;
+    // the right hand side and solutions
+    private final double[] rhs;
+    private final double[] work;
+    private final double[] velocity;
+    private final double[] acceleration;
+    private final double[] step;
+
+    private Workspace(double[] observed, double[] sigma, int nParms) {
+      this.nObs = observed.length;
+      this.nParms = nParms;
+      this.observed = observed;
+      this.sigma = sigma;
+      this.jac = new double[nObs][nParms];
+      this.diag = new double[nParms];
+      this.error = new double[nObs];
+      this.trialError = new double[nObs];
+      this.qr = new double[nObs + nParms][nParms];
+      this.rDiag = new double[nParms];
+      this.householderNorms = new double[nParms];
+      this.columnNorms = new double[nParms];
+      this.permutation = new int[nParms];
+      this.rhs = new double[nObs];
+      this.work = new double[nObs + nParms];
+      this.velocity = new double[nParms];
+      this.acceleration = new double[nParms];
+      this.step = new double[nParms];
+    }
+
+    // computes the scaled errors into the array, returning the chi-square
+    private double error(Function<DoubleArray, DoubleArray> func, DoubleArray theta, double[] result) {
+      DoubleArray modelValues = func.apply(theta);
+      ArgChecker.isTrue(nObs == modelValues.size(),
+          "Number of data points different between model (" + modelValues.size() + ") and observed (" + nObs + ")");
+      double chiSqr = 0d;
+      for (int i = 0; i < nObs; i++) {
+        double value = (observed[i] - modelValues.get(i)) / sigma[i];
+        result[i] = value;
+        chiSqr += value * value;
+      }
+      return chiSqr;
+    }
+
+    // makes the trial errors the current errors
+    private void acceptTrial() {
+      double[] tmp = error;
+      error = trialError;
+      trialError = tmp;
+    }
+
+    // computes the scaled Jacobian at the point
+    private void jacobian(Function<DoubleArray, DoubleMatrix> jacFunc, DoubleArray theta) {
+      DoubleMatrix res = jacFunc.apply(theta);
+      ArgChecker.isTrue(res.columnCount() == nParms, "Jacobian is wrong size");
+      ArgChecker.isTrue(res.rowCount() == nObs, "Jacobian is wrong size");
+      double[][] data = res.toArrayUnsafe();
+      Arrays.fill(diag, 0d);
+      for (int i = 0; i < nObs; i++) {
+        double sigmaInv = 1d / sigma[i];
+        double[] row = data[i];
+        double[] jacRow = jac[i];
+        for (int j = 0; j < nParms; j++) {
+          double value = row[j] * sigmaInv;
+          jacRow[j] = value;
+          diag[j] += value * value;
+        }
+      }
+    }
+
+    // estimates minus the second directional derivative along the velocity, from the errors at the probe point
+    private void secondDirectionalDerivative(double h) {
+      for (int i = 0; i < nObs; i++) {
+        double[] row = jac[i];
+        double jv = 0d;
+        for (int j = 0; j < nParms; j++) {
+          jv += row[j] * velocity[j];
+        }
+        // the model change is minus the error change
+        double fvv = 2d / h * ((error[i] - trialError[i]) / h - jv);
+        rhs[i] = -fvv;
+      }
+    }
+
+    // factorizes the Jacobian augmented by the damping rows, returning false if it is rank deficient
+    private boolean factorize(double lambda) {
+      rows = lambda > 0d ? nObs + nParms : nObs;
+      for (int i = 0; i < nObs; i++) {
+        System.arraycopy(jac[i], 0, qr[i], 0, nParms);
+      }
+      if (lambda > 0d) {
+        for (int j = 0; j < nParms; j++) {
+          Arrays.fill(qr[nObs + j], 0d);
+          qr[nObs + j][j] = Math.sqrt(lambda * diag[j]);
+        }
+      }
+      for (int j = 0; j < nParms; j++) {
+        permutation[j] = j;
+        double sum = 0d;
+        for (int i = 0; i < rows; i++) {
+          sum += qr[i][j] * qr[i][j];
+        }
+        columnNorms[j] = sum;
+      }
+      for (int k = 0; k < nParms; k++) {
+        // column pivoting on the largest remaining norm
+        int pivot = k;
+        for (int j = k + 1; j < nParms; j++) {
+          if (columnNorms[j] > columnNorms[pivot]) {
+            pivot = j;
+          }
+        }
+        if (pivot != k) {
+          for (int i = 0; i < rows; i++) {
+            double[] row = qr[i];
+            double tmp = row[k];
+            row[k] = row[pivot];
+            row[pivot] = tmp;
+          }
+          int tmpIndex = permutation[k];
+          permutation[k] = permutation[pivot];
+          permutation[pivot] = tmpIndex;
+          columnNorms[pivot] = columnNorms[k];
+        }
+        double normSq = 0d;
+        for (int i = k; i < rows; i++) {
+          normSq += qr[i][k] * qr[i][k];
+        }
+        if (normSq == 0d) {
+          rDiag[k] = 0d;
+          householderNorms[k] = 0d;
+          continue;
+        }
+        double norm = Math.sqrt(normSq);
+        double alpha = qr[k][k] > 0d ? -norm : norm;
+        qr[k][k] -= alpha;
+        double vtv = 0d;
+        for (int i = k; i < rows; i++) {
+          vtv += qr[i][k] * qr[i][k];
+        }
+        householderNorms[k] = vtv;
+        rDiag[k] = alpha;
+        for (int j = k + 1; j < nParms; j++) {
+          double sum = 0d;
+          for (int i = k; i < rows; i++) {
+            sum += qr[i][k] * qr[i][j];
+          }
+          double factor = 2d * sum / vtv;
+          double remaining = 0d;
+          for (int i = k; i < rows; i++) {
+            qr[i][j] -= factor * qr[i][k];
+            if (i > k) {
+              remaining += qr[i][j] * qr[i][j];
+            }
+          }
+          columnNorms[j] = remaining;
+        }
+      }
+      double threshold = RANK_TOLERANCE * Math.max(rows, nParms) * Math.abs(rDiag[0]);
+      for (int k = 0; k < nParms; k++) {
+        if (!(Math.abs(rDiag[k]) > threshold)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    // solves the factorized least square problem, the right hand side being padded with zeros
+    private void solve(double[] values, double[] result) {
+      System.arraycopy(values, 0, work, 0, nObs);
+      Arrays.fill(work, nObs, rows, 0d);
+      for (int k = 0; k < nParms; k++) {
+        double sum = 0d;
+        for (int i = k; i < rows; i++) {
+          sum += qr[i][k] * work[i];
+        }
+        double factor = 2d * sum / householderNorms[k];
+        for (int i = k; i < rows; i++) {
+          work[i] -= factor * qr[i][k];
+        }
+      }
+      for (int k = nParms - 1; k >= 0; k--) {
+        double sum = work[k];
+        for (int j = k + 1; j < nParms; j++) {
+          sum -= qr[k][j] * work[j];
+        }
+        work[k] = sum / rDiag[k];
+      }
+      for (int k = 0; k < nParms; k++) {
+        result[permutation[k]] = work[k];
+      }
+    }
+
+    // computes the inverse of the normal matrix from the factorization without damping
+    private double[][] normalInverse() {
+      // inverse of R, upper triangular, in permuted order
+      double[][] rInv = new double[nParms][nParms];
+      for (int c = 0; c < nParms; c++) {
+        rInv[c][c] = 1d / rDiag[c];
+        for (int k = c - 1; k >= 0; k--) {
+          double sum = 0d;
+          for (int j = k + 1; j <= c; j++) {
+            sum += qr[k][j] * rInv[j][c];
+          }
+          rInv[k][c] = -sum / rDiag[k];
+        }
+      }
+      double[][] result = new double[nParms][nParms];
+      for (int a = 0; a < nParms; a++) {
+        for (int b = a; b < nParms; b++) {
+          double sum = 0d;
+          for (int k = b; k < nParms; k++) {
+            sum += rInv[a][k] * rInv[b][k];
+          }
+          result[permutation[a]][permutation[b]] = sum;
+          result[permutation[b]][permutation[a]] = sum;
+        }
+      }
+      return result;
+    }
+
+    // computes the damped normal matrix, J^T J with the diagonal scaled by 1 + lambda
+    private double[][] normalMatrix(double lambda) {
+      double[][] alpha = new double[nParms][nParms];
+      for (int i = 0; i < nObs; i++) {
+        double[] row = jac[i];
+        for (int a = 0; a < nParms; a++) {
+          for (int b = a; b < nParms; b++) {
+            alpha[a][b] += row[a] * row[b];
+          }
+        }
+      }
+      for (int a = 0; a < nParms; a++) {
+        alpha[a][a] *= 1d + lambda;
+        for (int b = a + 1; b < nParms; b++) {
+          alpha[b][a] = alpha[a][b];
+        }
+      }
+      return alpha;
+    }
+
+    // computes the velocity from the normal equations, for rank deficient problems
+    private void solveNormalEquations(Decomposition<?> decomposition, double lambda) {
+      double[] beta = new double[nParms];
+      for (int i = 0; i < nObs; i++) {
+        double[] row = jac[i];
+        for (int j = 0; j < nParms; j++) {
+          beta[j] += error[i] * row[j];
+        }
+      }
+      try {
+        DecompositionResult decmp = decomposition.apply(DoubleMatrix.ofUnsafe(normalMatrix(lambda)));
+        System.arraycopy(decmp.solve(beta), 0, velocity, 0, nParms);
+      } catch (IllegalArgumentException ex) {
+        // the decomposition rejects a matrix with NaN or infinite elements
+        throw new MathException(ex);
+      }
+    }
+  }
+
+}
@@ -406,7 +406,7 @@ public class NonLinearLeastSquare {
 
     // If we start at the solution we are done
     if (oldChiSqr == 0.0) {
-      return finish(oldChiSqr, jacobian, theta, sigma);
+      return finish(oldChiSqr, jacobian, theta, sigma, 0);
     }
 
     DoubleArray beta = getChiSqrGrad(error, jacobian);
@@ -443,7 +443,7 @@ public class NonLinearLeastSquare {
           if (lambda > 0.0) {
             decmp = _decomposition.apply(alpha0);
           }
-          return finish(alpha0, decmp, newChiSqr, jacobian, trialTheta, sigma);
+          return finish(alpha0, decmp, newChiSqr, jacobian, trialTheta, sigma, count + 1);
         }
 
         SVDecompositionCommons svd = (SVDecompositionCommons) DecompositionFactory.SV_COMMONS;
@@ -522,7 +522,7 @@ public class NonLinearLeastSquare {
             if (counter > 10 || Math.abs(newChiSqr - oldChiSqr) / (1 + oldChiSqr) < _eps) {
               LOGGER.warn("Saddle point detected, but no improvement to chi^2 possible by moving away. " +
                   "It is recommended that a different starting point is used.");
-              return finish(newAlpha, decmp, oldChiSqr, jacobian, theta, sigma);
+              return finish(newAlpha, decmp, oldChiSqr, jacobian, theta, sigma, count + 1);
             }
             scale /= 2.0;
             deltaTheta = (DoubleArray) _algebra.scale(direction, scale);
@@ -534,7 +534,7 @@ public class NonLinearLeastSquare {
         } else {
           // this should be the normal finish - i.e. no improvement in chiSqr and at a true minimum (although there is
           // no guarantee it is not a local minimum)
-          return finish(newAlpha, decmp, newChiSqr, jacobian, trialTheta, sigma);
+          return finish(newAlpha, decmp, newChiSqr, jacobian, trialTheta, sigma, count + 1);
         }
       }
 
@@ -603,11 +603,12 @@ public class NonLinearLeastSquare {
       double newChiSqr,
       DoubleMatrix jacobian,
       DoubleArray newTheta,
-      DoubleArray sigma) {
+      DoubleArray sigma,
+      int iterations) {
 
     DoubleMatrix alpha = getModifiedCurvatureMatrix(jacobian, 0.0);
     DecompositionResult decmp = _decomposition.apply(alpha);
-    return finish(alpha, decmp, newChiSqr, jacobian, newTheta, sigma);
+    return finish(alpha, decmp, newChiSqr, jacobian, newTheta, sigma, iterations);
   }
 
   private LeastSquareResults finish(
@@ -616,12 +617,13 @@ public class NonLinearLeastSquare {
       double newChiSqr,
       DoubleMatrix jacobian,
       DoubleArray newTheta,
-      DoubleArray sigma) {
+      DoubleArray sigma,
+      int iterations) {
 
     DoubleMatrix covariance = decmp.solve(DoubleMatrix.identity(alpha.rowCount()));
     DoubleMatrix bT = getBTranspose(jacobian, sigma);
     DoubleMatrix inverseJacobian = decmp.solve(bT);
-    return new LeastSquareResults(newChiSqr, newTheta, covariance, inverseJacobian);
+    return new LeastSquareResults(newChiSqr, newTheta, covariance, inverseJacobian, iterations);
   }
 
   private DoubleArray getError(final Function<DoubleArray, DoubleArray> func, final DoubleArray observedValues, final DoubleArray sigma, final DoubleArray theta) {
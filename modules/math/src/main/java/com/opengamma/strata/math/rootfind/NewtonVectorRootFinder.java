@@ -10,8 +10,10 @@ import java.util.function.Function;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.math.MathException;
+import com.opengamma.strata.math.impl.linearalgebra.BlockTriangularDecomposition;
 import com.opengamma.strata.math.impl.linearalgebra.SVDecompositionCommons;
 import com.opengamma.strata.math.impl.rootfinding.newton.BroydenVectorRootFinder;
+import com.opengamma.strata.math.impl.rootfinding.newton.NewtonDefaultVectorRootFinder;
 import com.opengamma.strata.math.linearalgebra.Decomposition;
 
 /**
@@ -64,6 +66,23 @@ public interface NewtonVectorRootFinder {
     return new BroydenVectorRootFinder(absoluteTol, relativeTol, maxSteps, decomposition);
   }
 
+  /**
+   * Obtains an instance of the Newton root finder exploiting the sparsity of the Jacobian.
+   * <p>
+   * The Jacobian is recomputed at each step, so that its sparsity is preserved, unlike with the Broyden update.
+   * Each step is solved by forward substitution over the blocks of the Jacobian permuted to
+   * block lower triangular form, see {@link BlockTriangularDecomposition}.
+   * This is efficient when each function only depends on a few variables, such as in multi-curve calibration.
+   * 
+   * @param absoluteTol  the absolute tolerance
+   * @param relativeTol  the relative tolerance
+   * @param maxSteps  the maximum steps
+   * @return the root finder
+   */
+  public static NewtonVectorRootFinder sparseNewton(double absoluteTol, double relativeTol, int maxSteps) {
+    return new NewtonDefaultVectorRootFinder(absoluteTol, relativeTol, maxSteps, new BlockTriangularDecomposition());
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Finds the root from the specified start position.
@@ -5,6 +5,9 @@
  */
 package com.opengamma.strata.math.impl.integration;
 
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
 import org.testng.annotations.Test;
 
 /**
@@ -33,6 +36,21 @@ public class GaussLegendreWeightAndAbscissaFunctionTest extends WeightAndAbsciss
     assertResults(F.generate(5), X5, W5);
   }
 
+  @Test
+  public void testLargeNumberOfPoints() {
+    int n = 60;
+    GaussianQuadratureData data = F.generate(n);
+    double sum = 0;
+    for (int i = 0; i < n; i++) {
+      sum += data.getWeights()[i];
+      if (i > 0) {
+        assertTrue(data.getAbscissas()[i] > data.getAbscissas()[i - 1]);
+      }
+      assertEquals(data.getAbscissas()[i], -data.getAbscissas()[n - i - 1], 1e-15);
+    }
+    assertEquals(sum, 2, 1e-12);
+  }
+
   @Override
   protected QuadratureWeightAndAbscissaFunction getFunction() {
     return F;
@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.linearalgebra;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.math.linearalgebra.DecompositionResult;
+
+/**
+ * Test {@link BlockTriangularDecomposition}.
+ */
+@Test
+public class BlockTriangularDecompositionTest {
+
+  private static final BlockTriangularDecomposition DECOMPOSITION = new BlockTriangularDecomposition();
+  private static final LUDecompositionCommons LU = new LUDecompositionCommons();
+  private static final int[] BLOCK_SIZES = {3, 1, 4, 2};
+  // permutation scattering the blocks over the rows and columns
+  private static final int[] PERMUTATION = {7, 2, 9, 0, 4, 1, 8, 3, 6, 5};
+  private static final double TOL = 1e-10;
+
+  //-------------------------------------------------------------------------
+  public void test_blockLowerTriangular() {
+    DoubleMatrix matrix = permutedBlockMatrix(new Random(1));
+    DecompositionResult result = DECOMPOSITION.apply(matrix);
+    assertTrue(result instanceof BlockTriangularDecompositionResult);
+    BlockTriangularDecompositionResult blockResult = (BlockTriangularDecompositionResult) result;
+    assertEquals(blockResult.getBlockCount(), BLOCK_SIZES.length);
+    assertEquals(blockResult.getMaxBlockSize(), 4);
+    assertSolve(matrix, result);
+  }
+
+  public void test_triangular() {
+    Random random = new Random(2);
+    DoubleMatrix matrix = DoubleMatrix.of(8, 8, (i, j) -> i > j ? random.nextDouble() : (i == j ? 1d + i : 0d));
+    DecompositionResult result = DECOMPOSITION.apply(matrix);
+    assertEquals(((BlockTriangularDecompositionResult) result).getBlockCount(), 8);
+    assertEquals(((BlockTriangularDecompositionResult) result).getMaxBlockSize(), 1);
+    assertSolve(matrix, result);
+  }
+
+  public void test_fallback() {
+    Random random = new Random(3);
+    // dense matrix is a single block
+    DoubleMatrix dense = DoubleMatrix.of(5, 5, (i, j) -> random.nextDouble() + (i == j ? 5d : 0d));
+    DecompositionResult denseResult = DECOMPOSITION.apply(dense);
+    assertTrue(denseResult instanceof SVDecompositionResult);
+    assertSolve(dense, denseResult);
+    // zero on the diagonal
+    DoubleMatrix zeroDiagonal = DoubleMatrix.of(3, 3, 0d, 1d, 0d, 1d, 0d, 0d, 1d, 1d, 2d);
+    DecompositionResult zeroDiagonalResult = DECOMPOSITION.apply(zeroDiagonal);
+    assertTrue(zeroDiagonalResult instanceof SVDecompositionResult);
+    assertSolve(zeroDiagonal, zeroDiagonalResult);
+    // singular diagonal block
+    DoubleMatrix singular = DoubleMatrix.of(3, 3, 1d, 0d, 0d, 1d, 1d, 1d, 1d, 1d, 1d);
+    assertTrue(DECOMPOSITION.apply(singular) instanceof SVDecompositionResult);
+  }
+
+  public void test_solveMatrix() {
+    Random random = new Random(4);
+    DoubleMatrix matrix = permutedBlockMatrix(random);
+    DoubleMatrix rhs = DoubleMatrix.of(10, 3, (i, j) -> random.nextDouble());
+    DoubleMatrix computed = DECOMPOSITION.apply(matrix).solve(rhs);
+    DoubleMatrix expected = LU.apply(matrix).solve(rhs);
+    for (int i = 0; i < 10; i++) {
+      assertTrue(computed.row(i).equalWithTolerance(expected.row(i), TOL));
+    }
+  }
+
+  public void test_invalid() {
+    assertThrowsIllegalArg(() -> DECOMPOSITION.apply(null));
+    assertThrowsIllegalArg(() -> DECOMPOSITION.apply(DoubleMatrix.filled(2, 3)));
+    DecompositionResult result = DECOMPOSITION.apply(permutedBlockMatrix(new Random(5)));
+    assertThrowsIllegalArg(() -> result.solve(DoubleArray.filled(3)));
+    assertThrowsIllegalArg(() -> result.solve(DoubleMatrix.filled(3, 3)));
+  }
+
+  //-------------------------------------------------------------------------
+  // a random block lower triangular matrix, with sparse lower blocks, symmetrically permuted
+  private static DoubleMatrix permutedBlockMatrix(Random random) {
+    int n = PERMUTATION.length;
+    int[] blockOf = new int[n];
+    for (int b = 0, i = 0; b < BLOCK_SIZES.length; b++) {
+      for (int k = 0; k < BLOCK_SIZES[b]; k++) {
+        blockOf[i++] = b;
+      }
+    }
+    double[][] data = new double[n][n];
+    for (int i = 0; i < n; i++) {
+      for (int j = 0; j < n; j++) {
+        if (blockOf[i] == blockOf[j]) {
+          data[i][j] = random.nextDouble() + (i == j ? 3d : 0d);
+        } else if (blockOf[j] < blockOf[i] && random.nextBoolean()) {
+          data[i][j] = random.nextDouble();
+        }
+      }
+    }
+    return DoubleMatrix.of(n, n, (i, j) -> data[PERMUTATION[i]][PERMUTATION[j]]);
+  }
+
+  private static void assertSolve(DoubleMatrix matrix, DecompositionResult result) {
+    Random random = new Random(0);
+    DoubleArray rhs = DoubleArray.of(matrix.rowCount(), i -> random.nextDouble());
+    DoubleArray expected = LU.apply(matrix).solve(rhs);
+    assertTrue(result.solve(rhs).equalWithTolerance(expected, TOL));
+    assertTrue(DoubleArray.ofUnsafe(result.solve(rhs.toArray())).equalWithTolerance(expected, TOL));
+  }
+
+}
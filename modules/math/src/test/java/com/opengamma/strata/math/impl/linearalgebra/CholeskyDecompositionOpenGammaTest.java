@@ -84,6 +84,30 @@ public class CholeskyDecompositionOpenGammaTest {
     assertEquals("Determinant", resultC.getDeterminant(), resultOG.getDeterminant(), 1.0E-10);
   }
 
+  /**
+   * Compare results with Common decomposition on a larger matrix.
+   */
+  public void compareCommonLarge() {
+    int n = 40;
+    DoubleMatrix b = DoubleMatrix.of(n, n, (i, j) -> Math.sin(i * n + j + 1));
+    DoubleMatrix a = ((DoubleMatrix) ALGEBRA.multiply(ALGEBRA.getTranspose(b), b))
+        .plus(DoubleMatrix.identity(n).multipliedBy(n));
+    final CholeskyDecompositionResult resultOG = CDOG.apply(a);
+    final CholeskyDecompositionResult resultC = CDC.apply(a);
+    checkEquals(resultC.getL(), resultOG.getL());
+    checkEquals(a, (DoubleMatrix) ALGEBRA.multiply(resultOG.getL(), resultOG.getLT()));
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void notSymmetrical() {
+    CDOG.apply(DoubleMatrix.copyOf(new double[][] { {10.0, 2.0}, {1.0, 5.0}}));
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void notPositive() {
+    CDOG.apply(DoubleMatrix.copyOf(new double[][] { {1.0, 2.0}, {2.0, 1.0}}));
+  }
+
   private void checkEquals(final DoubleMatrix x, final DoubleMatrix y) {
     final int n = x.rowCount();
     final int m = x.columnCount();
@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.linearalgebra;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.math.impl.matrix.CommonsMatrixAlgebra;
+import com.opengamma.strata.math.impl.matrix.MatrixAlgebra;
+
+/**
+ * Test {@link LUDecompositionOpenGamma}.
+ */
+@Test
+public class LUDecompositionOpenGammaTest {
+
+  private static final MatrixAlgebra ALGEBRA = new CommonsMatrixAlgebra();
+  private static final LUDecompositionOpenGamma LU = new LUDecompositionOpenGamma();
+  private static final LUDecompositionCommons LU_COMMONS = new LUDecompositionCommons();
+  private static final DoubleMatrix A = DoubleMatrix.copyOf(
+      new double[][] { {1, 2, -1}, {4, 3, 1}, {2, 2, 3}});
+  private static final DoubleMatrix B = randomMatrix(new Random(42), 25, 25);
+  private static final double EPS = 1e-9;
+
+  public void test_invalid() {
+    assertThrowsIllegalArg(() -> LU.apply((DoubleMatrix) null));
+    assertThrowsIllegalArg(() -> LU.apply(DoubleMatrix.filled(2, 3)));
+    assertThrowsIllegalArg(() -> LU.apply(DoubleMatrix.of(2, 2, 1d, 2d, 2d, 4d)));
+    assertThrowsIllegalArg(() -> new LUDecompositionOpenGamma(-1d));
+  }
+
+  public void test_recoverOriginal() {
+    for (DoubleMatrix matrix : new DoubleMatrix[] {A, B}) {
+      LUDecompositionResult result = LU.apply(matrix);
+      DoubleMatrix lu = (DoubleMatrix) ALGEBRA.multiply(result.getL(), result.getU());
+      checkEquals((DoubleMatrix) ALGEBRA.multiply(result.getP(), matrix), lu);
+    }
+  }
+
+  public void test_compareCommons() {
+    for (DoubleMatrix matrix : new DoubleMatrix[] {A, B}) {
+      LUDecompositionResult test = LU.apply(matrix);
+      LUDecompositionResult expected = LU_COMMONS.apply(matrix);
+      assertEquals(test.getPivot(), expected.getPivot());
+      checkEquals(test.getL(), expected.getL());
+      checkEquals(test.getU(), expected.getU());
+      checkEquals(test.getP(), expected.getP());
+      assertEquals(test.getDeterminant(), expected.getDeterminant(), EPS * Math.abs(expected.getDeterminant()));
+    }
+  }
+
+  public void test_solve() {
+    Random random = new Random(1);
+    LUDecompositionResult test = LU.apply(B);
+    LUDecompositionResult expected = LU_COMMONS.apply(B);
+    DoubleArray vector = DoubleArray.of(B.rowCount(), i -> random.nextDouble());
+    DoubleMatrix matrix = randomMatrix(random, B.rowCount(), 4);
+    assertEquals(test.solve(vector).equalWithTolerance(expected.solve(vector), EPS), true);
+    assertEquals(
+        DoubleArray.ofUnsafe(test.solve(vector.toArray())).equalWithTolerance(expected.solve(vector), EPS), true);
+    checkEquals(test.solve(matrix), expected.solve(matrix));
+    assertThrowsIllegalArg(() -> test.solve(DoubleArray.filled(3)));
+    assertThrowsIllegalArg(() -> test.solve(DoubleMatrix.filled(3, 3)));
+  }
+
+  public void test_inverse() {
+    LUDecompositionOpenGammaResult test = (LUDecompositionOpenGammaResult) LU.apply(B);
+    checkEquals(test.getInverse(), ALGEBRA.getInverse(B));
+    checkEquals((DoubleMatrix) ALGEBRA.multiply(B, test.getInverse()), DoubleMatrix.identity(B.rowCount()));
+  }
+
+  //-------------------------------------------------------------------------
+  private static DoubleMatrix randomMatrix(Random random, int rows, int columns) {
+    return DoubleMatrix.of(rows, columns, (i, j) -> random.nextDouble() - 0.5);
+  }
+
+  private void checkEquals(DoubleMatrix x, DoubleMatrix y) {
+    int n = x.rowCount();
+    int m = x.columnCount();
+    assertEquals(n, y.rowCount());
+    assertEquals(m, y.columnCount());
+    for (int i = 0; i < n; i++) {
+      for (int j = 0; j < m; j++) {
+        assertEquals(x.get(i, j), y.get(i, j), EPS);
+      }
+    }
+  }
+
+}
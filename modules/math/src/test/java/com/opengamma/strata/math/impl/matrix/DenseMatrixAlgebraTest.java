@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.matrix;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+
+/**
+ * Test {@link DenseMatrixAlgebra}.
+ */
+@Test
+public class DenseMatrixAlgebraTest {
+
+  private static final MatrixAlgebra COMMONS = new CommonsMatrixAlgebra();
+  private static final MatrixAlgebra OG = new OGMatrixAlgebra();
+  private static final MatrixAlgebra DENSE = new DenseMatrixAlgebra();
+  private static final MatrixAlgebra DENSE_PARALLEL = new DenseMatrixAlgebra(1);
+  private static final Random RANDOM = new Random(42);
+  private static final DoubleMatrix A = randomMatrix(150, 70);
+  private static final DoubleMatrix B = randomMatrix(70, 130);
+  private static final DoubleMatrix C = randomMatrix(30, 30);
+  private static final DoubleArray V = DoubleArray.of(70, i -> RANDOM.nextDouble());
+  private static final double EPS = 1e-10;
+
+  public void test_multiply() {
+    DoubleMatrix expected = (DoubleMatrix) COMMONS.multiply(A, B);
+    checkEquals((DoubleMatrix) DENSE.multiply(A, B), expected);
+    checkEquals((DoubleMatrix) DENSE_PARALLEL.multiply(A, B), expected);
+    DoubleArray expectedRight = (DoubleArray) OG.multiply(A, V);
+    DoubleArray expectedLeft = (DoubleArray) OG.multiply(V, B);
+    assertEquals(((DoubleArray) DENSE.multiply(A, V)).equalWithTolerance(expectedRight, EPS), true);
+    assertEquals(((DoubleArray) DENSE.multiply(V, B)).equalWithTolerance(expectedLeft, EPS), true);
+    assertThrowsIllegalArg(() -> DENSE.multiply(B, B));
+    assertThrowsIllegalArg(() -> DENSE.multiply(B, V));
+  }
+
+  public void test_matrixTransposeMultiplyMatrix() {
+    checkEquals(DENSE.matrixTransposeMultiplyMatrix(A), COMMONS.matrixTransposeMultiplyMatrix(A));
+  }
+
+  public void test_transpose() {
+    checkEquals(DENSE.getTranspose(A), COMMONS.getTranspose(A));
+    assertThrowsIllegalArg(() -> DENSE.getTranspose(V));
+  }
+
+  public void test_inverseDeterminant() {
+    checkEquals(DENSE.getInverse(C), COMMONS.getInverse(C));
+    double determinant = COMMONS.getDeterminant(C);
+    assertEquals(DENSE.getDeterminant(C), determinant, EPS * Math.abs(determinant));
+    assertThrowsIllegalArg(() -> DENSE.getInverse(A));
+    assertThrowsIllegalArg(() -> DENSE.getInverse(V));
+    assertThrowsIllegalArg(() -> DENSE.getInverse(DoubleMatrix.filled(3, 3)));
+  }
+
+  public void test_norms() {
+    assertEquals(DENSE.getNorm1(A), COMMONS.getNorm1(A), EPS);
+    assertEquals(DENSE.getNormInfinity(A), COMMONS.getNormInfinity(A), EPS);
+    assertEquals(DENSE.getNorm1(V), COMMONS.getNorm1(V), EPS);
+    assertEquals(DENSE.getNormInfinity(V), COMMONS.getNormInfinity(V), EPS);
+  }
+
+  public void test_power() {
+    checkEquals(DENSE.getPower(C, 0), DoubleMatrix.identity(30));
+    checkEquals(DENSE.getPower(C, 1), C);
+    checkEquals(DENSE.getPower(C, 5), COMMONS.getPower(C, 5));
+    assertThrowsIllegalArg(() -> DENSE.getPower(C, -1));
+  }
+
+  public void test_invalid() {
+    assertThrowsIllegalArg(() -> new DenseMatrixAlgebra(0));
+  }
+
+  //-------------------------------------------------------------------------
+  private static DoubleMatrix randomMatrix(int rows, int columns) {
+    return DoubleMatrix.of(rows, columns, (i, j) -> RANDOM.nextDouble() - 0.5);
+  }
+
+  private void checkEquals(DoubleMatrix x, DoubleMatrix y) {
+    assertEquals(x.rowCount(), y.rowCount());
+    assertEquals(x.columnCount(), y.columnCount());
+    for (int i = 0; i < x.rowCount(); i++) {
+      for (int j = 0; j < x.columnCount(); j++) {
+        assertEquals(x.get(i, j), y.get(i, j), EPS);
+      }
+    }
+  }
+
+}
@@ -100,6 +100,8 @@ public class MatrixAlgebraFactoryTest {
     assertEquals(MatrixAlgebraFactory.getMatrixAlgebra(MatrixAlgebraFactory.OG), MatrixAlgebraFactory.OG_ALGEBRA);
     assertEquals(MatrixAlgebraFactory.getMatrixAlgebraName(MatrixAlgebraFactory.COMMONS_ALGEBRA), MatrixAlgebraFactory.COMMONS);
     assertEquals(MatrixAlgebraFactory.getMatrixAlgebraName(MatrixAlgebraFactory.OG_ALGEBRA), MatrixAlgebraFactory.OG);
+    assertEquals(MatrixAlgebraFactory.getMatrixAlgebra(MatrixAlgebraFactory.DENSE), MatrixAlgebraFactory.DENSE_ALGEBRA);
+    assertEquals(MatrixAlgebraFactory.getMatrixAlgebraName(MatrixAlgebraFactory.DENSE_ALGEBRA), MatrixAlgebraFactory.DENSE);
   }
 
 }
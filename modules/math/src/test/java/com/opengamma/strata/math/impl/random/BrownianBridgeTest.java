@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.random;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * Test {@link BrownianBridge}.
+ */
+@Test
+public class BrownianBridgeTest {
+
+  private static final DoubleArray TIMES = DoubleArray.of(0.1, 0.25, 0.5, 0.6, 1d, 1.5, 2d, 3.5, 5d, 7d, 10d);
+  private static final double TOL = 1e-12;
+
+  public void test_of() {
+    BrownianBridge test = BrownianBridge.of(TIMES);
+    assertEquals(test.getSize(), TIMES.size());
+    assertEquals(test.getTimes(), TIMES);
+    assertTrue(test.isBridge());
+    assertFalse(BrownianBridge.ofIncremental(TIMES).isBridge());
+  }
+
+  public void test_covariance() {
+    for (int n = 1; n <= TIMES.size(); n++) {
+      DoubleArray times = TIMES.subArray(0, n);
+      assertCovariance(BrownianBridge.of(times));
+      assertCovariance(BrownianBridge.ofIncremental(times));
+    }
+  }
+
+  public void test_firstNormalDrivesLastTime() {
+    BrownianBridge test = BrownianBridge.of(TIMES);
+    int n = TIMES.size();
+    double[] normals = new double[n];
+    normals[0] = 1d;
+    double[] path = new double[n];
+    test.buildPath(normals, path);
+    for (int i = 0; i < n; i++) {
+      assertEquals(path[i], TIMES.get(i) / Math.sqrt(TIMES.get(n - 1)), TOL);
+    }
+  }
+
+  public void test_invalid() {
+    assertThrowsIllegalArg(() -> BrownianBridge.of(DoubleArray.EMPTY));
+    assertThrowsIllegalArg(() -> BrownianBridge.of(DoubleArray.of(0d, 1d)));
+    assertThrowsIllegalArg(() -> BrownianBridge.of(DoubleArray.of(1d, 1d)));
+    assertThrowsIllegalArg(() -> BrownianBridge.ofIncremental(DoubleArray.of(2d, 1d)));
+  }
+
+  // the covariance of the path values must be min(t_i, t_j)
+  private static void assertCovariance(BrownianBridge bridge) {
+    int n = bridge.getSize();
+    double[][] matrix = new double[n][n];
+    for (int k = 0; k < n; k++) {
+      double[] normals = new double[n];
+      normals[k] = 1d;
+      double[] path = new double[n];
+      bridge.buildPath(normals, path);
+      for (int i = 0; i < n; i++) {
+        matrix[i][k] = path[i];
+      }
+    }
+    DoubleArray times = bridge.getTimes();
+    for (int i = 0; i < n; i++) {
+      for (int j = 0; j < n; j++) {
+        double covariance = 0d;
+        for (int k = 0; k < n; k++) {
+          covariance += matrix[i][k] * matrix[j][k];
+        }
+        assertEquals(covariance, Math.min(times.get(i), times.get(j)), TOL);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.random;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link PseudoRandomPathNormalGenerator}.
+ */
+@Test
+public class PseudoRandomPathNormalGeneratorTest {
+
+  private static final PseudoRandomPathNormalGenerator GENERATOR = new PseudoRandomPathNormalGenerator(1234L);
+  private static final int DIMENSION = 5;
+
+  public void test_reproducible() {
+    Consumer<double[]> fromStart = GENERATOR.sequence(DIMENSION, 0);
+    double[] expected = new double[DIMENSION];
+    for (int i = 0; i < 18; i++) {
+      fromStart.accept(expected);
+    }
+    double[] computed = new double[DIMENSION];
+    GENERATOR.sequence(DIMENSION, 17).accept(computed);
+    assertEquals(computed, expected);
+    double[] other = new double[DIMENSION];
+    new PseudoRandomPathNormalGenerator(1234L).sequence(DIMENSION, 17).accept(other);
+    assertEquals(other, expected);
+  }
+
+  public void test_seed() {
+    double[] first = new double[DIMENSION];
+    GENERATOR.sequence(DIMENSION, 3).accept(first);
+    double[] second = new double[DIMENSION];
+    new PseudoRandomPathNormalGenerator(1235L).sequence(DIMENSION, 3).accept(second);
+    assertFalse(Arrays.equals(first, second));
+  }
+
+  public void test_moments() {
+    int nbPaths = 20000;
+    Consumer<double[]> sequence = GENERATOR.sequence(DIMENSION, 0);
+    double[] normals = new double[DIMENSION];
+    double sum = 0d;
+    double sumSquare = 0d;
+    for (int i = 0; i < nbPaths; i++) {
+      sequence.accept(normals);
+      for (double normal : normals) {
+        sum += normal;
+        sumSquare += normal * normal;
+      }
+    }
+    int count = nbPaths * DIMENSION;
+    assertEquals(sum / count, 0d, 4d / Math.sqrt(count));
+    assertEquals(sumSquare / count, 1d, 4d * Math.sqrt(2d / count));
+  }
+
+  public void test_invalid() {
+    assertThrowsIllegalArg(() -> GENERATOR.sequence(0, 0));
+    assertThrowsIllegalArg(() -> GENERATOR.sequence(DIMENSION, -1));
+    assertThrowsIllegalArg(() -> GENERATOR.sequence(DIMENSION, 0).accept(new double[DIMENSION - 1]));
+  }
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.random;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+
+import java.util.function.Consumer;
+
+import org.apache.commons.math3.random.SobolSequenceGenerator;
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.math.impl.statistics.distribution.NormalDistribution;
+
+/**
+ * Test {@link SobolPathNormalGenerator}.
+ */
+@Test
+public class SobolPathNormalGeneratorTest {
+
+  private static final SobolPathNormalGenerator GENERATOR = SobolPathNormalGenerator.DEFAULT;
+  private static final int DIMENSION = 4;
+
+  public void test_skipOrigin() {
+    SobolSequenceGenerator sobol = new SobolSequenceGenerator(DIMENSION);
+    sobol.nextVector();
+    Consumer<double[]> sequence = GENERATOR.sequence(DIMENSION, 0);
+    double[] computed = new double[DIMENSION];
+    for (int i = 0; i < 10; i++) {
+      double[] uniforms = sobol.nextVector();
+      sequence.accept(computed);
+      for (int j = 0; j < DIMENSION; j++) {
+        assertEquals(computed[j], NormalDistribution.inverseCdf(uniforms[j]));
+      }
+    }
+  }
+
+  public void test_reproducible() {
+    Consumer<double[]> fromStart = GENERATOR.sequence(DIMENSION, 0);
+    double[] expected = new double[DIMENSION];
+    for (int i = 0; i < 38; i++) {
+      fromStart.accept(expected);
+    }
+    double[] computed = new double[DIMENSION];
+    Consumer<double[]> fromMiddle = GENERATOR.sequence(DIMENSION, 37);
+    fromMiddle.accept(computed);
+    assertEquals(computed, expected);
+    fromStart.accept(expected);
+    fromMiddle.accept(computed);
+    assertEquals(computed, expected);
+  }
+
+  public void test_moments() {
+    int nbPaths = 4095;
+    Consumer<double[]> sequence = GENERATOR.sequence(DIMENSION, 0);
+    double[] normals = new double[DIMENSION];
+    double[] sum = new double[DIMENSION];
+    for (int i = 0; i < nbPaths; i++) {
+      sequence.accept(normals);
+      for (int j = 0; j < DIMENSION; j++) {
+        sum[j] += normals[j];
+      }
+    }
+    for (int j = 0; j < DIMENSION; j++) {
+      assertEquals(sum[j] / nbPaths, 0d, 1e-3);
+    }
+  }
+
+  public void test_invalid() {
+    assertThrowsIllegalArg(() -> GENERATOR.sequence(0, 0));
+    assertThrowsIllegalArg(() -> GENERATOR.sequence(1001, 0));
+    assertThrowsIllegalArg(() -> GENERATOR.sequence(DIMENSION, -1));
+  }
+
+}
@@ -8,6 +8,7 @@ package com.opengamma.strata.math.impl.rootfinding.newton;
 import org.testng.annotations.Test;
 
 import com.opengamma.strata.math.impl.linearalgebra.SVDecompositionCommons;
+import com.opengamma.strata.math.rootfind.NewtonVectorRootFinder;
 
 /**
  * Test.
@@ -20,6 +21,8 @@ public class NewtonDefaultVectorRootFinderTest extends VectorRootFinderTest {
   private static final BaseNewtonVectorRootFinder SV_JACOBIAN_2D = new NewtonDefaultVectorRootFinder(TOLERANCE, TOLERANCE, MAXSTEPS, new SVDecompositionCommons());
   private static final BaseNewtonVectorRootFinder DEFAULT_JACOBIAN_3D = new NewtonDefaultVectorRootFinder(TOLERANCE, TOLERANCE, MAXSTEPS);
   private static final BaseNewtonVectorRootFinder SV_JACOBIAN_3D = new NewtonDefaultVectorRootFinder(TOLERANCE, TOLERANCE, MAXSTEPS, new SVDecompositionCommons());
+  private static final BaseNewtonVectorRootFinder SPARSE =
+      (BaseNewtonVectorRootFinder) NewtonVectorRootFinder.sparseNewton(TOLERANCE, TOLERANCE, MAXSTEPS);
 
   @Test(expectedExceptions = IllegalArgumentException.class)
   public void testSingular1() {
@@ -43,4 +46,11 @@ public class NewtonDefaultVectorRootFinderTest extends VectorRootFinderTest {
     assertFunction3D(SV_JACOBIAN_3D, EPS);
     assertYieldCurveBootstrap(DEFAULT, EPS);
   }
+
+  public void test_sparse() {
+    assertLinear(SPARSE, EPS);
+    assertFunction2D(SPARSE, EPS);
+    assertFunction3D(SPARSE, EPS);
+    assertYieldCurveBootstrap(SPARSE, EPS);
+  }
 }
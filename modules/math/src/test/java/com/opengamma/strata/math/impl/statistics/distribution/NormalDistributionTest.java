@@ -46,6 +46,40 @@ public class NormalDistributionTest extends ProbabilityDistributionTestCase {
     }
   }
 
+  public void testStaticKernels() {
+    for (int i = 0; i < 161; i++) {
+      double x = -40.0 + 0.5 * i;
+      assertEquals(NORMAL.getCDF(x), NormalDistribution.cdf(x), 0d);
+      assertEquals(NORMAL.getPDF(x), NormalDistribution.pdf(x), 0d);
+      double p = 0.0005 + 0.006 * i;
+      assertEquals(NORMAL.getInverseCDF(p), NormalDistribution.inverseCdf(p), 0d);
+    }
+  }
+
+  public void testArrayKernels() {
+    double[] cdf = new double[X.length];
+    double[] pdf = new double[X.length];
+    NormalDistribution.cdf(X, cdf);
+    NormalDistribution.pdf(X, pdf);
+    double[] inverse = cdf.clone();
+    NormalDistribution.inverseCdf(inverse, inverse);
+    for (int i = 0; i < X.length; i++) {
+      assertEquals(NormalDistribution.cdf(X[i]), cdf[i], 0d);
+      assertEquals(NormalDistribution.pdf(X[i]), pdf[i], 0d);
+      assertEquals(NormalDistribution.inverseCdf(cdf[i]), inverse[i], 0d);
+    }
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testArrayKernelsShortResult() {
+    NormalDistribution.cdf(X, new double[X.length - 1]);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testInverseCdfOutOfRange() {
+    NormalDistribution.inverseCdf(1.5);
+  }
+
   public void testObject() {
     NormalDistribution other = new NormalDistribution(0, 1, ENGINE);
     assertEquals(NORMAL, other);
@@ -94,6 +94,20 @@ public class LeastSquareResultsTest {
     }
   }
 
+  @Test
+  public void testIterations() {
+    LeastSquareResults res = new LeastSquareResults(1.0, PARAMS, COVAR, INV_JAC, 7);
+    assertEquals(7, res.getIterations());
+    assertEquals(7, new LeastSquareResults(res).getIterations());
+    assertEquals(0, new LeastSquareResults(1.0, PARAMS, COVAR, INV_JAC).getIterations());
+    assertEquals(res, new LeastSquareResults(1.0, PARAMS, COVAR, INV_JAC));
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testNegativeIterations() {
+    new LeastSquareResults(1, PARAMS, COVAR, INV_JAC, -1);
+  }
+
   @Test
   public void testHashCode() {
     LeastSquareResults ls1 = new LeastSquareResults(1.0, PARAMS, COVAR);
@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.statistics.leastsquare;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.function.Function;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+
+/**
+ * Test {@link LevenbergMarquardtLeastSquare}.
+ */
+@Test
+public class LevenbergMarquardtLeastSquareTest {
+
+  private static final DoubleArray X = DoubleArray.of(20, i -> -Math.PI + i * Math.PI / 10);
+  private static final DoubleArray SIGMA = DoubleArray.of(20, i -> 0.1 * Math.exp(Math.abs(X.get(i)) / Math.PI));
+  private static final DoubleArray Y_EXACT = X.map(Math::sin);
+  private static final DoubleArray Y_NOISY = DoubleArray.of(20, i -> Math.sin(X.get(i)) + 0.02 * Math.cos(7 * i));
+  private static final DoubleArray START = DoubleArray.of(1.2, 0.8, -0.2, -0.3);
+  private static final double TOL = 1e-8;
+
+  private static final Function<DoubleArray, DoubleArray> FUNCTION =
+      a -> X.map(x -> a.get(0) * Math.sin(a.get(1) * x + a.get(2)) + a.get(3));
+  private static final Function<DoubleArray, DoubleMatrix> JACOBIAN = a -> DoubleMatrix.ofArrays(20, 4, i -> {
+    double x = X.get(i);
+    double sin = Math.sin(a.get(1) * x + a.get(2));
+    double cos = Math.cos(a.get(1) * x + a.get(2));
+    return new double[] {sin, x * a.get(0) * cos, a.get(0) * cos, 1d};
+  });
+  // the first two parameters only appear through their sum
+  private static final Function<DoubleArray, DoubleArray> DEGENERATE_FUNCTION =
+      a -> X.map(x -> (a.get(0) + a.get(1)) * x + a.get(2));
+  private static final Function<DoubleArray, DoubleMatrix> DEGENERATE_JACOBIAN =
+      a -> DoubleMatrix.ofArrays(20, 3, i -> new double[] {X.get(i), X.get(i), 1d});
+
+  //-------------------------------------------------------------------------
+  public void test_exact() {
+    for (boolean acceleration : new boolean[] {true, false}) {
+      LevenbergMarquardtLeastSquare test = new LevenbergMarquardtLeastSquare(1e-8, acceleration);
+      LeastSquareResults result = test.solve(Y_EXACT, SIGMA, FUNCTION, JACOBIAN, START);
+      assertEquals(result.getChiSq(), 0d, TOL);
+      assertTrue(result.getFitParameters().equalWithTolerance(DoubleArray.of(1, 1, 0, 0), 1e-6));
+      assertTrue(result.getIterations() > 0);
+    }
+  }
+
+  public void test_finiteDifferenceJacobian() {
+    LeastSquareResults result = new LevenbergMarquardtLeastSquare().solve(Y_EXACT, SIGMA, FUNCTION, START);
+    assertEquals(result.getChiSq(), 0d, TOL);
+    assertTrue(result.getFitParameters().equalWithTolerance(DoubleArray.of(1, 1, 0, 0), 1e-6));
+  }
+
+  public void test_compareNonLinearLeastSquare() {
+    LeastSquareResults expected = new NonLinearLeastSquare().solve(Y_NOISY, SIGMA, FUNCTION, JACOBIAN, START);
+    for (boolean acceleration : new boolean[] {true, false}) {
+      LevenbergMarquardtLeastSquare test = new LevenbergMarquardtLeastSquare(1e-8, acceleration);
+      LeastSquareResults result = test.solve(Y_NOISY, SIGMA, FUNCTION, JACOBIAN, START);
+      assertEquals(result.getChiSq(), expected.getChiSq(), 1e-6);
+      assertTrue(result.getFitParameters().equalWithTolerance(expected.getFitParameters(), 1e-4));
+      assertMatrix(result.getCovariance(), expected.getCovariance(), 1e-4);
+      assertMatrix(
+          result.getFittingParameterSensitivityToData(), expected.getFittingParameterSensitivityToData(), 1e-4);
+    }
+  }
+
+  public void test_rankDeficient() {
+    DoubleArray y = X.map(x -> 3d * x + 0.5);
+    LeastSquareResults result = new LevenbergMarquardtLeastSquare()
+        .solve(y, SIGMA, DEGENERATE_FUNCTION, DEGENERATE_JACOBIAN, DoubleArray.of(1, 1, 0));
+    DoubleArray params = result.getFitParameters();
+    assertEquals(result.getChiSq(), 0d, TOL);
+    assertEquals(params.get(0) + params.get(1), 3d, 1e-6);
+    assertEquals(params.get(2), 0.5, 1e-6);
+  }
+
+  public void test_constraintsAndMaxJumps() {
+    Function<DoubleArray, Boolean> positive = a -> a.get(0) > 0d;
+    DoubleArray maxJumps = DoubleArray.filled(4, 0.1);
+    LeastSquareResults result = new LevenbergMarquardtLeastSquare()
+        .solve(Y_EXACT, SIGMA, FUNCTION, JACOBIAN, START, positive, maxJumps);
+    assertEquals(result.getChiSq(), 0d, TOL);
+    assertTrue(result.getFitParameters().equalWithTolerance(DoubleArray.of(1, 1, 0, 0), 1e-6));
+  }
+
+  public void test_invalid() {
+    LevenbergMarquardtLeastSquare test = new LevenbergMarquardtLeastSquare();
+    assertThrowsIllegalArg(() -> new LevenbergMarquardtLeastSquare(0d, true));
+    assertThrowsIllegalArg(() -> test.solve(Y_EXACT, SIGMA.subArray(1), FUNCTION, JACOBIAN, START));
+    assertThrowsIllegalArg(() -> test.solve(Y_EXACT.subArray(17), SIGMA.subArray(17), FUNCTION, JACOBIAN, START));
+    assertThrowsIllegalArg(() -> test.solve(Y_EXACT, SIGMA, FUNCTION, JACOBIAN, START, a -> false, null));
+  }
+
+  //-------------------------------------------------------------------------
+  private static void assertMatrix(DoubleMatrix actual, DoubleMatrix expected, double tol) {
+    assertEquals(actual.rowCount(), expected.rowCount());
+    assertEquals(actual.columnCount(), expected.columnCount());
+    for (int i = 0; i < actual.rowCount(); i++) {
+      assertTrue(actual.row(i).equalWithTolerance(expected.row(i), tol));
+    }
+  }
+
+}
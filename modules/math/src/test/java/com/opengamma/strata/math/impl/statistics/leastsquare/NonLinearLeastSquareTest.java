@@ -127,6 +127,7 @@ public class NonLinearLeastSquareTest {
     assertEquals(1.0, result.getFitParameters().get(1), 1e-8);
     assertEquals(0.0, result.getFitParameters().get(2), 1e-8);
     assertEquals(0.0, result.getFitParameters().get(3), 1e-8);
+    assertTrue(result.getIterations() > 0);
     result = LS.solve(X, Y, SIGMA.get(0), PARAM_FUNCTION, PARAM_GRAD, start);
     assertEquals(0.0, result.getChiSq(), 1e-8);
     assertEquals(1.0, result.getFitParameters().get(0), 1e-8);
@@ -0,0 +1,351 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.bond;
+
+import java.io.Serializable;
+import java.lang.invoke.MethodHandles;
+import java.util.Arrays;
+import java.util.List;
+
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaBean;
+import org.joda.beans.TypedMetaBean;
+import org.joda.beans.gen.BeanDefinition;
+import org.joda.beans.gen.ImmutableValidator;
+import org.joda.beans.gen.PropertyDefinition;
+import org.joda.beans.impl.light.LightMetaBean;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Guavate;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.collect.array.IntArray;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.product.bond.ResolvedBondFuture;
+import com.opengamma.strata.product.bond.ResolvedFixedCouponBond;
+
+/**
+ * The prices and cheapest-to-deliver bonds of several bond futures in several scenarios,
+ * computed by {@link DiscountingBondFutureBasketPricer}.
+ * <p>
+ * The futures are identified by their index in the list of futures,
+ * and the scenarios by their index in the list of discounting providers.
+ */
+@BeanDefinition(style = "light")
+public final class BondFutureBasketResult
+    implements ImmutableBean, Serializable {
+
+  /**
+   * The futures.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ImmutableList<ResolvedBondFuture> futures;
+  /**
+   * The prices, one row for each future and one column for each scenario.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final DoubleMatrix prices;
+  /**
+   * The index of the cheapest-to-deliver bond in the basket, for each future and scenario.
+   */
+  @PropertyDefinition(validate = "notNull", get = "private")
+  private final ImmutableList<IntArray> ctdIndices;
+  /**
+   * The price sensitivities, for each future and scenario, null if not computed.
+   */
+  @PropertyDefinition(get = "private")
+  private final ImmutableList<ImmutableList<PointSensitivities>> priceSensitivities;
+
+  //-------------------------------------------------------------------------
+  // obtains an instance without sensitivities, the arrays are not copied
+  static BondFutureBasketResult of(List<ResolvedBondFuture> futures, double[][] prices, int[][] ctdIndices) {
+    return new BondFutureBasketResult(futures, DoubleMatrix.ofUnsafe(prices), ctdIndices(ctdIndices), null);
+  }
+
+  // obtains an instance with sensitivities, the arrays are not copied
+  static BondFutureBasketResult of(
+      List<ResolvedBondFuture> futures,
+      double[][] prices,
+      int[][] ctdIndices,
+      List<? extends List<PointSensitivities>> priceSensitivities) {
+
+    return new BondFutureBasketResult(
+        futures,
+        DoubleMatrix.ofUnsafe(prices),
+        ctdIndices(ctdIndices),
+        priceSensitivities.stream()
+            .map(ImmutableList::copyOf)
+            .collect(Guavate.toImmutableList()));
+  }
+
+  // wraps the indices of each future
+  private static ImmutableList<IntArray> ctdIndices(int[][] ctdIndices) {
+    return Arrays.stream(ctdIndices)
+        .map(IntArray::ofUnsafe)
+        .collect(Guavate.toImmutableList());
+  }
+
+  @ImmutableValidator
+  private void validate() {
+    int futureCount = futures.size();
+    int scenarioCount = prices.columnCount();
+    ArgChecker.isTrue(
+        prices.rowCount() == futureCount,
+        "Expected {} rows of prices, but was {}", futureCount, prices.rowCount());
+    ArgChecker.isTrue(
+        ctdIndices.size() == futureCount,
+        "Expected {} rows of cheapest-to-deliver indices, but was {}", futureCount, ctdIndices.size());
+    for (IntArray futureIndices : ctdIndices) {
+      ArgChecker.isTrue(
+          futureIndices.size() == scenarioCount,
+          "Expected {} cheapest-to-deliver indices per future, but was {}", scenarioCount, futureIndices.size());
+    }
+    if (priceSensitivities != null) {
+      ArgChecker.isTrue(
+          priceSensitivities.size() == futureCount,
+          "Expected {} rows of price sensitivities, but was {}", futureCount, priceSensitivities.size());
+      for (List<PointSensitivities> futureSensitivities : priceSensitivities) {
+        ArgChecker.isTrue(
+            futureSensitivities.size() == scenarioCount,
+            "Expected {} price sensitivities per future, but was {}", scenarioCount, futureSensitivities.size());
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of futures.
+   *
+   * @return the number of futures
+   */
+  public int getFutureCount() {
+    return futures.size();
+  }
+
+  /**
+   * Gets the number of scenarios.
+   *
+   * @return the number of scenarios
+   */
+  public int getScenarioCount() {
+    return prices.columnCount();
+  }
+
+  /**
+   * Gets the prices of a future, one per scenario.
+   *
+   * @param futureIndex  the index of the future
+   * @return the prices, in decimal form
+   */
+  public DoubleArray getPrices(int futureIndex) {
+    return prices.row(futureIndex);
+  }
+
+  /**
+   * Gets the price of a future in a scenario.
+   *
+   * @param futureIndex  the index of the future
+   * @param scenarioIndex  the index of the scenario
+   * @return the price, in decimal form
+   */
+  public double getPrice(int futureIndex, int scenarioIndex) {
+    return prices.get(futureIndex, scenarioIndex);
+  }
+
+  /**
+   * Gets the index in the delivery basket of the cheapest-to-deliver bond of a future in a scenario.
+   *
+   * @param futureIndex  the index of the future
+   * @param scenarioIndex  the index of the scenario
+   * @return the index of the cheapest-to-deliver bond
+   */
+  public int getCheapestToDeliverIndex(int futureIndex, int scenarioIndex) {
+    return ctdIndices.get(futureIndex).get(scenarioIndex);
+  }
+
+  /**
+   * Gets the cheapest-to-deliver bond of a future in a scenario.
+   *
+   * @param futureIndex  the index of the future
+   * @param scenarioIndex  the index of the scenario
+   * @return the cheapest-to-deliver bond
+   */
+  public ResolvedFixedCouponBond getCheapestToDeliver(int futureIndex, int scenarioIndex) {
+    return futures.get(futureIndex).getDeliveryBasket().get(ctdIndices.get(futureIndex).get(scenarioIndex));
+  }
+
+  /**
+   * Checks if the cheapest-to-deliver bond of a future in a scenario differs from the one in the first scenario.
+   * <p>
+   * The first scenario is typically the base scenario.
+   *
+   * @param futureIndex  the index of the future
+   * @param scenarioIndex  the index of the scenario
+   * @return true if the cheapest-to-deliver bond has switched
+   */
+  public boolean isCheapestToDeliverSwitch(int futureIndex, int scenarioIndex) {
+    IntArray futureIndices = ctdIndices.get(futureIndex);
+    return futureIndices.get(scenarioIndex) != futureIndices.get(0);
+  }
+
+  /**
+   * Checks if the price sensitivities have been computed.
+   *
+   * @return true if the price sensitivities are available
+   */
+  public boolean hasPriceSensitivities() {
+    return priceSensitivities != null;
+  }
+
+  /**
+   * Gets the price sensitivity of a future in a scenario.
+   * <p>
+   * This is the sensitivity to the curves of the scenario of the cheapest-to-deliver bond
+   * divided by its conversion factor.
+   *
+   * @param futureIndex  the index of the future
+   * @param scenarioIndex  the index of the scenario
+   * @return the price sensitivity
+   * @throws IllegalArgumentException if the price sensitivities have not been computed
+   */
+  public PointSensitivities getPriceSensitivity(int futureIndex, int scenarioIndex) {
+    ArgChecker.isTrue(hasPriceSensitivities(), "Price sensitivities have not been computed");
+    return priceSensitivities.get(futureIndex).get(scenarioIndex);
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  /**
+   * The meta-bean for {@code BondFutureBasketResult}.
+   */
+  private static final TypedMetaBean<BondFutureBasketResult> META_BEAN =
+      LightMetaBean.of(
+          BondFutureBasketResult.class,
+          MethodHandles.lookup(),
+          new String[] {
+              "futures",
+              "prices",
+              "ctdIndices",
+              "priceSensitivities"},
+          ImmutableList.of(),
+          null,
+          ImmutableList.of(),
+          ImmutableList.of());
+
+  /**
+   * The meta-bean for {@code BondFutureBasketResult}.
+   * @return the meta-bean, not null
+   */
+  public static TypedMetaBean<BondFutureBasketResult> meta() {
+    return META_BEAN;
+  }
+
+  static {
+    MetaBean.register(META_BEAN);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  private BondFutureBasketResult(
+      List<ResolvedBondFuture> futures,
+      DoubleMatrix prices,
+      List<IntArray> ctdIndices,
+      List<ImmutableList<PointSensitivities>> priceSensitivities) {
+    JodaBeanUtils.notNull(futures, "futures");
+    JodaBeanUtils.notNull(prices, "prices");
+    JodaBeanUtils.notNull(ctdIndices, "ctdIndices");
+    this.futures = ImmutableList.copyOf(futures);
+    this.prices = prices;
+    this.ctdIndices = ImmutableList.copyOf(ctdIndices);
+    this.priceSensitivities = (priceSensitivities != null ? ImmutableList.copyOf(priceSensitivities) : null);
+    validate();
+  }
+
+  @Override
+  public TypedMetaBean<BondFutureBasketResult> metaBean() {
+    return META_BEAN;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the futures.
+   * @return the value of the property, not null
+   */
+  public ImmutableList<ResolvedBondFuture> getFutures() {
+    return futures;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the prices, one row for each future and one column for each scenario.
+   * @return the value of the property, not null
+   */
+  public DoubleMatrix getPrices() {
+    return prices;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the index of the cheapest-to-deliver bond in the basket, for each future and scenario.
+   * @return the value of the property, not null
+   */
+  private ImmutableList<IntArray> getCtdIndices() {
+    return ctdIndices;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the price sensitivities, for each future and scenario, null if not computed.
+   * @return the value of the property
+   */
+  private ImmutableList<ImmutableList<PointSensitivities>> getPriceSensitivities() {
+    return priceSensitivities;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      BondFutureBasketResult other = (BondFutureBasketResult) obj;
+      return JodaBeanUtils.equal(futures, other.futures) &&
+          JodaBeanUtils.equal(prices, other.prices) &&
+          JodaBeanUtils.equal(ctdIndices, other.ctdIndices) &&
+          JodaBeanUtils.equal(priceSensitivities, other.priceSensitivities);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(futures);
+    hash = hash * 31 + JodaBeanUtils.hashCode(prices);
+    hash = hash * 31 + JodaBeanUtils.hashCode(ctdIndices);
+    hash = hash * 31 + JodaBeanUtils.hashCode(priceSensitivities);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(160);
+    buf.append("BondFutureBasketResult{");
+    buf.append("futures").append('=').append(futures).append(',').append(' ');
+    buf.append("prices").append('=').append(prices).append(',').append(' ');
+    buf.append("ctdIndices").append('=').append(ctdIndices).append(',').append(' ');
+    buf.append("priceSensitivities").append('=').append(JodaBeanUtils.toString(priceSensitivities));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-------------------------- AUTOGENERATED END --------------------------
+}
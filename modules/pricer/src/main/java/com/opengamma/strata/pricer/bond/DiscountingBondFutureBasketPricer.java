@@ -0,0 +1,232 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.bond;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.product.bond.ResolvedBondFuture;
+import com.opengamma.strata.product.bond.ResolvedFixedCouponBond;
+
+/**
+ * Pricer for several bond futures across scenarios, sharing the pricing of their delivery baskets.
+ * <p>
+ * The price of a bond future is the minimum over the deliverable bonds of the clean price
+ * on the last delivery date divided by the conversion factor, as in {@link DiscountingBondFutureProductPricer}.
+ * <p>
+ * Listed futures on the same underlying share most of their deliverables, and the deliverables of an issuer
+ * share their coupon dates. The cash flows of each distinct deliverable are computed once,
+ * and the issuer discount factors of each distinct payment date are computed once per scenario.
+ * The cheapest-to-deliver (CTD) bond is then found in a single pass over the baskets.
+ * The price sensitivity is only computed for the CTD bond of each future and scenario.
+ */
+public final class DiscountingBondFutureBasketPricer {
+
+  /**
+   * Default implementation.
+   */
+  public static final DiscountingBondFutureBasketPricer DEFAULT = new DiscountingBondFutureBasketPricer(
+      DiscountingFixedCouponBondProductPricer.DEFAULT);
+
+  /**
+   * Underlying pricer.
+   */
+  private final DiscountingFixedCouponBondProductPricer bondPricer;
+
+  /**
+   * Creates an instance.
+   *
+   * @param bondPricer  the pricer for {@link ResolvedFixedCouponBond}.
+   */
+  public DiscountingBondFutureBasketPricer(DiscountingFixedCouponBondProductPricer bondPricer) {
+    this.bondPricer = ArgChecker.notNull(bondPricer, "bondPricer");
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the price and the cheapest-to-deliver bond of several bond futures in several scenarios.
+   * <p>
+   * Strata uses <i>decimal prices</i> for bond futures.
+   * For example, a price of 99.32% is represented in Strata by 0.9932.
+   *
+   * @param futures  the futures
+   * @param discountingProviders  the discounting provider of each scenario
+   * @return the prices and cheapest-to-deliver bonds
+   */
+  public BondFutureBasketResult price(
+      List<ResolvedBondFuture> futures,
+      List<? extends LegalEntityDiscountingProvider> discountingProviders) {
+
+    return calculate(futures, discountingProviders, false);
+  }
+
+  /**
+   * Calculates the price, the cheapest-to-deliver bond and the price sensitivity
+   * of several bond futures in several scenarios.
+   * <p>
+   * The price sensitivity is the sensitivity of the price to the underlying curves,
+   * that is the sensitivity of the cheapest-to-deliver bond divided by its conversion factor.
+   *
+   * @param futures  the futures
+   * @param discountingProviders  the discounting provider of each scenario
+   * @return the prices, cheapest-to-deliver bonds and price sensitivities
+   */
+  public BondFutureBasketResult priceWithSensitivity(
+      List<ResolvedBondFuture> futures,
+      List<? extends LegalEntityDiscountingProvider> discountingProviders) {
+
+    return calculate(futures, discountingProviders, true);
+  }
+
+  //-------------------------------------------------------------------------
+  // prices the distinct deliverables once per scenario, then selects the CTD of each future
+  private BondFutureBasketResult calculate(
+      List<ResolvedBondFuture> futures,
+      List<? extends LegalEntityDiscountingProvider> discountingProviders,
+      boolean computeSensitivity) {
+
+    ArgChecker.noNulls(futures, "futures");
+    ArgChecker.noNulls(discountingProviders, "discountingProviders");
+    ArgChecker.notEmpty(discountingProviders, "discountingProviders");
+    // the distinct deliverables, on the last delivery date of their future
+    Map<Pair<ResolvedFixedCouponBond, LocalDate>, Integer> deliverableIndices = new LinkedHashMap<>();
+    int[][] futureDeliverables = new int[futures.size()][];
+    for (int i = 0; i < futures.size(); i++) {
+      ResolvedBondFuture future = futures.get(i);
+      ImmutableList<ResolvedFixedCouponBond> basket = future.getDeliveryBasket();
+      futureDeliverables[i] = new int[basket.size()];
+      for (int j = 0; j < basket.size(); j++) {
+        Pair<ResolvedFixedCouponBond, LocalDate> key = Pair.of(basket.get(j), future.getLastDeliveryDate());
+        futureDeliverables[i][j] = deliverableIndices.computeIfAbsent(key, k -> deliverableIndices.size());
+      }
+    }
+    // the cash flows of the deliverables, the payment dates shared by issuer
+    int nbDeliverables = deliverableIndices.size();
+    Map<Pair<StandardId, Currency>, Integer> issuerIndices = new LinkedHashMap<>();
+    List<Map<LocalDate, Integer>> issuerDates = new ArrayList<>();
+    Deliverable[] deliverables = new Deliverable[nbDeliverables];
+    for (Map.Entry<Pair<ResolvedFixedCouponBond, LocalDate>, Integer> entry : deliverableIndices.entrySet()) {
+      ResolvedFixedCouponBond bond = entry.getKey().getFirst();
+      LocalDate deliveryDate = entry.getKey().getSecond();
+      int issuerIndex = issuerIndices.computeIfAbsent(Pair.of(bond.getLegalEntityId(), bond.getCurrency()), k -> {
+        issuerDates.add(new HashMap<>());
+        return issuerDates.size() - 1;
+      });
+      Map<LocalDate, Integer> dates = issuerDates.get(issuerIndex);
+      FixedCouponBondCashFlowTable table = bondPricer.cashFlowTable(bond, deliveryDate);
+      int[] dateIndices = new int[table.getPaymentDates().size()];
+      for (int k = 0; k < dateIndices.length; k++) {
+        dateIndices[k] = dates.computeIfAbsent(table.getPaymentDates().get(k), d -> dates.size());
+      }
+      deliverables[entry.getValue()] = new Deliverable(bond, deliveryDate, issuerIndex, dateIndices, table);
+    }
+    // price each scenario
+    int nbScenarios = discountingProviders.size();
+    double[][] prices = new double[futures.size()][nbScenarios];
+    int[][] ctdIndices = new int[futures.size()][nbScenarios];
+    List<List<PointSensitivities>> sensitivities = new ArrayList<>();
+    for (int i = 0; i < futures.size(); i++) {
+      sensitivities.add(new ArrayList<>());
+    }
+    double[] cleanPrices = new double[nbDeliverables];
+    for (int s = 0; s < nbScenarios; s++) {
+      LegalEntityDiscountingProvider provider = discountingProviders.get(s);
+      double[][] discountFactors = new double[issuerDates.size()][];
+      for (Map.Entry<Pair<StandardId, Currency>, Integer> issuer : issuerIndices.entrySet()) {
+        IssuerCurveDiscountFactors issuerDiscountFactors =
+            provider.issuerCurveDiscountFactors(issuer.getKey().getFirst(), issuer.getKey().getSecond());
+        LocalDate valuationDate = issuerDiscountFactors.getValuationDate();
+        Map<LocalDate, Integer> dates = issuerDates.get(issuer.getValue());
+        double[] dfs = new double[dates.size()];
+        for (Map.Entry<LocalDate, Integer> date : dates.entrySet()) {
+          LocalDate paymentDate = date.getKey();
+          if (!paymentDate.isBefore(valuationDate)) {
+            dfs[date.getValue()] = issuerDiscountFactors.discountFactor(paymentDate);
+          }
+        }
+        discountFactors[issuer.getValue()] = dfs;
+      }
+      for (int d = 0; d < nbDeliverables; d++) {
+        cleanPrices[d] = deliverables[d].cleanPrice(provider, discountFactors[deliverables[d].issuerIndex]);
+      }
+      for (int i = 0; i < futures.size(); i++) {
+        ResolvedBondFuture future = futures.get(i);
+        int indexCtd = 0;
+        double priceMin = Double.POSITIVE_INFINITY;
+        for (int j = 0; j < futureDeliverables[i].length; j++) {
+          double price = cleanPrices[futureDeliverables[i][j]] / future.getConversionFactors().get(j);
+          if (price < priceMin) {
+            priceMin = price;
+            indexCtd = j;
+          }
+        }
+        prices[i][s] = priceMin;
+        ctdIndices[i][s] = indexCtd;
+        if (computeSensitivity) {
+          PointSensitivities sensitivity = bondPricer.dirtyPriceSensitivity(
+              future.getDeliveryBasket().get(indexCtd), provider, future.getLastDeliveryDate())
+              .multipliedBy(1d / future.getConversionFactors().get(indexCtd))
+              .build();
+          sensitivities.get(i).add(sensitivity);
+        }
+      }
+    }
+    return computeSensitivity ?
+        BondFutureBasketResult.of(futures, prices, ctdIndices, sensitivities) :
+        BondFutureBasketResult.of(futures, prices, ctdIndices);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * A distinct deliverable bond, on the last delivery date of a future.
+   */
+  private static final class Deliverable {
+
+    private final ResolvedFixedCouponBond bond;
+    private final LocalDate deliveryDate;
+    private final int issuerIndex;
+    private final int[] dateIndices;
+    private final double[] amounts;
+    private final double accruedInterest;
+
+    private Deliverable(
+        ResolvedFixedCouponBond bond,
+        LocalDate deliveryDate,
+        int issuerIndex,
+        int[] dateIndices,
+        FixedCouponBondCashFlowTable table) {
+
+      this.bond = bond;
+      this.deliveryDate = deliveryDate;
+      this.issuerIndex = issuerIndex;
+      this.dateIndices = dateIndices;
+      this.amounts = table.getAmounts().toArray();
+      this.accruedInterest = table.getAccruedYearFraction() * bond.getFixedRate();
+    }
+
+    // the clean price on the delivery date, given the issuer discount factors of the payment dates
+    private double cleanPrice(LegalEntityDiscountingProvider provider, double[] discountFactors) {
+      double pv = 0d;
+      for (int k = 0; k < amounts.length; k++) {
+        pv += amounts[k] * discountFactors[dateIndices[k]];
+      }
+      double repoDf = provider.repoCurveDiscountFactors(
+          bond.getSecurityId(), bond.getLegalEntityId(), bond.getCurrency()).discountFactor(deliveryDate);
+      return pv / repoDf - accruedInterest;
+    }
+  }
+
+}
@@ -19,11 +19,13 @@ import com.opengamma.strata.basics.StandardId;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.basics.currency.Payment;
 import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
 import com.opengamma.strata.math.impl.rootfinding.BracketRoot;
 import com.opengamma.strata.math.impl.rootfinding.BrentSingleRootFinder;
 import com.opengamma.strata.math.impl.rootfinding.RealSingleRootFinder;
 import com.opengamma.strata.pricer.CompoundedRateType;
+import com.opengamma.strata.pricer.DiscountFactors;
 import com.opengamma.strata.pricer.DiscountingPaymentPricer;
 import com.opengamma.strata.pricer.ZeroRateSensitivity;
 import com.opengamma.strata.product.Security;
@@ -57,6 +59,18 @@ public class DiscountingFixedCouponBondProductPricer {
    * Brackets a root.
    */
   private static final BracketRoot ROOT_BRACKETER = new BracketRoot();
+  /**
+   * The maximum number of iterations of Halley's method.
+   */
+  private static final int HALLEY_MAX_ITERATIONS = 30;
+  /**
+   * The absolute accuracy of the root of Halley's method.
+   */
+  private static final double HALLEY_ACCURACY = 1e-14;
+  /**
+   * The year fraction below which a payment is not discounted.
+   */
+  private static final double EFFECTIVE_ZERO = 1e-10;
 
   /**
    * Pricer for {@link Payment}.
@@ -317,15 +331,101 @@ public class DiscountingFixedCouponBondProductPricer {
       CompoundedRateType compoundedRateType,
       int periodsPerYear) {
 
-    final Function<Double, Double> residual = new Function<Double, Double>() {
-      @Override
-      public Double apply(final Double z) {
-        return dirtyPriceFromCurvesWithZSpread(
-            bond, provider, refData, z, compoundedRateType, periodsPerYear) - dirtyPrice;
+    return zSpreadFromCurvesAndDirtyPrices(
+        bond, provider, refData, DoubleArray.of(dirtyPrice), compoundedRateType, periodsPerYear).get(0);
+  }
+
+  /**
+   * Calculates the z-spread of the fixed coupon bond from curves and several dirty prices.
+   * <p>
+   * The z-spread is a parallel shift applied to continuously compounded rates or periodic
+   * compounded rates of the discounting curve associated to the bond (Issuer Entity)
+   * to match each dirty price.
+   * <p>
+   * The cash flows of the bond and their discount factors are computed once, then the z-spread
+   * of each price is found by Halley's method, starting from the z-spread of the previous price.
+   * 
+   * @param bond  the product
+   * @param provider  the discounting provider
+   * @param refData  the reference data used to calculate the settlement date
+   * @param dirtyPrices  the dirty prices
+   * @param compoundedRateType  the compounded rate type
+   * @param periodsPerYear  the number of periods per year
+   * @return the z-spreads, in the order of the dirty prices
+   */
+  public DoubleArray zSpreadFromCurvesAndDirtyPrices(
+      ResolvedFixedCouponBond bond,
+      LegalEntityDiscountingProvider provider,
+      ReferenceData refData,
+      DoubleArray dirtyPrices,
+      CompoundedRateType compoundedRateType,
+      int periodsPerYear) {
+
+    LocalDate settlementDate = bond.getSettlementDateOffset().adjust(provider.getValuationDate(), refData);
+    FixedCouponBondCashFlowTable table = cashFlowTable(bond, settlementDate);
+    DiscountFactors discountFactors =
+        provider.issuerCurveDiscountFactors(bond.getLegalEntityId(), bond.getCurrency()).getDiscountFactors();
+    double repoDf = provider.repoCurveDiscountFactors(
+        bond.getSecurityId(), bond.getLegalEntityId(), bond.getCurrency()).discountFactor(settlementDate);
+    if (compoundedRateType.equals(CompoundedRateType.PERIODIC)) {
+      ArgChecker.notNegativeOrZero(periodsPerYear, "periodPerYear");
+    }
+    // the discount factors of the cash flows, independent of the z-spread
+    int nbCashFlows = table.getPaymentDates().size();
+    double[] times = new double[nbCashFlows];
+    double[] values = new double[nbCashFlows];
+    for (int i = 0; i < nbCashFlows; i++) {
+      LocalDate paymentDate = table.getPaymentDates().get(i);
+      if (!paymentDate.isBefore(discountFactors.getValuationDate())) {
+        times[i] = discountFactors.relativeYearFraction(paymentDate);
+        values[i] = table.getAmounts().get(i) / repoDf;
       }
+    }
+    double[] dfs = new double[nbCashFlows];
+    for (int i = 0; i < nbCashFlows; i++) {
+      dfs[i] = Math.abs(times[i]) < EFFECTIVE_ZERO ? 1d : discountFactors.discountFactor(times[i]);
+    }
+    boolean periodic = compoundedRateType.equals(CompoundedRateType.PERIODIC);
+    PriceFunction priceFunction = (z, result) -> {
+      double price = 0d;
+      double first = 0d;
+      double second = 0d;
+      for (int i = 0; i < nbCashFlows; i++) {
+        double time = times[i];
+        if (Math.abs(time) < EFFECTIVE_ZERO) {
+          price += values[i];
+        } else if (periodic) {
+          double base = Math.pow(dfs[i], -1d / periodsPerYear / time) + z / periodsPerYear;
+          double pv = values[i] * Math.pow(base, -periodsPerYear * time);
+          price += pv;
+          first -= time * pv / base;
+          second += time * (periodsPerYear * time + 1d) / periodsPerYear * pv / (base * base);
+        } else {
+          double pv = values[i] * dfs[i] * Math.exp(-z * time);
+          price += pv;
+          first -= time * pv;
+          second += time * time * pv;
+        }
+      }
+      result[0] = price;
+      result[1] = first;
+      result[2] = second;
     };
-    double[] range = ROOT_BRACKETER.getBracketedPoints(residual, -0.01, 0.01); // Starting range is [-1%, 1%]
-    return ROOT_FINDER.getRoot(residual, range[0], range[1]);
+    double[] zSpreads = new double[dirtyPrices.size()];
+    double guess = 0d;
+    for (int i = 0; i < zSpreads.length; i++) {
+      double dirtyPrice = dirtyPrices.get(i);
+      double zSpread = solveHalley(priceFunction, dirtyPrice, guess);
+      if (Double.isNaN(zSpread)) {
+        Function<Double, Double> residual = z -> dirtyPriceFromCurvesWithZSpread(
+            bond, provider, z, compoundedRateType, periodsPerYear, settlementDate) - dirtyPrice;
+        double[] range = ROOT_BRACKETER.getBracketedPoints(residual, -0.01, 0.01); // Starting range is [-1%, 1%]
+        zSpread = ROOT_FINDER.getRoot(residual, range[0], range[1]);
+      }
+      zSpreads[i] = zSpread;
+      guess = zSpread;
+    }
+    return DoubleArray.ofUnsafe(zSpreads);
   }
 
   //-------------------------------------------------------------------------
@@ -606,22 +706,141 @@ public class DiscountingFixedCouponBondProductPricer {
    * @return the yield of the product 
    */
   public double yieldFromDirtyPrice(ResolvedFixedCouponBond bond, LocalDate settlementDate, double dirtyPrice) {
-    if (bond.getYieldConvention().equals(JP_SIMPLE)) {
-      double cleanPrice = cleanPriceFromDirtyPrice(bond, settlementDate, dirtyPrice);
-      LocalDate maturityDate = bond.getUnadjustedEndDate();
-      double maturity = bond.getDayCount().relativeYearFraction(settlementDate, maturityDate);
-      return (bond.getFixedRate() + (1d - cleanPrice) / maturity) / cleanPrice;
+    return yieldFromDirtyPrice(cashFlowTable(bond, settlementDate), dirtyPrice);
+  }
+
+  /**
+   * Calculates the yield of the fixed coupon bond product from dirty price, using its cash flow table.
+   * <p>
+   * The dirty price must be fractional.
+   * If the analytic formula is not available, the yield is computed by Halley's method
+   * applied to the price and its analytic derivatives.
+   * The result is also expressed in fraction.
+   * 
+   * @param cashFlowTable  the cash flow table of the product
+   * @param dirtyPrice  the dirty price
+   * @return the yield of the product 
+   */
+  public double yieldFromDirtyPrice(FixedCouponBondCashFlowTable cashFlowTable, double dirtyPrice) {
+    return yieldFromDirtyPrice(cashFlowTable, dirtyPrice, cashFlowTable.getBond().getFixedRate());
+  }
+
+  /**
+   * Calculates the yields of the fixed coupon bond product from several dirty prices.
+   * <p>
+   * The cash flow table of the bond is built once for the settlement date, and the yield of each price
+   * is found starting from the yield of the previous price.
+   * 
+   * @param bond  the product
+   * @param settlementDate  the settlement date
+   * @param dirtyPrices  the dirty prices
+   * @return the yields, in the order of the dirty prices
+   */
+  public DoubleArray yieldFromDirtyPrices(
+      ResolvedFixedCouponBond bond,
+      LocalDate settlementDate,
+      DoubleArray dirtyPrices) {
+
+    return yieldFromDirtyPrices(cashFlowTable(bond, settlementDate), dirtyPrices);
+  }
+
+  /**
+   * Calculates the yields of the fixed coupon bond product from several dirty prices, using its cash flow table.
+   * <p>
+   * The yield of each price is found starting from the yield of the previous price.
+   * 
+   * @param cashFlowTable  the cash flow table of the product
+   * @param dirtyPrices  the dirty prices
+   * @return the yields, in the order of the dirty prices
+   */
+  public DoubleArray yieldFromDirtyPrices(FixedCouponBondCashFlowTable cashFlowTable, DoubleArray dirtyPrices) {
+    double[] yields = new double[dirtyPrices.size()];
+    double guess = cashFlowTable.getBond().getFixedRate();
+    for (int i = 0; i < yields.length; i++) {
+      yields[i] = yieldFromDirtyPrice(cashFlowTable, dirtyPrices.get(i), guess);
+      guess = yields[i];
     }
+    return DoubleArray.ofUnsafe(yields);
+  }
 
-    final Function<Double, Double> priceResidual = new Function<Double, Double>() {
-      @Override
-      public Double apply(final Double y) {
-        return dirtyPriceFromYield(bond, settlementDate, y) - dirtyPrice;
-      }
+  // computes the yield using the closed form, or Halley's method with the bracketed root finder as fallback
+  private double yieldFromDirtyPrice(FixedCouponBondCashFlowTable cashFlowTable, double dirtyPrice, double guess) {
+    double closedForm = cashFlowTable.yieldFromDirtyPriceClosedForm(dirtyPrice);
+    if (!Double.isNaN(closedForm)) {
+      return closedForm;
+    }
+    double yield = solveHalley(cashFlowTable::dirtyPriceFromYield, dirtyPrice, guess);
+    if (!Double.isNaN(yield)) {
+      return yield;
+    }
+    double[] values = new double[3];
+    Function<Double, Double> priceResidual = y -> {
+      cashFlowTable.dirtyPriceFromYield(y, values);
+      return values[0] - dirtyPrice;
     };
     double[] range = ROOT_BRACKETER.getBracketedPoints(priceResidual, 0.00, 0.20);
-    double yield = ROOT_FINDER.getRoot(priceResidual, range[0], range[1]);
-    return yield;
+    return ROOT_FINDER.getRoot(priceResidual, range[0], range[1]);
+  }
+
+  /**
+   * Calculates the dirty price of the fixed coupon bond from yield, using its cash flow table.
+   * <p>
+   * The yield must be fractional.
+   * The dirty price is computed for {@link FixedCouponBondYieldConvention}, and the result is expressed in fraction.
+   * 
+   * @param cashFlowTable  the cash flow table of the product
+   * @param yield  the yield
+   * @return the dirty price of the product 
+   */
+  public double dirtyPriceFromYield(FixedCouponBondCashFlowTable cashFlowTable, double yield) {
+    double[] values = new double[3];
+    cashFlowTable.dirtyPriceFromYield(yield, values);
+    return values[0];
+  }
+
+  /**
+   * Calculates the modified duration of the fixed coupon bond product from yield, using its cash flow table.
+   * <p>
+   * The modified duration is defined as the minus of the first derivative of dirty price
+   * with respect to yield, divided by the dirty price.
+   * 
+   * @param cashFlowTable  the cash flow table of the product
+   * @param yield  the yield
+   * @return the modified duration of the product 
+   */
+  public double modifiedDurationFromYield(FixedCouponBondCashFlowTable cashFlowTable, double yield) {
+    double[] values = new double[3];
+    cashFlowTable.dirtyPriceFromYield(yield, values);
+    return -values[1] / values[0];
+  }
+
+  /**
+   * Calculates the convexity of the fixed coupon bond product from yield, using its cash flow table.
+   * <p>
+   * The convexity is defined as the second derivative of dirty price with respect
+   * to yield, divided by the dirty price.
+   * 
+   * @param cashFlowTable  the cash flow table of the product
+   * @param yield  the yield
+   * @return the convexity of the product 
+   */
+  public double convexityFromYield(FixedCouponBondCashFlowTable cashFlowTable, double yield) {
+    double[] values = new double[3];
+    cashFlowTable.dirtyPriceFromYield(yield, values);
+    return values[2] / values[0];
+  }
+
+  /**
+   * Builds the cash flow table of the fixed coupon bond for a settlement date.
+   * <p>
+   * The table can be used for many prices or yields on the same settlement date.
+   * 
+   * @param bond  the product
+   * @param settlementDate  the settlement date
+   * @return the cash flow table
+   */
+  public FixedCouponBondCashFlowTable cashFlowTable(ResolvedFixedCouponBond bond, LocalDate settlementDate) {
+    return FixedCouponBondCashFlowTable.of(bond, settlementDate, accruedYearFraction(bond, settlementDate));
   }
 
   //-------------------------------------------------------------------------
@@ -807,6 +1026,36 @@ public class DiscountingFixedCouponBondProductPricer {
     return cv;
   }
 
+  //-------------------------------------------------------------------------
+  // solves price(x) = target by Halley's method, returns NaN if the method fails to converge
+  private static double solveHalley(PriceFunction function, double target, double guess) {
+    double[] values = new double[3];
+    double x = guess;
+    for (int i = 0; i < HALLEY_MAX_ITERATIONS; i++) {
+      function.evaluate(x, values);
+      double residual = values[0] - target;
+      double first = values[1];
+      if (residual == 0d) {
+        return x;
+      }
+      double denominator = 2d * first * first - residual * values[2];
+      double step = denominator != 0d ? 2d * residual * first / denominator : residual / first;
+      if (Double.isNaN(step) || Double.isInfinite(step)) {
+        return Double.NaN;
+      }
+      x -= step;
+      if (Math.abs(step) < HALLEY_ACCURACY) {
+        return x;
+      }
+    }
+    return Double.NaN;
+  }
+
+  // the price and its first and second derivatives with respect to a yield or spread
+  private interface PriceFunction {
+    void evaluate(double x, double[] result);
+  }
+
   //-------------------------------------------------------------------------
   private double factorToNextCoupon(ResolvedFixedCouponBond bond, LocalDate settlementDate) {
     if (bond.getPeriodicPayments().get(0).getStartDate().isAfter(settlementDate)) {
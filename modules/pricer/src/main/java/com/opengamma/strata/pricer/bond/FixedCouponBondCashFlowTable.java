@@ -0,0 +1,419 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.bond;
+
+import static com.opengamma.strata.product.bond.FixedCouponBondYieldConvention.DE_BONDS;
+import static com.opengamma.strata.product.bond.FixedCouponBondYieldConvention.GB_BUMP_DMO;
+import static com.opengamma.strata.product.bond.FixedCouponBondYieldConvention.JP_SIMPLE;
+import static com.opengamma.strata.product.bond.FixedCouponBondYieldConvention.US_STREET;
+
+import java.io.Serializable;
+import java.lang.invoke.MethodHandles;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaBean;
+import org.joda.beans.TypedMetaBean;
+import org.joda.beans.gen.BeanDefinition;
+import org.joda.beans.gen.ImmutableConstructor;
+import org.joda.beans.gen.PropertyDefinition;
+import org.joda.beans.impl.light.LightMetaBean;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.math.MathException;
+import com.opengamma.strata.product.bond.FixedCouponBondPaymentPeriod;
+import com.opengamma.strata.product.bond.FixedCouponBondYieldConvention;
+import com.opengamma.strata.product.bond.ResolvedFixedCouponBond;
+
+/**
+ * The cash flows of a fixed coupon bond, as seen by a buyer on a settlement date.
+ * <p>
+ * The table is built once for a bond and a settlement date, and then used to compute the price, yield,
+ * duration and convexity of the bond for many prices or yields, without walking the payment periods again.
+ * See {@link DiscountingFixedCouponBondProductPricer#cashFlowTable(ResolvedFixedCouponBond, LocalDate)}.
+ * <p>
+ * The table contains two views of the cash flows.
+ * The first holds the payment date and amount of the cash flows received by the buyer,
+ * used to discount them on curves.
+ * The second holds the amount and the time, in coupon periods, of the cash flows of the yield formula
+ * of the {@link FixedCouponBondYieldConvention}.
+ * All the amounts are per unit notional.
+ */
+@BeanDefinition(style = "light")
+public final class FixedCouponBondCashFlowTable
+    implements ImmutableBean, Serializable {
+
+  /**
+   * The bond.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ResolvedFixedCouponBond bond;
+  /**
+   * The settlement date.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final LocalDate settlementDate;
+  /**
+   * The accrued year fraction on the settlement date.
+   */
+  @PropertyDefinition
+  private final double accruedYearFraction;
+  /**
+   * Whether each periodic payment is ex-coupon, i.e. not received by the buyer.
+   */
+  private final transient boolean[] exCoupon;  // derived
+  /**
+   * The payment dates of the cash flows received by the buyer, the nominal payment last.
+   */
+  private final transient ImmutableList<LocalDate> paymentDates;  // derived
+  /**
+   * The amounts of the cash flows received by the buyer, per unit notional.
+   */
+  private final transient DoubleArray amounts;  // derived
+  /**
+   * The fraction of coupon period to the next coupon.
+   */
+  private final transient double factorToNextCoupon;  // derived
+  /**
+   * The number of coupons per year.
+   */
+  private final transient double couponPerYear;  // derived
+  /**
+   * The amounts of the yield formula, per unit notional.
+   */
+  private final transient double[] yieldAmounts;  // derived
+  /**
+   * The times of the yield formula, in coupon periods.
+   */
+  private final transient double[] yieldTimes;  // derived
+  /**
+   * Whether the yield formula is the simple yield of the last coupon period.
+   */
+  private final transient boolean lastPeriodSimple;  // derived
+  /**
+   * The time to maturity, only used by {@code JP_SIMPLE}.
+   */
+  private final transient double maturity;  // derived
+  /**
+   * Whether the bond has matured on the settlement date.
+   */
+  private final transient boolean matured;  // derived
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains the cash flow table of a bond for a settlement date.
+   *
+   * @param bond  the product
+   * @param settlementDate  the settlement date
+   * @param accruedYearFraction  the accrued year fraction on the settlement date
+   * @return the cash flow table
+   */
+  static FixedCouponBondCashFlowTable of(
+      ResolvedFixedCouponBond bond,
+      LocalDate settlementDate,
+      double accruedYearFraction) {
+
+    return new FixedCouponBondCashFlowTable(bond, settlementDate, accruedYearFraction);
+  }
+
+  @ImmutableConstructor
+  private FixedCouponBondCashFlowTable(
+      ResolvedFixedCouponBond bond,
+      LocalDate settlementDate,
+      double accruedYearFraction) {
+
+    this.bond = ArgChecker.notNull(bond, "bond");
+    this.settlementDate = ArgChecker.notNull(settlementDate, "settlementDate");
+    this.accruedYearFraction = accruedYearFraction;
+    ImmutableList<FixedCouponBondPaymentPeriod> periods = bond.getPeriodicPayments();
+    int nbPeriods = periods.size();
+    double notional = bond.getNotional();
+    double fixedRate = bond.getFixedRate();
+    // cash flows received by the buyer
+    this.exCoupon = new boolean[nbPeriods];
+    List<LocalDate> dates = new ArrayList<>();
+    List<Double> values = new ArrayList<>();
+    for (int i = 0; i < nbPeriods; i++) {
+      FixedCouponBondPaymentPeriod period = periods.get(i);
+      exCoupon[i] = !period.getDetachmentDate().isAfter(settlementDate);
+      if (!exCoupon[i]) {
+        dates.add(period.getPaymentDate());
+        values.add(period.getFixedRate() * period.getNotional() * period.getYearFraction() / notional);
+      }
+    }
+    dates.add(bond.getNominalPayment().getDate());
+    values.add(bond.getNominalPayment().getAmount() / notional);
+    this.paymentDates = ImmutableList.copyOf(dates);
+    this.amounts = DoubleArray.copyOf(values.stream().mapToDouble(Double::doubleValue).toArray());
+    // yield formula
+    this.couponPerYear = bond.getFrequency().eventsPerYear();
+    int couponIndex = couponIndex(periods, settlementDate);
+    if (periods.get(0).getStartDate().isAfter(settlementDate)) {
+      this.factorToNextCoupon = 0d;
+    } else {
+      double factorPeriod = periods.get(couponIndex).getYearFraction();
+      this.factorToNextCoupon = (factorPeriod - accruedYearFraction) / factorPeriod;
+    }
+    FixedCouponBondYieldConvention yieldConv = bond.getYieldConvention();
+    this.lastPeriodSimple = nbPeriods - couponIndex == 1 && (yieldConv.equals(US_STREET) || yieldConv.equals(DE_BONDS));
+    List<Double> yieldValues = new ArrayList<>();
+    List<Double> yieldPeriods = new ArrayList<>();
+    if (lastPeriodSimple) {
+      FixedCouponBondPaymentPeriod period = periods.get(nbPeriods - 1);
+      yieldValues.add(1d + period.getFixedRate() * period.getYearFraction());
+    } else {
+      int pow = 0;
+      for (FixedCouponBondPaymentPeriod period : periods) {
+        if ((period.hasExCouponPeriod() && !settlementDate.isAfter(period.getDetachmentDate())) ||
+            (!period.hasExCouponPeriod() && period.getPaymentDate().isAfter(settlementDate))) {
+          yieldValues.add(fixedRate * period.getYearFraction());
+          yieldPeriods.add(pow + factorToNextCoupon);
+          ++pow;
+        }
+      }
+      yieldValues.add(1d);
+      yieldPeriods.add(pow - 1 + factorToNextCoupon);
+    }
+    this.yieldAmounts = yieldValues.stream().mapToDouble(Double::doubleValue).toArray();
+    this.yieldTimes = yieldPeriods.stream().mapToDouble(Double::doubleValue).toArray();
+    LocalDate maturityDate = bond.getUnadjustedEndDate();
+    this.matured = settlementDate.isAfter(maturityDate);
+    this.maturity = yieldConv.equals(JP_SIMPLE) ?
+        bond.getDayCount().relativeYearFraction(settlementDate, maturityDate) :
+        Double.NaN;
+  }
+
+  // ensure standard constructor is invoked
+  private Object readResolve() {
+    return new FixedCouponBondCashFlowTable(bond, settlementDate, accruedYearFraction);
+  }
+
+  // finds the index of the current coupon
+  private static int couponIndex(ImmutableList<FixedCouponBondPaymentPeriod> list, LocalDate date) {
+    for (int loopcpn = 0; loopcpn < list.size(); ++loopcpn) {
+      if (list.get(loopcpn).getEndDate().isAfter(date)) {
+        return loopcpn;
+      }
+    }
+    return 0;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Checks if a periodic payment is ex-coupon on the settlement date.
+   * <p>
+   * An ex-coupon payment is not received by the buyer.
+   *
+   * @param periodIndex  the index of the periodic payment
+   * @return true if the payment is ex-coupon
+   */
+  public boolean isExCoupon(int periodIndex) {
+    return exCoupon[periodIndex];
+  }
+
+  /**
+   * Gets the payment dates of the cash flows received by the buyer.
+   * <p>
+   * The coupon payments come first, the nominal payment last.
+   *
+   * @return the payment dates
+   */
+  public ImmutableList<LocalDate> getPaymentDates() {
+    return paymentDates;
+  }
+
+  /**
+   * Gets the amounts of the cash flows received by the buyer, per unit notional.
+   *
+   * @return the amounts, in the order of the payment dates
+   */
+  public DoubleArray getAmounts() {
+    return amounts;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the dirty price, and its first and second derivatives with respect to the yield.
+   * <p>
+   * The result is stored in the first three elements of the array.
+   *
+   * @param yield  the yield
+   * @param result  the array receiving the dirty price and its derivatives
+   */
+  void dirtyPriceFromYield(double yield, double[] result) {
+    FixedCouponBondYieldConvention yieldConv = bond.getYieldConvention();
+    if (lastPeriodSimple) {
+      double slope = factorToNextCoupon / couponPerYear;
+      double den = 1d + slope * yield;
+      result[0] = yieldAmounts[0] / den;
+      result[1] = -result[0] * slope / den;
+      result[2] = -2d * result[1] * slope / den;
+      return;
+    }
+    if (yieldConv.equals(US_STREET) || yieldConv.equals(GB_BUMP_DMO) || yieldConv.equals(DE_BONDS)) {
+      double factorOnPeriod = 1d + yield / couponPerYear;
+      double logFactor = Math.log(factorOnPeriod);
+      double price = 0d;
+      double first = 0d;
+      double second = 0d;
+      for (int i = 0; i < yieldAmounts.length; i++) {
+        double time = yieldTimes[i];
+        double pv = yieldAmounts[i] * Math.exp(-time * logFactor);
+        price += pv;
+        first += pv * time;
+        second += pv * time * (time + 1d);
+      }
+      result[0] = price;
+      result[1] = -first / factorOnPeriod / couponPerYear;
+      result[2] = second / (factorOnPeriod * factorOnPeriod * couponPerYear * couponPerYear);
+      return;
+    }
+    if (yieldConv.equals(JP_SIMPLE)) {
+      if (matured) {
+        result[0] = 0d;
+        result[1] = 0d;
+        result[2] = 0d;
+        return;
+      }
+      double num = 1d + bond.getFixedRate() * maturity;
+      double den = 1d + yield * maturity;
+      result[0] = num / den + accruedYearFraction * bond.getFixedRate();
+      result[1] = -num * maturity / (den * den);
+      result[2] = 2d * num * maturity * maturity / (den * den * den);
+      return;
+    }
+    throw new UnsupportedOperationException("The convention " + yieldConv.name() + " is not supported.");
+  }
+
+  /**
+   * Calculates the yield from the dirty price using the closed form of the yield convention, if any.
+   *
+   * @param dirtyPrice  the dirty price
+   * @return the yield, NaN if there is no closed form
+   * @throws MathException if the dirty price does not depend on the yield
+   */
+  double yieldFromDirtyPriceClosedForm(double dirtyPrice) {
+    if (lastPeriodSimple) {
+      if (factorToNextCoupon == 0d) {
+        throw new MathException(Messages.format(
+            "Unable to compute the yield, the dirty price does not depend on the yield on settlement date {}",
+            settlementDate));
+      }
+      return (yieldAmounts[0] / dirtyPrice - 1d) * couponPerYear / factorToNextCoupon;
+    }
+    if (bond.getYieldConvention().equals(JP_SIMPLE)) {
+      double cleanPrice = dirtyPrice - accruedYearFraction * bond.getFixedRate();
+      return (bond.getFixedRate() + (1d - cleanPrice) / maturity) / cleanPrice;
+    }
+    return Double.NaN;
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  /**
+   * The meta-bean for {@code FixedCouponBondCashFlowTable}.
+   */
+  private static final TypedMetaBean<FixedCouponBondCashFlowTable> META_BEAN =
+      LightMetaBean.of(
+          FixedCouponBondCashFlowTable.class,
+          MethodHandles.lookup(),
+          new String[] {
+              "bond",
+              "settlementDate",
+              "accruedYearFraction"},
+          new Object[0]);
+
+  /**
+   * The meta-bean for {@code FixedCouponBondCashFlowTable}.
+   * @return the meta-bean, not null
+   */
+  public static TypedMetaBean<FixedCouponBondCashFlowTable> meta() {
+    return META_BEAN;
+  }
+
+  static {
+    MetaBean.register(META_BEAN);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  @Override
+  public TypedMetaBean<FixedCouponBondCashFlowTable> metaBean() {
+    return META_BEAN;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the bond.
+   * @return the value of the property, not null
+   */
+  public ResolvedFixedCouponBond getBond() {
+    return bond;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the settlement date.
+   * @return the value of the property, not null
+   */
+  public LocalDate getSettlementDate() {
+    return settlementDate;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the accrued year fraction on the settlement date.
+   * @return the value of the property
+   */
+  public double getAccruedYearFraction() {
+    return accruedYearFraction;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      FixedCouponBondCashFlowTable other = (FixedCouponBondCashFlowTable) obj;
+      return JodaBeanUtils.equal(bond, other.bond) &&
+          JodaBeanUtils.equal(settlementDate, other.settlementDate) &&
+          JodaBeanUtils.equal(accruedYearFraction, other.accruedYearFraction);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(bond);
+    hash = hash * 31 + JodaBeanUtils.hashCode(settlementDate);
+    hash = hash * 31 + JodaBeanUtils.hashCode(accruedYearFraction);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(128);
+    buf.append("FixedCouponBondCashFlowTable{");
+    buf.append("bond").append('=').append(bond).append(',').append(' ');
+    buf.append("settlementDate").append('=').append(settlementDate).append(',').append(' ');
+    buf.append("accruedYearFraction").append('=').append(JodaBeanUtils.toString(accruedYearFraction));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-------------------------- AUTOGENERATED END --------------------------
+}
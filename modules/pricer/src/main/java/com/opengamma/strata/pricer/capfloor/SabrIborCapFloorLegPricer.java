@@ -5,10 +5,14 @@
  */
 package com.opengamma.strata.pricer.capfloor;
 
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyAmountArray;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.product.capfloor.IborCapletFloorletPeriod;
 import com.opengamma.strata.product.capfloor.ResolvedIborCapFloorLeg;
+import com.opengamma.strata.product.common.PutCall;
 
 /**
  * Pricer for cap/floor legs in SABR model.
@@ -37,6 +41,57 @@ public class SabrIborCapFloorLegPricer
     this.periodPricer = periodPricer;
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value of the Ibor cap/floor leg for a ladder of strikes.
+   * <p>
+   * The present value is computed for each of the strikes, the strike of every caplet/floorlet period
+   * of the leg being replaced by that strike. The forward, discount factor and SABR parameters of each
+   * period are computed once for all the strikes and the volatilities of each period are computed together.
+   * The result is returned using the payment currency of the leg.
+   * 
+   * @param capFloorLeg  the Ibor cap/floor leg
+   * @param strikes  the strikes
+   * @param ratesProvider  the rates provider
+   * @param volatilities  the volatilities
+   * @return the present values, one for each strike
+   */
+  public CurrencyAmountArray presentValueForStrikes(
+      ResolvedIborCapFloorLeg capFloorLeg,
+      DoubleArray strikes,
+      RatesProvider ratesProvider,
+      SabrIborCapletFloorletVolatilities volatilities) {
+
+    validate(ratesProvider, volatilities);
+    Currency currency = capFloorLeg.getCurrency();
+    int nbStrikes = strikes.size();
+    double[] presentValues = new double[nbStrikes];
+    for (IborCapletFloorletPeriod period : capFloorLeg.getCapletFloorletPeriods()) {
+      if (ratesProvider.getValuationDate().isAfter(period.getPaymentDate())) {
+        continue;
+      }
+      double expiry = volatilities.relativeTime(period.getFixingDateTime());
+      double df = ratesProvider.discountFactor(currency, period.getPaymentDate());
+      double factor = df * period.getYearFraction() * period.getNotional();
+      PutCall putCall = period.getPutCall();
+      double indexRate = ratesProvider.iborIndexRates(period.getIndex()).rate(period.getIborRate().getObservation());
+      if (expiry < 0d) { // Option has expired already
+        double sign = putCall.isCall() ? 1d : -1d;
+        for (int i = 0; i < nbStrikes; i++) {
+          presentValues[i] += factor * Math.max(sign * (indexRate - strikes.get(i)), 0d);
+        }
+        continue;
+      }
+      DoubleArray periodVolatilities = volatilities.volatilities(expiry, strikes, indexRate);
+      for (int i = 0; i < nbStrikes; i++) {
+        presentValues[i] +=
+            factor * volatilities.price(expiry, putCall, strikes.get(i), indexRate, periodVolatilities.get(i));
+      }
+    }
+    return CurrencyAmountArray.of(currency, DoubleArray.ofUnsafe(presentValues));
+  }
+
+  //-------------------------------------------------------------------------
   /**
    * Calculates the present value sensitivity of the Ibor cap/floor leg to the rate curves.
    * <p>
@@ -6,6 +6,7 @@
 package com.opengamma.strata.pricer.capfloor;
 
 import com.opengamma.strata.basics.value.ValueDerivatives;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.market.ValueType;
 import com.opengamma.strata.market.param.ParameterPerturbation;
 
@@ -91,4 +92,19 @@ public interface SabrIborCapletFloorletVolatilities
    */
   public abstract ValueDerivatives volatilityAdjoint(double expiry, double strike, double forward);
 
+  /**
+   * Calculates the volatilities for a time to expiry and several strikes.
+   * <p>
+   * By default this calls {@link #volatility(double, double, double)} for each strike.
+   * Implementations may override this to compute the SABR parameters once for all the strikes.
+   * 
+   * @param expiry  the time to expiry as a year fraction
+   * @param strikes  the strikes
+   * @param forward  the forward
+   * @return the volatilities, one for each strike
+   */
+  public default DoubleArray volatilities(double expiry, DoubleArray strikes, double forward) {
+    return strikes.map(strike -> volatility(expiry, strike, forward));
+  }
+
 }
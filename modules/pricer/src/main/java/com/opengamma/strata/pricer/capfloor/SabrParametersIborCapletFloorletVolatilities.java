@@ -213,6 +213,11 @@ public final class SabrParametersIborCapletFloorletVolatilities
     return parameters.volatilityAdjoint(expiry, strike, forward);
   }
 
+  @Override
+  public DoubleArray volatilities(double expiry, DoubleArray strikes, double forward) {
+    return parameters.volatilities(expiry, strikes, forward);
+  }
+
   @Override
   public double alpha(double expiry) {
     return parameters.alpha(expiry);
@@ -27,6 +27,9 @@ import com.opengamma.strata.market.explain.ExplainKey;
 import com.opengamma.strata.market.explain.ExplainMapBuilder;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
 import com.opengamma.strata.math.MathException;
+import com.opengamma.strata.math.impl.integration.GaussLaguerreWeightAndAbscissaFunction;
+import com.opengamma.strata.math.impl.integration.GaussLegendreWeightAndAbscissaFunction;
+import com.opengamma.strata.math.impl.integration.GaussianQuadratureData;
 import com.opengamma.strata.math.impl.integration.RungeKuttaIntegrator1D;
 import com.opengamma.strata.pricer.impl.option.SabrExtrapolationRightFunction;
 import com.opengamma.strata.pricer.impl.volatility.smile.SabrFormulaData;
@@ -50,7 +53,12 @@ import com.opengamma.strata.product.swap.SwapLegType;
  *  The extrapolation is done on call prices above a certain strike. See {@link SabrExtrapolationRightFunction} for
  *  more details on the extrapolation method.
  *  <p>
- *  The replication requires numerical integration. This is completed by {@link RungeKuttaIntegrator1D}.
+ *  The replication requires numerical integration. By default, this is completed by {@link RungeKuttaIntegrator1D}.
+ *  Alternatively, the pricer can be created with a number of quadrature points, in which case the integrals
+ *  are computed by Gauss-Legendre quadrature on the finite intervals and Gauss-Laguerre quadrature for the tail
+ *  of the call integrals. The abscissas and weights are computed once, when the pricer is created, and the
+ *  SABR smile is evaluated once per abscissa for all the integrals of a sensitivity computation.
+ *  This is significantly faster, with an accuracy controlled by the number of points.
  *  <p>
  *  The consistency between {@code RatesProvider} and {@code SabrParametersSwaptionVolatilities} is not checked in this 
  *  class, but validated only once in {@link SabrExtrapolationReplicationCmsLegPricer}.
@@ -116,6 +124,18 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
    * This must be greater than 0 in order to ensure that the call price converges to 0 for infinite strike.
    */
   private final double mu;
+  /**
+   * The Gauss-Legendre abscissas and weights on [-1, 1], used on each finite integration interval.
+   * <p>
+   * This is null if the integrals are computed by adaptive integration.
+   */
+  private final GaussianQuadratureData legendre;
+  /**
+   * The Gauss-Laguerre abscissas and weights, used for the tail of the call integrals.
+   * <p>
+   * This is null if the integrals are computed by adaptive integration.
+   */
+  private final GaussianQuadratureData laguerre;
 
   //-------------------------------------------------------------------------
   /**
@@ -131,7 +151,31 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
       double cutOffStrike,
       double mu) {
 
-    return new SabrExtrapolationReplicationCmsPeriodPricer(swapPricer, cutOffStrike, mu);
+    return new SabrExtrapolationReplicationCmsPeriodPricer(swapPricer, cutOffStrike, mu, 0);
+  }
+
+  /**
+   * Obtains the pricer using Gaussian quadrature for the replication integrals.
+   * <p>
+   * The integrals are computed by Gauss-Legendre quadrature with the specified number of points
+   * on each finite interval and Gauss-Laguerre quadrature with the same number of points for the tail.
+   * The finite intervals are split at the forward and at the cut-off strike.
+   * A number of points of the order of 20 to 40 is typically sufficient to match the adaptive integration.
+   * 
+   * @param swapPricer  the pricer for underlying swap
+   * @param cutOffStrike  the cut-off strike value
+   * @param mu  the tail thickness
+   * @param quadraturePoints  the number of points of the quadrature
+   * @return the pricer
+   */
+  public static SabrExtrapolationReplicationCmsPeriodPricer of(
+      DiscountingSwapProductPricer swapPricer,
+      double cutOffStrike,
+      double mu,
+      int quadraturePoints) {
+
+    ArgChecker.notNegativeOrZero(quadraturePoints, "quadraturePoints");
+    return new SabrExtrapolationReplicationCmsPeriodPricer(swapPricer, cutOffStrike, mu, quadraturePoints);
   }
 
   /**
@@ -148,11 +192,19 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
   private SabrExtrapolationReplicationCmsPeriodPricer(
       DiscountingSwapProductPricer swapPricer,
       double cutOffStrike,
-      double mu) {
+      double mu,
+      int quadraturePoints) {
 
     this.swapPricer = ArgChecker.notNull(swapPricer, "swapPricer");
     this.cutOffStrike = cutOffStrike;
     this.mu = ArgChecker.notNegativeOrZero(mu, "mu");
+    if (quadraturePoints > 0) {
+      this.legendre = new GaussLegendreWeightAndAbscissaFunction().generate(quadraturePoints);
+      this.laguerre = new GaussLaguerreWeightAndAbscissaFunction().generate(quadraturePoints);
+    } else {
+      this.legendre = null;
+      this.laguerre = null;
+    }
   }
 
   //-------------------------------------------------------------------------
@@ -208,7 +260,10 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
     double integralPart = 0d;
     Function<Double, Double> integrant = intProv.integrant();
     try {
-      if (intProv.getPutCall().isCall()) {
+      if (legendre != null) {
+        integralPart = dfPayment * integrateQuadrature(
+            intProv, x -> new double[] {integrant.apply(x)}, 1, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor)[0];
+      } else if (intProv.getPutCall().isCall()) {
         integralPart = dfPayment *
             integrateCall(integrator, integrant, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor);
       } else {
@@ -333,7 +388,12 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
     Function<Double, Double> integrant = intProv.integrant();
     Function<Double, Double> integrantDelta = intProv.integrantDelta();
     try {
-      if (intProv.getPutCall().isCall()) {
+      if (legendre != null) {
+        double[] integrals = integrateQuadrature(
+            intProv, intProv.integrantPriceDelta(), 2, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor);
+        integralPartPrice = integrals[0];
+        integralPart = dfPayment * integrals[1];
+      } else if (intProv.getPutCall().isCall()) {
         integralPartPrice =
             integrateCall(integrator, integrant, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor);
         integralPart = dfPayment *
@@ -404,8 +464,17 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
     double[] strikePartPrice = intProv.getSabrExtrapolation()
         .priceAdjointSabr(Math.max(0d, strikeCpn + shift), intProv.getPutCall()) // handle tiny but negative number
         .getDerivatives().multipliedBy(factor2).toArray();
-    RungeKuttaIntegrator1D integrator = new RungeKuttaIntegrator1D(ABS_TOL, REL_TOL_VEGA, NUM_ITER);
     double[] totalSensi = new double[4];
+    if (legendre != null) {
+      double[] integralParts = integrateQuadrature(
+          intProv, intProv.integrantVegas(), 4, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor);
+      for (int loopparameter = 0; loopparameter < 4; loopparameter++) {
+        totalSensi[loopparameter] = (strikePartPrice[loopparameter] + dfPayment * integralParts[loopparameter]) *
+            cmsPeriod.getNotional() * cmsPeriod.getYearFraction();
+      }
+      return sabrSensitivities(swaptionVolatilities.getName(), expiryTime, tenor, ccy, totalSensi);
+    }
+    RungeKuttaIntegrator1D integrator = new RungeKuttaIntegrator1D(ABS_TOL, REL_TOL_VEGA, NUM_ITER);
     for (int loopparameter = 0; loopparameter < 4; loopparameter++) {
       double integralPart = 0d;
       Function<Double, Double> integrant = intProv.integrantVega(loopparameter);
@@ -422,7 +491,17 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
       totalSensi[loopparameter] =
           (strikePartPrice[loopparameter] + integralPart) * cmsPeriod.getNotional() * cmsPeriod.getYearFraction();
     }
-    SwaptionVolatilitiesName name = swaptionVolatilities.getName();
+    return sabrSensitivities(swaptionVolatilities.getName(), expiryTime, tenor, ccy, totalSensi);
+  }
+
+  // the point sensitivities to the SABR parameters
+  private PointSensitivityBuilder sabrSensitivities(
+      SwaptionVolatilitiesName name,
+      double expiryTime,
+      double tenor,
+      Currency ccy,
+      double[] totalSensi) {
+
     return PointSensitivityBuilder.of(
         SwaptionSabrSensitivity.of(name, expiryTime, tenor, ALPHA, ccy, totalSensi[0]),
         SwaptionSabrSensitivity.of(name, expiryTime, tenor, BETA, ccy, totalSensi[1]),
@@ -491,7 +570,11 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
     double firstPart;
     double thirdPart;
     Function<Double, Double> integrant = intProv.integrantDualDelta();
-    if (intProv.getPutCall().isCall()) {
+    if (legendre != null) {
+      firstPart = -kpkpp[0] * intProv.bs(strike);
+      thirdPart = integrateQuadrature(
+          intProv, x -> new double[] {integrant.apply(x)}, 1, swaptionVolatilities, forward, strike, expiryTime, tenor)[0];
+    } else if (intProv.getPutCall().isCall()) {
       firstPart = -kpkpp[0] * intProv.bs(strike);
       thirdPart = integrateCall(integrator, integrant, swaptionVolatilities, forward, strike, expiryTime, tenor);
     } else {
@@ -531,11 +614,7 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
       double tenor) {
 
     double res;
-    double vol = swaptionVolatilities.volatility(expiryTime, tenor, forward, forward);
-    double upper0 = Math.max(
-        forward * Math.exp(6d * vol * Math.sqrt(expiryTime)),
-        Math.max(cutOffStrike, 2d * strike));  // To ensure that the integral covers a good part of the smile
-    double upper = Math.min(upper0, 1d); // To ensure that we don't miss the meaningful part
+    double upper = callUpperBound(swaptionVolatilities, forward, strike, expiryTime, tenor);
     res = integrator.integrate(integrant, strike, upper);
     double reminder = integrant.apply(upper) * upper;
     double error = reminder / res;
@@ -554,6 +633,108 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
     return res;
   }
 
+  // the upper bound of the first part of the call integral
+  private double callUpperBound(
+      SabrSwaptionVolatilities swaptionVolatilities,
+      double forward,
+      double strike,
+      double expiryTime,
+      double tenor) {
+
+    double vol = swaptionVolatilities.volatility(expiryTime, tenor, forward, forward);
+    double upper0 = Math.max(
+        forward * Math.exp(6d * vol * Math.sqrt(expiryTime)),
+        Math.max(cutOffStrike, 2d * strike));  // To ensure that the integral covers a good part of the smile
+    return Math.min(upper0, 1d); // To ensure that we don't miss the meaningful part
+  }
+
+  // Integrates the integrants by quadrature, from the strike to infinity for a call
+  // and from the zero bound to the strike for a put. The integral is negated for a put.
+  private double[] integrateQuadrature(
+      CmsIntegrantProvider intProv,
+      Function<Double, double[]> integrants,
+      int nbIntegrants,
+      SabrSwaptionVolatilities swaptionVolatilities,
+      double forward,
+      double strike,
+      double expiryTime,
+      double tenor) {
+
+    double[] result = new double[nbIntegrants];
+    if (intProv.getPutCall().isCall()) {
+      double upper = callUpperBound(swaptionVolatilities, forward, strike, expiryTime, tenor);
+      integrateLegendre(integrants, strike, upper, forward, result);
+      integrateLaguerre(integrants, upper, result);
+      return result;
+    }
+    integrateLegendre(integrants, -intProv.getShift() + ZERO_SHIFT, strike, forward, result);
+    for (int i = 0; i < nbIntegrants; i++) {
+      result[i] = -result[i];
+    }
+    return result;
+  }
+
+  // Gauss-Legendre quadrature between lower and upper, the interval being split at the forward and cut-off strike
+  // where the smile changes shape. The integrals are added to the result.
+  private void integrateLegendre(
+      Function<Double, double[]> integrants,
+      double lower,
+      double upper,
+      double forward,
+      double[] result) {
+
+    double start = lower;
+    double break1 = Math.min(forward, cutOffStrike);
+    double break2 = Math.max(forward, cutOffStrike);
+    if (break1 > start && break1 < upper) {
+      integrateLegendrePanel(integrants, start, break1, result);
+      start = break1;
+    }
+    if (break2 > start && break2 < upper) {
+      integrateLegendrePanel(integrants, start, break2, result);
+      start = break2;
+    }
+    integrateLegendrePanel(integrants, start, upper, result);
+  }
+
+  // Gauss-Legendre quadrature on one panel, using the change of interval from [-1, 1]
+  private void integrateLegendrePanel(
+      Function<Double, double[]> integrants,
+      double lower,
+      double upper,
+      double[] result) {
+
+    double halfWidth = 0.5 * (upper - lower);
+    double center = 0.5 * (upper + lower);
+    double[] abscissas = legendre.getAbscissas();
+    double[] weights = legendre.getWeights();
+    for (int i = 0; i < abscissas.length; i++) {
+      double[] values = integrants.apply(halfWidth * abscissas[i] + center);
+      for (int j = 0; j < result.length; j++) {
+        result[j] += halfWidth * weights[i] * values[j];
+      }
+    }
+  }
+
+  // Gauss-Laguerre quadrature between lower and infinity. The extrapolated call prices decrease as a power
+  // of the strike, so the change of variable x = lower * exp(u) leads to an integrant decreasing exponentially in u.
+  // The integrals are added to the result.
+  private void integrateLaguerre(Function<Double, double[]> integrants, double lower, double[] result) {
+    double[] abscissas = laguerre.getAbscissas();
+    double[] weights = laguerre.getWeights();
+    for (int i = 0; i < abscissas.length; i++) {
+      double expU = Math.exp(abscissas[i]);
+      double x = lower * expU;
+      if (Double.isInfinite(x)) {
+        break; // remaining weights are negligible
+      }
+      double[] values = integrants.apply(x);
+      for (int j = 0; j < result.length; j++) {
+        result[j] += weights[i] * expU * x * values[j];
+      }
+    }
+  }
+
   /**
    * Explains the present value of the CMS period.
    * <p>
@@ -650,6 +831,15 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
       return shift;
     }
 
+    /**
+     * Gets the factor field.
+     * 
+     * @return the factor
+     */
+    protected double getFactor() {
+      return factor;
+    }
+
     /**
      * Gets the sabrExtrapolation field.
      * 
@@ -729,6 +919,31 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
       };
     }
 
+    /**
+     * Obtains the integrant sensitivities to the four SABR parameters.
+     * <p>
+     * The SABR price adjoint is computed once for the four sensitivities.
+     * 
+     * @return the vega integrants
+     */
+    Function<Double, double[]> integrantVegas() {
+      return new Function<Double, double[]>() {
+        @Override
+        public double[] apply(Double x) {
+          double[] kD = kpkpp(x);
+          // Implementation note: kD[0] contains the first derivative of k; kD[1] the second derivative of k.
+          double xShifted = Math.max(x + shift, 0d); // handle tiny but negative number
+          DoubleArray priceDerivativeSabr = getSabrExtrapolation().priceAdjointSabr(xShifted, putCall).getDerivatives();
+          double kFactor = factor * (kD[1] * (x - strike) + 2d * kD[0]);
+          return new double[] {
+              priceDerivativeSabr.get(0) * kFactor,
+              priceDerivativeSabr.get(1) * kFactor,
+              priceDerivativeSabr.get(2) * kFactor,
+              priceDerivativeSabr.get(3) * kFactor};
+        }
+      };
+    }
+
     /**
      * Obtains the integrant sensitivity to strike.
      * 
@@ -888,6 +1103,26 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
       };
     }
 
+    /**
+     * Obtains the integrant used in price replication and the integrant sensitivity to forward.
+     * <p>
+     * The smile is evaluated once for both integrants.
+     * 
+     * @return the price and delta integrants
+     */
+    Function<Double, double[]> integrantPriceDelta() {
+      return new Function<Double, double[]>() {
+        @Override
+        public double[] apply(Double x) {
+          double[] kD = kpkpp(x);
+          // Implementation note: kD[0] contains the first derivative of k; kD[1] the second derivative of k.
+          double[] bs = bsbsp(x);
+          double kFactor = kD[1] * (x - getStrike()) + 2d * kD[0];
+          return new double[] {getFactor() * kFactor * bs[0], kFactor * (nnp[1] * bs[0] + nnp[0] * bs[1])};
+        }
+      };
+    }
+
     /**
      * The Black price and its derivative with respect to the forward.
      * 
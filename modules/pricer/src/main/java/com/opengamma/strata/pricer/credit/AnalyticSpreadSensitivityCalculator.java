@@ -7,29 +7,63 @@ package com.opengamma.strata.pricer.credit;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.IntStream;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.StandardId;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Guavate;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioArray;
+import com.opengamma.strata.market.curve.CurveInfoType;
 import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.JacobianCalibrationMatrix;
 import com.opengamma.strata.market.curve.NodalCurve;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
+import com.opengamma.strata.market.param.ParameterMetadata;
+import com.opengamma.strata.market.param.ResolvedTradeParameterMetadata;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
 import com.opengamma.strata.math.impl.linearalgebra.LUDecompositionCommons;
 import com.opengamma.strata.math.impl.linearalgebra.LUDecompositionResult;
 import com.opengamma.strata.math.impl.matrix.CommonsMatrixAlgebra;
 import com.opengamma.strata.math.impl.matrix.MatrixAlgebra;
+import com.opengamma.strata.product.ResolvedTrade;
 import com.opengamma.strata.product.credit.ResolvedCds;
+import com.opengamma.strata.product.credit.ResolvedCdsIndex;
+import com.opengamma.strata.product.credit.ResolvedCdsIndexTrade;
 import com.opengamma.strata.product.credit.ResolvedCdsTrade;
 
 /**
  * Analytic spread sensitivity calculator.
  * <p>
  * This analytically computes the present value sensitivity to par spreads of bucketed CDSs. 
+ * <p>
+ * By the implicit function theorem, the sensitivity to the par spreads is obtained from the sensitivity
+ * to the credit curve parameters and the Jacobian of the par spreads with respect to the same parameters.
+ * No bump and recalibration of the credit curve is required.
+ * <p>
+ * If the bucket CDSs are the nodes of the credit curve, the curve is at par and the curve stores
+ * its calibration Jacobian, see {@link CurveInfoType#JACOBIAN}, the stored Jacobian is used directly.
+ * Otherwise the credit curve is calibrated once to the implied spreads of the bucket CDSs
+ * and the Jacobian is computed on that curve.
+ * <p>
+ * The Jacobian only depends on the bucket CDSs, thus a book of trades on the same legal entity
+ * can be processed at the cost of one present value sensitivity per trade,
+ * see {@link #bucketedCs01(List, List, CreditRatesProvider, ReferenceData)}.
+ * A book of CDS index trades on the same index is processed in the same way using
+ * {@link IsdaHomogenousCdsIndexTradePricer},
+ * see {@link #indexBucketedCs01(List, List, CreditRatesProvider, ReferenceData)}.
+ * The book methods also exist for a list of rates providers, one per scenario,
+ * the Jacobian being then computed once per scenario.
  */
 public class AnalyticSpreadSensitivityCalculator
     extends SpreadSensitivityCalculator {
@@ -48,6 +82,15 @@ public class AnalyticSpreadSensitivityCalculator
    * LU decomposition.
    */
   private static final LUDecompositionCommons DECOMPOSITION = new LUDecompositionCommons();
+  /**
+   * The tolerance on the par spread of the curve nodes for the stored Jacobian to be used.
+   */
+  private static final double PAR_TOLERANCE = 1.0e-10;
+
+  /**
+   * The trade pricer for CDS index.
+   */
+  private final IsdaHomogenousCdsIndexTradePricer indexPricer;
 
   /**
    * Constructor with the accrual-on-default formula specified.
@@ -56,6 +99,7 @@ public class AnalyticSpreadSensitivityCalculator
    */
   public AnalyticSpreadSensitivityCalculator(AccrualOnDefaultFormula formula) {
     super(formula);
+    this.indexPricer = new IsdaHomogenousCdsIndexTradePricer(formula);
   }
 
   //-------------------------------------------------------------------------
@@ -70,6 +114,194 @@ public class AnalyticSpreadSensitivityCalculator
     return CurrencyAmount.of(trade.getProduct().getCurrency(), temp.sum());
   }
 
+  /**
+   * Computes parallel CS01 for a book of CDS sharing the same bucket CDSs.
+   * <p>
+   * The relevant credit curve must be stored in {@code RatesProvider}.
+   * The Jacobian of the par spreads is computed once for all of the trades.
+   * 
+   * @param trades  the trades
+   * @param bucketCds  the CDS bucket
+   * @param ratesProvider  the rates provider
+   * @param refData  the reference data
+   * @return the parallel CS01 of each trade, in the order of the trades
+   */
+  public List<CurrencyAmount> parallelCs01(
+      List<ResolvedCdsTrade> trades,
+      List<ResolvedCdsTrade> bucketCds,
+      CreditRatesProvider ratesProvider,
+      ReferenceData refData) {
+
+    List<DoubleArray> cs01 = computedBucketedCs01(trades, bucketCds, ratesProvider, refData);
+    return parallelCs01(currencies(trades), cs01);
+  }
+
+  /**
+   * Computes parallel CS01 for a book of CDS sharing the same bucket CDSs in several scenarios.
+   * <p>
+   * The relevant credit curve must be stored in each {@code RatesProvider}.
+   * The Jacobian of the par spreads is computed once per scenario for all of the trades.
+   * 
+   * @param trades  the trades
+   * @param bucketCds  the CDS bucket
+   * @param ratesProviders  the rates providers, one per scenario
+   * @param refData  the reference data
+   * @return the parallel CS01 of each trade in each scenario, in the order of the trades
+   */
+  public List<CurrencyScenarioArray> parallelCs01(
+      List<ResolvedCdsTrade> trades,
+      List<ResolvedCdsTrade> bucketCds,
+      List<? extends CreditRatesProvider> ratesProviders,
+      ReferenceData refData) {
+
+    List<List<DoubleArray>> cs01 = scenarios(
+        ratesProviders, rp -> computedBucketedCs01(trades, bucketCds, rp, refData));
+    return parallelCs01Scenarios(currencies(trades), cs01);
+  }
+
+  /**
+   * Computes bucketed CS01 for a book of CDS sharing the same bucket CDSs.
+   * <p>
+   * The relevant credit curve must be stored in {@code RatesProvider}.
+   * The Jacobian of the par spreads is computed once for all of the trades.
+   * 
+   * @param trades  the trades
+   * @param bucketCds  the CDS bucket
+   * @param ratesProvider  the rates provider
+   * @param refData  the reference data
+   * @return the bucketed CS01 of each trade, in the order of the trades
+   */
+  public List<CurrencyParameterSensitivity> bucketedCs01(
+      List<ResolvedCdsTrade> trades,
+      List<ResolvedCdsTrade> bucketCds,
+      CreditRatesProvider ratesProvider,
+      ReferenceData refData) {
+
+    List<DoubleArray> cs01 = computedBucketedCs01(trades, bucketCds, ratesProvider, refData);
+    return bucketedCs01(currencies(trades), bucketMetadata(bucketCds), cs01);
+  }
+
+  /**
+   * Computes bucketed CS01 for a book of CDS sharing the same bucket CDSs in several scenarios.
+   * <p>
+   * The relevant credit curve must be stored in each {@code RatesProvider}.
+   * The Jacobian of the par spreads is computed once per scenario for all of the trades.
+   * 
+   * @param trades  the trades
+   * @param bucketCds  the CDS bucket
+   * @param ratesProviders  the rates providers, one per scenario
+   * @param refData  the reference data
+   * @return the bucketed CS01 of each trade in each scenario, in the order of the trades
+   */
+  public List<ScenarioArray<CurrencyParameterSensitivity>> bucketedCs01(
+      List<ResolvedCdsTrade> trades,
+      List<ResolvedCdsTrade> bucketCds,
+      List<? extends CreditRatesProvider> ratesProviders,
+      ReferenceData refData) {
+
+    List<List<DoubleArray>> cs01 = scenarios(
+        ratesProviders, rp -> computedBucketedCs01(trades, bucketCds, rp, refData));
+    return bucketedCs01Scenarios(currencies(trades), bucketMetadata(bucketCds), cs01);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes parallel CS01 for a book of CDS index sharing the same bucket CDS index, using a single credit curve.
+   * <p>
+   * This is coherent to the pricer {@link IsdaHomogenousCdsIndexTradePricer}.
+   * The relevant credit curve must be stored in {@code RatesProvider}.
+   * The Jacobian of the par spreads is computed once for all of the trades.
+   * 
+   * @param trades  the trades
+   * @param bucketCdsIndex  the CDS index bucket
+   * @param ratesProvider  the rates provider
+   * @param refData  the reference data
+   * @return the parallel CS01 of each trade, in the order of the trades
+   */
+  public List<CurrencyAmount> indexParallelCs01(
+      List<ResolvedCdsIndexTrade> trades,
+      List<ResolvedCdsIndexTrade> bucketCdsIndex,
+      CreditRatesProvider ratesProvider,
+      ReferenceData refData) {
+
+    List<DoubleArray> cs01 = computedIndexBucketedCs01(trades, bucketCdsIndex, ratesProvider, refData);
+    return parallelCs01(indexCurrencies(trades), cs01);
+  }
+
+  /**
+   * Computes parallel CS01 for a book of CDS index sharing the same bucket CDS index in several scenarios,
+   * using a single credit curve.
+   * <p>
+   * This is coherent to the pricer {@link IsdaHomogenousCdsIndexTradePricer}.
+   * The relevant credit curve must be stored in each {@code RatesProvider}.
+   * The Jacobian of the par spreads is computed once per scenario for all of the trades.
+   * 
+   * @param trades  the trades
+   * @param bucketCdsIndex  the CDS index bucket
+   * @param ratesProviders  the rates providers, one per scenario
+   * @param refData  the reference data
+   * @return the parallel CS01 of each trade in each scenario, in the order of the trades
+   */
+  public List<CurrencyScenarioArray> indexParallelCs01(
+      List<ResolvedCdsIndexTrade> trades,
+      List<ResolvedCdsIndexTrade> bucketCdsIndex,
+      List<? extends CreditRatesProvider> ratesProviders,
+      ReferenceData refData) {
+
+    List<List<DoubleArray>> cs01 = scenarios(
+        ratesProviders, rp -> computedIndexBucketedCs01(trades, bucketCdsIndex, rp, refData));
+    return parallelCs01Scenarios(indexCurrencies(trades), cs01);
+  }
+
+  /**
+   * Computes bucketed CS01 for a book of CDS index sharing the same bucket CDS index, using a single credit curve.
+   * <p>
+   * This is coherent to the pricer {@link IsdaHomogenousCdsIndexTradePricer}.
+   * The relevant credit curve must be stored in {@code RatesProvider}.
+   * The Jacobian of the par spreads is computed once for all of the trades.
+   * 
+   * @param trades  the trades
+   * @param bucketCdsIndex  the CDS index bucket
+   * @param ratesProvider  the rates provider
+   * @param refData  the reference data
+   * @return the bucketed CS01 of each trade, in the order of the trades
+   */
+  public List<CurrencyParameterSensitivity> indexBucketedCs01(
+      List<ResolvedCdsIndexTrade> trades,
+      List<ResolvedCdsIndexTrade> bucketCdsIndex,
+      CreditRatesProvider ratesProvider,
+      ReferenceData refData) {
+
+    List<DoubleArray> cs01 = computedIndexBucketedCs01(trades, bucketCdsIndex, ratesProvider, refData);
+    return bucketedCs01(indexCurrencies(trades), indexBucketMetadata(bucketCdsIndex), cs01);
+  }
+
+  /**
+   * Computes bucketed CS01 for a book of CDS index sharing the same bucket CDS index in several scenarios,
+   * using a single credit curve.
+   * <p>
+   * This is coherent to the pricer {@link IsdaHomogenousCdsIndexTradePricer}.
+   * The relevant credit curve must be stored in each {@code RatesProvider}.
+   * The Jacobian of the par spreads is computed once per scenario for all of the trades.
+   * 
+   * @param trades  the trades
+   * @param bucketCdsIndex  the CDS index bucket
+   * @param ratesProviders  the rates providers, one per scenario
+   * @param refData  the reference data
+   * @return the bucketed CS01 of each trade in each scenario, in the order of the trades
+   */
+  public List<ScenarioArray<CurrencyParameterSensitivity>> indexBucketedCs01(
+      List<ResolvedCdsIndexTrade> trades,
+      List<ResolvedCdsIndexTrade> bucketCdsIndex,
+      List<? extends CreditRatesProvider> ratesProviders,
+      ReferenceData refData) {
+
+    List<List<DoubleArray>> cs01 = scenarios(
+        ratesProviders, rp -> computedIndexBucketedCs01(trades, bucketCdsIndex, rp, refData));
+    return bucketedCs01Scenarios(indexCurrencies(trades), indexBucketMetadata(bucketCdsIndex), cs01);
+  }
+
+  //-------------------------------------------------------------------------
   @Override
   DoubleArray computedBucketedCs01(
       ResolvedCdsTrade trade,
@@ -77,12 +309,70 @@ public class AnalyticSpreadSensitivityCalculator
       CreditRatesProvider ratesProvider,
       ReferenceData refData) {
 
-    checkCdsBucket(trade, bucketCds);
-    ResolvedCds product = trade.getProduct();
+    return computedBucketedCs01(ImmutableList.of(trade), bucketCds, ratesProvider, refData).get(0);
+  }
+
+  // internal bucketed CS01 computation for CDS trades sharing the bucket CDSs
+  private List<DoubleArray> computedBucketedCs01(
+      List<ResolvedCdsTrade> trades,
+      List<ResolvedCdsTrade> bucketCds,
+      CreditRatesProvider ratesProvider,
+      ReferenceData refData) {
+
+    ArgChecker.notEmpty(trades, "trades");
+    for (ResolvedCdsTrade trade : trades) {
+      checkCdsBucket(trade, bucketCds);
+    }
+    List<Function<CreditRatesProvider, DoubleArray>> sensitivities = trades.stream()
+        .<Function<CreditRatesProvider, DoubleArray>>map(trade -> rp -> parameterSensitivity(trade, rp, refData))
+        .collect(Guavate.toImmutableList());
+    return computedBucketedCs01FromParameters(sensitivities, bucketCds, ratesProvider, refData);
+  }
+
+  // internal bucketed CS01 computation for CDS index trades sharing the bucket CDS index
+  private List<DoubleArray> computedIndexBucketedCs01(
+      List<ResolvedCdsIndexTrade> trades,
+      List<ResolvedCdsIndexTrade> bucketCdsIndex,
+      CreditRatesProvider ratesProvider,
+      ReferenceData refData) {
+
+    ArgChecker.notEmpty(trades, "trades");
+    List<ResolvedCdsTrade> bucketCds = bucketCdsIndex.stream()
+        .map(ResolvedCdsIndexTrade::toSingleNameCds)
+        .collect(Guavate.toImmutableList());
+    for (ResolvedCdsIndexTrade trade : trades) {
+      checkCdsBucket(trade.toSingleNameCds(), bucketCds);
+    }
+    List<Function<CreditRatesProvider, DoubleArray>> sensitivities = trades.stream()
+        .<Function<CreditRatesProvider, DoubleArray>>map(trade -> rp -> indexParameterSensitivity(trade, rp, refData))
+        .collect(Guavate.toImmutableList());
+    return computedBucketedCs01FromParameters(sensitivities, bucketCds, ratesProvider, refData);
+  }
+
+  // internal bucketed CS01 computation from the present value sensitivity of each trade to the credit curve parameters
+  private List<DoubleArray> computedBucketedCs01FromParameters(
+      List<Function<CreditRatesProvider, DoubleArray>> sensitivities,
+      List<ResolvedCdsTrade> bucketCds,
+      CreditRatesProvider ratesProvider,
+      ReferenceData refData) {
+
+    ResolvedCds product = bucketCds.get(0).getProduct();
     Currency currency = product.getCurrency();
     StandardId legalEntityId = product.getLegalEntityId();
-    LocalDate valuationDate = ratesProvider.getValuationDate();
 
+    // the stored calibration Jacobian is the inverse of the par spread Jacobian
+    Optional<DoubleMatrix> storedJacobian = storedJacobian(bucketCds, ratesProvider, refData);
+    if (storedJacobian.isPresent()) {
+      DoubleMatrix jacobian = storedJacobian.get();
+      return sensitivities.stream()
+          .map(sensitivity -> {
+            DoubleArray vLambda = sensitivity.apply(ratesProvider);
+            return DoubleArray.of(jacobian.columnCount(), j -> vLambda.multipliedBy(jacobian.column(j)).sum());
+          })
+          .collect(Guavate.toImmutableList());
+    }
+
+    LocalDate valuationDate = ratesProvider.getValuationDate();
     int nBucket = bucketCds.size();
     DoubleArray impSp = impliedSpread(bucketCds, ratesProvider, refData);
     NodalCurve creditCurveBase = getCalibrator().calibrate(
@@ -94,15 +384,18 @@ public class AnalyticSpreadSensitivityCalculator
         ratesProvider.discountFactors(currency),
         ratesProvider.recoveryRates(legalEntityId),
         refData);
+    // the index factor of a CDS index curve is retained for the index pricer
+    Optional<Double> indexFactor = indexFactor(legalEntityId, currency, ratesProvider);
+    if (indexFactor.isPresent()) {
+      creditCurveBase = creditCurveBase.withMetadata(
+          creditCurveBase.getMetadata().withInfo(CurveInfoType.CDS_INDEX_FACTOR, indexFactor.get()));
+    }
     IsdaCreditDiscountFactors df = IsdaCreditDiscountFactors.of(currency, valuationDate, creditCurveBase);
     CreditRatesProvider ratesProviderBase = ratesProvider.toImmutableCreditRatesProvider().toBuilder()
         .creditCurves(ImmutableMap.of(Pair.of(legalEntityId, currency), LegalEntitySurvivalProbabilities.of(legalEntityId, df)))
         .build();
 
     double[][] res = new double[nBucket][];
-    PointSensitivities pointPv = getPricer().presentValueOnSettleSensitivity(trade, ratesProviderBase, refData);
-    DoubleArray vLambda =
-        ratesProviderBase.singleCreditCurveParameterSensitivity(pointPv, legalEntityId, currency).getSensitivity();
     for (int i = 0; i < nBucket; i++) {
       PointSensitivities pointSp = getPricer().parSpreadSensitivity(bucketCds.get(i), ratesProviderBase, refData);
       res[i] = ratesProviderBase.singleCreditCurveParameterSensitivity(pointSp, legalEntityId, currency)
@@ -110,8 +403,182 @@ public class AnalyticSpreadSensitivityCalculator
     }
     DoubleMatrix jacT = MATRIX_ALGEBRA.getTranspose(DoubleMatrix.ofUnsafe(res));
     LUDecompositionResult luRes = DECOMPOSITION.apply(jacT);
-    DoubleArray vS = luRes.solve(vLambda);
-    return vS;
+    return sensitivities.stream()
+        .map(sensitivity -> luRes.solve(sensitivity.apply(ratesProviderBase)))
+        .collect(Guavate.toImmutableList());
+  }
+
+  // the present value sensitivity to the credit curve parameters
+  private DoubleArray parameterSensitivity(
+      ResolvedCdsTrade trade,
+      CreditRatesProvider ratesProvider,
+      ReferenceData refData) {
+
+    ResolvedCds product = trade.getProduct();
+    PointSensitivities pointPv = getPricer().presentValueOnSettleSensitivity(trade, ratesProvider, refData);
+    return ratesProvider
+        .singleCreditCurveParameterSensitivity(pointPv, product.getLegalEntityId(), product.getCurrency())
+        .getSensitivity();
+  }
+
+  // the present value sensitivity of a CDS index to the parameters of the index credit curve
+  private DoubleArray indexParameterSensitivity(
+      ResolvedCdsIndexTrade trade,
+      CreditRatesProvider ratesProvider,
+      ReferenceData refData) {
+
+    ResolvedCdsIndex product = trade.getProduct();
+    PointSensitivities pointPv = indexPricer.presentValueOnSettleSensitivity(trade, ratesProvider, refData);
+    return ratesProvider
+        .singleCreditCurveParameterSensitivity(pointPv, product.getCdsIndexId(), product.getCurrency())
+        .getSensitivity();
+  }
+
+  // the index factor of the credit curve, if any
+  private static Optional<Double> indexFactor(
+      StandardId legalEntityId,
+      Currency currency,
+      CreditRatesProvider ratesProvider) {
+
+    CreditDiscountFactors creditCurve = ratesProvider
+        .survivalProbabilities(legalEntityId, currency)
+        .getSurvivalProbabilities();
+    if (!(creditCurve instanceof IsdaCreditDiscountFactors)) {
+      return Optional.empty();
+    }
+    return ((IsdaCreditDiscountFactors) creditCurve).getCurve().getMetadata().findInfo(CurveInfoType.CDS_INDEX_FACTOR);
+  }
+
+  // the calibration Jacobian of the credit curve, if it is calibrated to the par spreads of the bucket CDSs
+  private Optional<DoubleMatrix> storedJacobian(
+      List<ResolvedCdsTrade> bucketCds,
+      CreditRatesProvider ratesProvider,
+      ReferenceData refData) {
+
+    ResolvedCds product = bucketCds.get(0).getProduct();
+    CreditDiscountFactors creditCurve = ratesProvider
+        .survivalProbabilities(product.getLegalEntityId(), product.getCurrency())
+        .getSurvivalProbabilities();
+    if (!(creditCurve instanceof IsdaCreditDiscountFactors)) {
+      return Optional.empty();
+    }
+    NodalCurve curve = ((IsdaCreditDiscountFactors) creditCurve).getCurve();
+    Optional<JacobianCalibrationMatrix> jacobian = curve.getMetadata().findInfo(CurveInfoType.JACOBIAN);
+    int nBucket = bucketCds.size();
+    if (!jacobian.isPresent() ||
+        jacobian.get().getCurveCount() != 1 ||
+        jacobian.get().getTotalParameterCount() != nBucket ||
+        jacobian.get().getJacobianMatrix().columnCount() != nBucket ||
+        curve.getParameterCount() != nBucket) {
+      return Optional.empty();
+    }
+    for (int i = 0; i < nBucket; i++) {
+      ResolvedCdsTrade bucket = bucketCds.get(i);
+      ParameterMetadata metadata = curve.getParameterMetadata(i);
+      if (!(metadata instanceof ResolvedTradeParameterMetadata) ||
+          !bucket.getProduct().equals(nodeProduct(((ResolvedTradeParameterMetadata) metadata).getTrade()))) {
+        return Optional.empty();
+      }
+      double parSpread = getPricer().parSpread(bucket, ratesProvider, refData);
+      if (Math.abs(parSpread - bucket.getProduct().getFixedRate()) > PAR_TOLERANCE) {
+        return Optional.empty();
+      }
+    }
+    return Optional.of(jacobian.get().getJacobianMatrix());
+  }
+
+  // the results of each scenario, in the order of the rates providers
+  private static List<List<DoubleArray>> scenarios(
+      List<? extends CreditRatesProvider> ratesProviders,
+      Function<CreditRatesProvider, List<DoubleArray>> calculation) {
+
+    ArgChecker.notEmpty(ratesProviders, "ratesProviders");
+    return ratesProviders.stream()
+        .map(calculation)
+        .collect(Guavate.toImmutableList());
+  }
+
+  // the parallel CS01 of each trade from the bucketed CS01
+  private static List<CurrencyAmount> parallelCs01(List<Currency> currencies, List<DoubleArray> cs01) {
+    return Guavate.zip(currencies.stream(), cs01.stream())
+        .map(p -> CurrencyAmount.of(p.getFirst(), p.getSecond().sum()))
+        .collect(Guavate.toImmutableList());
+  }
+
+  // the parallel CS01 of each trade from the bucketed CS01 of each scenario
+  private static List<CurrencyScenarioArray> parallelCs01Scenarios(
+      List<Currency> currencies,
+      List<List<DoubleArray>> cs01) {
+
+    return IntStream.range(0, currencies.size())
+        .mapToObj(i -> CurrencyScenarioArray.of(
+            currencies.get(i), DoubleArray.of(cs01.size(), s -> cs01.get(s).get(i).sum())))
+        .collect(Guavate.toImmutableList());
+  }
+
+  // the bucketed CS01 of each trade
+  private static List<CurrencyParameterSensitivity> bucketedCs01(
+      List<Currency> currencies,
+      List<ResolvedTradeParameterMetadata> metadata,
+      List<DoubleArray> cs01) {
+
+    return Guavate.zip(currencies.stream(), cs01.stream())
+        .map(p -> CurrencyParameterSensitivity.of(
+            CurveName.of("impliedSpreads"), metadata, p.getFirst(), p.getSecond()))
+        .collect(Guavate.toImmutableList());
+  }
+
+  // the bucketed CS01 of each trade in each scenario
+  private static List<ScenarioArray<CurrencyParameterSensitivity>> bucketedCs01Scenarios(
+      List<Currency> currencies,
+      List<ResolvedTradeParameterMetadata> metadata,
+      List<List<DoubleArray>> cs01) {
+
+    return IntStream.range(0, currencies.size())
+        .mapToObj(i -> ScenarioArray.of(cs01.stream()
+            .map(scenario -> CurrencyParameterSensitivity.of(
+                CurveName.of("impliedSpreads"), metadata, currencies.get(i), scenario.get(i)))
+            .collect(Guavate.toImmutableList())))
+        .collect(Guavate.toImmutableList());
+  }
+
+  // the currency of each CDS trade
+  private static List<Currency> currencies(List<ResolvedCdsTrade> trades) {
+    return trades.stream()
+        .map(trade -> trade.getProduct().getCurrency())
+        .collect(Guavate.toImmutableList());
+  }
+
+  // the currency of each CDS index trade
+  private static List<Currency> indexCurrencies(List<ResolvedCdsIndexTrade> trades) {
+    return trades.stream()
+        .map(trade -> trade.getProduct().getCurrency())
+        .collect(Guavate.toImmutableList());
+  }
+
+  // the parameter metadata of the bucket CDSs
+  private static List<ResolvedTradeParameterMetadata> bucketMetadata(List<ResolvedCdsTrade> bucketCds) {
+    return bucketCds.stream()
+        .map(t -> ResolvedTradeParameterMetadata.of(t, t.getProduct().getProtectionEndDate().toString()))
+        .collect(Guavate.toImmutableList());
+  }
+
+  // the parameter metadata of the bucket CDS index
+  private static List<ResolvedTradeParameterMetadata> indexBucketMetadata(List<ResolvedCdsIndexTrade> bucketCdsIndex) {
+    return bucketCdsIndex.stream()
+        .map(t -> ResolvedTradeParameterMetadata.of(t, t.getProduct().getProtectionEndDate().toString()))
+        .collect(Guavate.toImmutableList());
+  }
+
+  // the single name CDS of a curve node trade, null if not a CDS
+  private static ResolvedCds nodeProduct(ResolvedTrade trade) {
+    if (trade instanceof ResolvedCdsTrade) {
+      return ((ResolvedCdsTrade) trade).getProduct();
+    }
+    if (trade instanceof ResolvedCdsIndexTrade) {
+      return ((ResolvedCdsIndexTrade) trade).toSingleNameCds().getProduct();
+    }
+    return null;
   }
 
 }
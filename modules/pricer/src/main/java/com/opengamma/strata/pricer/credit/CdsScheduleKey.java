@@ -0,0 +1,303 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.credit;
+
+import java.io.Serializable;
+import java.lang.invoke.MethodHandles;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaBean;
+import org.joda.beans.TypedMetaBean;
+import org.joda.beans.gen.BeanDefinition;
+import org.joda.beans.gen.PropertyDefinition;
+import org.joda.beans.impl.light.LightMetaBean;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.date.DayCount;
+import com.opengamma.strata.basics.date.DaysAdjustment;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.product.credit.CreditCouponPaymentPeriod;
+import com.opengamma.strata.product.credit.PaymentOnDefault;
+import com.opengamma.strata.product.credit.ProtectionStartOfDay;
+import com.opengamma.strata.product.credit.ResolvedCds;
+
+/**
+ * The schedule of a CDS, used as a key to share the integration schedule between products.
+ * <p>
+ * This holds everything the protection leg and risky annuity per unit notional depend on,
+ * other than the curves. That is, all the terms of the product except the reference entity,
+ * the currency, the notional, the direction and the coupon rate.
+ */
+@BeanDefinition(style = "light", cacheHashCode = true)
+final class CdsScheduleKey
+    implements ImmutableBean, Serializable {
+
+  /**
+   * The protection end date.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final LocalDate protectionEndDate;
+  /**
+   * The day count convention of the accrual.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final DayCount dayCount;
+  /**
+   * The payment on default.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final PaymentOnDefault paymentOnDefault;
+  /**
+   * The protection start of the day.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ProtectionStartOfDay protectionStart;
+  /**
+   * The number of days between valuation date and step-in date.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final DaysAdjustment stepinDateOffset;
+  /**
+   * The dates of the payment periods.
+   * <p>
+   * Each period holds seven dates, the adjusted, unadjusted and effective start and end dates,
+   * followed by the payment date.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ImmutableList<LocalDate> periodDates;
+  /**
+   * The year fraction of each payment period.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final DoubleArray yearFractions;
+
+  /**
+   * Obtains the key of a product.
+   *
+   * @param cds  the product
+   * @return the key
+   */
+  static CdsScheduleKey of(ResolvedCds cds) {
+    List<CreditCouponPaymentPeriod> periods = cds.getPaymentPeriods();
+    ImmutableList.Builder<LocalDate> periodDates = ImmutableList.builder();
+    for (CreditCouponPaymentPeriod period : periods) {
+      periodDates.add(
+          period.getStartDate(),
+          period.getEndDate(),
+          period.getUnadjustedStartDate(),
+          period.getUnadjustedEndDate(),
+          period.getEffectiveStartDate(),
+          period.getEffectiveEndDate(),
+          period.getPaymentDate());
+    }
+    DoubleArray yearFractions = DoubleArray.of(periods.size(), i -> periods.get(i).getYearFraction());
+    return new CdsScheduleKey(
+        cds.getProtectionEndDate(),
+        cds.getDayCount(),
+        cds.getPaymentOnDefault(),
+        cds.getProtectionStart(),
+        cds.getStepinDateOffset(),
+        periodDates.build(),
+        yearFractions);
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  /**
+   * The meta-bean for {@code CdsScheduleKey}.
+   */
+  private static final TypedMetaBean<CdsScheduleKey> META_BEAN =
+      LightMetaBean.of(
+          CdsScheduleKey.class,
+          MethodHandles.lookup(),
+          new String[] {
+              "protectionEndDate",
+              "dayCount",
+              "paymentOnDefault",
+              "protectionStart",
+              "stepinDateOffset",
+              "periodDates",
+              "yearFractions"},
+          null,
+          null,
+          null,
+          null,
+          null,
+          ImmutableList.of(),
+          null);
+
+  /**
+   * The meta-bean for {@code CdsScheduleKey}.
+   * @return the meta-bean, not null
+   */
+  public static TypedMetaBean<CdsScheduleKey> meta() {
+    return META_BEAN;
+  }
+
+  static {
+    MetaBean.register(META_BEAN);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The cached hash code, using the racy single-check idiom.
+   */
+  private transient int cacheHashCode;
+
+  private CdsScheduleKey(
+      LocalDate protectionEndDate,
+      DayCount dayCount,
+      PaymentOnDefault paymentOnDefault,
+      ProtectionStartOfDay protectionStart,
+      DaysAdjustment stepinDateOffset,
+      List<LocalDate> periodDates,
+      DoubleArray yearFractions) {
+    JodaBeanUtils.notNull(protectionEndDate, "protectionEndDate");
+    JodaBeanUtils.notNull(dayCount, "dayCount");
+    JodaBeanUtils.notNull(paymentOnDefault, "paymentOnDefault");
+    JodaBeanUtils.notNull(protectionStart, "protectionStart");
+    JodaBeanUtils.notNull(stepinDateOffset, "stepinDateOffset");
+    JodaBeanUtils.notNull(periodDates, "periodDates");
+    JodaBeanUtils.notNull(yearFractions, "yearFractions");
+    this.protectionEndDate = protectionEndDate;
+    this.dayCount = dayCount;
+    this.paymentOnDefault = paymentOnDefault;
+    this.protectionStart = protectionStart;
+    this.stepinDateOffset = stepinDateOffset;
+    this.periodDates = ImmutableList.copyOf(periodDates);
+    this.yearFractions = yearFractions;
+  }
+
+  @Override
+  public TypedMetaBean<CdsScheduleKey> metaBean() {
+    return META_BEAN;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the protection end date.
+   * @return the value of the property, not null
+   */
+  public LocalDate getProtectionEndDate() {
+    return protectionEndDate;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the day count convention of the accrual.
+   * @return the value of the property, not null
+   */
+  public DayCount getDayCount() {
+    return dayCount;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the payment on default.
+   * @return the value of the property, not null
+   */
+  public PaymentOnDefault getPaymentOnDefault() {
+    return paymentOnDefault;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the protection start of the day.
+   * @return the value of the property, not null
+   */
+  public ProtectionStartOfDay getProtectionStart() {
+    return protectionStart;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the number of days between valuation date and step-in date.
+   * @return the value of the property, not null
+   */
+  public DaysAdjustment getStepinDateOffset() {
+    return stepinDateOffset;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the dates of the payment periods.
+   * <p>
+   * Each period holds seven dates, the adjusted, unadjusted and effective start and end dates,
+   * followed by the payment date.
+   * @return the value of the property, not null
+   */
+  public ImmutableList<LocalDate> getPeriodDates() {
+    return periodDates;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the year fraction of each payment period.
+   * @return the value of the property, not null
+   */
+  public DoubleArray getYearFractions() {
+    return yearFractions;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      CdsScheduleKey other = (CdsScheduleKey) obj;
+      return JodaBeanUtils.equal(protectionEndDate, other.protectionEndDate) &&
+          JodaBeanUtils.equal(dayCount, other.dayCount) &&
+          JodaBeanUtils.equal(paymentOnDefault, other.paymentOnDefault) &&
+          JodaBeanUtils.equal(protectionStart, other.protectionStart) &&
+          JodaBeanUtils.equal(stepinDateOffset, other.stepinDateOffset) &&
+          JodaBeanUtils.equal(periodDates, other.periodDates) &&
+          JodaBeanUtils.equal(yearFractions, other.yearFractions);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = cacheHashCode;
+    if (hash == 0) {
+      hash = getClass().hashCode();
+      hash = hash * 31 + JodaBeanUtils.hashCode(protectionEndDate);
+      hash = hash * 31 + JodaBeanUtils.hashCode(dayCount);
+      hash = hash * 31 + JodaBeanUtils.hashCode(paymentOnDefault);
+      hash = hash * 31 + JodaBeanUtils.hashCode(protectionStart);
+      hash = hash * 31 + JodaBeanUtils.hashCode(stepinDateOffset);
+      hash = hash * 31 + JodaBeanUtils.hashCode(periodDates);
+      hash = hash * 31 + JodaBeanUtils.hashCode(yearFractions);
+      cacheHashCode = hash;
+    }
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(256);
+    buf.append("CdsScheduleKey{");
+    buf.append("protectionEndDate").append('=').append(protectionEndDate).append(',').append(' ');
+    buf.append("dayCount").append('=').append(dayCount).append(',').append(' ');
+    buf.append("paymentOnDefault").append('=').append(paymentOnDefault).append(',').append(' ');
+    buf.append("protectionStart").append('=').append(protectionStart).append(',').append(' ');
+    buf.append("stepinDateOffset").append('=').append(stepinDateOffset).append(',').append(' ');
+    buf.append("periodDates").append('=').append(periodDates).append(',').append(' ');
+    buf.append("yearFractions").append('=').append(JodaBeanUtils.toString(yearFractions));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-------------------------- AUTOGENERATED END --------------------------
+}
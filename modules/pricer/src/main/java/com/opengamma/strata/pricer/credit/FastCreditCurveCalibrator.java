@@ -9,9 +9,12 @@ import static com.opengamma.strata.math.impl.util.Epsilon.epsilon;
 import static com.opengamma.strata.math.impl.util.Epsilon.epsilonP;
 
 import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Function;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.market.ValueType;
@@ -111,6 +114,31 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
       RecoveryRates recoveryRates,
       ReferenceData refData) {
 
+    return calibrate(
+        calibrationCDSs,
+        flactionalSpreads,
+        pointsUpfront,
+        name,
+        valuationDate,
+        discountFactors,
+        recoveryRates,
+        refData,
+        new HashMap<>());
+  }
+
+  // the integration grid of each node, which only depends on the discount curve and the node schedule, is cached
+  @Override
+  NodalCurve calibrate(
+      List<ResolvedCdsTrade> calibrationCDSs,
+      DoubleArray flactionalSpreads,
+      DoubleArray pointsUpfront,
+      CurveName name,
+      LocalDate valuationDate,
+      CreditDiscountFactors discountFactors,
+      RecoveryRates recoveryRates,
+      ReferenceData refData,
+      Map<Object, Object> cache) {
+
     int n = calibrationCDSs.size();
     double[] guess = new double[n];
     double[] t = new double[n];
@@ -144,8 +172,11 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
           .orElse(cds.getSettlementDateOffset().adjust(valuationDate, refData));
       double accrued = cds.accruedYearFraction(stepinDate);
 
-      Pricer pricer = new Pricer(cds, discountFactors, times, flactionalSpreads.get(i), pointsUpfront.get(i), lgd[i], stepinDate,
-          effectiveStartDate, settlementDate, accrued);
+      List<Object> gridKey = ImmutableList.of(
+          CdsScheduleKey.of(cds), discountFactors, times, stepinDate, effectiveStartDate, settlementDate);
+      Pricer grid = (Pricer) cache.computeIfAbsent(gridKey, k -> new Pricer(
+          cds, discountFactors, times, stepinDate, effectiveStartDate, settlementDate, accrued));
+      Pricer pricer = grid.withQuote(flactionalSpreads.get(i), pointsUpfront.get(i), lgd[i]);
       Function<Double, Double> func = pricer.getPointFunction(i, creditCurve);
 
       switch (getArbitrageHandling()) {
@@ -238,14 +269,13 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
     private final double productEffectiveStart;
     private final int startPeriodIndex;
 
-    public Pricer(ResolvedCds nodeCds, CreditDiscountFactors yieldCurve, DoubleArray creditCurveKnots, double fractionalSpread,
-        double pointsUpfront, double lgd, LocalDate stepinDate, LocalDate effectiveStartDate, LocalDate settlementDate,
-        double accruedYearFraction) {
+    public Pricer(ResolvedCds nodeCds, CreditDiscountFactors yieldCurve, DoubleArray creditCurveKnots,
+        LocalDate stepinDate, LocalDate effectiveStartDate, LocalDate settlementDate, double accruedYearFraction) {
 
       accYearFraction = accruedYearFraction;
       cds = nodeCds;
-      fracSpread = fractionalSpread;
-      puf = pointsUpfront;
+      fracSpread = 0d;
+      puf = 0d;
       productEffectiveStart = yieldCurve.relativeYearFraction(effectiveStartDate);
       double protectionEnd = yieldCurve.relativeYearFraction(cds.getProtectionEndDate());
       // protection leg
@@ -255,7 +285,7 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
           yieldCurve.getParameterKeys(), creditCurveKnots).toArray();
       nProPoints = proLegIntPoints.length;
       valuationDF = yieldCurve.discountFactor(settlementDate);
-      lgdDF = lgd / valuationDF;
+      lgdDF = 1d / valuationDF;
       proYieldCurveRT = new double[nProPoints];
       proDF = new double[nProPoints];
       for (int i = 0; i < nProPoints; i++) {
@@ -329,6 +359,36 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
       }
     }
 
+    // creates a pricer sharing the integration grid of the specified pricer
+    private Pricer(Pricer grid, double fractionalSpread, double pointsUpfront, double lgd) {
+      cds = grid.cds;
+      valuationDF = grid.valuationDF;
+      lgdDF = lgd / grid.valuationDF;
+      fracSpread = fractionalSpread;
+      puf = pointsUpfront;
+      nProPoints = grid.nProPoints;
+      proLegIntPoints = grid.proLegIntPoints;
+      proYieldCurveRT = grid.proYieldCurveRT;
+      proDF = grid.proDF;
+      nPayments = grid.nPayments;
+      paymentDF = grid.paymentDF;
+      premLegIntPoints = grid.premLegIntPoints;
+      premDF = grid.premDF;
+      rt = grid.rt;
+      premDt = grid.premDt;
+      accRate = grid.accRate;
+      offsetAccStart = grid.offsetAccStart;
+      offsetAccEnd = grid.offsetAccEnd;
+      accYearFraction = grid.accYearFraction;
+      productEffectiveStart = grid.productEffectiveStart;
+      startPeriodIndex = grid.startPeriodIndex;
+    }
+
+    // returns a pricer for the quote, sharing the integration grid
+    Pricer withQuote(double fractionalSpread, double pointsUpfront, double lgd) {
+      return new Pricer(this, fractionalSpread, pointsUpfront, lgd);
+    }
+
     public Function<Double, Double> getPointFunction(int index, NodalCurve creditCurve) {
       return new Function<Double, Double>() {
         @Override
@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.credit;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.pricer.common.PriceType;
+import com.opengamma.strata.product.credit.ResolvedCds;
+
+/**
+ * Pricer for a book of single-name credit default swaps (CDS) based on ISDA standard model.
+ * <p>
+ * Standard CDS on the same reference entity, in the same currency and with the same maturity
+ * share their payment schedule, and thus their protection leg and risky annuity per unit notional.
+ * Only the notional, the direction and the coupon rate differ.
+ * <p>
+ * The products of the book are therefore grouped by credit curve, discount curve and schedule.
+ * The integration over the merged knots of the two curves is performed once for each group
+ * using {@link IsdaCdsProductPricer}, then the present value, par spread, RPV01 and jump-to-default
+ * of all the members of the group are derived from the shared values in a single pass.
+ * <p>
+ * The results are identical to those of {@link IsdaCdsProductPricer} applied to each product.
+ */
+public class IsdaCdsBookPricer {
+
+  /**
+   * Default implementation.
+   */
+  public static final IsdaCdsBookPricer DEFAULT = new IsdaCdsBookPricer(IsdaCdsProductPricer.DEFAULT);
+
+  /**
+   * The product pricer.
+   */
+  private final IsdaCdsProductPricer productPricer;
+
+  /**
+   * Creates an instance.
+   *
+   * @param productPricer  the pricer for a single product, defining the accrual-on-default formula
+   */
+  public IsdaCdsBookPricer(IsdaCdsProductPricer productPricer) {
+    this.productPricer = ArgChecker.notNull(productPricer, "productPricer");
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value, par spread, RPV01 and jump-to-default of a book of CDS products.
+   * <p>
+   * The measures are based on {@code referenceDate}, as in {@link IsdaCdsProductPricer}.
+   * The price type applies to the present value and the RPV01.
+   * The par spread and jump-to-default are always based on the clean risky annuity.
+   * <p>
+   * The present value, RPV01 and jump-to-default of an expired product are zero.
+   * The par spread of an expired product is not defined and is NaN.
+   *
+   * @param products  the products
+   * @param ratesProvider  the rates provider
+   * @param referenceDate  the reference date
+   * @param priceType  the price type
+   * @param refData  the reference data
+   * @return the measures of each product, in the order of the products
+   */
+  public IsdaCdsBookResult price(
+      List<ResolvedCds> products,
+      CreditRatesProvider ratesProvider,
+      LocalDate referenceDate,
+      PriceType priceType,
+      ReferenceData refData) {
+
+    ArgChecker.noNulls(products, "products");
+    ArgChecker.notNull(ratesProvider, "ratesProvider");
+    ArgChecker.notNull(referenceDate, "referenceDate");
+    ArgChecker.notNull(priceType, "priceType");
+    int size = products.size();
+    LocalDate valuationDate = ratesProvider.getValuationDate();
+    CurrencyAmount[] presentValues = new CurrencyAmount[size];
+    double[] parSpreads = new double[size];
+    CurrencyAmount[] rpv01s = new CurrencyAmount[size];
+    JumpToDefault[] jumpToDefaults = new JumpToDefault[size];
+    // group the products sharing their schedule and curves
+    Map<Pair<Pair<StandardId, Currency>, CdsScheduleKey>, List<Integer>> groups = new LinkedHashMap<>();
+    for (int i = 0; i < size; i++) {
+      ResolvedCds cds = products.get(i);
+      if (!cds.getProtectionEndDate().isAfter(valuationDate)) {
+        CurrencyAmount zero = CurrencyAmount.zero(cds.getCurrency());
+        presentValues[i] = zero;
+        parSpreads[i] = Double.NaN;
+        rpv01s[i] = zero;
+        jumpToDefaults[i] = JumpToDefault.of(cds.getCurrency(), ImmutableMap.of(cds.getLegalEntityId(), 0d));
+      } else {
+        Pair<Pair<StandardId, Currency>, CdsScheduleKey> key =
+            Pair.of(Pair.of(cds.getLegalEntityId(), cds.getCurrency()), CdsScheduleKey.of(cds));
+        groups.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+      }
+    }
+    // the curves are shared by all the groups of a reference entity
+    Map<Pair<StandardId, Currency>, Pair<CreditDiscountFactors, LegalEntitySurvivalProbabilities>> curves =
+        new HashMap<>();
+    for (List<Integer> members : groups.values()) {
+      ResolvedCds first = products.get(members.get(0));
+      Pair<CreditDiscountFactors, LegalEntitySurvivalProbabilities> rates = curves.computeIfAbsent(
+          Pair.of(first.getLegalEntityId(), first.getCurrency()),
+          k -> productPricer.reduceDiscountFactors(first, ratesProvider));
+      // the values per unit notional, shared by all the members
+      LocalDate stepinDate = first.getStepinDateOffset().adjust(valuationDate, refData);
+      LocalDate effectiveStartDate = first.calculateEffectiveStartDate(stepinDate);
+      double lgd = 1d - productPricer.recoveryRate(first, ratesProvider);
+      double protectionLeg = lgd * productPricer.protectionFull(
+          first, rates.getFirst(), rates.getSecond(), referenceDate, effectiveStartDate);
+      double annuityDirty = productPricer.riskyAnnuity(
+          first, rates.getFirst(), rates.getSecond(), referenceDate, stepinDate, effectiveStartDate, PriceType.DIRTY);
+      double annuityClean = annuityDirty - first.accruedYearFraction(stepinDate);
+      double annuity = priceType.isCleanPrice() ? annuityClean : annuityDirty;
+      double parSpread = protectionLeg / annuityClean;
+      for (int i : members) {
+        ResolvedCds cds = products.get(i);
+        Currency currency = cds.getCurrency();
+        double signedNotional = cds.getBuySell().normalize(cds.getNotional());
+        double fixedRate = cds.getFixedRate();
+        presentValues[i] = CurrencyAmount.of(currency, signedNotional * (protectionLeg - annuity * fixedRate));
+        parSpreads[i] = parSpread;
+        rpv01s[i] = CurrencyAmount.of(currency, signedNotional * annuity);
+        double jtd = lgd - (protectionLeg - fixedRate * annuityClean);
+        jumpToDefaults[i] = JumpToDefault.of(currency, ImmutableMap.of(cds.getLegalEntityId(), signedNotional * jtd));
+      }
+    }
+    return IsdaCdsBookResult.of(
+        Arrays.asList(presentValues),
+        DoubleArray.ofUnsafe(parSpreads),
+        Arrays.asList(rpv01s),
+        Arrays.asList(jumpToDefaults),
+        groups.size());
+  }
+
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.credit;
+
+import java.io.Serializable;
+import java.lang.invoke.MethodHandles;
+import java.util.List;
+
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaBean;
+import org.joda.beans.TypedMetaBean;
+import org.joda.beans.gen.BeanDefinition;
+import org.joda.beans.gen.ImmutableValidator;
+import org.joda.beans.gen.PropertyDefinition;
+import org.joda.beans.impl.light.LightMetaBean;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * The measures of a book of CDS products, computed by {@link IsdaCdsBookPricer}.
+ * <p>
+ * Each list holds one element per product, in the order of the products in the book.
+ */
+@BeanDefinition(style = "light")
+public final class IsdaCdsBookResult
+    implements ImmutableBean, Serializable {
+
+  /**
+   * The present values.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ImmutableList<CurrencyAmount> presentValues;
+  /**
+   * The par spreads.
+   * <p>
+   * The par spread of an expired product is not defined and is NaN.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final DoubleArray parSpreads;
+  /**
+   * The risky PV01s.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ImmutableList<CurrencyAmount> rpv01s;
+  /**
+   * The jump-to-defaults.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ImmutableList<JumpToDefault> jumpToDefaults;
+  /**
+   * The number of groups sharing their integration schedule.
+   * <p>
+   * The protection leg and risky annuity are computed once for each group.
+   */
+  @PropertyDefinition(validate = "ArgChecker.notNegative")
+  private final int groupCount;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   *
+   * @param presentValues  the present values
+   * @param parSpreads  the par spreads
+   * @param rpv01s  the risky PV01s
+   * @param jumpToDefaults  the jump-to-defaults
+   * @param groupCount  the number of groups sharing their integration schedule
+   * @return the instance
+   */
+  public static IsdaCdsBookResult of(
+      List<CurrencyAmount> presentValues,
+      DoubleArray parSpreads,
+      List<CurrencyAmount> rpv01s,
+      List<JumpToDefault> jumpToDefaults,
+      int groupCount) {
+
+    return new IsdaCdsBookResult(presentValues, parSpreads, rpv01s, jumpToDefaults, groupCount);
+  }
+
+  @ImmutableValidator
+  private void validate() {
+    int size = parSpreads.size();
+    ArgChecker.isTrue(presentValues.size() == size, "presentValues must have the same size as parSpreads");
+    ArgChecker.isTrue(rpv01s.size() == size, "rpv01s must have the same size as parSpreads");
+    ArgChecker.isTrue(jumpToDefaults.size() == size, "jumpToDefaults must have the same size as parSpreads");
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of products.
+   *
+   * @return the number of products
+   */
+  public int size() {
+    return parSpreads.size();
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  /**
+   * The meta-bean for {@code IsdaCdsBookResult}.
+   */
+  private static final TypedMetaBean<IsdaCdsBookResult> META_BEAN =
+      LightMetaBean.of(
+          IsdaCdsBookResult.class,
+          MethodHandles.lookup(),
+          new String[] {
+              "presentValues",
+              "parSpreads",
+              "rpv01s",
+              "jumpToDefaults",
+              "groupCount"},
+          ImmutableList.of(),
+          null,
+          ImmutableList.of(),
+          ImmutableList.of(),
+          0);
+
+  /**
+   * The meta-bean for {@code IsdaCdsBookResult}.
+   * @return the meta-bean, not null
+   */
+  public static TypedMetaBean<IsdaCdsBookResult> meta() {
+    return META_BEAN;
+  }
+
+  static {
+    MetaBean.register(META_BEAN);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  private IsdaCdsBookResult(
+      List<CurrencyAmount> presentValues,
+      DoubleArray parSpreads,
+      List<CurrencyAmount> rpv01s,
+      List<JumpToDefault> jumpToDefaults,
+      int groupCount) {
+    JodaBeanUtils.notNull(presentValues, "presentValues");
+    JodaBeanUtils.notNull(parSpreads, "parSpreads");
+    JodaBeanUtils.notNull(rpv01s, "rpv01s");
+    JodaBeanUtils.notNull(jumpToDefaults, "jumpToDefaults");
+    ArgChecker.notNegative(groupCount, "groupCount");
+    this.presentValues = ImmutableList.copyOf(presentValues);
+    this.parSpreads = parSpreads;
+    this.rpv01s = ImmutableList.copyOf(rpv01s);
+    this.jumpToDefaults = ImmutableList.copyOf(jumpToDefaults);
+    this.groupCount = groupCount;
+    validate();
+  }
+
+  @Override
+  public TypedMetaBean<IsdaCdsBookResult> metaBean() {
+    return META_BEAN;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the present values.
+   * @return the value of the property, not null
+   */
+  public ImmutableList<CurrencyAmount> getPresentValues() {
+    return presentValues;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the par spreads.
+   * <p>
+   * The par spread of an expired product is not defined and is NaN.
+   * @return the value of the property, not null
+   */
+  public DoubleArray getParSpreads() {
+    return parSpreads;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the risky PV01s.
+   * @return the value of the property, not null
+   */
+  public ImmutableList<CurrencyAmount> getRpv01s() {
+    return rpv01s;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the jump-to-defaults.
+   * @return the value of the property, not null
+   */
+  public ImmutableList<JumpToDefault> getJumpToDefaults() {
+    return jumpToDefaults;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the number of groups sharing their integration schedule.
+   * <p>
+   * The protection leg and risky annuity are computed once for each group.
+   * @return the value of the property
+   */
+  public int getGroupCount() {
+    return groupCount;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      IsdaCdsBookResult other = (IsdaCdsBookResult) obj;
+      return JodaBeanUtils.equal(presentValues, other.presentValues) &&
+          JodaBeanUtils.equal(parSpreads, other.parSpreads) &&
+          JodaBeanUtils.equal(rpv01s, other.rpv01s) &&
+          JodaBeanUtils.equal(jumpToDefaults, other.jumpToDefaults) &&
+          (groupCount == other.groupCount);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(presentValues);
+    hash = hash * 31 + JodaBeanUtils.hashCode(parSpreads);
+    hash = hash * 31 + JodaBeanUtils.hashCode(rpv01s);
+    hash = hash * 31 + JodaBeanUtils.hashCode(jumpToDefaults);
+    hash = hash * 31 + JodaBeanUtils.hashCode(groupCount);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(192);
+    buf.append("IsdaCdsBookResult{");
+    buf.append("presentValues").append('=').append(presentValues).append(',').append(' ');
+    buf.append("parSpreads").append('=').append(parSpreads).append(',').append(' ');
+    buf.append("rpv01s").append('=').append(rpv01s).append(',').append(' ');
+    buf.append("jumpToDefaults").append('=').append(jumpToDefaults).append(',').append(' ');
+    buf.append("groupCount").append('=').append(JodaBeanUtils.toString(groupCount));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-------------------------- AUTOGENERATED END --------------------------
+}
@@ -6,8 +6,18 @@
 package com.opengamma.strata.pricer.credit;
 
 import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -23,6 +33,8 @@ import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.Guavate;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.collect.result.Failure;
+import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.market.curve.CurveInfoType;
@@ -154,14 +166,21 @@ public abstract class IsdaCompliantCreditCurveCalibrator {
       ImmutableCreditRatesProvider ratesProvider,
       ReferenceData refData) {
 
+    return calibrate(curveDefinition, marketData, ratesProvider, refData, new HashMap<>());
+  }
+
+  // calibrates the curve, sharing the cache with the other curves of a batch
+  private LegalEntitySurvivalProbabilities calibrate(
+      IsdaCreditCurveDefinition curveDefinition,
+      MarketData marketData,
+      ImmutableCreditRatesProvider ratesProvider,
+      ReferenceData refData,
+      Map<Object, Object> cache) {
+
     ArgChecker.isTrue(curveDefinition.getCurveValuationDate().equals(ratesProvider.getValuationDate()),
         "ratesProvider and curveDefinition must be based on the same valuation date");
-    ImmutableList<CdsIsdaCreditCurveNode> curveNodes = curveDefinition.getCurveNodes().stream()
-        .filter(n -> n instanceof CdsIsdaCreditCurveNode)
-        .map(n -> (CdsIsdaCreditCurveNode) n)
-        .collect(Guavate.toImmutableList());
     return calibrate(
-        curveNodes,
+        cdsNodes(curveDefinition),
         curveDefinition.getName(),
         marketData,
         ratesProvider,
@@ -169,9 +188,160 @@ public abstract class IsdaCompliantCreditCurveCalibrator {
         curveDefinition.getCurrency(),
         curveDefinition.isComputeJacobian(),
         curveDefinition.isStoreNodeTrade(),
-        refData);
+        refData,
+        cache);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calibrates the ISDA compliant credit curves of several legal entities.
+   * <p>
+   * The curves are calibrated independently, each as in
+   * {@link #calibrate(IsdaCreditCurveDefinition, MarketData, ImmutableCreditRatesProvider, ReferenceData)}.
+   * The tasks are submitted to the executor, with the integration schedules built from the discount curve
+   * shared by the curves whose nodes have the same maturities.
+   * <p>
+   * The failure to calibrate the curve of a legal entity, for example due to a missing quote,
+   * does not prevent the calibration of the other curves. The failure is held in the result instead.
+   *
+   * @param curveDefinitions  the curve definitions, keyed by the legal entity of their nodes
+   * @param marketData  the market data
+   * @param ratesProvider  the rates provider, containing the discount curves and the recovery rates
+   * @param executor  the executor, {@code Runnable::run} to calibrate in the calling thread
+   * @param refData  the reference data
+   * @return the result, containing the curve or the failure of each legal entity
+   * @throws IllegalArgumentException if the legal entity of a node does not match the key of its definition
+   */
+  public IsdaCreditCurveBatchResult calibrate(
+      Map<StandardId, IsdaCreditCurveDefinition> curveDefinitions,
+      MarketData marketData,
+      ImmutableCreditRatesProvider ratesProvider,
+      Executor executor,
+      ReferenceData refData) {
+
+    return calibrate(
+        curveDefinitions, marketData, ratesProvider, IsdaCreditCurveBatchResult.empty(), executor, refData);
   }
 
+  /**
+   * Calibrates the ISDA compliant credit curves of several legal entities, reusing the curves of a prior result.
+   * <p>
+   * The curve of a legal entity is taken from the prior result if the curve definition, the quotes of the nodes,
+   * the discount curve and the recovery rates are all unchanged. The other curves are calibrated as in
+   * {@link #calibrate(Map, MarketData, ImmutableCreditRatesProvider, Executor, ReferenceData)}.
+   * <p>
+   * This allows the curves of a large universe of legal entities to be kept up to date
+   * at the cost of the legal entities whose quotes have moved.
+   *
+   * @param curveDefinitions  the curve definitions, keyed by the legal entity of their nodes
+   * @param marketData  the market data
+   * @param ratesProvider  the rates provider, containing the discount curves and the recovery rates
+   * @param priorResult  the prior result, {@link IsdaCreditCurveBatchResult#empty()} to calibrate all the curves
+   * @param executor  the executor, {@code Runnable::run} to calibrate in the calling thread
+   * @param refData  the reference data
+   * @return the result, containing the curve or the failure of each legal entity
+   * @throws IllegalArgumentException if the legal entity of a node does not match the key of its definition
+   */
+  public IsdaCreditCurveBatchResult calibrate(
+      Map<StandardId, IsdaCreditCurveDefinition> curveDefinitions,
+      MarketData marketData,
+      ImmutableCreditRatesProvider ratesProvider,
+      IsdaCreditCurveBatchResult priorResult,
+      Executor executor,
+      ReferenceData refData) {
+
+    ArgChecker.notNull(curveDefinitions, "curveDefinitions");
+    ArgChecker.notNull(marketData, "marketData");
+    ArgChecker.notNull(ratesProvider, "ratesProvider");
+    ArgChecker.notNull(priorResult, "priorResult");
+    ArgChecker.notNull(executor, "executor");
+    Map<Object, Object> cache = new ConcurrentHashMap<>();
+    Map<StandardId, IsdaCreditCurveCalibrationInputs> inputs = new LinkedHashMap<>();
+    Map<StandardId, CompletableFuture<LegalEntitySurvivalProbabilities>> futures = new LinkedHashMap<>();
+    Set<StandardId> calibrated = new LinkedHashSet<>();
+    for (Map.Entry<StandardId, IsdaCreditCurveDefinition> entry : curveDefinitions.entrySet()) {
+      StandardId legalEntityId = entry.getKey();
+      IsdaCreditCurveDefinition definition = entry.getValue();
+      for (CdsIsdaCreditCurveNode node : cdsNodes(definition)) {
+        ArgChecker.isTrue(
+            node.getLegalEntityId().equals(legalEntityId),
+            "Curve definition of legal entity {} has a node of legal entity {}",
+            legalEntityId,
+            node.getLegalEntityId());
+      }
+      IsdaCreditCurveCalibrationInputs current;
+      try {
+        DoubleArray quotes = DoubleArray.copyOf(cdsNodes(definition).stream()
+            .mapToDouble(node -> marketData.getValue(node.getObservableId()))
+            .toArray());
+        current = new IsdaCreditCurveCalibrationInputs(
+            definition,
+            quotes,
+            ratesProvider.discountFactors(definition.getCurrency()),
+            ratesProvider.recoveryRates(legalEntityId));
+      } catch (RuntimeException ex) {
+        futures.put(legalEntityId, failedFuture(ex));
+        continue;
+      }
+      inputs.put(legalEntityId, current);
+      Optional<LegalEntitySurvivalProbabilities> unchanged = priorResult.findUnchanged(legalEntityId, current);
+      if (unchanged.isPresent()) {
+        futures.put(legalEntityId, CompletableFuture.completedFuture(unchanged.get()));
+      } else {
+        calibrated.add(legalEntityId);
+        futures.put(legalEntityId, CompletableFuture.supplyAsync(
+            () -> calibrate(definition, marketData, ratesProvider, refData, cache), executor));
+      }
+    }
+    // the failure of a legal entity does not prevent the calibration of the others
+    Map<StandardId, LegalEntitySurvivalProbabilities> curves = new LinkedHashMap<>();
+    Map<StandardId, Failure> failures = new LinkedHashMap<>();
+    for (Map.Entry<StandardId, CompletableFuture<LegalEntitySurvivalProbabilities>> entry : futures.entrySet()) {
+      StandardId legalEntityId = entry.getKey();
+      try {
+        curves.put(legalEntityId, join(entry.getValue()));
+      } catch (RuntimeException ex) {
+        failures.put(legalEntityId, Failure.of(
+            FailureReason.CALCULATION_FAILED,
+            ex,
+            "Unable to calibrate the credit curve of legal entity {}: {}",
+            legalEntityId,
+            ex.getMessage()));
+        inputs.remove(legalEntityId);
+        calibrated.remove(legalEntityId);
+      }
+    }
+    return IsdaCreditCurveBatchResult.of(curves, failures, inputs, calibrated);
+  }
+
+  // obtains a future completed by the exception
+  private static <T> CompletableFuture<T> failedFuture(RuntimeException ex) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    future.completeExceptionally(ex);
+    return future;
+  }
+
+  // joins the future, unwrapping the exception of the calibration
+  private static <T> T join(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) ex.getCause();
+      }
+      throw ex;
+    }
+  }
+
+  // extracts the CDS nodes of the curve definition
+  private static ImmutableList<CdsIsdaCreditCurveNode> cdsNodes(IsdaCreditCurveDefinition curveDefinition) {
+    return curveDefinition.getCurveNodes().stream()
+        .filter(n -> n instanceof CdsIsdaCreditCurveNode)
+        .map(n -> (CdsIsdaCreditCurveNode) n)
+        .collect(Guavate.toImmutableList());
+  }
+
+  //-------------------------------------------------------------------------
   LegalEntitySurvivalProbabilities calibrate(
       List<CdsIsdaCreditCurveNode> curveNodes,
       CurveName name,
@@ -183,6 +353,32 @@ public abstract class IsdaCompliantCreditCurveCalibrator {
       boolean storeTrade,
       ReferenceData refData) {
 
+    return calibrate(
+        curveNodes,
+        name,
+        marketData,
+        ratesProvider,
+        definitionDayCount,
+        definitionCurrency,
+        computeJacobian,
+        storeTrade,
+        refData,
+        new HashMap<>());
+  }
+
+  // calibrates the curve, the cache holding the data shared by the curves of a batch
+  private LegalEntitySurvivalProbabilities calibrate(
+      List<CdsIsdaCreditCurveNode> curveNodes,
+      CurveName name,
+      MarketData marketData,
+      ImmutableCreditRatesProvider ratesProvider,
+      DayCount definitionDayCount,
+      Currency definitionCurrency,
+      boolean computeJacobian,
+      boolean storeTrade,
+      ReferenceData refData,
+      Map<Object, Object> cache) {
+
     Iterator<StandardId> legalEntities =
         curveNodes.stream().map(CdsIsdaCreditCurveNode::getLegalEntityId).collect(Collectors.toSet()).iterator();
     StandardId legalEntityId = legalEntities.next();
@@ -235,7 +431,8 @@ public abstract class IsdaCompliantCreditCurveCalibrator {
         valuationDate,
         discountFactors,
         recoveryRates,
-        refData);
+        refData,
+        cache);
 
     if (computeJacobian) {
       LegalEntitySurvivalProbabilities creditCurve = LegalEntitySurvivalProbabilities.of(
@@ -320,6 +517,47 @@ public abstract class IsdaCompliantCreditCurveCalibrator {
       RecoveryRates recoveryRates,
       ReferenceData refData);
 
+  /**
+   * Calibrate the ISDA compliant credit curve to points upfront and fractional spread,
+   * sharing data between the curves of a batch.
+   * <p>
+   * The cache is shared by the calibration of several curves, possibly from several threads,
+   * and can hold data derived from the discount curve, such as the integration schedules.
+   * By default, the cache is not used.
+   * 
+   * @param calibrationCDSs  the calibration CDS
+   * @param flactionalSpreads  the fractional spreads
+   * @param pointsUpfront  the points upfront values
+   * @param name  the curve name
+   * @param valuationDate  the valuation date
+   * @param discountFactors  the discount factors
+   * @param recoveryRates  the recovery rates
+   * @param refData  the reference data
+   * @param cache  the cache shared by the curves of the batch
+   * @return the ISDA compliant credit curve
+   */
+  NodalCurve calibrate(
+      List<ResolvedCdsTrade> calibrationCDSs,
+      DoubleArray flactionalSpreads,
+      DoubleArray pointsUpfront,
+      CurveName name,
+      LocalDate valuationDate,
+      CreditDiscountFactors discountFactors,
+      RecoveryRates recoveryRates,
+      ReferenceData refData,
+      Map<Object, Object> cache) {
+
+    return calibrate(
+        calibrationCDSs,
+        flactionalSpreads,
+        pointsUpfront,
+        name,
+        valuationDate,
+        discountFactors,
+        recoveryRates,
+        refData);
+  }
+
   private double[] getStandardQuoteForm(ResolvedCdsTrade calibrationCds, CdsQuote marketQuote, LocalDate valuationDate,
       CreditDiscountFactors discountFactors, RecoveryRates recoveryRates, boolean computeJacobian, ReferenceData refData) {
 
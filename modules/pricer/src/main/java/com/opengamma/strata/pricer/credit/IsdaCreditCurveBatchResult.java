@@ -0,0 +1,282 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.credit;
+
+import java.io.Serializable;
+import java.lang.invoke.MethodHandles;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaBean;
+import org.joda.beans.TypedMetaBean;
+import org.joda.beans.gen.BeanDefinition;
+import org.joda.beans.gen.PropertyDefinition;
+import org.joda.beans.impl.light.LightMetaBean;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.result.Failure;
+import com.opengamma.strata.collect.tuple.Pair;
+
+/**
+ * The result of the batch calibration of credit curves.
+ * <p>
+ * This holds the calibrated curve of each legal entity, together with the inputs of the calibration.
+ * The calibration of a legal entity that fails does not prevent the calibration of the others,
+ * the failure is held in place of the curve.
+ * The inputs allow a subsequent batch calibration to skip the legal entities whose inputs are unchanged,
+ * see {@link IsdaCompliantCreditCurveCalibrator#calibrate(Map, com.opengamma.strata.data.MarketData,
+ * ImmutableCreditRatesProvider, IsdaCreditCurveBatchResult, java.util.concurrent.Executor,
+ * com.opengamma.strata.basics.ReferenceData)}.
+ */
+@BeanDefinition(style = "light")
+public final class IsdaCreditCurveBatchResult
+    implements ImmutableBean, Serializable {
+
+  /**
+   * An empty result.
+   */
+  private static final IsdaCreditCurveBatchResult EMPTY =
+      new IsdaCreditCurveBatchResult(ImmutableMap.of(), ImmutableMap.of(), ImmutableMap.of(), ImmutableSet.of());
+
+  /**
+   * The credit curves, keyed by legal entity.
+   * <p>
+   * This holds the legal entities whose curve is available.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ImmutableMap<StandardId, LegalEntitySurvivalProbabilities> curves;
+  /**
+   * The failures, keyed by legal entity.
+   * <p>
+   * This holds the legal entities whose curve could not be calibrated.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ImmutableMap<StandardId, Failure> failures;
+  /**
+   * The inputs of the calibration, keyed by legal entity.
+   */
+  @PropertyDefinition(validate = "notNull", get = "private")
+  private final ImmutableMap<StandardId, IsdaCreditCurveCalibrationInputs> inputs;
+  /**
+   * The legal entities whose curve has been calibrated, rather than reused from a prior result.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ImmutableSet<StandardId> calibrated;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an empty result.
+   * <p>
+   * This is used as the prior result of the first batch calibration.
+   *
+   * @return the empty result
+   */
+  public static IsdaCreditCurveBatchResult empty() {
+    return EMPTY;
+  }
+
+  // obtains an instance
+  static IsdaCreditCurveBatchResult of(
+      Map<StandardId, LegalEntitySurvivalProbabilities> curves,
+      Map<StandardId, Failure> failures,
+      Map<StandardId, IsdaCreditCurveCalibrationInputs> inputs,
+      Set<StandardId> calibrated) {
+
+    return new IsdaCreditCurveBatchResult(curves, failures, inputs, calibrated);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the credit curve of a legal entity.
+   *
+   * @param legalEntityId  the legal entity identifier
+   * @return the credit curve
+   * @throws IllegalArgumentException if the curve is not available, including if its calibration failed
+   */
+  public LegalEntitySurvivalProbabilities getCurve(StandardId legalEntityId) {
+    LegalEntitySurvivalProbabilities curve = curves.get(legalEntityId);
+    if (curve == null) {
+      Failure failure = failures.get(legalEntityId);
+      throw new IllegalArgumentException(failure != null ?
+          Messages.format("Credit curve calibration failed for legal entity {}: {}", legalEntityId, failure.getMessage()) :
+          Messages.format("Credit curve not found for legal entity {}", legalEntityId));
+    }
+    return curve;
+  }
+
+  /**
+   * Checks if the calibration of any legal entity failed.
+   *
+   * @return true if the failures are not empty
+   */
+  public boolean hasFailures() {
+    return !failures.isEmpty();
+  }
+
+  /**
+   * Returns the credit curves keyed as expected by {@link ImmutableCreditRatesProvider}.
+   *
+   * @return the credit curves, keyed by legal entity and currency
+   */
+  public ImmutableMap<Pair<StandardId, Currency>, LegalEntitySurvivalProbabilities> toCreditCurves() {
+    ImmutableMap.Builder<Pair<StandardId, Currency>, LegalEntitySurvivalProbabilities> builder = ImmutableMap.builder();
+    for (Map.Entry<StandardId, LegalEntitySurvivalProbabilities> entry : curves.entrySet()) {
+      builder.put(Pair.of(entry.getKey(), entry.getValue().getCurrency()), entry.getValue());
+    }
+    return builder.build();
+  }
+
+  // finds the curve of the legal entity if the inputs are unchanged
+  Optional<LegalEntitySurvivalProbabilities> findUnchanged(
+      StandardId legalEntityId,
+      IsdaCreditCurveCalibrationInputs current) {
+
+    IsdaCreditCurveCalibrationInputs prior = inputs.get(legalEntityId);
+    return current.equals(prior) ? Optional.of(curves.get(legalEntityId)) : Optional.empty();
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  /**
+   * The meta-bean for {@code IsdaCreditCurveBatchResult}.
+   */
+  private static final TypedMetaBean<IsdaCreditCurveBatchResult> META_BEAN =
+      LightMetaBean.of(
+          IsdaCreditCurveBatchResult.class,
+          MethodHandles.lookup(),
+          new String[] {
+              "curves",
+              "failures",
+              "inputs",
+              "calibrated"},
+          ImmutableMap.of(),
+          ImmutableMap.of(),
+          ImmutableMap.of(),
+          ImmutableSet.of());
+
+  /**
+   * The meta-bean for {@code IsdaCreditCurveBatchResult}.
+   * @return the meta-bean, not null
+   */
+  public static TypedMetaBean<IsdaCreditCurveBatchResult> meta() {
+    return META_BEAN;
+  }
+
+  static {
+    MetaBean.register(META_BEAN);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  private IsdaCreditCurveBatchResult(
+      Map<StandardId, LegalEntitySurvivalProbabilities> curves,
+      Map<StandardId, Failure> failures,
+      Map<StandardId, IsdaCreditCurveCalibrationInputs> inputs,
+      Set<StandardId> calibrated) {
+    JodaBeanUtils.notNull(curves, "curves");
+    JodaBeanUtils.notNull(failures, "failures");
+    JodaBeanUtils.notNull(inputs, "inputs");
+    JodaBeanUtils.notNull(calibrated, "calibrated");
+    this.curves = ImmutableMap.copyOf(curves);
+    this.failures = ImmutableMap.copyOf(failures);
+    this.inputs = ImmutableMap.copyOf(inputs);
+    this.calibrated = ImmutableSet.copyOf(calibrated);
+  }
+
+  @Override
+  public TypedMetaBean<IsdaCreditCurveBatchResult> metaBean() {
+    return META_BEAN;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the credit curves, keyed by legal entity.
+   * <p>
+   * This holds the legal entities whose curve is available.
+   * @return the value of the property, not null
+   */
+  public ImmutableMap<StandardId, LegalEntitySurvivalProbabilities> getCurves() {
+    return curves;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the failures, keyed by legal entity.
+   * <p>
+   * This holds the legal entities whose curve could not be calibrated.
+   * @return the value of the property, not null
+   */
+  public ImmutableMap<StandardId, Failure> getFailures() {
+    return failures;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the inputs of the calibration, keyed by legal entity.
+   * @return the value of the property, not null
+   */
+  private ImmutableMap<StandardId, IsdaCreditCurveCalibrationInputs> getInputs() {
+    return inputs;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the legal entities whose curve has been calibrated, rather than reused from a prior result.
+   * @return the value of the property, not null
+   */
+  public ImmutableSet<StandardId> getCalibrated() {
+    return calibrated;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      IsdaCreditCurveBatchResult other = (IsdaCreditCurveBatchResult) obj;
+      return JodaBeanUtils.equal(curves, other.curves) &&
+          JodaBeanUtils.equal(failures, other.failures) &&
+          JodaBeanUtils.equal(inputs, other.inputs) &&
+          JodaBeanUtils.equal(calibrated, other.calibrated);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(curves);
+    hash = hash * 31 + JodaBeanUtils.hashCode(failures);
+    hash = hash * 31 + JodaBeanUtils.hashCode(inputs);
+    hash = hash * 31 + JodaBeanUtils.hashCode(calibrated);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(160);
+    buf.append("IsdaCreditCurveBatchResult{");
+    buf.append("curves").append('=').append(curves).append(',').append(' ');
+    buf.append("failures").append('=').append(failures).append(',').append(' ');
+    buf.append("inputs").append('=').append(inputs).append(',').append(' ');
+    buf.append("calibrated").append('=').append(JodaBeanUtils.toString(calibrated));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-------------------------- AUTOGENERATED END --------------------------
+}
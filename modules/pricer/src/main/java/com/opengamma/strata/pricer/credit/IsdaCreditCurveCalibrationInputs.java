@@ -0,0 +1,187 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.credit;
+
+import java.io.Serializable;
+import java.lang.invoke.MethodHandles;
+
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaBean;
+import org.joda.beans.TypedMetaBean;
+import org.joda.beans.gen.BeanDefinition;
+import org.joda.beans.gen.PropertyDefinition;
+import org.joda.beans.impl.light.LightMetaBean;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.market.curve.IsdaCreditCurveDefinition;
+
+/**
+ * The inputs of the calibration of a single credit curve.
+ * <p>
+ * The curve is unchanged if the definition, the quotes of the nodes, the discount curve
+ * and the recovery rates are unchanged.
+ */
+@BeanDefinition(style = "light", constructorScope = "package")
+final class IsdaCreditCurveCalibrationInputs
+    implements ImmutableBean, Serializable {
+
+  /**
+   * The curve definition.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final IsdaCreditCurveDefinition definition;
+  /**
+   * The quotes of the nodes, in the order of the nodes of the definition.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final DoubleArray quotes;
+  /**
+   * The discount factors.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final CreditDiscountFactors discountFactors;
+  /**
+   * The recovery rates.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final RecoveryRates recoveryRates;
+
+  //------------------------- AUTOGENERATED START -------------------------
+  /**
+   * The meta-bean for {@code IsdaCreditCurveCalibrationInputs}.
+   */
+  private static final TypedMetaBean<IsdaCreditCurveCalibrationInputs> META_BEAN =
+      LightMetaBean.of(
+          IsdaCreditCurveCalibrationInputs.class,
+          MethodHandles.lookup(),
+          new String[] {
+              "definition",
+              "quotes",
+              "discountFactors",
+              "recoveryRates"},
+          new Object[0]);
+
+  /**
+   * The meta-bean for {@code IsdaCreditCurveCalibrationInputs}.
+   * @return the meta-bean, not null
+   */
+  public static TypedMetaBean<IsdaCreditCurveCalibrationInputs> meta() {
+    return META_BEAN;
+  }
+
+  static {
+    MetaBean.register(META_BEAN);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Creates an instance.
+   * @param definition  the value of the property, not null
+   * @param quotes  the value of the property, not null
+   * @param discountFactors  the value of the property, not null
+   * @param recoveryRates  the value of the property, not null
+   */
+  IsdaCreditCurveCalibrationInputs(
+      IsdaCreditCurveDefinition definition,
+      DoubleArray quotes,
+      CreditDiscountFactors discountFactors,
+      RecoveryRates recoveryRates) {
+    JodaBeanUtils.notNull(definition, "definition");
+    JodaBeanUtils.notNull(quotes, "quotes");
+    JodaBeanUtils.notNull(discountFactors, "discountFactors");
+    JodaBeanUtils.notNull(recoveryRates, "recoveryRates");
+    this.definition = definition;
+    this.quotes = quotes;
+    this.discountFactors = discountFactors;
+    this.recoveryRates = recoveryRates;
+  }
+
+  @Override
+  public TypedMetaBean<IsdaCreditCurveCalibrationInputs> metaBean() {
+    return META_BEAN;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the curve definition.
+   * @return the value of the property, not null
+   */
+  public IsdaCreditCurveDefinition getDefinition() {
+    return definition;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the quotes of the nodes, in the order of the nodes of the definition.
+   * @return the value of the property, not null
+   */
+  public DoubleArray getQuotes() {
+    return quotes;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the discount factors.
+   * @return the value of the property, not null
+   */
+  public CreditDiscountFactors getDiscountFactors() {
+    return discountFactors;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the recovery rates.
+   * @return the value of the property, not null
+   */
+  public RecoveryRates getRecoveryRates() {
+    return recoveryRates;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      IsdaCreditCurveCalibrationInputs other = (IsdaCreditCurveCalibrationInputs) obj;
+      return JodaBeanUtils.equal(definition, other.definition) &&
+          JodaBeanUtils.equal(quotes, other.quotes) &&
+          JodaBeanUtils.equal(discountFactors, other.discountFactors) &&
+          JodaBeanUtils.equal(recoveryRates, other.recoveryRates);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(definition);
+    hash = hash * 31 + JodaBeanUtils.hashCode(quotes);
+    hash = hash * 31 + JodaBeanUtils.hashCode(discountFactors);
+    hash = hash * 31 + JodaBeanUtils.hashCode(recoveryRates);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(160);
+    buf.append("IsdaCreditCurveCalibrationInputs{");
+    buf.append("definition").append('=').append(definition).append(',').append(' ');
+    buf.append("quotes").append('=').append(quotes).append(',').append(' ');
+    buf.append("discountFactors").append('=').append(discountFactors).append(',').append(' ');
+    buf.append("recoveryRates").append('=').append(JodaBeanUtils.toString(recoveryRates));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-------------------------- AUTOGENERATED END --------------------------
+}
@@ -31,6 +31,7 @@ import com.opengamma.strata.market.curve.CurveParameterSize;
 import com.opengamma.strata.market.curve.JacobianCalibrationMatrix;
 import com.opengamma.strata.market.observable.IndexQuoteId;
 import com.opengamma.strata.math.impl.matrix.CommonsMatrixAlgebra;
+import com.opengamma.strata.math.impl.matrix.DenseMatrixAlgebra;
 import com.opengamma.strata.math.impl.matrix.MatrixAlgebra;
 import com.opengamma.strata.math.rootfind.NewtonVectorRootFinder;
 import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
@@ -60,9 +61,13 @@ public final class CurveCalibrator {
   private static final CurveCalibrator STANDARD =
       CurveCalibrator.of(1e-9, 1e-9, 1000, CalibrationMeasures.PAR_SPREAD, CalibrationMeasures.PRESENT_VALUE);
   /**
-   * The matrix algebra used for matrix inversion.
+   * The matrix algebra used for matrix inversion and multiplication.
    */
-  private static final MatrixAlgebra MATRIX_ALGEBRA = new CommonsMatrixAlgebra();
+  private static final MatrixAlgebra MATRIX_ALGEBRA = new DenseMatrixAlgebra();
+  /**
+   * The matrix algebra used for the pseudo-inverse of singular matrices.
+   */
+  private static final MatrixAlgebra SINGULAR_MATRIX_ALGEBRA = new CommonsMatrixAlgebra();
 
   /**
    * The root finder used for curve calibration.
@@ -95,7 +100,7 @@ public final class CurveCalibrator {
   /**
    * Obtains an instance specifying tolerances to use.
    * <p>
-   * This uses a Broyden root finder.
+   * This uses a Newton root finder, exploiting the block triangular structure of the calibration Jacobian.
    * The standard {@link CalibrationMeasures#PAR_SPREAD} and {@link CalibrationMeasures#PRESENT_VALUE} measures are used.
    *
    * @param toleranceAbs  the absolute tolerance
@@ -114,7 +119,7 @@ public final class CurveCalibrator {
   /**
    * Obtains an instance specifying tolerances and measures to use.
    * <p>
-   * This uses a Broyden root finder.
+   * This uses a Newton root finder, exploiting the block triangular structure of the calibration Jacobian.
    * The standard {@link CalibrationMeasures#PRESENT_VALUE} measures are used.
    *
    * @param toleranceAbs  the absolute tolerance
@@ -135,7 +140,7 @@ public final class CurveCalibrator {
   /**
    * Obtains an instance specifying tolerances and measures to use.
    * <p>
-   * This uses a Broyden root finder.
+   * This uses a Newton root finder, exploiting the block triangular structure of the calibration Jacobian.
    *
    * @param toleranceAbs  the absolute tolerance
    * @param toleranceRel  the relative tolerance
@@ -152,7 +157,7 @@ public final class CurveCalibrator {
       CalibrationMeasures measures,
       CalibrationMeasures pvMeasures) {
 
-    NewtonVectorRootFinder rootFinder = NewtonVectorRootFinder.broyden(toleranceAbs, toleranceRel, stepMaximum);
+    NewtonVectorRootFinder rootFinder = NewtonVectorRootFinder.sparseNewton(toleranceAbs, toleranceRel, stepMaximum);
     return new CurveCalibrator(rootFinder, measures, pvMeasures);
   }
 
@@ -408,7 +413,16 @@ public final class CurveCalibrator {
     for (int i = 0; i < nbTrades; i++) {
       System.arraycopy(res.rowArray(i), totalParamsPrevious, direct[i], 0, totalParamsGroup);
     }
-    return MATRIX_ALGEBRA.getInverse(DoubleMatrix.copyOf(direct));
+    return inverse(DoubleMatrix.ofUnsafe(direct));
+  }
+
+  // inverts using the LU decomposition, using the SVD pseudo-inverse if the matrix is singular
+  private static DoubleMatrix inverse(DoubleMatrix matrix) {
+    try {
+      return MATRIX_ALGEBRA.getInverse(matrix);
+    } catch (IllegalArgumentException ex) {
+      return SINGULAR_MATRIX_ALGEBRA.getInverse(matrix);
+    }
   }
 
   // jacobian indirect, merging groups
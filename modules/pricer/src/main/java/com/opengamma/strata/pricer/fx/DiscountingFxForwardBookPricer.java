@@ -0,0 +1,297 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.fx;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyPair;
+import com.opengamma.strata.basics.currency.Payment;
+import com.opengamma.strata.basics.index.FxIndexObservation;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+import com.opengamma.strata.product.fx.ResolvedFxNdf;
+import com.opengamma.strata.product.fx.ResolvedFxSingle;
+
+/**
+ * Pricer for a book of FX forwards or NDFs across scenarios.
+ * <p>
+ * This computes the same present value and currency exposure as {@link DiscountingFxSingleProductPricer}
+ * and {@link DiscountingFxNdfProductPricer}, for many trades and scenarios at once.
+ * <p>
+ * The trades of a book share a small number of currencies and payment dates.
+ * The discount factor of each distinct currency and date, and the FX rate of each distinct currency pair,
+ * are computed once per scenario, as is whether each distinct FX index observation has fixed.
+ * Each trade is then priced in all scenarios with a few multiplications, and each measure is
+ * returned as a matrix of trades by scenarios, without creating an intermediate object per trade.
+ * <p>
+ * The PV01 is the sensitivity of the present value to a one basis point parallel shift of the
+ * continuously compounded zero rates of all discount curves, expressed in the currency of the sensitivity.
+ * For curves interpolated on zero rates with an interpolator whose weights sum to one, such as linear,
+ * it is equal to the sum of the sensitivities to the curve parameters.
+ * <p>
+ * In a scenario where the valuation date is after the payment date of a trade,
+ * all the measures of the trade are zero.
+ */
+public final class DiscountingFxForwardBookPricer {
+
+  /**
+   * Default implementation.
+   */
+  public static final DiscountingFxForwardBookPricer DEFAULT = new DiscountingFxForwardBookPricer();
+
+  /**
+   * One basis point, expressed as a {@code double}.
+   */
+  private static final double ONE_BASIS_POINT = 1e-4;
+
+  /**
+   * Creates an instance.
+   */
+  public DiscountingFxForwardBookPricer() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value, currency exposure and PV01 of several FX forwards in several scenarios.
+   * <p>
+   * Each payment is discounted in its own currency.
+   *
+   * @param forwards  the FX forwards
+   * @param ratesProviders  the rates provider of each scenario
+   * @return the measures of each forward, one value per scenario
+   */
+  public FxForwardBookResult calculate(
+      List<ResolvedFxSingle> forwards,
+      List<? extends RatesProvider> ratesProviders) {
+
+    ArgChecker.noNulls(forwards, "forwards");
+    ArgChecker.noNulls(ratesProviders, "ratesProviders");
+    ArgChecker.notEmpty(ratesProviders, "ratesProviders");
+    DiscountFactorGrid grid = new DiscountFactorGrid();
+    int[][] points = new int[forwards.size()][];
+    for (int i = 0; i < forwards.size(); i++) {
+      ResolvedFxSingle fx = forwards.get(i);
+      points[i] = new int[] {
+          grid.point(fx.getBaseCurrencyPayment().getCurrency(), fx.getPaymentDate()),
+          grid.point(fx.getCounterCurrencyPayment().getCurrency(), fx.getPaymentDate())};
+    }
+    grid.populate(ratesProviders);
+
+    int nbTrades = forwards.size();
+    int nbScenarios = ratesProviders.size();
+    double[][][] pv = new double[2][nbTrades][nbScenarios];
+    double[][][] pv01 = new double[2][nbTrades][nbScenarios];
+    ImmutableList.Builder<CurrencyPair> currencyPairs = ImmutableList.builder();
+    for (int i = 0; i < nbTrades; i++) {
+      ResolvedFxSingle fx = forwards.get(i);
+      Payment[] payments = {fx.getBaseCurrencyPayment(), fx.getCounterCurrencyPayment()};
+      currencyPairs.add(CurrencyPair.of(payments[0].getCurrency(), payments[1].getCurrency()));
+      for (int k = 0; k < payments.length; k++) {
+        double amount = payments[k].getAmount();
+        double[] dfs = grid.discountFactors[points[i][k]];
+        double[] times = grid.yearFractions[points[i][k]];
+        double[] pvValues = pv[k][i];
+        double[] pv01Values = pv01[k][i];
+        for (int s = 0; s < nbScenarios; s++) {
+          pvValues[s] = amount * dfs[s];
+          pv01Values[s] = -times[s] * pvValues[s] * ONE_BASIS_POINT;
+        }
+      }
+    }
+    ImmutableList<DoubleMatrix> pvList = ImmutableList.of(DoubleMatrix.ofUnsafe(pv[0]), DoubleMatrix.ofUnsafe(pv[1]));
+    ImmutableList<DoubleMatrix> pv01List =
+        ImmutableList.of(DoubleMatrix.ofUnsafe(pv01[0]), DoubleMatrix.ofUnsafe(pv01[1]));
+    return FxForwardBookResult.of(nbScenarios, currencyPairs.build(), pvList, pvList, pv01List);
+  }
+
+  /**
+   * Calculates the present value, currency exposure and PV01 of several NDFs in several scenarios.
+   * <p>
+   * The present value of each NDF is in its settlement currency.
+   * The forward rate is derived from the FX rate and the discount factors on the maturity date of the observation,
+   * unless the index has fixed, in which case the fixing is used.
+   *
+   * @param ndfs  the NDFs
+   * @param ratesProviders  the rates provider of each scenario
+   * @return the measures of each NDF, one value per scenario
+   */
+  public FxForwardBookResult calculateNdf(
+      List<ResolvedFxNdf> ndfs,
+      List<? extends RatesProvider> ratesProviders) {
+
+    ArgChecker.noNulls(ndfs, "ndfs");
+    ArgChecker.noNulls(ratesProviders, "ratesProviders");
+    ArgChecker.notEmpty(ratesProviders, "ratesProviders");
+    DiscountFactorGrid grid = new DiscountFactorGrid();
+    int[][] points = new int[ndfs.size()][];
+    int[] pairs = new int[ndfs.size()];
+    int[] observations = new int[ndfs.size()];
+    for (int i = 0; i < ndfs.size(); i++) {
+      ResolvedFxNdf ndf = ndfs.get(i);
+      LocalDate maturityDate = ndf.getObservation().getMaturityDate();
+      points[i] = new int[] {
+          grid.point(ndf.getSettlementCurrency(), ndf.getPaymentDate()),
+          grid.point(ndf.getNonDeliverableCurrency(), ndf.getPaymentDate()),
+          grid.point(ndf.getSettlementCurrency(), maturityDate),
+          grid.point(ndf.getNonDeliverableCurrency(), maturityDate)};
+      pairs[i] = grid.pair(ndf.getSettlementCurrency(), ndf.getNonDeliverableCurrency());
+      observations[i] = grid.observation(ndf.getObservation());
+    }
+    grid.populate(ratesProviders);
+
+    int nbTrades = ndfs.size();
+    int nbScenarios = ratesProviders.size();
+    double[][] pv = new double[nbTrades][nbScenarios];
+    double[][] exposureSettle = new double[nbTrades][nbScenarios];
+    double[][] exposureOther = new double[nbTrades][nbScenarios];
+    double[][] pv01 = new double[nbTrades][nbScenarios];
+    ImmutableList.Builder<CurrencyPair> currencyPairs = ImmutableList.builder();
+    for (int i = 0; i < nbTrades; i++) {
+      ResolvedFxNdf ndf = ndfs.get(i);
+      Currency ccySettle = ndf.getSettlementCurrency();
+      Currency ccyOther = ndf.getNonDeliverableCurrency();
+      currencyPairs.add(CurrencyPair.of(ccySettle, ccyOther));
+      boolean indexBase = ccySettle.equals(ndf.getObservation().getCurrencyPair().getBase());
+      double notional = ndf.getSettlementNotional();
+      double agreedRate = ndf.getAgreedFxRate().fxRate(ccySettle, ccyOther);
+      double[] dfSettle = grid.discountFactors[points[i][0]];
+      double[] dfOther = grid.discountFactors[points[i][1]];
+      double[] dfSettleMaturity = grid.discountFactors[points[i][2]];
+      double[] dfOtherMaturity = grid.discountFactors[points[i][3]];
+      double[] fxRates = grid.fxRates[pairs[i]];
+      boolean[] fixed = grid.fixed[observations[i]];
+      for (int s = 0; s < nbScenarios; s++) {
+        RatesProvider provider = ratesProviders.get(s);
+        if (provider.getValuationDate().isAfter(ndf.getPaymentDate())) {
+          continue;
+        }
+        double forwardRate;
+        if (fixed[s]) {
+          double fixing = grid.fixing(observations[i], s, provider);
+          forwardRate = indexBase ? fixing : 1d / fixing;
+        } else {
+          forwardRate = fxRates[s] * dfSettleMaturity[s] / dfOtherMaturity[s];
+        }
+        double ratio = agreedRate / forwardRate;
+        pv[i][s] = notional * dfSettle[s] * (1d - ratio);
+        exposureSettle[i][s] = notional * dfSettle[s];
+        exposureOther[i][s] = -notional * agreedRate * dfOther[s];
+        // the forward rate moves with the zero rates on the maturity date, unless the index has fixed
+        double forwardSensitivity = fixed[s] ? 0d : notional * dfSettle[s] * ratio *
+            (grid.yearFractions[points[i][3]][s] - grid.yearFractions[points[i][2]][s]);
+        pv01[i][s] = (-grid.yearFractions[points[i][0]][s] * pv[i][s] + forwardSensitivity) * ONE_BASIS_POINT;
+      }
+    }
+    return FxForwardBookResult.of(
+        nbScenarios,
+        currencyPairs.build(),
+        ImmutableList.of(DoubleMatrix.ofUnsafe(pv)),
+        ImmutableList.of(DoubleMatrix.ofUnsafe(exposureSettle), DoubleMatrix.ofUnsafe(exposureOther)),
+        ImmutableList.of(DoubleMatrix.ofUnsafe(pv01)));
+  }
+
+  // checks if the index has fixed, matching the choice between fixing and forward rate in ForwardFxIndexRates
+  private static boolean isFixed(FxIndexObservation observation, RatesProvider provider) {
+    LocalDate fixingDate = observation.getFixingDate();
+    LocalDate valuationDate = provider.getValuationDate();
+    if (fixingDate.isAfter(valuationDate)) {
+      return false;
+    }
+    return fixingDate.isBefore(valuationDate) ||
+        provider.timeSeries(observation.getIndex()).get(fixingDate).isPresent();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The discount factors of the distinct currencies and dates, the FX rates of the distinct currency pairs,
+   * and whether each distinct FX index observation has fixed, in each scenario.
+   * <p>
+   * The discount factor and year fraction of a date before the valuation date are zero.
+   * The fixing of an observation is only looked up in the scenarios where it is used.
+   */
+  private static final class DiscountFactorGrid {
+
+    private final Map<Pair<Currency, LocalDate>, Integer> points = new LinkedHashMap<>();
+    private final Map<CurrencyPair, Integer> pairs = new LinkedHashMap<>();
+    private final Map<FxIndexObservation, Integer> observations = new LinkedHashMap<>();
+    private final List<FxIndexObservation> observationList = new ArrayList<>();
+    private double[][] discountFactors;
+    private double[][] yearFractions;
+    private double[][] fxRates;
+    private boolean[][] fixed;
+    private double[][] fixings;
+
+    // the index of the discount factor of a currency and date
+    private int point(Currency currency, LocalDate date) {
+      return points.computeIfAbsent(Pair.of(currency, date), k -> points.size());
+    }
+
+    // the index of the FX rate of a currency pair
+    private int pair(Currency base, Currency counter) {
+      return pairs.computeIfAbsent(CurrencyPair.of(base, counter), k -> pairs.size());
+    }
+
+    // the index of an FX index observation
+    private int observation(FxIndexObservation observation) {
+      return observations.computeIfAbsent(observation, k -> {
+        observationList.add(k);
+        return observationList.size() - 1;
+      });
+    }
+
+    // the fixing of an observation in a scenario, in the base currency of the index, looked up on first use
+    private double fixing(int observationIndex, int scenarioIndex, RatesProvider provider) {
+      double fixing = fixings[observationIndex][scenarioIndex];
+      if (Double.isNaN(fixing)) {
+        FxIndexObservation observation = observationList.get(observationIndex);
+        Currency base = observation.getCurrencyPair().getBase();
+        fixing = provider.fxIndexRates(observation.getIndex()).rate(observation, base);
+        fixings[observationIndex][scenarioIndex] = fixing;
+      }
+      return fixing;
+    }
+
+    // computes the discount factors and FX rates of each scenario
+    private void populate(List<? extends RatesProvider> ratesProviders) {
+      int nbScenarios = ratesProviders.size();
+      discountFactors = new double[points.size()][nbScenarios];
+      yearFractions = new double[points.size()][nbScenarios];
+      fxRates = new double[pairs.size()][nbScenarios];
+      fixed = new boolean[observationList.size()][nbScenarios];
+      fixings = new double[observationList.size()][nbScenarios];
+      for (int s = 0; s < nbScenarios; s++) {
+        RatesProvider provider = ratesProviders.get(s);
+        Map<Currency, DiscountFactors> curves = new HashMap<>();
+        for (Map.Entry<Pair<Currency, LocalDate>, Integer> entry : points.entrySet()) {
+          DiscountFactors dsc = curves.computeIfAbsent(entry.getKey().getFirst(), provider::discountFactors);
+          LocalDate date = entry.getKey().getSecond();
+          if (!date.isBefore(dsc.getValuationDate())) {
+            discountFactors[entry.getValue()][s] = dsc.discountFactor(date);
+            yearFractions[entry.getValue()][s] = dsc.relativeYearFraction(date);
+          }
+        }
+        for (Map.Entry<CurrencyPair, Integer> entry : pairs.entrySet()) {
+          fxRates[entry.getValue()][s] = provider.fxRate(entry.getKey());
+        }
+        for (int o = 0; o < observationList.size(); o++) {
+          fixed[o][s] = isFixed(observationList.get(o), provider);
+          fixings[o][s] = Double.NaN;
+        }
+      }
+    }
+  }
+
+}
@@ -0,0 +1,307 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.fx;
+
+import java.io.Serializable;
+import java.lang.invoke.MethodHandles;
+import java.util.List;
+
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaBean;
+import org.joda.beans.TypedMetaBean;
+import org.joda.beans.gen.BeanDefinition;
+import org.joda.beans.gen.ImmutableValidator;
+import org.joda.beans.gen.PropertyDefinition;
+import org.joda.beans.impl.light.LightMetaBean;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyPair;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
+
+/**
+ * The present value, currency exposure and PV01 of several FX forwards or NDFs in several scenarios,
+ * computed by {@link DiscountingFxForwardBookPricer}.
+ * <p>
+ * The trades are identified by their index in the list of trades,
+ * and the scenarios by their index in the list of rates providers.
+ * <p>
+ * Each measure is held in columns, as one matrix per currency slot with one row per trade
+ * and one column per scenario. The first slot holds the amounts in the base currency of the
+ * currency pair of each trade, and the second slot, if present, the amounts in the counter currency.
+ * For an NDF, the base currency is the settlement currency.
+ */
+@BeanDefinition(style = "light")
+public final class FxForwardBookResult
+    implements ImmutableBean, Serializable {
+
+  /**
+   * The number of scenarios.
+   */
+  @PropertyDefinition(validate = "ArgChecker.notNegativeOrZero")
+  private final int scenarioCount;
+  /**
+   * The currency pair of each trade, defining the currency of each slot.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ImmutableList<CurrencyPair> currencyPairs;
+  /**
+   * The present values, one matrix of trades by scenarios per currency slot.
+   */
+  @PropertyDefinition(validate = "notEmpty")
+  private final ImmutableList<DoubleMatrix> presentValues;
+  /**
+   * The currency exposures, one matrix of trades by scenarios per currency slot.
+   */
+  @PropertyDefinition(validate = "notEmpty")
+  private final ImmutableList<DoubleMatrix> currencyExposures;
+  /**
+   * The PV01s, one matrix of trades by scenarios per currency slot.
+   * <p>
+   * This is the sensitivity of the present value to a one basis point parallel shift of the zero rates.
+   */
+  @PropertyDefinition(validate = "notEmpty")
+  private final ImmutableList<DoubleMatrix> pv01s;
+
+  //-------------------------------------------------------------------------
+  // obtains an instance
+  static FxForwardBookResult of(
+      int scenarioCount,
+      List<CurrencyPair> currencyPairs,
+      List<DoubleMatrix> presentValues,
+      List<DoubleMatrix> currencyExposures,
+      List<DoubleMatrix> pv01s) {
+
+    return new FxForwardBookResult(scenarioCount, currencyPairs, presentValues, currencyExposures, pv01s);
+  }
+
+  @ImmutableValidator
+  private void validate() {
+    int tradeCount = currencyPairs.size();
+    for (List<DoubleMatrix> measure : ImmutableList.of(presentValues, currencyExposures, pv01s)) {
+      ArgChecker.isTrue(measure.size() <= 2, "A measure must have at most two currency slots");
+      for (DoubleMatrix matrix : measure) {
+        ArgChecker.isTrue(
+            matrix.rowCount() == tradeCount && (tradeCount == 0 || matrix.columnCount() == scenarioCount),
+            "Expected a matrix of {} trades by {} scenarios, but was {}x{}",
+            tradeCount,
+            scenarioCount,
+            matrix.rowCount(),
+            matrix.columnCount());
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of trades.
+   *
+   * @return the number of trades
+   */
+  public int getTradeCount() {
+    return currencyPairs.size();
+  }
+
+  /**
+   * Gets the present value of a trade, one value per scenario.
+   *
+   * @param tradeIndex  the index of the trade
+   * @return the present value
+   */
+  public MultiCurrencyScenarioArray getPresentValue(int tradeIndex) {
+    return tradeValues(presentValues, tradeIndex);
+  }
+
+  /**
+   * Gets the currency exposure of a trade, one value per scenario.
+   *
+   * @param tradeIndex  the index of the trade
+   * @return the currency exposure
+   */
+  public MultiCurrencyScenarioArray getCurrencyExposure(int tradeIndex) {
+    return tradeValues(currencyExposures, tradeIndex);
+  }
+
+  /**
+   * Gets the PV01 of a trade, one value per scenario.
+   * <p>
+   * This is the sensitivity of the present value to a one basis point parallel shift of the zero rates.
+   *
+   * @param tradeIndex  the index of the trade
+   * @return the PV01
+   */
+  public MultiCurrencyScenarioArray getPv01(int tradeIndex) {
+    return tradeValues(pv01s, tradeIndex);
+  }
+
+  // extracts the values of a trade from the slots of a measure
+  private MultiCurrencyScenarioArray tradeValues(List<DoubleMatrix> measure, int tradeIndex) {
+    ArgChecker.inRange(tradeIndex, 0, currencyPairs.size(), "tradeIndex");
+    CurrencyPair pair = currencyPairs.get(tradeIndex);
+    ImmutableMap.Builder<Currency, DoubleArray> builder = ImmutableMap.builder();
+    builder.put(pair.getBase(), measure.get(0).row(tradeIndex));
+    if (measure.size() > 1) {
+      builder.put(pair.getCounter(), measure.get(1).row(tradeIndex));
+    }
+    return MultiCurrencyScenarioArray.of(builder.build());
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  /**
+   * The meta-bean for {@code FxForwardBookResult}.
+   */
+  private static final TypedMetaBean<FxForwardBookResult> META_BEAN =
+      LightMetaBean.of(
+          FxForwardBookResult.class,
+          MethodHandles.lookup(),
+          new String[] {
+              "scenarioCount",
+              "currencyPairs",
+              "presentValues",
+              "currencyExposures",
+              "pv01s"},
+          0,
+          ImmutableList.of(),
+          ImmutableList.of(),
+          ImmutableList.of(),
+          ImmutableList.of());
+
+  /**
+   * The meta-bean for {@code FxForwardBookResult}.
+   * @return the meta-bean, not null
+   */
+  public static TypedMetaBean<FxForwardBookResult> meta() {
+    return META_BEAN;
+  }
+
+  static {
+    MetaBean.register(META_BEAN);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  private FxForwardBookResult(
+      int scenarioCount,
+      List<CurrencyPair> currencyPairs,
+      List<DoubleMatrix> presentValues,
+      List<DoubleMatrix> currencyExposures,
+      List<DoubleMatrix> pv01s) {
+    ArgChecker.notNegativeOrZero(scenarioCount, "scenarioCount");
+    JodaBeanUtils.notNull(currencyPairs, "currencyPairs");
+    JodaBeanUtils.notEmpty(presentValues, "presentValues");
+    JodaBeanUtils.notEmpty(currencyExposures, "currencyExposures");
+    JodaBeanUtils.notEmpty(pv01s, "pv01s");
+    this.scenarioCount = scenarioCount;
+    this.currencyPairs = ImmutableList.copyOf(currencyPairs);
+    this.presentValues = ImmutableList.copyOf(presentValues);
+    this.currencyExposures = ImmutableList.copyOf(currencyExposures);
+    this.pv01s = ImmutableList.copyOf(pv01s);
+    validate();
+  }
+
+  @Override
+  public TypedMetaBean<FxForwardBookResult> metaBean() {
+    return META_BEAN;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the number of scenarios.
+   * @return the value of the property
+   */
+  public int getScenarioCount() {
+    return scenarioCount;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the currency pair of each trade, defining the currency of each slot.
+   * @return the value of the property, not null
+   */
+  public ImmutableList<CurrencyPair> getCurrencyPairs() {
+    return currencyPairs;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the present values, one matrix of trades by scenarios per currency slot.
+   * @return the value of the property, not empty
+   */
+  public ImmutableList<DoubleMatrix> getPresentValues() {
+    return presentValues;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the currency exposures, one matrix of trades by scenarios per currency slot.
+   * @return the value of the property, not empty
+   */
+  public ImmutableList<DoubleMatrix> getCurrencyExposures() {
+    return currencyExposures;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the PV01s, one matrix of trades by scenarios per currency slot.
+   * <p>
+   * This is the sensitivity of the present value to a one basis point parallel shift of the zero rates.
+   * @return the value of the property, not empty
+   */
+  public ImmutableList<DoubleMatrix> getPv01s() {
+    return pv01s;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      FxForwardBookResult other = (FxForwardBookResult) obj;
+      return (scenarioCount == other.scenarioCount) &&
+          JodaBeanUtils.equal(currencyPairs, other.currencyPairs) &&
+          JodaBeanUtils.equal(presentValues, other.presentValues) &&
+          JodaBeanUtils.equal(currencyExposures, other.currencyExposures) &&
+          JodaBeanUtils.equal(pv01s, other.pv01s);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(scenarioCount);
+    hash = hash * 31 + JodaBeanUtils.hashCode(currencyPairs);
+    hash = hash * 31 + JodaBeanUtils.hashCode(presentValues);
+    hash = hash * 31 + JodaBeanUtils.hashCode(currencyExposures);
+    hash = hash * 31 + JodaBeanUtils.hashCode(pv01s);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(192);
+    buf.append("FxForwardBookResult{");
+    buf.append("scenarioCount").append('=').append(scenarioCount).append(',').append(' ');
+    buf.append("currencyPairs").append('=').append(currencyPairs).append(',').append(' ');
+    buf.append("presentValues").append('=').append(presentValues).append(',').append(' ');
+    buf.append("currencyExposures").append('=').append(currencyExposures).append(',').append(' ');
+    buf.append("pv01s").append('=').append(JodaBeanUtils.toString(pv01s));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-------------------------- AUTOGENERATED END --------------------------
+}
@@ -5,11 +5,16 @@
  */
 package com.opengamma.strata.pricer.fxopt;
 
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.math.DoubleMath;
 import com.opengamma.strata.basics.currency.Currency;
@@ -19,12 +24,14 @@ import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.basics.value.ValueDerivatives;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.market.curve.Curve;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
 import com.opengamma.strata.pricer.DiscountFactors;
 import com.opengamma.strata.pricer.impl.tree.ConstantContinuousSingleBarrierKnockoutFunction;
 import com.opengamma.strata.pricer.impl.tree.EuropeanVanillaOptionFunction;
-import com.opengamma.strata.pricer.impl.tree.TrinomialTree;
+import com.opengamma.strata.pricer.impl.tree.OptionFunction;
+import com.opengamma.strata.pricer.impl.tree.TrinomialLattice;
 import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.product.fx.ResolvedFxSingle;
@@ -42,10 +49,6 @@ import com.opengamma.strata.product.option.SimpleConstantContinuousBarrier;
  */
 public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer {
 
-  /**
-   * The trinomial tree.
-   */
-  private static final TrinomialTree TREE = new TrinomialTree();
   /**
    * Small parameter.
    */
@@ -196,6 +199,62 @@ public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer {
     return CurrencyAmount.of(underlyingOption.getCounterCurrency(), signedNotional(underlyingOption) * price);
   }
 
+  /**
+   * Calculates the present values of several FX barrier option products.
+   * <p>
+   * The present value of each product is the value on the valuation date.
+   * It is expressed in the counter currency.
+   * <p>
+   * The trinomial tree is calibrated once for each currency pair and expiry, then all the options sharing
+   * the tree are priced in a single backward induction on the calibrated lattice.
+   * The results are the same as those of
+   * {@link #presentValue(ResolvedFxSingleBarrierOption, RatesProvider, BlackFxOptionVolatilities)}.
+   *
+   * @param options  the option products
+   * @param ratesProvider  the rates provider
+   * @param volatilities  the Black volatility provider
+   * @return the present values of the products, in the order of the products
+   */
+  public List<CurrencyAmount> presentValues(
+      List<ResolvedFxSingleBarrierOption> options,
+      RatesProvider ratesProvider,
+      BlackFxOptionVolatilities volatilities) {
+
+    ArgChecker.notNull(options, "options");
+    Map<Pair<CurrencyPair, ZonedDateTime>, List<Integer>> groups = new LinkedHashMap<>();
+    for (int i = 0; i < options.size(); i++) {
+      ResolvedFxSingleBarrierOption option = options.get(i);
+      validate(option, ratesProvider, volatilities);
+      ResolvedFxVanillaOption underlyingOption = option.getUnderlyingOption();
+      Pair<CurrencyPair, ZonedDateTime> key =
+          Pair.of(underlyingOption.getUnderlying().getCurrencyPair(), underlyingOption.getExpiry());
+      groups.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+    }
+    CurrencyAmount[] result = new CurrencyAmount[options.size()];
+    for (List<Integer> group : groups.values()) {
+      RecombiningTrinomialTreeData treeData = calibrator.calibrateTrinomialTree(
+          options.get(group.get(0)).getUnderlyingOption(), ratesProvider, volatilities);
+      List<TreeFunctions> treeFunctions = new ArrayList<>(group.size());
+      List<OptionFunction> functions = new ArrayList<>();
+      for (int i : group) {
+        TreeFunctions optionFunctions = treeFunctions(options.get(i), ratesProvider, treeData);
+        treeFunctions.add(optionFunctions);
+        functions.addAll(optionFunctions.list());
+      }
+      List<ValueDerivatives> prices = TrinomialLattice.of(treeData).optionPricesAdjoint(functions);
+      int index = 0;
+      for (int k = 0; k < group.size(); k++) {
+        TreeFunctions optionFunctions = treeFunctions.get(k);
+        double price = optionFunctions.combine(prices, index).getValue();
+        index += optionFunctions.list().size();
+        ResolvedFxVanillaOption underlyingOption = options.get(group.get(k)).getUnderlyingOption();
+        result[group.get(k)] =
+            CurrencyAmount.of(underlyingOption.getCounterCurrency(), signedNotional(underlyingOption) * price);
+      }
+    }
+    return ImmutableList.copyOf(result);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Calculates the present value sensitivity of the FX barrier option product.
@@ -379,6 +438,17 @@ public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer {
 
     validate(option, ratesProvider, volatilities);
     validateData(option, ratesProvider, volatilities, data);
+    TreeFunctions functions = treeFunctions(option, ratesProvider, data);
+    List<ValueDerivatives> prices = TrinomialLattice.of(data).optionPricesAdjoint(functions.list());
+    return functions.combine(prices, 0);
+  }
+
+  // the option functions priced on the tree, and the in-out parity adjustments
+  private TreeFunctions treeFunctions(
+      ResolvedFxSingleBarrierOption option,
+      RatesProvider ratesProvider,
+      RecombiningTrinomialTreeData data) {
+
     int nSteps = data.getNumberOfSteps();
     ResolvedFxVanillaOption underlyingOption = option.getUnderlyingOption();
     double timeToExpiry = data.getTime(nSteps);
@@ -423,15 +493,12 @@ public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer {
         barrier.getBarrierType(),
         barrier.getBarrierLevel(),
         DoubleArray.ofUnsafe(rebateArray));
-    ValueDerivatives barrierPrice = TREE.optionPriceAdjoint(barrierFunction, data);
     if (barrier.getKnockType().isKnockIn()) {  // use in-out parity
       EuropeanVanillaOptionFunction vanillaFunction = EuropeanVanillaOptionFunction.of(
           underlyingOption.getStrike(), timeToExpiry, underlyingOption.getPutCall(), nSteps);
-      ValueDerivatives vanillaPrice = TREE.optionPriceAdjoint(vanillaFunction, data);
-      return ValueDerivatives.of(vanillaPrice.getValue() + rebateAtExpiry - barrierPrice.getValue(),
-          DoubleArray.of(vanillaPrice.getDerivative(0) + rebateAtExpiryDerivative - barrierPrice.getDerivative(0)));
+      return new TreeFunctions(barrierFunction, vanillaFunction, rebateAtExpiry, rebateAtExpiryDerivative);
     }
-    return barrierPrice;
+    return new TreeFunctions(barrierFunction, null, 0d, 0d);
   }
 
   //-------------------------------------------------------------------------
@@ -466,4 +533,43 @@ public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer {
         Math.abs(option.getUnderlying().getBaseCurrencyPayment().getAmount());
   }
 
+  //-------------------------------------------------------------------------
+  // the knock-out function and, for a knock-in option, the vanilla function and rebate of the in-out parity
+  private static final class TreeFunctions {
+    private final ConstantContinuousSingleBarrierKnockoutFunction barrierFunction;
+    private final EuropeanVanillaOptionFunction vanillaFunction;
+    private final double rebateAtExpiry;
+    private final double rebateAtExpiryDerivative;
+
+    private TreeFunctions(
+        ConstantContinuousSingleBarrierKnockoutFunction barrierFunction,
+        EuropeanVanillaOptionFunction vanillaFunction,
+        double rebateAtExpiry,
+        double rebateAtExpiryDerivative) {
+
+      this.barrierFunction = barrierFunction;
+      this.vanillaFunction = vanillaFunction;
+      this.rebateAtExpiry = rebateAtExpiry;
+      this.rebateAtExpiryDerivative = rebateAtExpiryDerivative;
+    }
+
+    // the functions to price, the barrier function being first
+    private List<OptionFunction> list() {
+      return vanillaFunction == null ?
+          ImmutableList.of(barrierFunction) :
+          ImmutableList.of(barrierFunction, vanillaFunction);
+    }
+
+    // combines the prices of the functions, starting at the specified index
+    private ValueDerivatives combine(List<ValueDerivatives> prices, int index) {
+      ValueDerivatives barrierPrice = prices.get(index);
+      if (vanillaFunction == null) {
+        return barrierPrice;
+      }
+      ValueDerivatives vanillaPrice = prices.get(index + 1);
+      return ValueDerivatives.of(vanillaPrice.getValue() + rebateAtExpiry - barrierPrice.getValue(),
+          DoubleArray.of(vanillaPrice.getDerivative(0) + rebateAtExpiryDerivative - barrierPrice.getDerivative(0)));
+    }
+  }
+
 }
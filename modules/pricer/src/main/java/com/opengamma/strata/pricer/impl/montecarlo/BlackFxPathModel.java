@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.montecarlo;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import com.opengamma.strata.basics.currency.CurrencyPair;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.math.impl.random.BrownianBridge;
+import com.opengamma.strata.pricer.fx.FxForwardRates;
+import com.opengamma.strata.pricer.fxopt.BlackFxOptionVolatilities;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+
+/**
+ * Black model of an FX rate observed at a set of times, with deterministic interest rates.
+ * <p>
+ * The FX rate at the observation time {@code t_i} is {@code F_i exp(X_i - v_i / 2)}, where {@code F_i} is
+ * the forward FX rate for that time, {@code v_i = sigma_i^2 t_i} the total implied variance and
+ * {@code X} a Brownian motion evaluated at the variances {@code v_i}.
+ * The implied volatilities thus form a term structure, the total variance being required to be strictly increasing.
+ * <p>
+ * The path contains the FX rates at the observation times. The Brownian motion is built either by the
+ * Brownian bridge construction, recommended for quasi-random numbers, or incrementally.
+ */
+public final class BlackFxPathModel
+    implements MonteCarloPathModel {
+
+  /**
+   * The observation times.
+   */
+  private final DoubleArray times;
+  /**
+   * The forward FX rates at the observation times.
+   */
+  private final double[] forwards;
+  /**
+   * The total variances at the observation times.
+   */
+  private final double[] variances;
+  /**
+   * The construction of the Brownian motion in variance time.
+   */
+  private final BrownianBridge bridge;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from times, forwards and implied volatilities.
+   *
+   * @param times  the strictly increasing positive observation times
+   * @param forwards  the forward FX rates at the observation times
+   * @param volatilities  the Black implied volatilities at the observation times
+   * @param useBridge  whether to use the Brownian bridge construction
+   * @return the instance
+   */
+  public static BlackFxPathModel of(
+      DoubleArray times,
+      DoubleArray forwards,
+      DoubleArray volatilities,
+      boolean useBridge) {
+
+    ArgChecker.notNull(times, "times");
+    ArgChecker.notNull(forwards, "forwards");
+    ArgChecker.notNull(volatilities, "volatilities");
+    ArgChecker.isTrue(forwards.size() == times.size(), "Number of forwards must match number of times");
+    ArgChecker.isTrue(volatilities.size() == times.size(), "Number of volatilities must match number of times");
+    DoubleArray variances = DoubleArray.of(times.size(), i -> volatilities.get(i) * volatilities.get(i) * times.get(i));
+    BrownianBridge bridge = useBridge ? BrownianBridge.of(variances) : BrownianBridge.ofIncremental(variances);
+    return new BlackFxPathModel(times, forwards.toArray(), variances.toArray(), bridge);
+  }
+
+  /**
+   * Obtains an instance from market data.
+   * <p>
+   * The forward FX rates are computed from the rates provider and the implied volatilities are
+   * taken from the volatilities at the strike.
+   *
+   * @param currencyPair  the currency pair, the path containing the rate of the base currency
+   * @param observationDateTimes  the observation date-times, in increasing order
+   * @param strike  the strike used to select the implied volatilities
+   * @param ratesProvider  the rates provider
+   * @param volatilities  the Black volatilities
+   * @param useBridge  whether to use the Brownian bridge construction
+   * @return the instance
+   */
+  public static BlackFxPathModel of(
+      CurrencyPair currencyPair,
+      List<ZonedDateTime> observationDateTimes,
+      double strike,
+      RatesProvider ratesProvider,
+      BlackFxOptionVolatilities volatilities,
+      boolean useBridge) {
+
+    ArgChecker.notNull(currencyPair, "currencyPair");
+    ArgChecker.notEmpty(observationDateTimes, "observationDateTimes");
+    FxForwardRates fxForwardRates = ratesProvider.fxForwardRates(currencyPair);
+    int n = observationDateTimes.size();
+    double[] times = new double[n];
+    double[] forwards = new double[n];
+    double[] vols = new double[n];
+    for (int i = 0; i < n; i++) {
+      ZonedDateTime dateTime = observationDateTimes.get(i);
+      times[i] = volatilities.relativeTime(dateTime);
+      forwards[i] = fxForwardRates.rate(currencyPair.getBase(), dateTime.toLocalDate());
+      vols[i] = volatilities.volatility(currencyPair, times[i], strike, forwards[i]);
+    }
+    return of(DoubleArray.ofUnsafe(times), DoubleArray.ofUnsafe(forwards), DoubleArray.ofUnsafe(vols), useBridge);
+  }
+
+  // restricted constructor
+  private BlackFxPathModel(DoubleArray times, double[] forwards, double[] variances, BrownianBridge bridge) {
+    this.times = times;
+    this.forwards = forwards;
+    this.variances = variances;
+    this.bridge = bridge;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the observation times.
+   *
+   * @return the times
+   */
+  public DoubleArray getTimes() {
+    return times;
+  }
+
+  @Override
+  public int getDimension() {
+    return forwards.length;
+  }
+
+  @Override
+  public int getPathSize() {
+    return forwards.length;
+  }
+
+  @Override
+  public void simulate(double[] normals, double[] path) {
+    bridge.buildPath(normals, path);
+    for (int i = 0; i < forwards.length; i++) {
+      path[i] = forwards[i] * Math.exp(path[i] - 0.5 * variances[i]);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "BlackFxPathModel{times=" + times + ", bridge=" + bridge.isBridge() + "}";
+  }
+
+}
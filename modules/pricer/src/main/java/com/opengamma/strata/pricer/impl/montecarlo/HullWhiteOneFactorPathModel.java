@@ -0,0 +1,227 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.montecarlo;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.math.impl.random.BrownianBridge;
+import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParameters;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParametersProvider;
+
+/**
+ * Hull-White one factor model with piecewise constant volatility, simulating discounted zero-coupon bonds.
+ * <p>
+ * The simulation is done in the forward measure associated to the bond maturing at the numeraire time
+ * {@code T_N}, which is the last bond maturity.
+ * For a simulation time {@code theta} and a bond maturity {@code u}, the path contains the discounted value
+ * {@code D(theta, u) = P(0, T_N) P(theta, u) / P(theta, T_N)}, which is given by
+ * {@code P(0, u) exp(-c(u) X(theta) - c(u)^2 V(theta) / 2)} with {@code c(u) = (exp(-a T_N) - exp(-a u)) / a},
+ * {@code V(theta)} the integral of {@code sigma(s)^2 exp(2 a s)} between 0 and {@code theta} and
+ * {@code X} a Brownian motion evaluated at the variances {@code V}.
+ * <p>
+ * The present value of a cash flow paid at {@code u} and fixed at {@code theta} is therefore the expectation
+ * of its amount multiplied by {@code D(theta, u)}. The values for bonds maturing before the simulation time
+ * have no financial meaning.
+ * <p>
+ * The value for the simulation time {@code j} and the bond {@code i} is at the index {@code j * n + i}
+ * of the path, where {@code n} is the number of bonds.
+ */
+public final class HullWhiteOneFactorPathModel
+    implements MonteCarloPathModel {
+
+  /**
+   * The simulation times.
+   */
+  private final DoubleArray simulationTimes;
+  /**
+   * The bond maturity times.
+   */
+  private final DoubleArray bondTimes;
+  /**
+   * The discount factors at the bond maturities.
+   */
+  private final double[] discountFactors;
+  /**
+   * The bond volatility factors, c(u).
+   */
+  private final double[] factors;
+  /**
+   * The variances at the simulation times, V(theta).
+   */
+  private final double[] variances;
+  /**
+   * The construction of the Brownian motion in variance time.
+   */
+  private final BrownianBridge bridge;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from times and discount factors.
+   *
+   * @param parameters  the Hull-White model parameters
+   * @param simulationTimes  the strictly increasing positive simulation times
+   * @param bondTimes  the bond maturity times, the last one being the numeraire time
+   * @param bondDiscountFactors  the discount factors at the bond maturities
+   * @param useBridge  whether to use the Brownian bridge construction
+   * @return the instance
+   */
+  public static HullWhiteOneFactorPathModel of(
+      HullWhiteOneFactorPiecewiseConstantParameters parameters,
+      DoubleArray simulationTimes,
+      DoubleArray bondTimes,
+      DoubleArray bondDiscountFactors,
+      boolean useBridge) {
+
+    ArgChecker.notNull(parameters, "parameters");
+    ArgChecker.notNull(simulationTimes, "simulationTimes");
+    ArgChecker.notNull(bondTimes, "bondTimes");
+    ArgChecker.notNull(bondDiscountFactors, "bondDiscountFactors");
+    ArgChecker.isTrue(bondTimes.size() > 0, "At least one bond must be provided");
+    ArgChecker.isTrue(bondDiscountFactors.size() == bondTimes.size(),
+        "Number of discount factors must match number of bond times");
+    double numeraireTime = bondTimes.max();
+    ArgChecker.isTrue(simulationTimes.size() > 0, "At least one simulation time must be provided");
+    ArgChecker.isTrue(simulationTimes.max() <= numeraireTime,
+        "Simulation times must not be after the numeraire time");
+    double a = parameters.getMeanReversion();
+    double expNumeraire = Math.exp(-a * numeraireTime);
+    double[] factors = new double[bondTimes.size()];
+    for (int i = 0; i < factors.length; i++) {
+      factors[i] = (expNumeraire - Math.exp(-a * bondTimes.get(i))) / a;
+    }
+    DoubleArray variances = DoubleArray.of(simulationTimes.size(), j -> variance(parameters, simulationTimes.get(j)));
+    BrownianBridge bridge = useBridge ? BrownianBridge.of(variances) : BrownianBridge.ofIncremental(variances);
+    return new HullWhiteOneFactorPathModel(
+        simulationTimes, bondTimes, bondDiscountFactors.toArray(), factors, variances.toArray(), bridge);
+  }
+
+  /**
+   * Obtains an instance from dates.
+   * <p>
+   * The times are computed by the Hull-White provider.
+   *
+   * @param hwProvider  the Hull-White model parameter provider
+   * @param simulationDates  the simulation dates, in strictly increasing order and after the valuation date
+   * @param bondDates  the bond maturity dates, the last one being the numeraire date
+   * @param discountFactors  the discount factors
+   * @param useBridge  whether to use the Brownian bridge construction
+   * @return the instance
+   */
+  public static HullWhiteOneFactorPathModel of(
+      HullWhiteOneFactorPiecewiseConstantParametersProvider hwProvider,
+      List<LocalDate> simulationDates,
+      List<LocalDate> bondDates,
+      DiscountFactors discountFactors,
+      boolean useBridge) {
+
+    ArgChecker.notNull(hwProvider, "hwProvider");
+    ArgChecker.notNull(discountFactors, "discountFactors");
+    DoubleArray simulationTimes =
+        DoubleArray.of(simulationDates.size(), j -> hwProvider.relativeTime(simulationDates.get(j)));
+    DoubleArray bondTimes = DoubleArray.of(bondDates.size(), i -> hwProvider.relativeTime(bondDates.get(i)));
+    DoubleArray dfs = DoubleArray.of(bondDates.size(), i -> discountFactors.discountFactor(bondDates.get(i)));
+    return of(hwProvider.getParameters(), simulationTimes, bondTimes, dfs, useBridge);
+  }
+
+  // restricted constructor
+  private HullWhiteOneFactorPathModel(
+      DoubleArray simulationTimes,
+      DoubleArray bondTimes,
+      double[] discountFactors,
+      double[] factors,
+      double[] variances,
+      BrownianBridge bridge) {
+
+    this.simulationTimes = simulationTimes;
+    this.bondTimes = bondTimes;
+    this.discountFactors = discountFactors;
+    this.factors = factors;
+    this.variances = variances;
+    this.bridge = bridge;
+  }
+
+  // integral of sigma(s)^2 exp(2 a s) between 0 and time
+  private static double variance(HullWhiteOneFactorPiecewiseConstantParameters parameters, double time) {
+    double a = parameters.getMeanReversion();
+    DoubleArray volatilityTime = parameters.getVolatilityTime();
+    DoubleArray volatility = parameters.getVolatility();
+    double variance = 0d;
+    for (int k = 0; k < volatility.size() && volatilityTime.get(k) < time; k++) {
+      double end = Math.min(time, volatilityTime.get(k + 1));
+      double sigma = volatility.get(k);
+      variance += sigma * sigma * (Math.exp(2d * a * end) - Math.exp(2d * a * volatilityTime.get(k)));
+    }
+    return variance / (2d * a);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the simulation times.
+   *
+   * @return the simulation times
+   */
+  public DoubleArray getSimulationTimes() {
+    return simulationTimes;
+  }
+
+  /**
+   * Gets the bond maturity times.
+   *
+   * @return the bond times
+   */
+  public DoubleArray getBondTimes() {
+    return bondTimes;
+  }
+
+  /**
+   * Gets the index in the path of the discounted bond value.
+   *
+   * @param simulationIndex  the index of the simulation time
+   * @param bondIndex  the index of the bond
+   * @return the index in the path
+   */
+  public int pathIndex(int simulationIndex, int bondIndex) {
+    return simulationIndex * factors.length + bondIndex;
+  }
+
+  @Override
+  public int getDimension() {
+    return variances.length;
+  }
+
+  @Override
+  public int getPathSize() {
+    return variances.length * factors.length;
+  }
+
+  @Override
+  public void simulate(double[] normals, double[] path) {
+    // the Brownian motion is built in the first entries of the path, which are overwritten in decreasing order
+    // of simulation time; row j starts at or after entry j, so the values still needed are never overwritten
+    bridge.buildPath(normals, path);
+    int n = factors.length;
+    for (int j = variances.length - 1; j >= 0; j--) {
+      double x = path[j];
+      double halfVariance = 0.5 * variances[j];
+      for (int i = 0; i < n; i++) {
+        double c = factors[i];
+        path[j * n + i] = discountFactors[i] * Math.exp(-c * (x + c * halfVariance));
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "HullWhiteOneFactorPathModel{simulationTimes=" + simulationTimes + ", bondTimes=" + bondTimes +
+        ", bridge=" + bridge.isBridge() + "}";
+  }
+
+}
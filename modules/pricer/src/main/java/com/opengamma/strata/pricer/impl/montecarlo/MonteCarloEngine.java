@@ -0,0 +1,222 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.montecarlo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.ToDoubleFunction;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.math.impl.random.PathNormalGenerator;
+
+/**
+ * Monte Carlo engine computing the expected value of a payoff over the paths of a model.
+ * <p>
+ * The samples are split into blocks of consecutive path indices. Each block draws its normal numbers
+ * from its own sequence of the {@link PathNormalGenerator}, simulates the paths one at a time in
+ * a pair of reused arrays and accumulates the mean and variance of the payoffs. No path is stored.
+ * <p>
+ * The blocks are submitted to the executor and their statistics are merged in block order on the
+ * calling thread. As the normal numbers of a path only depend on its index, the result is identical
+ * whatever the executor, provided the block size is unchanged.
+ * The default executor runs the blocks sequentially on the calling thread.
+ * <p>
+ * With antithetic variates, each sample is the average of the payoffs of the path simulated from the normal
+ * numbers and of the path simulated from their opposite.
+ * <p>
+ * The payoff receives the path filled by the model and returns the discounted payoff, in the numeraire
+ * of the model. It must not retain the array and must be thread-safe when a multi-threaded executor is used.
+ */
+public final class MonteCarloEngine {
+
+  /**
+   * The default number of samples in a block.
+   */
+  private static final int DEFAULT_BLOCK_SIZE = 4096;
+
+  /**
+   * The generator of normal numbers.
+   */
+  private final PathNormalGenerator generator;
+  /**
+   * The number of samples.
+   */
+  private final int nbSamples;
+  /**
+   * Whether antithetic variates are used.
+   */
+  private final boolean antithetic;
+  /**
+   * The number of samples in a block.
+   */
+  private final int blockSize;
+  /**
+   * The executor used to simulate the blocks.
+   */
+  private final Executor executor;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   * <p>
+   * The instance does not use antithetic variates and runs sequentially on the calling thread.
+   *
+   * @param generator  the generator of normal numbers
+   * @param nbSamples  the number of samples
+   * @return the instance
+   */
+  public static MonteCarloEngine of(PathNormalGenerator generator, int nbSamples) {
+    return new MonteCarloEngine(generator, nbSamples, false, DEFAULT_BLOCK_SIZE, Runnable::run);
+  }
+
+  // restricted constructor
+  private MonteCarloEngine(
+      PathNormalGenerator generator,
+      int nbSamples,
+      boolean antithetic,
+      int blockSize,
+      Executor executor) {
+
+    this.generator = ArgChecker.notNull(generator, "generator");
+    this.nbSamples = ArgChecker.notNegativeOrZero(nbSamples, "nbSamples");
+    this.antithetic = antithetic;
+    this.blockSize = ArgChecker.notNegativeOrZero(blockSize, "blockSize");
+    this.executor = ArgChecker.notNull(executor, "executor");
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a copy of this engine with the specified use of antithetic variates.
+   *
+   * @param antithetic  whether antithetic variates are used
+   * @return the engine
+   */
+  public MonteCarloEngine withAntithetic(boolean antithetic) {
+    return new MonteCarloEngine(generator, nbSamples, antithetic, blockSize, executor);
+  }
+
+  /**
+   * Returns a copy of this engine with the specified number of samples in a block.
+   * <p>
+   * The block size drives the granularity of the parallelism.
+   *
+   * @param blockSize  the number of samples in a block
+   * @return the engine
+   */
+  public MonteCarloEngine withBlockSize(int blockSize) {
+    return new MonteCarloEngine(generator, nbSamples, antithetic, blockSize, executor);
+  }
+
+  /**
+   * Returns a copy of this engine with the specified executor.
+   *
+   * @param executor  the executor used to simulate the blocks
+   * @return the engine
+   */
+  public MonteCarloEngine withExecutor(Executor executor) {
+    return new MonteCarloEngine(generator, nbSamples, antithetic, blockSize, executor);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the expected value of the payoff.
+   *
+   * @param model  the model simulating the paths
+   * @param payoff  the discounted payoff of a path
+   * @return the estimated value and its standard error
+   */
+  public MonteCarloResult price(MonteCarloPathModel model, ToDoubleFunction<double[]> payoff) {
+    ArgChecker.notNull(model, "model");
+    ArgChecker.notNull(payoff, "payoff");
+    List<CompletableFuture<Statistics>> blocks = new ArrayList<>();
+    for (int start = 0; start < nbSamples; start += blockSize) {
+      int first = start;
+      int size = Math.min(blockSize, nbSamples - start);
+      blocks.add(CompletableFuture.supplyAsync(() -> simulateBlock(model, payoff, first, size), executor));
+    }
+    Statistics total = new Statistics();
+    for (CompletableFuture<Statistics> block : blocks) {
+      total.merge(join(block));
+    }
+    double variance = total.count > 1 ? total.sumSquares / (total.count - 1) : 0d;
+    return MonteCarloResult.of(total.mean, Math.sqrt(variance / total.count), total.count);
+  }
+
+  // simulates a block of samples with consecutive path indices
+  private Statistics simulateBlock(MonteCarloPathModel model, ToDoubleFunction<double[]> payoff, int first, int size) {
+    int dimension = model.getDimension();
+    Consumer<double[]> sequence = generator.sequence(dimension, first);
+    double[] normals = new double[dimension];
+    double[] path = new double[model.getPathSize()];
+    Statistics statistics = new Statistics();
+    for (int i = 0; i < size; i++) {
+      sequence.accept(normals);
+      model.simulate(normals, path);
+      double sample = payoff.applyAsDouble(path);
+      if (antithetic) {
+        for (int j = 0; j < dimension; j++) {
+          normals[j] = -normals[j];
+        }
+        model.simulate(normals, path);
+        sample = 0.5 * (sample + payoff.applyAsDouble(path));
+      }
+      statistics.add(sample);
+    }
+    return statistics;
+  }
+
+  // unwraps the exception of a failed block
+  private static Statistics join(CompletableFuture<Statistics> future) {
+    try {
+      return future.join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) ex.getCause();
+      }
+      throw ex;
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "MonteCarloEngine{generator=" + generator + ", nbSamples=" + nbSamples + ", antithetic=" + antithetic +
+        ", blockSize=" + blockSize + "}";
+  }
+
+  //-------------------------------------------------------------------------
+  // running mean and sum of squared deviations, updated with the algorithms of Welford and Chan et al.
+  private static final class Statistics {
+    private long count;
+    private double mean;
+    private double sumSquares;
+
+    // adds a sample
+    private void add(double sample) {
+      count++;
+      double delta = sample - mean;
+      mean += delta / count;
+      sumSquares += delta * (sample - mean);
+    }
+
+    // merges the statistics of another set of samples
+    private void merge(Statistics other) {
+      if (other.count == 0) {
+        return;
+      }
+      long total = count + other.count;
+      double delta = other.mean - mean;
+      mean += delta * other.count / total;
+      sumSquares += other.sumSquares + delta * delta * ((double) count * other.count / total);
+      count = total;
+    }
+  }
+
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.montecarlo;
+
+/**
+ * Model simulating paths from independent standard normal numbers.
+ * <p>
+ * The model maps the normal numbers of a path to the values of the path, for example asset prices
+ * or discount factors at a set of times. The meaning and the layout of the values is defined by each model.
+ * <p>
+ * Implementations must be immutable and thread-safe, the arrays being provided by the caller.
+ */
+public interface MonteCarloPathModel {
+
+  /**
+   * Gets the number of normal numbers required to simulate a path.
+   *
+   * @return the dimension
+   */
+  public abstract int getDimension();
+
+  /**
+   * Gets the number of values in a path.
+   *
+   * @return the path size
+   */
+  public abstract int getPathSize();
+
+  /**
+   * Simulates a path.
+   * <p>
+   * The arrays must have a length of at least the dimension and the path size respectively.
+   * No array should be allocated by this method.
+   *
+   * @param normals  the independent standard normal numbers
+   * @param path  the array to fill with the values of the path
+   */
+  public abstract void simulate(double[] normals, double[] path);
+
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.montecarlo;
+
+import java.io.Serializable;
+import java.lang.invoke.MethodHandles;
+
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaBean;
+import org.joda.beans.TypedMetaBean;
+import org.joda.beans.gen.BeanDefinition;
+import org.joda.beans.gen.PropertyDefinition;
+import org.joda.beans.impl.light.LightMetaBean;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * The result of a Monte Carlo simulation.
+ * <p>
+ * The value is the average of the sampled payoffs and the standard error is the estimated standard
+ * deviation of that average. When antithetic variates are used, each sample is the average of the payoffs
+ * of a path and of its antithetic path.
+ */
+@BeanDefinition(style = "light")
+public final class MonteCarloResult
+    implements ImmutableBean, Serializable {
+
+  /**
+   * The estimated value.
+   */
+  @PropertyDefinition
+  private final double value;
+  /**
+   * The standard error of the estimated value.
+   */
+  @PropertyDefinition(validate = "ArgChecker.notNegative")
+  private final double standardError;
+  /**
+   * The number of independent samples.
+   */
+  @PropertyDefinition(validate = "ArgChecker.notNegativeOrZero")
+  private final long nbSamples;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   *
+   * @param value  the estimated value
+   * @param standardError  the standard error of the estimated value
+   * @param nbSamples  the number of independent samples
+   * @return the instance
+   */
+  public static MonteCarloResult of(double value, double standardError, long nbSamples) {
+    return new MonteCarloResult(value, standardError, nbSamples);
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  /**
+   * The meta-bean for {@code MonteCarloResult}.
+   */
+  private static final TypedMetaBean<MonteCarloResult> META_BEAN =
+      LightMetaBean.of(
+          MonteCarloResult.class,
+          MethodHandles.lookup(),
+          new String[] {
+              "value",
+              "standardError",
+              "nbSamples"},
+          new Object[0]);
+
+  /**
+   * The meta-bean for {@code MonteCarloResult}.
+   * @return the meta-bean, not null
+   */
+  public static TypedMetaBean<MonteCarloResult> meta() {
+    return META_BEAN;
+  }
+
+  static {
+    MetaBean.register(META_BEAN);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  private MonteCarloResult(
+      double value,
+      double standardError,
+      long nbSamples) {
+    ArgChecker.notNegative(standardError, "standardError");
+    ArgChecker.notNegativeOrZero(nbSamples, "nbSamples");
+    this.value = value;
+    this.standardError = standardError;
+    this.nbSamples = nbSamples;
+  }
+
+  @Override
+  public TypedMetaBean<MonteCarloResult> metaBean() {
+    return META_BEAN;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the estimated value.
+   * @return the value of the property
+   */
+  public double getValue() {
+    return value;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the standard error of the estimated value.
+   * @return the value of the property
+   */
+  public double getStandardError() {
+    return standardError;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the number of independent samples.
+   * @return the value of the property
+   */
+  public long getNbSamples() {
+    return nbSamples;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      MonteCarloResult other = (MonteCarloResult) obj;
+      return JodaBeanUtils.equal(value, other.value) &&
+          JodaBeanUtils.equal(standardError, other.standardError) &&
+          (nbSamples == other.nbSamples);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(value);
+    hash = hash * 31 + JodaBeanUtils.hashCode(standardError);
+    hash = hash * 31 + JodaBeanUtils.hashCode(nbSamples);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(128);
+    buf.append("MonteCarloResult{");
+    buf.append("value").append('=').append(value).append(',').append(' ');
+    buf.append("standardError").append('=').append(standardError).append(',').append(' ');
+    buf.append("nbSamples").append('=').append(JodaBeanUtils.toString(nbSamples));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-------------------------- AUTOGENERATED END --------------------------
+}
@@ -10,7 +10,6 @@ import com.opengamma.strata.basics.value.ValueDerivatives;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.math.impl.statistics.distribution.NormalDistribution;
-import com.opengamma.strata.math.impl.statistics.distribution.ProbabilityDistribution;
 import com.opengamma.strata.product.option.SimpleConstantContinuousBarrier;
 
 /**
@@ -19,10 +18,6 @@ import com.opengamma.strata.product.option.SimpleConstantContinuousBarrier;
  */
 public class BlackBarrierPriceFormulaRepository {
 
-  /**
-   * The normal distribution implementation used in the pricing.
-   */
-  private static final ProbabilityDistribution<Double> NORMAL = new NormalDistribution(0, 1);
 
   /**
    * Small parameter.
@@ -336,7 +331,7 @@ public class BlackBarrierPriceFormulaRepository {
       double lognormalVolT,
       double phi) {
 
-    return phi * (s * df1 * NORMAL.getCDF(phi * x) - k * df2 * NORMAL.getCDF(phi * (x - lognormalVolT)));
+    return phi * (s * df1 * NormalDistribution.cdf(phi * x) - k * df2 * NormalDistribution.cdf(phi * (x - lognormalVolT)));
   }
 
   private double getC(
@@ -351,8 +346,8 @@ public class BlackBarrierPriceFormulaRepository {
       double phi,
       double eta) {
 
-    return phi * (s * df1 * Math.pow(h / s, 2d * (mu + 1d)) * NORMAL.getCDF(eta * y) -
-        k * df2 * Math.pow(h / s, 2d * mu) * NORMAL.getCDF(eta * (y - lognormalVolT)));
+    return phi * (s * df1 * Math.pow(h / s, 2d * (mu + 1d)) * NormalDistribution.cdf(eta * y) -
+        k * df2 * Math.pow(h / s, 2d * mu) * NormalDistribution.cdf(eta * (y - lognormalVolT)));
   }
 
   //-------------------------------------------------------------------------
@@ -370,8 +365,8 @@ public class BlackBarrierPriceFormulaRepository {
       double[][] secondderivatives) {
 
     //  Forward sweep
-    double n1 = NORMAL.getCDF(phi * x);
-    double n2 = NORMAL.getCDF(phi * (x - lognormalVolT));
+    double n1 = NormalDistribution.cdf(phi * x);
+    double n2 = NormalDistribution.cdf(phi * (x - lognormalVolT));
     double a = phi * (s * df1 * n1 - k * df2 * n2);
     // Backward sweep
     double n2Bar = phi * -k * df2;
@@ -380,8 +375,8 @@ public class BlackBarrierPriceFormulaRepository {
     firstderivatives[1] = phi * -df2 * n2;
     firstderivatives[2] = phi * s * n1;
     firstderivatives[3] = phi * -k * n2;
-    double n1df = NORMAL.getPDF(x);
-    double n2df = NORMAL.getPDF(x - lognormalVolT);
+    double n1df = NormalDistribution.pdf(x);
+    double n2df = NormalDistribution.pdf(x - lognormalVolT);
     firstderivatives[4] = n1df * phi * n1Bar + n2df * phi * n2Bar;
     firstderivatives[5] = n2df * -phi * n2Bar;
     secondderivatives[0][0] = 0d;
@@ -408,14 +403,14 @@ public class BlackBarrierPriceFormulaRepository {
       double[][] secondDerivatives) {
 
     //  Forward sweep
-    double n1 = NORMAL.getCDF(eta * y);
-    double n2 = NORMAL.getCDF(eta * (y - lognormalVolT));
+    double n1 = NormalDistribution.cdf(eta * y);
+    double n2 = NormalDistribution.cdf(eta * (y - lognormalVolT));
     double hsMu1 = Math.pow(h / s, 2d * (mu + 1d));
     double hsMu = Math.pow(h / s, 2d * mu);
     double c = phi * (s * df1 * hsMu1 * n1 - k * df2 * hsMu * n2);
     // Backward sweep
-    double n1df = NORMAL.getPDF(y);
-    double n2df = NORMAL.getPDF(y - lognormalVolT);
+    double n1df = NormalDistribution.pdf(y);
+    double n2df = NormalDistribution.pdf(y - lognormalVolT);
     double hsMuBar = phi * -k * df2 * n2;
     double hsMu1Bar = phi * s * df1 * n1;
     double n2Bar = phi * -k * df2 * hsMu;
@@ -10,7 +10,6 @@ import com.opengamma.strata.basics.value.ValueDerivatives;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.math.impl.statistics.distribution.NormalDistribution;
-import com.opengamma.strata.math.impl.statistics.distribution.ProbabilityDistribution;
 import com.opengamma.strata.product.option.SimpleConstantContinuousBarrier;
 
 /**
@@ -22,10 +21,6 @@ import com.opengamma.strata.product.option.SimpleConstantContinuousBarrier;
  */
 public class BlackOneTouchCashPriceFormulaRepository {
 
-  /**
-   * The normal distribution implementation used in the pricing.
-   */
-  private static final ProbabilityDistribution<Double> NORMAL = new NormalDistribution(0, 1);
   /**
    * Small parameter.
    */
@@ -197,7 +192,7 @@ public class BlackOneTouchCashPriceFormulaRepository {
       double mu,
       double eta) {
 
-    return df2 * (NORMAL.getCDF(eta * (x - lognormalVolT)) - Math.pow(h / s, 2d * mu) * NORMAL.getCDF(eta * (y - lognormalVolT)));
+    return df2 * (NormalDistribution.cdf(eta * (x - lognormalVolT)) - Math.pow(h / s, 2d * mu) * NormalDistribution.cdf(eta * (y - lognormalVolT)));
   }
 
   private double getF(
@@ -209,8 +204,8 @@ public class BlackOneTouchCashPriceFormulaRepository {
       double lambda,
       double eta) {
 
-    return Math.pow(h / s, mu + lambda) * NORMAL.getCDF(eta * z) +
-        Math.pow(h / s, mu - lambda) * NORMAL.getCDF(eta * (z - 2d * lambda * lognormalVolT));
+    return Math.pow(h / s, mu + lambda) * NormalDistribution.cdf(eta * z) +
+        Math.pow(h / s, mu - lambda) * NormalDistribution.cdf(eta * (z - 2d * lambda * lognormalVolT));
   }
 
   //-------------------------------------------------------------------------
@@ -228,12 +223,12 @@ public class BlackOneTouchCashPriceFormulaRepository {
       double[] firstDerivatives,
       double[] secondDerivatives) {
 
-    double n1 = NORMAL.getCDF(eta * (x - lognormalVolT));
-    double n2 = NORMAL.getCDF(eta * (y - lognormalVolT));
+    double n1 = NormalDistribution.cdf(eta * (x - lognormalVolT));
+    double n2 = NormalDistribution.cdf(eta * (y - lognormalVolT));
     double hsMu = Math.pow(h / s, 2 * mu);
     double e = df2 * (n1 - hsMu * n2);
-    double n1df = NORMAL.getPDF(eta * (x - lognormalVolT));
-    double n2df = NORMAL.getPDF(eta * (y - lognormalVolT));
+    double n1df = NormalDistribution.pdf(eta * (x - lognormalVolT));
+    double n2df = NormalDistribution.pdf(eta * (y - lognormalVolT));
     double hsMuBar = df2 * -n2;
     double n2Bar = df2 * -hsMu;
     double n1Bar = df2;
@@ -263,14 +258,14 @@ public class BlackOneTouchCashPriceFormulaRepository {
       double[] firstDerivatives,
       double[] secondDerivatives) {
 
-    double n1 = NORMAL.getCDF(eta * z);
-    double n2 = NORMAL.getCDF(eta * (z - 2 * lambda * lognormalVolT));
+    double n1 = NormalDistribution.cdf(eta * z);
+    double n2 = NormalDistribution.cdf(eta * (z - 2 * lambda * lognormalVolT));
     double hsMuPLa = Math.pow(h / s, mu + lambda);
     double hsMuMLa = Math.pow(h / s, mu - lambda);
     double f = hsMuPLa * n1 + hsMuMLa * n2;
     double fBar = 1.0;
-    double n1df = NORMAL.getPDF(eta * z);
-    double n2df = NORMAL.getPDF(eta * (z - 2 * lambda * lognormalVolT));
+    double n1df = NormalDistribution.pdf(eta * z);
+    double n2df = NormalDistribution.pdf(eta * (z - 2 * lambda * lognormalVolT));
     double hsMuPLaBar = n1 * fBar;
     double hsMuMLaBar = n2 * fBar;
     double n2Bar = hsMuMLa * fBar;
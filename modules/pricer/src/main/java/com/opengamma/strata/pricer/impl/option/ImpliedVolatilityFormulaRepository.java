@@ -0,0 +1,409 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.option;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.math.impl.statistics.distribution.NormalDistribution;
+
+/**
+ * The repository for implied volatility formulas in the Black and Bachelier (normal) models.
+ * <p>
+ * The implied volatility is found from an accurate initial approximation followed by third order
+ * Householder iterations, without a user supplied starting point.
+ * For the Black model, the approach follows the four region decomposition of P. Jäckel, "Let's be rational",
+ * Wilmott (2015), with an asymptotic approximation in the lower and upper regions and a transformed
+ * objective function in each region. Two or three iterations are typically required for machine precision.
+ * For the Bachelier model, the rational approximation of P. Jäckel, "Implied normal volatility",
+ * Wilmott (2017), is followed by a single iteration.
+ * <p>
+ * Out-of-the-money prices are evaluated in a form avoiding cancellation, thus deep out-of-the-money
+ * options are handled.
+ * As the numeraire is a multiplication factor, all prices are <b>forward</b> prices, i.e. (spot price)/numeraire.
+ */
+public final class ImpliedVolatilityFormulaRepository {
+
+  /**
+   * The maximum number of Householder iterations.
+   */
+  private static final int MAX_ITERATIONS = 10;
+  /**
+   * The relative change in the normalised volatility below which the iteration stops.
+   */
+  private static final double RELATIVE_TOLERANCE = 1e-12;
+  /**
+   * The region boundary of the Bachelier rational approximation.
+   */
+  private static final double NORMAL_APPROXIMATION_BOUNDARY = -0.001882039271;
+  /**
+   * The value above which the scaled complementary error function is evaluated by continued fraction.
+   */
+  private static final double ERFCX_CONTINUED_FRACTION_MIN = 3d;
+  /**
+   * The depth of the continued fraction for the scaled complementary error function.
+   */
+  private static final int ERFCX_CONTINUED_FRACTION_DEPTH = 40;
+  private static final double ROOT2 = Math.sqrt(2d);
+  private static final double ROOT3 = Math.sqrt(3d);
+  private static final double ROOT_PI = Math.sqrt(Math.PI);
+  private static final double ROOT_2PI = Math.sqrt(2d * Math.PI);
+  private static final double INV_ROOT_2PI = 1d / ROOT_2PI;
+
+  // restricted constructor
+  private ImpliedVolatilityFormulaRepository() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the log-normal (Black) implied volatility.
+   *
+   * @param price  the forward price of the option, which is the market price divided by the numeraire
+   * @param forward  the forward value of the underlying
+   * @param strike  the strike
+   * @param timeToExpiry  the time to expiry
+   * @param isCall  true for call, false for put
+   * @return the log-normal (Black) implied volatility
+   * @throws IllegalArgumentException if the price is outside the arbitrage bounds
+   */
+  public static double blackImpliedVolatility(
+      double price,
+      double forward,
+      double strike,
+      double timeToExpiry,
+      boolean isCall) {
+
+    ArgChecker.isTrue(forward > 0d, "negative/NaN forward; have {}", forward);
+    ArgChecker.isTrue(strike >= 0d, "negative/NaN strike; have {}", strike);
+    ArgChecker.isTrue(timeToExpiry >= 0d, "negative/NaN timeToExpiry; have {}", timeToExpiry);
+    ArgChecker.isFalse(Double.isInfinite(forward), "forward is Infinity");
+    ArgChecker.isFalse(Double.isInfinite(strike), "strike is Infinity");
+    ArgChecker.isFalse(Double.isInfinite(timeToExpiry), "timeToExpiry is Infinity");
+
+    double otmPrice = price - Math.max(0d, (isCall ? 1d : -1d) * (forward - strike));
+    ArgChecker.isTrue(otmPrice >= 0d, "price of {} is below the intrinsic value", price);
+    if (otmPrice == 0d) {
+      return 0d;
+    }
+    ArgChecker.isTrue(otmPrice < Math.min(forward, strike),
+        "price of {} exceeded the upper bound", price);
+    ArgChecker.isTrue(timeToExpiry > 0d, "timeToExpiry must be positive for a non-zero time value");
+
+    double x = -Math.abs(Math.log(forward / strike));
+    double beta = otmPrice / Math.sqrt(forward * strike);
+    return normalisedBlackImpliedVolatility(beta, x) / Math.sqrt(timeToExpiry);
+  }
+
+  /**
+   * Computes the log-normal (Black) implied volatilities of a set of options.
+   * <p>
+   * The arrays must all have the same size.
+   *
+   * @param prices  the forward prices of the options, which are the market prices divided by the numeraire
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param isCall  true for calls, false for puts
+   * @return the log-normal (Black) implied volatilities
+   * @throws IllegalArgumentException if a price is outside the arbitrage bounds
+   */
+  public static DoubleArray blackImpliedVolatilities(
+      DoubleArray prices,
+      DoubleArray forwards,
+      DoubleArray strikes,
+      DoubleArray timesToExpiry,
+      boolean isCall) {
+
+    int size = prices.size();
+    checkSizes(size, forwards, strikes, timesToExpiry);
+    double[] volatilities = new double[size];
+    for (int i = 0; i < size; i++) {
+      volatilities[i] = blackImpliedVolatility(
+          prices.get(i), forwards.get(i), strikes.get(i), timesToExpiry.get(i), isCall);
+    }
+    return DoubleArray.ofUnsafe(volatilities);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the normal (Bachelier) implied volatility.
+   *
+   * @param price  the forward price of the option, which is the market price divided by the numeraire
+   * @param forward  the forward value of the underlying
+   * @param strike  the strike
+   * @param timeToExpiry  the time to expiry
+   * @param isCall  true for call, false for put
+   * @return the normal (Bachelier) implied volatility
+   * @throws IllegalArgumentException if the price is below the intrinsic value
+   */
+  public static double normalImpliedVolatility(
+      double price,
+      double forward,
+      double strike,
+      double timeToExpiry,
+      boolean isCall) {
+
+    ArgChecker.isTrue(timeToExpiry >= 0d, "negative/NaN timeToExpiry; have {}", timeToExpiry);
+    ArgChecker.isFalse(Double.isInfinite(forward), "forward is Infinity");
+    ArgChecker.isFalse(Double.isInfinite(strike), "strike is Infinity");
+    ArgChecker.isFalse(Double.isInfinite(timeToExpiry), "timeToExpiry is Infinity");
+
+    double otmPrice = price - Math.max(0d, (isCall ? 1d : -1d) * (forward - strike));
+    ArgChecker.isTrue(otmPrice >= 0d, "price of {} is below the intrinsic value", price);
+    if (otmPrice == 0d) {
+      return 0d;
+    }
+    ArgChecker.isTrue(timeToExpiry > 0d, "timeToExpiry must be positive for a non-zero time value");
+
+    double moneyness = Math.abs(forward - strike);
+    double rootT = Math.sqrt(timeToExpiry);
+    if (moneyness == 0d) {
+      return otmPrice * ROOT_2PI / rootT;
+    }
+    return normalisedNormalImpliedVolatility(otmPrice, moneyness) / rootT;
+  }
+
+  /**
+   * Computes the normal (Bachelier) implied volatilities of a set of options.
+   * <p>
+   * The arrays must all have the same size.
+   *
+   * @param prices  the forward prices of the options, which are the market prices divided by the numeraire
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param isCall  true for calls, false for puts
+   * @return the normal (Bachelier) implied volatilities
+   * @throws IllegalArgumentException if a price is below the intrinsic value
+   */
+  public static DoubleArray normalImpliedVolatilities(
+      DoubleArray prices,
+      DoubleArray forwards,
+      DoubleArray strikes,
+      DoubleArray timesToExpiry,
+      boolean isCall) {
+
+    int size = prices.size();
+    checkSizes(size, forwards, strikes, timesToExpiry);
+    double[] volatilities = new double[size];
+    for (int i = 0; i < size; i++) {
+      volatilities[i] = normalImpliedVolatility(
+          prices.get(i), forwards.get(i), strikes.get(i), timesToExpiry.get(i), isCall);
+    }
+    return DoubleArray.ofUnsafe(volatilities);
+  }
+
+  // checks the arrays have the same size
+  private static void checkSizes(int size, DoubleArray forwards, DoubleArray strikes, DoubleArray timesToExpiry) {
+    ArgChecker.isTrue(forwards.size() == size, "forwards must have the same size as prices");
+    ArgChecker.isTrue(strikes.size() == size, "strikes must have the same size as prices");
+    ArgChecker.isTrue(timesToExpiry.size() == size, "timesToExpiry must have the same size as prices");
+  }
+
+  //-------------------------------------------------------------------------
+  // finds the normalised volatility s = sigma * sqrt(T) of the out-of-the-money call
+  // with normalised price beta = price / sqrt(F * K) and log-moneyness x = ln(F / K) <= 0
+  private static double normalisedBlackImpliedVolatility(double beta, double x) {
+    double betaMax = Math.exp(x / 2d);
+    double s;
+    int region;  // 0 = lower, 1 = central, 2 = upper
+    if (x == 0d) {
+      region = 2;
+      s = -2d * NormalDistribution.inverseCdf((betaMax - beta) / 2d);
+    } else {
+      double sC = Math.sqrt(-2d * x);
+      double bC = normalisedBlack(x, sC);
+      double vC = normalisedVega(x, sC);
+      double sL = sC - bC / vC;
+      double bL = sL > 0d ? normalisedBlack(x, sL) : 0d;
+      double sU = sC + (betaMax - bC) / vC;
+      double bU = normalisedBlack(x, sU);
+      if (beta < bL) {
+        region = 0;
+        // asymptotic lower map, scaled to match at the lower boundary
+        double fL = lowerMap(x, sL);
+        double f = beta + (fL / bL - 1d) * beta * beta / bL;
+        double cube = Math.cbrt(3d * ROOT3 * f / (2d * Math.PI * -x));
+        s = -x / (ROOT3 * -NormalDistribution.inverseCdf(cube));
+        if (!(s > 0d) || Double.isInfinite(s)) {
+          s = sL * beta / bL;
+        }
+      } else if (beta <= bU) {
+        region = 1;
+        s = beta < bC ? sL + (sC - sL) * (beta - bL) / (bC - bL) : sC + (sU - sC) * (beta - bC) / (bU - bC);
+      } else {
+        region = 2;
+        double sum = betaMax + 1d / betaMax;
+        s = -2d * NormalDistribution.inverseCdf((betaMax - beta) / sum);
+      }
+    }
+    // Householder iterations on the objective function of the region
+    double logBeta = Math.log(beta);
+    for (int i = 0; i < MAX_ITERATIONS; i++) {
+      double h = x / s;
+      double t = s / 2d;
+      double ratio2 = h * h / s - s / 4d;  // b''/b'
+      double ratio3 = ratio2 * ratio2 - 3d * h * h / (s * s) - 0.25;  // b'''/b'
+      double g;
+      double g1;
+      double g2;
+      double g3;
+      if (region == 0) {
+        // g = 1 / ln(b) - 1 / ln(beta), in terms of r = b' / b to avoid underflow
+        double hpt = -(h + t) / ROOT2;
+        double hmt = -(h - t) / ROOT2;
+        double scaled = 0.5 * (erfcx(hpt) - erfcx(hmt));
+        double logB = -0.5 * (h * h + t * t) + Math.log(scaled);
+        double r = INV_ROOT_2PI / scaled;
+        double logB2 = logB * logB;
+        double logB3 = logB2 * logB;
+        g = 1d / logB - 1d / logBeta;
+        g1 = -r / logB2;
+        g2 = (logB + 2d) * r * r / logB3 - r * ratio2 / logB2;
+        g3 = -2d * (logB2 + 3d * logB + 3d) * r * r * r / (logB2 * logB2) +
+            3d * (logB + 2d) * r * r * ratio2 / logB3 - r * ratio3 / logB2;
+      } else if (region == 1) {
+        // g = b - beta
+        double vega = normalisedVega(x, s);
+        g = normalisedBlack(x, s) - beta;
+        g1 = vega;
+        g2 = vega * ratio2;
+        g3 = vega * ratio3;
+      } else {
+        // g = ln(betaMax - beta) - ln(betaMax - b)
+        double vega = normalisedVega(x, s);
+        double d = betaMax - normalisedBlack(x, s);
+        if (d <= 0d) {
+          break;
+        }
+        double vd = vega / d;
+        g = Math.log(betaMax - beta) - Math.log(d);
+        g1 = vd;
+        g2 = vd * vd + vd * ratio2;
+        g3 = 2d * vd * vd * vd + 3d * vd * vd * ratio2 + vd * ratio3;
+      }
+      double sNew = s + householderStep(g, g1, g2, g3);
+      if (!(sNew > 0d) || Double.isInfinite(sNew)) {
+        sNew = s / 2d;
+      }
+      boolean converged = Math.abs(sNew - s) <= RELATIVE_TOLERANCE * s;
+      s = sNew;
+      if (converged) {
+        break;
+      }
+    }
+    return s;
+  }
+
+  // the normalised Black call price, b = exp(x/2) N(x/s + s/2) - exp(-x/2) N(x/s - s/2), for x <= 0
+  private static double normalisedBlack(double x, double s) {
+    double h = x / s;
+    double t = s / 2d;
+    if (h + t < 0d) {
+      // both arguments negative, use the scaled complementary error function to avoid cancellation
+      double scaled = 0.5 * (erfcx(-(h + t) / ROOT2) - erfcx(-(h - t) / ROOT2));
+      return Math.exp(-0.5 * (h * h + t * t)) * scaled;
+    }
+    return Math.exp(x / 2d) * NormalDistribution.cdf(h + t) - Math.exp(-x / 2d) * NormalDistribution.cdf(h - t);
+  }
+
+  // the derivative of the normalised Black price with respect to s
+  private static double normalisedVega(double x, double s) {
+    double h = x / s;
+    double t = s / 2d;
+    return INV_ROOT_2PI * Math.exp(-0.5 * (h * h + t * t));
+  }
+
+  // the asymptotic approximation of the normalised Black price for small s
+  private static double lowerMap(double x, double s) {
+    double n = NormalDistribution.cdf(x / (ROOT3 * s));
+    return 2d * Math.PI * -x / (3d * ROOT3) * n * n * n;
+  }
+
+  //-------------------------------------------------------------------------
+  // finds the normalised volatility s = sigma * sqrt(T) of the out-of-the-money option
+  // with price p and moneyness a = |F - K| > 0
+  private static double normalisedNormalImpliedVolatility(double price, double moneyness) {
+    double target = -price / moneyness;
+    double xBar;
+    if (target < NORMAL_APPROXIMATION_BOUNDARY) {
+      double g = 1d / (target - 0.5);
+      double g2 = g * g;
+      double xi = (0.032114372355 - g2 * (0.016969777977 - g2 * (2.6207332461e-3 - 9.6066952861e-5 * g2))) /
+          (1d - g2 * (0.6635646938 - g2 * (0.14528712196 - 0.010472855461 * g2)));
+      xBar = g * (INV_ROOT_2PI + xi * g2);
+    } else {
+      double h = Math.sqrt(-Math.log(-target));
+      xBar = (9.4883409779 - h * (9.6320903635 - h * (0.58556997323 + 2.1464093351 * h))) /
+          (1d - h * (0.65174820867 + h * (1.5120247828 + 6.6437847132e-5 * h)));
+    }
+    double q = (normalisedNormal(xBar) / xBar - target) / NormalDistribution.pdf(xBar);
+    double x2 = xBar * xBar;
+    double z = xBar + 3d * q * x2 * (2d - q * xBar * (2d + x2)) /
+        (6d + q * xBar * (-12d + xBar * (6d * q + xBar * (-6d + q * xBar * (3d + x2)))));
+    double s = moneyness / -z;
+    // Householder iterations on g = ln(P) - ln(p), where P = s (phi(z) + z N(z)), z = -a / s
+    double logPrice = Math.log(price);
+    for (int i = 0; i < MAX_ITERATIONS; i++) {
+      z = -moneyness / s;
+      double optionPrice = s * normalisedNormal(z);
+      double r = NormalDistribution.pdf(z) / optionPrice;  // P' / P
+      double ratio2 = z * z / s;  // P'' / P'
+      double ratio3 = z * z * (z * z - 3d) / (s * s);  // P''' / P'
+      double g = Math.log(optionPrice) - logPrice;
+      double g1 = r;
+      double g2 = r * ratio2 - r * r;
+      double g3 = r * ratio3 - 3d * r * r * ratio2 + 2d * r * r * r;
+      double sNew = s + householderStep(g, g1, g2, g3);
+      if (!(sNew > 0d) || Double.isInfinite(sNew)) {
+        sNew = s / 2d;
+      }
+      boolean converged = Math.abs(sNew - s) <= RELATIVE_TOLERANCE * s;
+      s = sNew;
+      if (converged) {
+        break;
+      }
+    }
+    return s;
+  }
+
+  // the normalised out-of-the-money Bachelier price, phi(z) + z N(z), for z <= 0
+  private static double normalisedNormal(double z) {
+    if (z > -ERFCX_CONTINUED_FRACTION_MIN * ROOT2) {
+      return NormalDistribution.pdf(z) + z * NormalDistribution.cdf(z);
+    }
+    // phi(z) + z N(z) = phi(z) r / (y + r), where erfcx(y) = 1 / (sqrt(pi) (y + r)), avoiding cancellation
+    double y = -z / ROOT2;
+    double r = erfcxRemainder(y);
+    return NormalDistribution.pdf(z) * r / (y + r);
+  }
+
+  //-------------------------------------------------------------------------
+  // the third order Householder step for the objective function and its first three derivatives
+  private static double householderStep(double g, double g1, double g2, double g3) {
+    double nu = -g / g1;
+    double gamma = g2 / g1;
+    double delta = g3 / g1;
+    return nu * (1d + 0.5 * gamma * nu) / (1d + nu * (gamma + delta * nu / 6d));
+  }
+
+  // the scaled complementary error function, exp(y^2) erfc(y), for y >= 0
+  private static double erfcx(double y) {
+    if (y < ERFCX_CONTINUED_FRACTION_MIN) {
+      return Math.exp(y * y) * 2d * NormalDistribution.cdf(-y * ROOT2);
+    }
+    return 1d / (ROOT_PI * (y + erfcxRemainder(y)));
+  }
+
+  // the remainder r of the continued fraction erfcx(y) = 1 / (sqrt(pi) (y + r)), for y >= 3
+  private static double erfcxRemainder(double y) {
+    double f = y;
+    for (int n = ERFCX_CONTINUED_FRACTION_DEPTH; n > 1; n--) {
+      f = y + 0.5 * n / f;
+    }
+    return 0.5 / f;
+  }
+
+}
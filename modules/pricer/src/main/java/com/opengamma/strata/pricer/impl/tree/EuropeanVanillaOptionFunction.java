@@ -84,6 +84,19 @@ public final class EuropeanVanillaOptionFunction
     return DoubleArray.ofUnsafe(values);
   }
 
+  @Override
+  public void getPayoffAtExpiryTrinomial(TrinomialLattice lattice, double[] values) {
+    int nSteps = lattice.getNumberOfSteps();
+    for (int i = 0; i < 2 * nSteps + 1; ++i) {
+      values[i] = Math.max(sign * (lattice.getStateValue(nSteps, i) - strike), 0d);
+    }
+  }
+
+  @Override
+  public void getNextOptionValues(TrinomialLattice lattice, double[] values, double[] result, int i) {
+    lattice.rollBack(i, values, result);
+  }
+
   //------------------------- AUTOGENERATED START -------------------------
   /**
    * The meta-bean for {@code EuropeanVanillaOptionFunction}.
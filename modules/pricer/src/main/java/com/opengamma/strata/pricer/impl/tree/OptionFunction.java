@@ -131,4 +131,44 @@ public interface OptionFunction {
         transitionProbability.get(j, 1) * value.get(j + 1) + transitionProbability.get(j, 0) * value.get(j)));
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Computes payoff at expiry on a trinomial lattice.
+   * <p>
+   * The payoff values for the nodes of the final layer of the lattice are written in {@code values}.
+   * The default implementation delegates to {@link #getPayoffAtExpiryTrinomial(DoubleArray)}.
+   * Implementations should override this method to avoid the allocation.
+   *
+   * @param lattice  the trinomial lattice
+   * @param values  the array to fill with the payoff at expiry, of size at least {@code 2 * n + 1}
+   */
+  public default void getPayoffAtExpiryTrinomial(TrinomialLattice lattice, double[] values) {
+    int nSteps = lattice.getNumberOfSteps();
+    DoubleArray payoff = getPayoffAtExpiryTrinomial(lattice.getStateValueAtLayer(nSteps));
+    System.arraycopy(payoff.toArrayUnsafe(), 0, values, 0, 2 * nSteps + 1);
+  }
+
+  /**
+   * Computes the option values in the intermediate nodes of a trinomial lattice.
+   * <p>
+   * Given the option values in the (i+1)-th layer, the option values in the i-th layer are written in {@code result}.
+   * The default implementation delegates to
+   * {@link #getNextOptionValues(double, DoubleMatrix, DoubleArray, DoubleArray, int)}.
+   * Implementations should override this method to avoid the allocations.
+   *
+   * @param lattice  the trinomial lattice
+   * @param values  the option values in the (i+1)-th layer
+   * @param result  the array to fill with the option values in the i-th layer
+   * @param i  the step number for which the next option values are computed
+   */
+  public default void getNextOptionValues(TrinomialLattice lattice, double[] values, double[] result, int i) {
+    DoubleArray next = getNextOptionValues(
+        lattice.getDiscountFactor(i),
+        lattice.getProbabilityAtLayer(i),
+        lattice.getStateValueAtLayer(i),
+        DoubleArray.ofUnsafe(Arrays.copyOf(values, 2 * i + 3)),
+        i);
+    System.arraycopy(next.toArrayUnsafe(), 0, result, 0, 2 * i + 1);
+  }
+
 }
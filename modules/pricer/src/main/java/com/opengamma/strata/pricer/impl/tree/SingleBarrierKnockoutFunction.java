@@ -64,92 +64,96 @@ abstract class SingleBarrierKnockoutFunction implements OptionFunction {
 
     int nNodes = stateValue.size();
     double[] values = new double[nNodes];
+    payoffAtExpiry(stateValue.toArrayUnsafe(), 0, nNodes, values);
+    return DoubleArray.ofUnsafe(values);
+  }
+
+  @Override
+  public DoubleArray getNextOptionValues(
+      double discountFactor,
+      DoubleMatrix transitionProbability,
+      DoubleArray stateValue,
+      DoubleArray values,
+      int i) {
+
+    int nNodes = 2 * i + 1;
+    double[] res = new double[nNodes];
+    for (int j = 0; j < nNodes; ++j) {
+      double upProb = transitionProbability.get(j, 2);
+      double middleProb = transitionProbability.get(j, 1);
+      double downProb = transitionProbability.get(j, 0);
+      res[j] = discountFactor *
+          (upProb * values.get(j + 2) + middleProb * values.get(j + 1) + downProb * values.get(j));
+    }
+    applyBarrier(stateValue.toArrayUnsafe(), 0, i, res);
+    return DoubleArray.ofUnsafe(res);
+  }
+
+  @Override
+  public void getPayoffAtExpiryTrinomial(TrinomialLattice lattice, double[] values) {
+    int nSteps = lattice.getNumberOfSteps();
+    payoffAtExpiry(lattice.stateValues(), nSteps * nSteps, 2 * nSteps + 1, values);
+  }
+
+  @Override
+  public void getNextOptionValues(TrinomialLattice lattice, double[] values, double[] result, int i) {
+    lattice.rollBack(i, values, result);
+    applyBarrier(lattice.stateValues(), i * i, i, result);
+  }
+
+  //-------------------------------------------------------------------------
+  // computes the payoff at expiry from the state values of the final layer, starting at the offset
+  private void payoffAtExpiry(double[] stateValue, int offset, int nNodes, double[] values) {
     double rebate = getRebate(getNumberOfSteps());
     double barrierLevel = getBarrierLevel(getNumberOfSteps());
     boolean isDown = getBarrierType().isDown();
-    Arrays.fill(values, rebate);
-    int index = getLowerBoundIndex(stateValue, barrierLevel);
+    Arrays.fill(values, 0, nNodes, rebate);
+    int index = TrinomialLattice.lowerBoundIndex(stateValue, offset, nNodes, barrierLevel);
     ArgChecker.isTrue(index > -1 && index < nNodes - 1, "barrier is covered by tree");
     int iMin = isDown ? index + 1 : 0;
     int iMmax = !isDown ? index + 1 : nNodes;
     for (int i = iMin; i < iMmax; ++i) {
-      values[i] = Math.max(getSign() * (stateValue.get(i) - getStrike()), 0d);
+      values[i] = Math.max(getSign() * (stateValue[offset + i] - getStrike()), 0d);
     }
-    // modification if barrier lies between two consecutive nodes 
-    double bd = barrierLevel - stateValue.get(index);
-    double ub = stateValue.get(index + 1) - barrierLevel;
-    double ud = stateValue.get(index + 1) - stateValue.get(index);
+    // modification if barrier lies between two consecutive nodes
+    double lower = stateValue[offset + index];
+    double upper = stateValue[offset + index + 1];
+    double bd = barrierLevel - lower;
+    double ub = upper - barrierLevel;
+    double ud = upper - lower;
     if (isDown) {
       values[index + 1] = 0.5 * values[index + 1] + 0.5 * (bd * rebate + ub * values[index + 1]) / ud;
     } else {
-      values[index] = barrierLevel == stateValue.get(index) ?
+      values[index] = barrierLevel == lower ?
           rebate :
           0.5 * values[index] + 0.5 * (ub * rebate + bd * values[index]) / ud;
     }
-    return DoubleArray.ofUnsafe(values);
   }
 
-  @Override
-  public DoubleArray getNextOptionValues(
-      double discountFactor,
-      DoubleMatrix transitionProbability,
-      DoubleArray stateValue,
-      DoubleArray values,
-      int i) {
-
+  // applies the barrier to the rolled back values of the i-th layer, whose state values start at the offset
+  private void applyBarrier(double[] stateValue, int offset, int i, double[] res) {
     int nNodes = 2 * i + 1;
-    double[] res = new double[nNodes];
     double barrierLevel = getBarrierLevel(i);
     double rebate = getRebate(i);
     boolean isDown = getBarrierType().isDown();
     for (int j = 0; j < nNodes; ++j) {
-      if ((isDown && stateValue.get(j) <= barrierLevel) ||
-          (!isDown && stateValue.get(j) >= barrierLevel)) {
+      if ((isDown && stateValue[offset + j] <= barrierLevel) ||
+          (!isDown && stateValue[offset + j] >= barrierLevel)) {
         res[j] = rebate;
-      } else {
-        double upProb = transitionProbability.get(j, 2);
-        double middleProb = transitionProbability.get(j, 1);
-        double downProb = transitionProbability.get(j, 0);
-        res[j] = discountFactor *
-            (upProb * values.get(j + 2) + middleProb * values.get(j + 1) + downProb * values.get(j));
       }
     }
-    // modification if barrier lies between two consecutive nodes 
-    int index = getLowerBoundIndex(stateValue, barrierLevel);
+    // modification if barrier lies between two consecutive nodes
+    int index = TrinomialLattice.lowerBoundIndex(stateValue, offset, nNodes, barrierLevel);
     if (index > -1 && index < nNodes - 1) {
-      double bd = barrierLevel - stateValue.get(index);
-      double ub = stateValue.get(index + 1) - barrierLevel;
-      double ud = stateValue.get(index + 1) - stateValue.get(index);
+      double bd = barrierLevel - stateValue[offset + index];
+      double ub = stateValue[offset + index + 1] - barrierLevel;
+      double ud = stateValue[offset + index + 1] - stateValue[offset + index];
       if (isDown) {
         res[index + 1] = 0.5 * res[index + 1] + 0.5 * (bd * rebate + ub * res[index + 1]) / ud;
       } else {
         res[index] = 0.5 * res[index] + 0.5 * (ub * rebate + bd * res[index]) / ud;
       }
     }
-    return DoubleArray.ofUnsafe(res);
   }
 
-  //-------------------------------------------------------------------------
-  private int getLowerBoundIndex(DoubleArray set, double value) {
-    int n = set.size();
-    if (value < set.get(0)) {
-      return -1;
-    }
-    if (value > set.get(n - 1)) {
-      return n - 1;
-    }
-    int index = Arrays.binarySearch(set.toArrayUnsafe(), value);
-    if (index >= 0) {
-      // Fast break out if it's an exact match.
-      return index;
-    }
-    if (index < 0) {
-      index = -(index + 1);
-      index--;
-    }
-    if (value == -0. && index < n - 1 && set.get(index + 1) == 0.) {
-      ++index;
-    }
-    return index;
-  }
 }
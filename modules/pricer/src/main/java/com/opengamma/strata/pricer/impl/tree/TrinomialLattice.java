@@ -0,0 +1,423 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.tree;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.opengamma.strata.basics.value.ValueDerivatives;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.pricer.fxopt.RecombiningTrinomialTreeData;
+
+/**
+ * Recombining trinomial lattice stored in flat arrays.
+ * <p>
+ * The lattice holds the same information as {@link RecombiningTrinomialTreeData}, but the state values and
+ * transition probabilities of all the layers are stored in primitive arrays, the {@code j}-th node of
+ * the {@code i}-th layer being at index {@code i * i + j}.
+ * Once created, the lattice can be used to price any number of options without further allocation
+ * of the tree structure, for example all the options sharing the expiry and volatility surface of a calibrated tree.
+ * <p>
+ * The backward induction works on two buffers which are swapped at each step.
+ * Several options can be priced in one backward sweep, so that the data of each layer is read once for all of them.
+ */
+public final class TrinomialLattice {
+
+  /**
+   * The number of time steps.
+   */
+  private final int nSteps;
+  /**
+   * The spot.
+   */
+  private final double spot;
+  /**
+   * The times of the layers.
+   */
+  private final double[] times;
+  /**
+   * The discount factors between consecutive layers.
+   */
+  private final double[] discountFactors;
+  /**
+   * The state values of all the layers.
+   */
+  private final double[] stateValues;
+  /**
+   * The down probabilities of all the layers but the last.
+   */
+  private final double[] downProbabilities;
+  /**
+   * The middle probabilities of all the layers but the last.
+   */
+  private final double[] middleProbabilities;
+  /**
+   * The up probabilities of all the layers but the last.
+   */
+  private final double[] upProbabilities;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from trinomial tree data.
+   *
+   * @param data  the trinomial tree data
+   * @return the instance
+   */
+  public static TrinomialLattice of(RecombiningTrinomialTreeData data) {
+    ArgChecker.notNull(data, "data");
+    int nSteps = data.getNumberOfSteps();
+    double[] times = new double[nSteps + 1];
+    double[] discountFactors = new double[nSteps];
+    double[] stateValues = new double[(nSteps + 1) * (nSteps + 1)];
+    double[] downProbabilities = new double[nSteps * nSteps];
+    double[] middleProbabilities = new double[nSteps * nSteps];
+    double[] upProbabilities = new double[nSteps * nSteps];
+    for (int i = 0; i <= nSteps; ++i) {
+      times[i] = data.getTime(i);
+      DoubleArray stateValue = data.getStateValueAtLayer(i);
+      ArgChecker.isTrue(stateValue.size() == 2 * i + 1, "Layer {} must have {} nodes", i, 2 * i + 1);
+      System.arraycopy(stateValue.toArrayUnsafe(), 0, stateValues, i * i, 2 * i + 1);
+      if (i < nSteps) {
+        discountFactors[i] = data.getDiscountFactorAtLayer(i);
+        DoubleMatrix probability = data.getProbabilityAtLayer(i);
+        for (int j = 0; j < 2 * i + 1; ++j) {
+          downProbabilities[i * i + j] = probability.get(j, 0);
+          middleProbabilities[i * i + j] = probability.get(j, 1);
+          upProbabilities[i * i + j] = probability.get(j, 2);
+        }
+      }
+    }
+    return new TrinomialLattice(nSteps, data.getSpot(), times, discountFactors, stateValues,
+        downProbabilities, middleProbabilities, upProbabilities);
+  }
+
+  /**
+   * Obtains an instance with constant transition probabilities and constant factors between layers.
+   * <p>
+   * The state value of the {@code j}-th lowest node of the {@code i}-th layer is
+   * {@code spot * downFactor^(i-j) * middleFactor^j}.
+   *
+   * @param spot  the spot
+   * @param downFactor  the down factor
+   * @param middleFactor  the middle factor
+   * @param upProbability  the up probability
+   * @param middleProbability  the middle probability
+   * @param downProbability  the down probability
+   * @param discountFactor  the discount factor between two consecutive layers
+   * @param timeToExpiry  the time to expiry
+   * @param nSteps  the number of time steps
+   * @return the instance
+   */
+  public static TrinomialLattice of(
+      double spot,
+      double downFactor,
+      double middleFactor,
+      double upProbability,
+      double middleProbability,
+      double downProbability,
+      double discountFactor,
+      double timeToExpiry,
+      int nSteps) {
+
+    ArgChecker.isTrue(nSteps > 0, "the number of steps should be positive");
+    double dt = timeToExpiry / nSteps;
+    double[] times = new double[nSteps + 1];
+    double[] discountFactors = new double[nSteps];
+    double[] stateValues = new double[(nSteps + 1) * (nSteps + 1)];
+    for (int i = 0; i <= nSteps; ++i) {
+      times[i] = dt * i;
+      for (int j = 0; j < 2 * i + 1; ++j) {
+        stateValues[i * i + j] = spot * Math.pow(downFactor, i - j) * Math.pow(middleFactor, j);
+      }
+    }
+    Arrays.fill(discountFactors, discountFactor);
+    double[] downProbabilities = new double[nSteps * nSteps];
+    double[] middleProbabilities = new double[nSteps * nSteps];
+    double[] upProbabilities = new double[nSteps * nSteps];
+    Arrays.fill(downProbabilities, downProbability);
+    Arrays.fill(middleProbabilities, middleProbability);
+    Arrays.fill(upProbabilities, upProbability);
+    return new TrinomialLattice(nSteps, spot, times, discountFactors, stateValues,
+        downProbabilities, middleProbabilities, upProbabilities);
+  }
+
+  // restricted constructor
+  private TrinomialLattice(
+      int nSteps,
+      double spot,
+      double[] times,
+      double[] discountFactors,
+      double[] stateValues,
+      double[] downProbabilities,
+      double[] middleProbabilities,
+      double[] upProbabilities) {
+
+    this.nSteps = nSteps;
+    this.spot = spot;
+    this.times = times;
+    this.discountFactors = discountFactors;
+    this.stateValues = stateValues;
+    this.downProbabilities = downProbabilities;
+    this.middleProbabilities = middleProbabilities;
+    this.upProbabilities = upProbabilities;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of time steps.
+   *
+   * @return the number of time steps
+   */
+  public int getNumberOfSteps() {
+    return nSteps;
+  }
+
+  /**
+   * Gets the spot.
+   *
+   * @return the spot
+   */
+  public double getSpot() {
+    return spot;
+  }
+
+  /**
+   * Gets the time of the {@code i}-th layer.
+   *
+   * @param i  the layer
+   * @return the time
+   */
+  public double getTime(int i) {
+    return times[i];
+  }
+
+  /**
+   * Gets the discount factor between the {@code i}-th layer and the next.
+   *
+   * @param i  the layer
+   * @return the discount factor
+   */
+  public double getDiscountFactor(int i) {
+    return discountFactors[i];
+  }
+
+  /**
+   * Gets the state value of the {@code j}-th lowest node of the {@code i}-th layer.
+   *
+   * @param i  the layer
+   * @param j  the node
+   * @return the state value
+   */
+  public double getStateValue(int i, int j) {
+    return stateValues[i * i + j];
+  }
+
+  /**
+   * Gets the state values of the {@code i}-th layer.
+   *
+   * @param i  the layer
+   * @return the state values
+   */
+  public DoubleArray getStateValueAtLayer(int i) {
+    return DoubleArray.ofUnsafe(Arrays.copyOfRange(stateValues, i * i, (i + 1) * (i + 1)));
+  }
+
+  /**
+   * Gets the down probability of the {@code j}-th lowest node of the {@code i}-th layer.
+   *
+   * @param i  the layer
+   * @param j  the node
+   * @return the down probability
+   */
+  public double getDownProbability(int i, int j) {
+    return downProbabilities[i * i + j];
+  }
+
+  /**
+   * Gets the middle probability of the {@code j}-th lowest node of the {@code i}-th layer.
+   *
+   * @param i  the layer
+   * @param j  the node
+   * @return the middle probability
+   */
+  public double getMiddleProbability(int i, int j) {
+    return middleProbabilities[i * i + j];
+  }
+
+  /**
+   * Gets the up probability of the {@code j}-th lowest node of the {@code i}-th layer.
+   *
+   * @param i  the layer
+   * @param j  the node
+   * @return the up probability
+   */
+  public double getUpProbability(int i, int j) {
+    return upProbabilities[i * i + j];
+  }
+
+  /**
+   * Gets the transition probabilities of the {@code i}-th layer.
+   * <p>
+   * The down, middle and up probabilities of the {@code j}-th lowest node are the components
+   * {@code {j,0}}, {@code {j,1}} and {@code {j,2}} respectively.
+   *
+   * @param i  the layer
+   * @return the transition probabilities
+   */
+  public DoubleMatrix getProbabilityAtLayer(int i) {
+    return DoubleMatrix.of(
+        2 * i + 1,
+        3,
+        (j, k) -> k == 0 ? getDownProbability(i, j) : (k == 1 ? getMiddleProbability(i, j) : getUpProbability(i, j)));
+  }
+
+  /**
+   * Rolls the values of the {@code (i+1)}-th layer back to the {@code i}-th layer by discounted expectation.
+   * <p>
+   * The first {@code 2*i+1} elements of {@code result} are overwritten. No array is allocated.
+   *
+   * @param i  the layer
+   * @param values  the values of the {@code (i+1)}-th layer
+   * @param result  the array to fill with the values of the {@code i}-th layer
+   */
+  public void rollBack(int i, double[] values, double[] result) {
+    double discountFactor = discountFactors[i];
+    int offset = i * i;
+    for (int j = 0; j < 2 * i + 1; ++j) {
+      result[j] = discountFactor * (upProbabilities[offset + j] * values[j + 2] +
+          middleProbabilities[offset + j] * values[j + 1] + downProbabilities[offset + j] * values[j]);
+    }
+  }
+
+  /**
+   * Finds the index of the highest node of the {@code i}-th layer whose state value is not above the specified value.
+   *
+   * @param i  the layer
+   * @param value  the value
+   * @return the index, -1 if the value is below the lowest node
+   */
+  public int lowerBoundIndex(int i, double value) {
+    return lowerBoundIndex(stateValues, i * i, 2 * i + 1, value);
+  }
+
+  // the state values of all the layers, the i-th layer starting at index i * i, not to be mutated
+  double[] stateValues() {
+    return stateValues;
+  }
+
+  // finds the index, relative to the offset, of the highest of the sorted values not above the specified value
+  static int lowerBoundIndex(double[] values, int offset, int nValues, double value) {
+    if (value < values[offset]) {
+      return -1;
+    }
+    if (value > values[offset + nValues - 1]) {
+      return nValues - 1;
+    }
+    int index = Arrays.binarySearch(values, offset, offset + nValues, value);
+    if (index >= 0) {
+      // Fast break out if it's an exact match.
+      return index - offset;
+    }
+    index = -(index + 1) - 1 - offset;
+    if (value == -0d && index < nValues - 1 && values[offset + index + 1] == 0d) {
+      ++index;
+    }
+    return index;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the price of an option.
+   *
+   * @param function  the option
+   * @return the option price
+   */
+  public double optionPrice(OptionFunction function) {
+    return optionPrices(Arrays.asList(function)).get(0);
+  }
+
+  /**
+   * Computes the price and the spot delta of an option.
+   * <p>
+   * The delta is the first derivative of the price with respect to spot, and approximated by the data
+   * embedded in the lattice.
+   *
+   * @param function  the option
+   * @return the option price and spot delta
+   */
+  public ValueDerivatives optionPriceAdjoint(OptionFunction function) {
+    return optionPricesAdjoint(Arrays.asList(function)).get(0);
+  }
+
+  /**
+   * Computes the prices of several options in one backward sweep.
+   *
+   * @param functions  the options
+   * @return the option prices, in the order of the options
+   */
+  public DoubleArray optionPrices(List<? extends OptionFunction> functions) {
+    double[][] values = sweep(functions, null);
+    return DoubleArray.of(functions.size(), k -> values[k][0]);
+  }
+
+  /**
+   * Computes the prices and the spot deltas of several options in one backward sweep.
+   * <p>
+   * The delta is the first derivative of the price with respect to spot, and approximated by the data
+   * embedded in the lattice.
+   *
+   * @param functions  the options
+   * @return the option prices and spot deltas, in the order of the options
+   */
+  public List<ValueDerivatives> optionPricesAdjoint(List<? extends OptionFunction> functions) {
+    double[] deltas = new double[functions.size()];
+    double[][] values = sweep(functions, deltas);
+    List<ValueDerivatives> result = new ArrayList<>(functions.size());
+    for (int k = 0; k < functions.size(); ++k) {
+      result.add(ValueDerivatives.of(values[k][0], DoubleArray.of(deltas[k])));
+    }
+    return result;
+  }
+
+  // backward induction of all the options, returning the buffers holding the values at the first layer
+  private double[][] sweep(List<? extends OptionFunction> functions, double[] deltas) {
+    ArgChecker.notEmpty(functions, "functions");
+    int nFunctions = functions.size();
+    for (OptionFunction function : functions) {
+      ArgChecker.isTrue(function.getNumberOfSteps() == nSteps, "mismatch in number of steps");
+    }
+    int nNodes = 2 * nSteps + 1;
+    double[][] current = new double[nFunctions][nNodes];
+    double[][] next = new double[nFunctions][nNodes];
+    for (int k = 0; k < nFunctions; ++k) {
+      functions.get(k).getPayoffAtExpiryTrinomial(this, current[k]);
+    }
+    for (int i = nSteps - 1; i > -1; --i) {
+      for (int k = 0; k < nFunctions; ++k) {
+        functions.get(k).getNextOptionValues(this, current[k], next[k], i);
+      }
+      double[][] swap = current;
+      current = next;
+      next = swap;
+      if (i == 1 && deltas != null) {
+        double s0 = getStateValue(1, 0);
+        double s1 = getStateValue(1, 1);
+        double s2 = getStateValue(1, 2);
+        for (int k = 0; k < nFunctions; ++k) {
+          double[] values = current[k];
+          double d1 = (values[2] - values[1]) / (s2 - s1);
+          double d2 = (values[1] - values[0]) / (s1 - s0);
+          deltas[k] = 0.5 * (d1 + d2);
+        }
+      }
+    }
+    return current;
+  }
+
+}
@@ -17,6 +17,8 @@ import com.opengamma.strata.pricer.fxopt.RecombiningTrinomialTreeData;
  * and the option to price is specified by {@code OptionFunction}. 
  * <p>
  * Option pricing with non-uniform tree is realised by specifying {@code RecombiningTrinomialTreeData}.
+ * When several options are priced on the same tree data, {@link TrinomialLattice} should be used directly
+ * so that the data is converted once and all the options are priced in one backward sweep.
  */
 public class TrinomialTree {
 
@@ -80,6 +80,55 @@ public final class SabrHaganVolatilityFunctionProvider
     ArgChecker.isTrue(forward > 0.0, "forward must be greater than zero");
     ArgChecker.isTrue(strike >= 0.0, "strike must be greater than zero");
     ArgChecker.isTrue(timeToExpiry >= 0.0, "timeToExpiry must be greater than zero");
+    return volatilityKernel(forward, strike, timeToExpiry, alpha, beta, rho, nu);
+  }
+
+  /**
+   * Computes the implied volatility in the SABR model for several strikes.
+   * <p>
+   * The forward, time to expiry and SABR parameters are common to all the strikes.
+   * The checks on the common inputs are done once and no object is allocated,
+   * which makes this suitable to evaluate a full smile.
+   * 
+   * @param forward  the forward value of the underlying
+   * @param strikes  the strike values of the options
+   * @param timeToExpiry  the time to expiry of the options
+   * @param alpha  the SABR alpha value
+   * @param beta  the SABR beta value
+   * @param rho  the SABR rho value
+   * @param nu  the SABR nu value
+   * @param volatilities  the array used to return the volatilities, at least as long as the strikes
+   */
+  @Override
+  public void volatilities(
+      double forward,
+      double[] strikes,
+      double timeToExpiry,
+      double alpha,
+      double beta,
+      double rho,
+      double nu,
+      double[] volatilities) {
+
+    int nbStrikes = strikes.length;
+    ArgChecker.isTrue(volatilities.length >= nbStrikes, "volatilities array must be at least as long as strikes");
+    ArgChecker.isTrue(forward > 0.0, "forward must be greater than zero");
+    ArgChecker.isTrue(timeToExpiry >= 0.0, "timeToExpiry must be greater than zero");
+    for (int i = 0; i < nbStrikes; i++) {
+      ArgChecker.isTrue(strikes[i] >= 0.0, "strike must be greater than zero");
+      volatilities[i] = volatilityKernel(forward, strikes[i], timeToExpiry, alpha, beta, rho, nu);
+    }
+  }
+
+  // the volatility, the inputs having been validated
+  private double volatilityKernel(
+      double forward,
+      double strike,
+      double timeToExpiry,
+      double alpha,
+      double beta,
+      double rho,
+      double nu) {
 
     if (alpha == 0.0) {
       return 0.0;
@@ -196,6 +245,79 @@ public final class SabrHaganVolatilityFunctionProvider
     ArgChecker.isTrue(forward > 0.0, "forward must be greater than zero");
     ArgChecker.isTrue(strike >= 0.0, "strike must be greater than zero");
     ArgChecker.isTrue(timeToExpiry >= 0.0, "timeToExpiry must be greater than zero");
+    double[] derivatives = new double[6];
+    double volatility = volatilityAdjointKernel(
+        forward, strike, timeToExpiry, alpha, beta, rho, nu, derivatives, 0, 1);
+    return ValueDerivatives.of(volatility, DoubleArray.ofUnsafe(derivatives));
+  }
+
+  /**
+   * Computes the implied volatility in the SABR model and its derivatives for several strikes.
+   * <p>
+   * The forward, time to expiry and SABR parameters are common to all the strikes.
+   * The results are written in the arrays provided, so that the arrays can be reused across smiles.
+   * <p>
+   * The derivatives are stored by type, each type being contiguous.
+   * The derivative of the volatility of index {@code i} is stored at index {@code j * n + i}
+   * where {@code n} is the number of strikes and {@code j} is:
+   * <ul>
+   * <li>0 for the derivative with respect to the forward
+   * <li>1 for the derivative with respect to the strike
+   * <li>2 for the derivative with respect to the alpha
+   * <li>3 for the derivative with respect to the beta
+   * <li>4 for the derivative with respect to the rho
+   * <li>5 for the derivative with respect to the nu
+   * </ul>
+   * 
+   * @param forward  the forward value of the underlying
+   * @param strikes  the strike values of the options
+   * @param timeToExpiry  the time to expiry of the options
+   * @param alpha  the SABR alpha value
+   * @param beta  the SABR beta value
+   * @param rho  the SABR rho value
+   * @param nu  the SABR nu value
+   * @param volatilities  the array used to return the volatilities, at least as long as the strikes
+   * @param derivatives  the array used to return the derivatives, at least six times as long as the strikes
+   */
+  @Override
+  public void volatilitiesAdjoint(
+      double forward,
+      double[] strikes,
+      double timeToExpiry,
+      double alpha,
+      double beta,
+      double rho,
+      double nu,
+      double[] volatilities,
+      double[] derivatives) {
+
+    int nbStrikes = strikes.length;
+    ArgChecker.isTrue(volatilities.length >= nbStrikes, "volatilities array must be at least as long as strikes");
+    ArgChecker.isTrue(
+        derivatives.length >= 6 * nbStrikes, "derivatives array must be at least six times as long as strikes");
+    ArgChecker.isTrue(forward > 0.0, "forward must be greater than zero");
+    ArgChecker.isTrue(timeToExpiry >= 0.0, "timeToExpiry must be greater than zero");
+    for (int i = 0; i < nbStrikes; i++) {
+      ArgChecker.isTrue(strikes[i] >= 0.0, "strike must be greater than zero");
+      volatilities[i] = volatilityAdjointKernel(
+          forward, strikes[i], timeToExpiry, alpha, beta, rho, nu, derivatives, i, nbStrikes);
+    }
+  }
+
+  // the volatility and its derivatives, the inputs having been validated
+  // the six derivatives are written in the array from the offset, separated by the stride
+  private double volatilityAdjointKernel(
+      double forward,
+      double strike,
+      double timeToExpiry,
+      double alpha,
+      double beta,
+      double rho,
+      double nu,
+      double[] derivatives,
+      int offset,
+      int stride) {
+
     double cutoff = forward * CUTOFF_MONEYNESS;
     double k = strike;
     if (k < cutoff) {
@@ -216,7 +338,13 @@ public final class SabrHaganVolatilityFunctionProvider
         // so we return an arbitrary large number
         alphaBar = 1e7;
       }
-      return ValueDerivatives.of(0d, DoubleArray.of(0, 0, alphaBar, 0, 0, 0));
+      derivatives[offset] = 0d;
+      derivatives[offset + stride] = 0d;
+      derivatives[offset + 2 * stride] = alphaBar;
+      derivatives[offset + 3 * stride] = 0d;
+      derivatives[offset + 4 * stride] = 0d;
+      derivatives[offset + 5 * stride] = 0d;
+      return 0d;
     }
 
     // Implementation note: Forward sweep.
@@ -326,7 +454,13 @@ public final class SabrHaganVolatilityFunctionProvider
         (betaStar / 12 * (lnrfK * lnrfK) + Math.pow(betaStar, 3) / 480 * Math.pow(lnrfK, 4)) * sf1Bar +
         (-betaStar * alpha * alpha / sfK / sfK / 12 + rho * nu * alpha / 4 / sfK) * timeToExpiry * sf2Bar;
 
-    return ValueDerivatives.of(volatility, DoubleArray.of(forwardBar, strikeBar, alphaBar, betaBar, rhoBar, nuBar));
+    derivatives[offset] = forwardBar;
+    derivatives[offset + stride] = strikeBar;
+    derivatives[offset + 2 * stride] = alphaBar;
+    derivatives[offset + 3 * stride] = betaBar;
+    derivatives[offset + 4 * stride] = rhoBar;
+    derivatives[offset + 5 * stride] = nuBar;
+    return volatility;
   }
 
   /**
@@ -18,6 +18,7 @@ import com.opengamma.strata.math.impl.minimization.NonLinearParameterTransforms;
 import com.opengamma.strata.math.impl.minimization.NonLinearTransformFunction;
 import com.opengamma.strata.math.impl.statistics.leastsquare.LeastSquareResults;
 import com.opengamma.strata.math.impl.statistics.leastsquare.LeastSquareResultsWithTransform;
+import com.opengamma.strata.math.impl.statistics.leastsquare.LevenbergMarquardtLeastSquare;
 import com.opengamma.strata.math.impl.statistics.leastsquare.NonLinearLeastSquare;
 
 /**
@@ -27,6 +28,10 @@ import com.opengamma.strata.math.impl.statistics.leastsquare.NonLinearLeastSquar
  * squares between the market and model implied volatilities.
  * <p>
  * All the options must be for the same expiry and (implicitly) on the same underlying.
+ * <p>
+ * The fit uses {@link NonLinearLeastSquare} by default. A {@link LevenbergMarquardtLeastSquare} solver
+ * can be specified instead, which is faster for repeated calibrations but does not check that the solution
+ * found is not a saddle point.
  * 
  * @param <T>  the data of smile model to be calibrated
  */
@@ -144,6 +149,48 @@ public abstract class SmileModelFitter<T extends SmileModelData> {
     return new LeastSquareResultsWithTransform(solRes, transform);
   }
 
+  /**
+   * Solve using the default NonLinearParameterTransforms for the concrete implementation with some parameters fixed 
+   * to their initial values (indicated by fixed), using the specified Levenberg-Marquardt solver.
+   * <p>
+   * This returns {@link LeastSquareResults}.
+   * 
+   * @param start  the first guess at the parameter values
+   * @param fixed  the parameters are fixed
+   * @param solver  the solver
+   * @return the calibration results
+   */
+  public LeastSquareResultsWithTransform solve(
+      DoubleArray start,
+      BitSet fixed,
+      LevenbergMarquardtLeastSquare solver) {
+
+    NonLinearParameterTransforms transform = getTransform(start, fixed);
+    return solve(start, transform, solver);
+  }
+
+  /**
+   * Solve using a user supplied NonLinearParameterTransforms and the specified Levenberg-Marquardt solver.
+   * <p>
+   * This returns {@link LeastSquareResults}.
+   * 
+   * @param start  the first guess at the parameter values
+   * @param transform  transform from model parameters to fitting parameters, and vice versa
+   * @param solver  the solver
+   * @return the calibration results
+   */
+  public LeastSquareResultsWithTransform solve(
+      DoubleArray start,
+      NonLinearParameterTransforms transform,
+      LevenbergMarquardtLeastSquare solver) {
+
+    ArgChecker.notNull(solver, "solver");
+    NonLinearTransformFunction transFunc = new NonLinearTransformFunction(volFunc, volAdjointFunc, transform);
+    LeastSquareResults solRes = solver.solve(marketValues, errors, transFunc.getFittingFunction(),
+        transFunc.getFittingJacobian(), transform.transform(start), getConstraintFunction(transform), getMaximumStep());
+    return new LeastSquareResultsWithTransform(solRes, transform);
+  }
+
   /**
    * Obtains volatility function of the smile model.
    * <p>
@@ -20,6 +20,7 @@ import org.joda.beans.impl.light.LightMetaBean;
 import com.opengamma.strata.basics.date.DayCount;
 import com.opengamma.strata.basics.value.ValueDerivatives;
 import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.market.ValueType;
 import com.opengamma.strata.market.param.ParameterMetadata;
 import com.opengamma.strata.market.param.ParameterPerturbation;
@@ -353,6 +354,29 @@ public final class SabrInterestRateParameters
     return sabrVolatilityFormula.volatility(forward + shift, strike + shift, expiry, alpha, beta, rho, nu);
   }
 
+  /**
+   * Calculates the volatilities for given expiry, tenor and forward rate and several strikes.
+   * <p>
+   * The SABR parameters are computed once for all the strikes.
+   * 
+   * @param expiry  the time to expiry as a year fraction
+   * @param tenor  the tenor as a year fraction
+   * @param strikes  the strikes
+   * @param forward  the forward
+   * @return the volatilities, one for each strike
+   */
+  public DoubleArray volatilities(double expiry, double tenor, DoubleArray strikes, double forward) {
+    double alpha = alpha(expiry, tenor);
+    double beta = beta(expiry, tenor);
+    double rho = rho(expiry, tenor);
+    double nu = nu(expiry, tenor);
+    double shift = shift(expiry, tenor);
+    double[] shiftedStrikes = strikes.plus(shift).toArrayUnsafe();
+    double[] volatilities = new double[shiftedStrikes.length];
+    sabrVolatilityFormula.volatilities(forward + shift, shiftedStrikes, expiry, alpha, beta, rho, nu, volatilities);
+    return DoubleArray.ofUnsafe(volatilities);
+  }
+
   /**
    * Calculates the volatility and associated sensitivities.
    * <p>
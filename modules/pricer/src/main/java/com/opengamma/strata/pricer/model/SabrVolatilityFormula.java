@@ -75,4 +75,82 @@ public interface SabrVolatilityFormula {
       double rho,
       double nu);
 
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the volatility for several strikes.
+   * <p>
+   * The forward, time to expiry and SABR parameters are common to all the strikes.
+   * The volatilities are written in the array provided, which must be at least as long as the strikes.
+   * <p>
+   * By default this calls {@link #volatility(double, double, double, double, double, double, double)}
+   * for each strike. Implementations may override this to avoid repeated work.
+   * 
+   * @param forward  the forward value of the underlying
+   * @param strikes  the strike values of the options
+   * @param timeToExpiry  the time to expiry of the options
+   * @param alpha  the SABR alpha value
+   * @param beta  the SABR beta value
+   * @param rho  the SABR rho value
+   * @param nu  the SABR nu value
+   * @param volatilities  the array used to return the volatilities
+   */
+  public default void volatilities(
+      double forward,
+      double[] strikes,
+      double timeToExpiry,
+      double alpha,
+      double beta,
+      double rho,
+      double nu,
+      double[] volatilities) {
+
+    for (int i = 0; i < strikes.length; i++) {
+      volatilities[i] = volatility(forward, strikes[i], timeToExpiry, alpha, beta, rho, nu);
+    }
+  }
+
+  /**
+   * Calculates the volatility and the adjoint for several strikes.
+   * <p>
+   * The forward, time to expiry and SABR parameters are common to all the strikes.
+   * The volatilities are written in the first array provided, which must be at least as long as the strikes.
+   * The derivatives are written in the second array provided, which must be at least six times as long as the strikes.
+   * The derivatives are stored by type, the derivative of the volatility of index {@code i} being stored
+   * at index {@code j * n + i} where {@code n} is the number of strikes and {@code j} is the index of
+   * the derivative in {@link #volatilityAdjoint(double, double, double, double, double, double, double)}.
+   * <p>
+   * By default this calls {@link #volatilityAdjoint(double, double, double, double, double, double, double)}
+   * for each strike. Implementations may override this to avoid repeated work and allocation.
+   * 
+   * @param forward  the forward value of the underlying
+   * @param strikes  the strike values of the options
+   * @param timeToExpiry  the time to expiry of the options
+   * @param alpha  the SABR alpha value
+   * @param beta  the SABR beta value
+   * @param rho  the SABR rho value
+   * @param nu  the SABR nu value
+   * @param volatilities  the array used to return the volatilities
+   * @param derivatives  the array used to return the derivatives
+   */
+  public default void volatilitiesAdjoint(
+      double forward,
+      double[] strikes,
+      double timeToExpiry,
+      double alpha,
+      double beta,
+      double rho,
+      double nu,
+      double[] volatilities,
+      double[] derivatives) {
+
+    int nbStrikes = strikes.length;
+    for (int i = 0; i < nbStrikes; i++) {
+      ValueDerivatives volatilityAdjoint = volatilityAdjoint(forward, strikes[i], timeToExpiry, alpha, beta, rho, nu);
+      volatilities[i] = volatilityAdjoint.getValue();
+      for (int j = 0; j < volatilityAdjoint.getDerivatives().size(); j++) {
+        derivatives[j * nbStrikes + i] = volatilityAdjoint.getDerivative(j);
+      }
+    }
+  }
+
 }
@@ -216,6 +216,11 @@ public final class SabrParametersSwaptionVolatilities
     return parameters.volatilityAdjoint(expiry, tenor, strike, forward);
   }
 
+  @Override
+  public DoubleArray volatilities(double expiry, double tenor, DoubleArray strikes, double forward) {
+    return parameters.volatilities(expiry, tenor, strikes, forward);
+  }
+
   @Override
   public double alpha(double expiry, double tenor) {
     return parameters.alpha(expiry, tenor);
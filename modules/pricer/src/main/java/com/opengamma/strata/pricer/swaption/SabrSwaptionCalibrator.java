@@ -5,13 +5,21 @@
  */
 package com.opengamma.strata.pricer.swaption;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.Period;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.BitSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 import com.opengamma.strata.basics.ReferenceData;
@@ -35,6 +43,7 @@ import com.opengamma.strata.math.MathException;
 import com.opengamma.strata.math.impl.rootfinding.NewtonRaphsonSingleRootFinder;
 import com.opengamma.strata.math.impl.statistics.leastsquare.LeastSquareResultsWithTransform;
 import com.opengamma.strata.pricer.impl.option.BlackFormulaRepository;
+import com.opengamma.strata.pricer.impl.option.ImpliedVolatilityFormulaRepository;
 import com.opengamma.strata.pricer.impl.volatility.smile.SabrFormulaData;
 import com.opengamma.strata.pricer.impl.volatility.smile.SabrModelFitter;
 import com.opengamma.strata.pricer.model.SabrInterestRateParameters;
@@ -70,6 +79,13 @@ public final class SabrSwaptionCalibrator {
 
   /** The root-finder used in the Alpha calibration to ATM volatility. */
   private static final NewtonRaphsonSingleRootFinder ROOT_FINDER = new NewtonRaphsonSingleRootFinder();
+  /**
+   * The chi-square per strike below which a warm-started fit is accepted without trying the standard starting points.
+   * <p>
+   * The errors of the least-square fit are one basis point of volatility, so this is a root-mean-square error
+   * of one basis point.
+   */
+  private static final double ACCEPTABLE_CHI_SQUARE_PER_STRIKE = 1d;
 
   /**
    * The default instance of the class.
@@ -178,7 +194,6 @@ public final class SabrSwaptionCalibrator {
    *   expiries/tenors which throw MathException
    * @return the SABR volatility object
    */
-  @SuppressWarnings("null")
   public SabrParametersSwaptionVolatilities calibrateWithFixedBetaAndShift(
       SabrSwaptionDefinition definition,
       ZonedDateTime calibrationDateTime,
@@ -188,6 +203,149 @@ public final class SabrSwaptionCalibrator {
       Surface shiftSurface,
       boolean stopOnMathException) {
 
+    return calibrateCube(
+        definition,
+        calibrationDateTime,
+        data,
+        ratesProvider,
+        betaSurface,
+        shiftSurface,
+        stopOnMathException,
+        false,
+        null,
+        Runnable::run,
+        fit -> { });
+  }
+
+  /**
+   * Calibrate SABR parameters to a set of raw swaption data, calibrating the smiles concurrently.
+   * <p>
+   * The SABR parameters are calibrated with fixed beta and fixed shift surfaces.
+   * The raw data can be (shifted) log-normal volatilities, normal volatilities or option prices
+   * <p>
+   * The smiles of the tenors at even positions in the data are calibrated from the standard starting points.
+   * The fit of each smile of the tenors at odd positions is started from the parameters calibrated for the
+   * same expiry and the previous tenor, once available. The smiles are calibrated concurrently using the
+   * specified executor, no fit waiting for more than one other.
+   * <p>
+   * A warm-started fit is retained if it has converged with a root-mean-square error of at most one basis point
+   * of volatility. Otherwise the smile is also calibrated from the standard starting points and the best fit retained.
+   * <p>
+   * The diagnostics of each smile calibrated are passed to the listener on the calling thread,
+   * in the order of the data.
+   *
+   * @param definition  the definition of the calibration to be performed
+   * @param calibrationDateTime  the data and time of the calibration
+   * @param data  the map of raw option data, keyed by tenor
+   * @param ratesProvider  the rate provider used to compute the swap forward rates
+   * @param betaSurface  the beta surface
+   * @param shiftSurface  the shift surface
+   * @param stopOnMathException  flag indicating if the calibration should stop on math exceptions or skip the
+   *   expiries/tenors which throw MathException
+   * @param executor  the executor used to calibrate the smiles
+   * @param fitListener  the listener receiving the diagnostics of each smile
+   * @return the SABR volatility object
+   */
+  public SabrParametersSwaptionVolatilities calibrateWithFixedBetaAndShift(
+      SabrSwaptionDefinition definition,
+      ZonedDateTime calibrationDateTime,
+      TenorRawOptionData data,
+      RatesProvider ratesProvider,
+      Surface betaSurface,
+      Surface shiftSurface,
+      boolean stopOnMathException,
+      Executor executor,
+      Consumer<SabrSwaptionSmileFit> fitListener) {
+
+    ArgChecker.notNull(executor, "executor");
+    ArgChecker.notNull(fitListener, "fitListener");
+    return calibrateCube(
+        definition,
+        calibrationDateTime,
+        data,
+        ratesProvider,
+        betaSurface,
+        shiftSurface,
+        stopOnMathException,
+        true,
+        null,
+        executor,
+        fitListener);
+  }
+
+  /**
+   * Recalibrate SABR parameters to a set of raw swaption data, starting from a previous calibration.
+   * <p>
+   * The SABR parameters are calibrated with fixed beta and fixed shift surfaces.
+   * The raw data can be (shifted) log-normal volatilities, normal volatilities or option prices
+   * <p>
+   * This is intended for frequent recalibration, such as intraday. The fit of each smile is started
+   * from the alpha, rho and nu of the previous calibration at the same expiry and tenor, with alpha adjusted for
+   * changes in forward, beta and shift. All the smiles are calibrated concurrently using the specified executor.
+   * A warm-started fit is retained if it has converged with a root-mean-square error of at most one basis point
+   * of volatility. Otherwise the smile is also calibrated from the standard starting points and the best fit retained.
+   * <p>
+   * The diagnostics of each smile calibrated are passed to the listener on the calling thread,
+   * in the order of the data.
+   *
+   * @param previous  the previously calibrated SABR volatilities
+   * @param definition  the definition of the calibration to be performed
+   * @param calibrationDateTime  the data and time of the calibration
+   * @param data  the map of raw option data, keyed by tenor
+   * @param ratesProvider  the rate provider used to compute the swap forward rates
+   * @param betaSurface  the beta surface
+   * @param shiftSurface  the shift surface
+   * @param stopOnMathException  flag indicating if the calibration should stop on math exceptions or skip the
+   *   expiries/tenors which throw MathException
+   * @param executor  the executor used to calibrate the smiles
+   * @param fitListener  the listener receiving the diagnostics of each smile
+   * @return the SABR volatility object
+   */
+  public SabrParametersSwaptionVolatilities recalibrateWithFixedBetaAndShift(
+      SabrParametersSwaptionVolatilities previous,
+      SabrSwaptionDefinition definition,
+      ZonedDateTime calibrationDateTime,
+      TenorRawOptionData data,
+      RatesProvider ratesProvider,
+      Surface betaSurface,
+      Surface shiftSurface,
+      boolean stopOnMathException,
+      Executor executor,
+      Consumer<SabrSwaptionSmileFit> fitListener) {
+
+    ArgChecker.notNull(previous, "previous");
+    ArgChecker.notNull(executor, "executor");
+    ArgChecker.notNull(fitListener, "fitListener");
+    return calibrateCube(
+        definition,
+        calibrationDateTime,
+        data,
+        ratesProvider,
+        betaSurface,
+        shiftSurface,
+        stopOnMathException,
+        false,
+        previous,
+        executor,
+        fitListener);
+  }
+
+  // Calibrates all the smiles and builds the surfaces. The smiles are calibrated using the executor,
+  // but the results are processed on the calling thread in the order of the data.
+  @SuppressWarnings("null")
+  private SabrParametersSwaptionVolatilities calibrateCube(
+      SabrSwaptionDefinition definition,
+      ZonedDateTime calibrationDateTime,
+      TenorRawOptionData data,
+      RatesProvider ratesProvider,
+      Surface betaSurface,
+      Surface shiftSurface,
+      boolean stopOnMathException,
+      boolean seedFromNeighbour,
+      SabrParametersSwaptionVolatilities previous,
+      Executor executor,
+      Consumer<SabrSwaptionSmileFit> fitListener) {
+
     SwaptionVolatilitiesName name = definition.getName();
     FixedIborSwapConvention convention = definition.getConvention();
     DayCount dayCount = definition.getDayCount();
@@ -197,13 +355,18 @@ public final class SabrSwaptionCalibrator {
     fixed.set(1); // Beta fixed
     BusinessDayAdjustment bda = convention.getFloatingLeg().getStartDateBusinessDayAdjustment();
     LocalDate calibrationDate = calibrationDateTime.toLocalDate();
-    // Sorted maps to obtain the surfaces nodes in standard order
-    TreeMap<Double, TreeMap<Double, ParameterMetadata>> parameterMetadataTmp = new TreeMap<>();
-    TreeMap<Double, TreeMap<Double, DoubleArray>> dataSensitivityAlphaTmp = new TreeMap<>(); // Sensitivity to the calibrating data
-    TreeMap<Double, TreeMap<Double, DoubleArray>> dataSensitivityRhoTmp = new TreeMap<>();
-    TreeMap<Double, TreeMap<Double, DoubleArray>> dataSensitivityNuTmp = new TreeMap<>();
-    TreeMap<Double, TreeMap<Double, SabrFormulaData>> sabrPointTmp = new TreeMap<>();
+    List<SmileNode> nodes = new ArrayList<>();
+    List<CompletableFuture<SmileFit>> fits = new ArrayList<>();
+    // the first failure, once set the remaining smiles are not calibrated if stopping on math exceptions
+    AtomicReference<MathException> firstFailure = new AtomicReference<>();
+    // the fits of the previous tenor, by expiry, used as starting points when seeding from the neighbour
+    Map<Period, CompletableFuture<SmileFit>> neighbourFits = new HashMap<>();
+    int looptenor = 0;
     for (Tenor tenor : data.getTenors()) {
+      // only every other tenor is seeded, so that no fit waits for more than one other
+      boolean seeded = seedFromNeighbour && looptenor % 2 == 1;
+      looptenor++;
+      Map<Period, CompletableFuture<SmileFit>> tenorFits = new HashMap<>();
       RawOptionData tenorData = data.getData(tenor);
       double timeTenor = tenor.getPeriod().getYears() + tenor.getPeriod().getMonths() / 12;
       List<Period> expiries = tenorData.getExpiries();
@@ -221,47 +384,72 @@ public final class SabrSwaptionCalibrator {
         LocalDate endDate = effectiveDate.plus(tenor);
         SwapTrade swap0 = convention.toTrade(calibrationDate, effectiveDate, endDate, BuySell.BUY, 1.0, 0.0);
         double forward = swapPricer.parRate(swap0.getProduct().resolve(refData), ratesProvider);
-        SabrFormulaData sabrPoint = null;
-        DoubleMatrix inverseJacobian = null;
-        boolean error = false;
-        try {
-          Pair<SabrFormulaData, DoubleMatrix> calibrationResult =
-              calibration(forward, shift, beta, fixed, bda, calibrationDateTime, dayCount,
-                  availableSmile.getFirst(), availableSmile.getSecond(), expiries.get(loopexpiry), tenorData);
-          sabrPoint = calibrationResult.getFirst();
-          inverseJacobian = calibrationResult.getSecond();
-        } catch (MathException e) {
-          error = true;
-          if (stopOnMathException) {
-            String message = Messages.format("{} at expiry {} and tenor {}", e.getMessage(),
-                expiries.get(loopexpiry), tenor);
-            throw new MathException(message, e);
-          }
-        }
-        if (!error) {
-          if (!parameterMetadataTmp.containsKey(timeToExpiry)) {
-            parameterMetadataTmp.put(timeToExpiry, new TreeMap<>());
-            dataSensitivityAlphaTmp.put(timeToExpiry, new TreeMap<>());
-            dataSensitivityRhoTmp.put(timeToExpiry, new TreeMap<>());
-            dataSensitivityNuTmp.put(timeToExpiry, new TreeMap<>());
-            sabrPointTmp.put(timeToExpiry, new TreeMap<>());
-          }
-          TreeMap<Double, ParameterMetadata> parameterMetadataExpiryMap = parameterMetadataTmp.get(timeToExpiry);
-          TreeMap<Double, DoubleArray> dataSensitivityAlphaExpiryMap = dataSensitivityAlphaTmp.get(timeToExpiry);
-          TreeMap<Double, DoubleArray> dataSensitivityRhoExpiryMap = dataSensitivityRhoTmp.get(timeToExpiry);
-          TreeMap<Double, DoubleArray> dataSensitivityNuExpiryMap = dataSensitivityNuTmp.get(timeToExpiry);
-          TreeMap<Double, SabrFormulaData> sabrPointExpiryMap = sabrPointTmp.get(timeToExpiry);
-          parameterMetadataExpiryMap.put(timeTenor, SwaptionSurfaceExpiryTenorParameterMetadata.of(
-              timeToExpiry,
-              timeTenor,
-              expiries.get(loopexpiry).toString() + "x" + tenor.toString()));
-          dataSensitivityAlphaExpiryMap.put(timeTenor, inverseJacobian.row(0));
-          dataSensitivityRhoExpiryMap.put(timeTenor, inverseJacobian.row(2));
-          dataSensitivityNuExpiryMap.put(timeTenor, inverseJacobian.row(3));
-          sabrPointExpiryMap.put(timeTenor, sabrPoint);
+        SmileNode node = new SmileNode(
+            expiries.get(loopexpiry), tenor, timeToExpiry, timeTenor, forward, beta, shift, availableSmile, tenorData);
+        CompletableFuture<SmileFit> neighbourFit = seeded ? neighbourFits.get(expiries.get(loopexpiry)) : null;
+        CompletableFuture<SmileFit> fit;
+        if (neighbourFit != null) {
+          fit = neighbourFit.thenApplyAsync(
+              neighbour -> calibration(
+                  node, neighbour.seed(node), fixed, bda, calibrationDateTime, dayCount, stopOnMathException, firstFailure),
+              executor);
+        } else {
+          DoubleArray seed = previous != null ? previousSeed(previous, node) : null;
+          fit = CompletableFuture.supplyAsync(
+              () -> calibration(
+                  node, seed, fixed, bda, calibrationDateTime, dayCount, stopOnMathException, firstFailure),
+              executor);
         }
+        nodes.add(node);
+        fits.add(fit);
+        tenorFits.put(expiries.get(loopexpiry), fit);
+      }
+      neighbourFits = tenorFits;
+    }
+    // Sorted maps to obtain the surfaces nodes in standard order
+    TreeMap<Double, TreeMap<Double, ParameterMetadata>> parameterMetadataTmp = new TreeMap<>();
+    TreeMap<Double, TreeMap<Double, DoubleArray>> dataSensitivityAlphaTmp = new TreeMap<>(); // Sensitivity to the calibrating data
+    TreeMap<Double, TreeMap<Double, DoubleArray>> dataSensitivityRhoTmp = new TreeMap<>();
+    TreeMap<Double, TreeMap<Double, DoubleArray>> dataSensitivityNuTmp = new TreeMap<>();
+    TreeMap<Double, TreeMap<Double, SabrFormulaData>> sabrPointTmp = new TreeMap<>();
+    if (stopOnMathException) {
+      // the smiles not yet calibrated at the first failure complete immediately
+      fits.forEach(SabrSwaptionCalibrator::join);
+      if (firstFailure.get() != null) {
+        throw firstFailure.get();
       }
     }
+    for (int loopnode = 0; loopnode < nodes.size(); loopnode++) {
+      SmileNode node = nodes.get(loopnode);
+      SmileFit fit = join(fits.get(loopnode));
+      if (fit.failure != null) {
+        continue;
+      }
+      fitListener.accept(SabrSwaptionSmileFit.of(
+          node.expiry, node.tenor, fit.iterations, fit.chiSquare, fit.warmStarted, fit.elapsed));
+      double timeToExpiry = node.timeToExpiry;
+      double timeTenor = node.timeTenor;
+      if (!parameterMetadataTmp.containsKey(timeToExpiry)) {
+        parameterMetadataTmp.put(timeToExpiry, new TreeMap<>());
+        dataSensitivityAlphaTmp.put(timeToExpiry, new TreeMap<>());
+        dataSensitivityRhoTmp.put(timeToExpiry, new TreeMap<>());
+        dataSensitivityNuTmp.put(timeToExpiry, new TreeMap<>());
+        sabrPointTmp.put(timeToExpiry, new TreeMap<>());
+      }
+      TreeMap<Double, ParameterMetadata> parameterMetadataExpiryMap = parameterMetadataTmp.get(timeToExpiry);
+      TreeMap<Double, DoubleArray> dataSensitivityAlphaExpiryMap = dataSensitivityAlphaTmp.get(timeToExpiry);
+      TreeMap<Double, DoubleArray> dataSensitivityRhoExpiryMap = dataSensitivityRhoTmp.get(timeToExpiry);
+      TreeMap<Double, DoubleArray> dataSensitivityNuExpiryMap = dataSensitivityNuTmp.get(timeToExpiry);
+      TreeMap<Double, SabrFormulaData> sabrPointExpiryMap = sabrPointTmp.get(timeToExpiry);
+      parameterMetadataExpiryMap.put(timeTenor, SwaptionSurfaceExpiryTenorParameterMetadata.of(
+          timeToExpiry,
+          timeTenor,
+          node.expiry.toString() + "x" + node.tenor.toString()));
+      dataSensitivityAlphaExpiryMap.put(timeTenor, fit.inverseJacobian.row(0));
+      dataSensitivityRhoExpiryMap.put(timeTenor, fit.inverseJacobian.row(2));
+      dataSensitivityNuExpiryMap.put(timeTenor, fit.inverseJacobian.row(3));
+      sabrPointExpiryMap.put(timeTenor, fit.sabrPoint);
+    }
     DoubleArray timeToExpiryArray = DoubleArray.EMPTY;
     DoubleArray timeTenorArray = DoubleArray.EMPTY;
     DoubleArray alphaArray = DoubleArray.EMPTY;
@@ -317,9 +505,66 @@ public final class SabrSwaptionCalibrator {
         .dataSensitivityNu(dataSensitivityNu).build();
   }
 
+  // The starting point derived from a previous calibration of the cube
+  private static DoubleArray previousSeed(SabrParametersSwaptionVolatilities previous, SmileNode node) {
+    SabrInterestRateParameters parameters = previous.getParameters();
+    double alpha = parameters.alpha(node.timeToExpiry, node.timeTenor);
+    double beta = parameters.beta(node.timeToExpiry, node.timeTenor);
+    double shift = parameters.shift(node.timeToExpiry, node.timeTenor);
+    return DoubleArray.of(
+        node.alphaFrom(alpha, node.forward, beta, shift),
+        node.beta,
+        parameters.rho(node.timeToExpiry, node.timeTenor),
+        parameters.nu(node.timeToExpiry, node.timeTenor));
+  }
+
+  // unwraps the exception of a failed calibration
+  private static SmileFit join(CompletableFuture<SmileFit> future) {
+    try {
+      return future.join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) ex.getCause();
+      }
+      throw ex;
+    }
+  }
+
+  // Calibrates one smile, capturing the elapsed time and any MathException
+  // When stopping on math exceptions, the first failure is recorded and the calibration is skipped once one has failed
+  private SmileFit calibration(
+      SmileNode node,
+      DoubleArray warmStart,
+      BitSet fixed,
+      BusinessDayAdjustment bda,
+      ZonedDateTime calibrationDateTime,
+      DayCount dayCount,
+      boolean stopOnMathException,
+      AtomicReference<MathException> firstFailure) {
+
+    if (stopOnMathException && firstFailure.get() != null) {
+      return SmileFit.failure(node, firstFailure.get(), Duration.ZERO);
+    }
+    long start = System.nanoTime();
+    try {
+      SmileFit fit = calibration(node.forward, node.shift, node.beta, fixed, bda, calibrationDateTime, dayCount,
+          node.smile.getFirst(), node.smile.getSecond(), node.expiry, node.rawData, warmStart);
+      return fit.completed(node, Duration.ofNanos(System.nanoTime() - start));
+    } catch (MathException ex) {
+      if (stopOnMathException) {
+        String message = Messages.format("{} at expiry {} and tenor {}", ex.getMessage(), node.expiry, node.tenor);
+        firstFailure.compareAndSet(null, new MathException(message, ex));
+      }
+      return SmileFit.failure(node, ex, Duration.ofNanos(System.nanoTime() - start));
+    }
+  }
+
   // The main part of the calibration. The calibration is done 4 times with different starting points: low and high
   // volatilities and high and low vol of vol. The best result (in term of chi^2) is returned.
-  private Pair<SabrFormulaData, DoubleMatrix> calibration(
+  // If a warm start is provided, it is tried first and its fit is returned alone if it is acceptable.
+  // Otherwise it competes with the standard starting points, a failing one being then ignored.
+  // The number of iterations is the one of the fit returned.
+  private SmileFit calibration(
       double forward,
       double shift,
       double beta,
@@ -330,8 +575,25 @@ public final class SabrSwaptionCalibrator {
       DoubleArray strike,
       DoubleArray data,
       Period expiry,
-      RawOptionData rawData) {
+      RawOptionData rawData,
+      DoubleArray warmStart) {
 
+    double chi2 = 1.0E+12; // Large number
+    Pair<LeastSquareResultsWithTransform, DoubleArray> sabrCalibrationResult = null;
+    boolean warmStarted = false;
+    if (warmStart != null) {
+      try {
+        sabrCalibrationResult = calibrationLs(bda, calibrationDateTime, dayCount,
+            expiry, forward, strike, data, rawData, warmStart, fixed, shift);
+        chi2 = sabrCalibrationResult.getFirst().getChiSq();
+        warmStarted = true;
+        if (chi2 <= strike.size() * ACCEPTABLE_CHI_SQUARE_PER_STRIKE) {
+          return SmileFit.of(sabrCalibrationResult, chi2, sabrCalibrationResult.getFirst().getIterations(), true);
+        }
+      } catch (MathException ex) {
+        // only the standard starting points are used
+      }
+    }
     double rhoStart = -0.50 * beta + 0.50 * (1 - beta);
     // Correlation is usually positive for normal and negative for log-normal;.
     double[] alphaStart = new double[4];
@@ -344,51 +606,57 @@ public final class SabrSwaptionCalibrator {
     nuStart[1] = 0.50; // High vol of vol
     nuStart[2] = 0.10;
     nuStart[3] = 0.50;
-    double chi2 = 1.0E+12; // Large number 
-    Pair<LeastSquareResultsWithTransform, DoubleArray> sabrCalibrationResult = null;
     for (int i = 0; i < 4; i++) { // Try different starting points and take the best
       DoubleArray startParameters = DoubleArray.of(alphaStart[i], beta, rhoStart, nuStart[i]);
-      Pair<LeastSquareResultsWithTransform, DoubleArray> r = null;
-      if (rawData.getDataType().equals(ValueType.NORMAL_VOLATILITY)) {
-        r = calibrateLsShiftedFromNormalVolatilities(bda, calibrationDateTime, dayCount,
-            expiry, forward, strike, rawData.getStrikeType(),
-            data, startParameters, fixed, shift);
-      } else {
-        if (rawData.getDataType().equals(ValueType.PRICE)) {
-          r = calibrateLsShiftedFromPrices(bda, calibrationDateTime, dayCount,
-              expiry, forward, strike, rawData.getStrikeType(),
-              data, startParameters, fixed, shift);
-        } else {
-          if (rawData.getDataType().equals(ValueType.BLACK_VOLATILITY)) {
-            r = calibrateLsShiftedFromBlackVolatilities(bda, calibrationDateTime, dayCount,
-                expiry, forward, strike, rawData.getStrikeType(),
-                data, rawData.getShift().orElse(0d), startParameters, fixed, shift);
-          } else {
-            throw new IllegalArgumentException("Data type not supported");
-          }
+      Pair<LeastSquareResultsWithTransform, DoubleArray> r;
+      try {
+        r = calibrationLs(bda, calibrationDateTime, dayCount,
+            expiry, forward, strike, data, rawData, startParameters, fixed, shift);
+      } catch (MathException ex) {
+        if (!warmStarted) {
+          throw ex;
         }
+        continue;
       }
       if (r.getFirst().getChiSq() < chi2) { // Keep best calibration
         sabrCalibrationResult = r;
         chi2 = r.getFirst().getChiSq();
+        warmStarted = false;
       }
     }
-    @SuppressWarnings("null")
-    SabrFormulaData sabrParameters =
-        SabrFormulaData.of(sabrCalibrationResult.getFirst().getModelParameters().toArrayUnsafe());
-    DoubleMatrix parameterSensitivityToBlackShifted =
-        sabrCalibrationResult.getFirst().getModelParameterSensitivityToData();
-    DoubleArray blackVolSensitivitytoRawData = sabrCalibrationResult.getSecond();
-    // Multiply the sensitivity to the intermediary (shifted) log-normal vol by its sensitivity to the raw data
-    double[][] parameterSensitivityToDataArray = new double[4][blackVolSensitivitytoRawData.size()];
-    for (int loopsabr = 0; loopsabr < 4; loopsabr++) {
-      for (int loopdata = 0; loopdata < blackVolSensitivitytoRawData.size(); loopdata++) {
-        parameterSensitivityToDataArray[loopsabr][loopdata] =
-            parameterSensitivityToBlackShifted.get(loopsabr, loopdata) * blackVolSensitivitytoRawData.get(loopdata);
-      }
+    return SmileFit.of(sabrCalibrationResult, chi2, sabrCalibrationResult.getFirst().getIterations(), warmStarted);
+  }
+
+  // Distribute the calibration according to the type of raw data
+  private Pair<LeastSquareResultsWithTransform, DoubleArray> calibrationLs(
+      BusinessDayAdjustment bda,
+      ZonedDateTime calibrationDateTime,
+      DayCount dayCount,
+      Period expiry,
+      double forward,
+      DoubleArray strike,
+      DoubleArray data,
+      RawOptionData rawData,
+      DoubleArray startParameters,
+      BitSet fixed,
+      double shift) {
+
+    if (rawData.getDataType().equals(ValueType.NORMAL_VOLATILITY)) {
+      return calibrateLsShiftedFromNormalVolatilities(bda, calibrationDateTime, dayCount,
+          expiry, forward, strike, rawData.getStrikeType(),
+          data, startParameters, fixed, shift);
+    }
+    if (rawData.getDataType().equals(ValueType.PRICE)) {
+      return calibrateLsShiftedFromPrices(bda, calibrationDateTime, dayCount,
+          expiry, forward, strike, rawData.getStrikeType(),
+          data, startParameters, fixed, shift);
     }
-    DoubleMatrix parameterSensitivityToData = DoubleMatrix.ofUnsafe(parameterSensitivityToDataArray);
-    return Pair.of(sabrParameters, parameterSensitivityToData);
+    if (rawData.getDataType().equals(ValueType.BLACK_VOLATILITY)) {
+      return calibrateLsShiftedFromBlackVolatilities(bda, calibrationDateTime, dayCount,
+          expiry, forward, strike, rawData.getStrikeType(),
+          data, rawData.getShift().orElse(0d), startParameters, fixed, shift);
+    }
+    throw new IllegalArgumentException("Data type not supported");
   }
 
   //-------------------------------------------------------------------------
@@ -719,15 +987,15 @@ public final class SabrSwaptionCalibrator {
       DoubleArray prices) {
 
     int nbStrikes = strikes.size();
-    double[] impliedVolatility = new double[nbStrikes];
-    double[] impliedVolatilityDerivatives = new double[nbStrikes];
-    for (int i = 0; i < nbStrikes; i++) {
-      ValueDerivatives iv = BlackFormulaRepository.impliedVolatilityAdjoint(
-          prices.get(i), forward + shiftOutput, strikes.get(i) + shiftOutput, timeToExpiry, true);
-      impliedVolatility[i] = iv.getValue();
-      impliedVolatilityDerivatives[i] = iv.getDerivative(0);
-    }
-    return Pair.of(DoubleArray.ofUnsafe(impliedVolatility), DoubleArray.ofUnsafe(impliedVolatilityDerivatives));
+    DoubleArray impliedVolatility = ImpliedVolatilityFormulaRepository.blackImpliedVolatilities(
+        prices,
+        DoubleArray.filled(nbStrikes, forward + shiftOutput),
+        strikes.plus(shiftOutput),
+        DoubleArray.filled(nbStrikes, timeToExpiry),
+        true);
+    DoubleArray impliedVolatilityDerivatives = DoubleArray.of(nbStrikes, i -> 1d / BlackFormulaRepository.vega(
+        forward + shiftOutput, strikes.get(i) + shiftOutput, timeToExpiry, impliedVolatility.get(i)));
+    return Pair.of(impliedVolatility, impliedVolatilityDerivatives);
   }
 
   //-------------------------------------------------------------------------
@@ -899,4 +1167,123 @@ public final class SabrSwaptionCalibrator {
     return bda.adjust(calibrationDate.plus(expiry), refData);
   }
 
+  //-------------------------------------------------------------------------
+  // The market data of a smile to be calibrated
+  private static final class SmileNode {
+    private final Period expiry;
+    private final Tenor tenor;
+    private final double timeToExpiry;
+    private final double timeTenor;
+    private final double forward;
+    private final double beta;
+    private final double shift;
+    private final Pair<DoubleArray, DoubleArray> smile;
+    private final RawOptionData rawData;
+
+    private SmileNode(
+        Period expiry,
+        Tenor tenor,
+        double timeToExpiry,
+        double timeTenor,
+        double forward,
+        double beta,
+        double shift,
+        Pair<DoubleArray, DoubleArray> smile,
+        RawOptionData rawData) {
+
+      this.expiry = expiry;
+      this.tenor = tenor;
+      this.timeToExpiry = timeToExpiry;
+      this.timeTenor = timeTenor;
+      this.forward = forward;
+      this.beta = beta;
+      this.shift = shift;
+      this.smile = smile;
+      this.rawData = rawData;
+    }
+
+    // Alpha such that the at-the-money level, alpha * (forward + shift)^(beta - 1), matches the one of other parameters
+    private double alphaFrom(double otherAlpha, double otherForward, double otherBeta, double otherShift) {
+      double level = otherAlpha * Math.pow(otherForward + otherShift, otherBeta - 1d);
+      return level / Math.pow(forward + shift, beta - 1d);
+    }
+  }
+
+  // The result of the calibration of a smile
+  private static final class SmileFit {
+    private final SmileNode node;
+    private final SabrFormulaData sabrPoint;
+    private final DoubleMatrix inverseJacobian;
+    private final double chiSquare;
+    private final int iterations;
+    private final boolean warmStarted;
+    private final MathException failure;
+    private final Duration elapsed;
+
+    private static SmileFit of(
+        Pair<LeastSquareResultsWithTransform, DoubleArray> sabrCalibrationResult,
+        double chiSquare,
+        int iterations,
+        boolean warmStarted) {
+
+      SabrFormulaData sabrParameters =
+          SabrFormulaData.of(sabrCalibrationResult.getFirst().getModelParameters().toArrayUnsafe());
+      DoubleMatrix parameterSensitivityToBlackShifted =
+          sabrCalibrationResult.getFirst().getModelParameterSensitivityToData();
+      DoubleArray blackVolSensitivitytoRawData = sabrCalibrationResult.getSecond();
+      // Multiply the sensitivity to the intermediary (shifted) log-normal vol by its sensitivity to the raw data
+      double[][] parameterSensitivityToDataArray = new double[4][blackVolSensitivitytoRawData.size()];
+      for (int loopsabr = 0; loopsabr < 4; loopsabr++) {
+        for (int loopdata = 0; loopdata < blackVolSensitivitytoRawData.size(); loopdata++) {
+          parameterSensitivityToDataArray[loopsabr][loopdata] =
+              parameterSensitivityToBlackShifted.get(loopsabr, loopdata) * blackVolSensitivitytoRawData.get(loopdata);
+        }
+      }
+      DoubleMatrix parameterSensitivityToData = DoubleMatrix.ofUnsafe(parameterSensitivityToDataArray);
+      return new SmileFit(
+          null, sabrParameters, parameterSensitivityToData, chiSquare, iterations, warmStarted, null, Duration.ZERO);
+    }
+
+    private static SmileFit failure(SmileNode node, MathException failure, Duration elapsed) {
+      return new SmileFit(node, null, null, 0d, 0, false, failure, elapsed);
+    }
+
+    private SmileFit(
+        SmileNode node,
+        SabrFormulaData sabrPoint,
+        DoubleMatrix inverseJacobian,
+        double chiSquare,
+        int iterations,
+        boolean warmStarted,
+        MathException failure,
+        Duration elapsed) {
+
+      this.node = node;
+      this.sabrPoint = sabrPoint;
+      this.inverseJacobian = inverseJacobian;
+      this.chiSquare = chiSquare;
+      this.iterations = iterations;
+      this.warmStarted = warmStarted;
+      this.failure = failure;
+      this.elapsed = elapsed;
+    }
+
+    // The same fit, for the given smile and with the given elapsed time
+    private SmileFit completed(SmileNode node, Duration elapsed) {
+      return new SmileFit(node, sabrPoint, inverseJacobian, chiSquare, iterations, warmStarted, failure, elapsed);
+    }
+
+    // The starting point for the calibration of a neighbouring smile, null if this calibration failed
+    private DoubleArray seed(SmileNode neighbour) {
+      if (failure != null) {
+        return null;
+      }
+      return DoubleArray.of(
+          neighbour.alphaFrom(sabrPoint.getAlpha(), node.forward, sabrPoint.getBeta(), node.shift),
+          neighbour.beta,
+          sabrPoint.getRho(),
+          sabrPoint.getNu());
+    }
+  }
+
 }
@@ -0,0 +1,252 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swaption;
+
+import java.io.Serializable;
+import java.lang.invoke.MethodHandles;
+import java.time.Duration;
+import java.time.Period;
+
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaBean;
+import org.joda.beans.TypedMetaBean;
+import org.joda.beans.gen.BeanDefinition;
+import org.joda.beans.gen.PropertyDefinition;
+import org.joda.beans.impl.light.LightMetaBean;
+
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * Diagnostic information about the SABR calibration of a single swaption smile.
+ * <p>
+ * An instance is reported for each expiry/tenor smile calibrated by {@link SabrSwaptionCalibrator}
+ * so that slow or badly fitting nodes of a cube can be identified.
+ */
+@BeanDefinition(style = "light")
+public final class SabrSwaptionSmileFit
+    implements ImmutableBean, Serializable {
+
+  /**
+   * The expiry of the smile.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final Period expiry;
+  /**
+   * The tenor of the underlying swap.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final Tenor tenor;
+  /**
+   * The total number of least square iterations, over all starting points tried.
+   */
+  @PropertyDefinition(validate = "ArgChecker.notNegative")
+  private final int iterations;
+  /**
+   * The chi-square of the retained fit.
+   */
+  @PropertyDefinition(validate = "ArgChecker.notNegative")
+  private final double chiSquare;
+  /**
+   * Whether the retained fit was obtained from the warm start.
+   * <p>
+   * This is false if no warm start was available, or if a fit from the standard starting points
+   * had a lower chi-square than the warm-started fit.
+   */
+  @PropertyDefinition
+  private final boolean warmStarted;
+  /**
+   * The elapsed time of the calibration of the smile.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final Duration elapsed;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   *
+   * @param expiry  the expiry of the smile
+   * @param tenor  the tenor of the underlying swap
+   * @param iterations  the total number of least square iterations
+   * @param chiSquare  the chi-square of the retained fit
+   * @param warmStarted  whether the retained fit was obtained from the warm start
+   * @param elapsed  the elapsed time of the calibration
+   * @return the instance
+   */
+  public static SabrSwaptionSmileFit of(
+      Period expiry,
+      Tenor tenor,
+      int iterations,
+      double chiSquare,
+      boolean warmStarted,
+      Duration elapsed) {
+
+    return new SabrSwaptionSmileFit(expiry, tenor, iterations, chiSquare, warmStarted, elapsed);
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  /**
+   * The meta-bean for {@code SabrSwaptionSmileFit}.
+   */
+  private static final TypedMetaBean<SabrSwaptionSmileFit> META_BEAN =
+      LightMetaBean.of(
+          SabrSwaptionSmileFit.class,
+          MethodHandles.lookup(),
+          new String[] {
+              "expiry",
+              "tenor",
+              "iterations",
+              "chiSquare",
+              "warmStarted",
+              "elapsed"},
+          new Object[0]);
+
+  /**
+   * The meta-bean for {@code SabrSwaptionSmileFit}.
+   * @return the meta-bean, not null
+   */
+  public static TypedMetaBean<SabrSwaptionSmileFit> meta() {
+    return META_BEAN;
+  }
+
+  static {
+    MetaBean.register(META_BEAN);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  private SabrSwaptionSmileFit(
+      Period expiry,
+      Tenor tenor,
+      int iterations,
+      double chiSquare,
+      boolean warmStarted,
+      Duration elapsed) {
+    JodaBeanUtils.notNull(expiry, "expiry");
+    JodaBeanUtils.notNull(tenor, "tenor");
+    ArgChecker.notNegative(iterations, "iterations");
+    ArgChecker.notNegative(chiSquare, "chiSquare");
+    JodaBeanUtils.notNull(elapsed, "elapsed");
+    this.expiry = expiry;
+    this.tenor = tenor;
+    this.iterations = iterations;
+    this.chiSquare = chiSquare;
+    this.warmStarted = warmStarted;
+    this.elapsed = elapsed;
+  }
+
+  @Override
+  public TypedMetaBean<SabrSwaptionSmileFit> metaBean() {
+    return META_BEAN;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the expiry of the smile.
+   * @return the value of the property, not null
+   */
+  public Period getExpiry() {
+    return expiry;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the tenor of the underlying swap.
+   * @return the value of the property, not null
+   */
+  public Tenor getTenor() {
+    return tenor;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the total number of least square iterations, over all starting points tried.
+   * @return the value of the property
+   */
+  public int getIterations() {
+    return iterations;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the chi-square of the retained fit.
+   * @return the value of the property
+   */
+  public double getChiSquare() {
+    return chiSquare;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets whether the retained fit was obtained from the warm start.
+   * <p>
+   * This is false if no warm start was available, or if a fit from the standard starting points
+   * had a lower chi-square than the warm-started fit.
+   * @return the value of the property
+   */
+  public boolean isWarmStarted() {
+    return warmStarted;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the elapsed time of the calibration of the smile.
+   * @return the value of the property, not null
+   */
+  public Duration getElapsed() {
+    return elapsed;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      SabrSwaptionSmileFit other = (SabrSwaptionSmileFit) obj;
+      return JodaBeanUtils.equal(expiry, other.expiry) &&
+          JodaBeanUtils.equal(tenor, other.tenor) &&
+          (iterations == other.iterations) &&
+          JodaBeanUtils.equal(chiSquare, other.chiSquare) &&
+          (warmStarted == other.warmStarted) &&
+          JodaBeanUtils.equal(elapsed, other.elapsed);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(expiry);
+    hash = hash * 31 + JodaBeanUtils.hashCode(tenor);
+    hash = hash * 31 + JodaBeanUtils.hashCode(iterations);
+    hash = hash * 31 + JodaBeanUtils.hashCode(chiSquare);
+    hash = hash * 31 + JodaBeanUtils.hashCode(warmStarted);
+    hash = hash * 31 + JodaBeanUtils.hashCode(elapsed);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(224);
+    buf.append("SabrSwaptionSmileFit{");
+    buf.append("expiry").append('=').append(expiry).append(',').append(' ');
+    buf.append("tenor").append('=').append(tenor).append(',').append(' ');
+    buf.append("iterations").append('=').append(iterations).append(',').append(' ');
+    buf.append("chiSquare").append('=').append(chiSquare).append(',').append(' ');
+    buf.append("warmStarted").append('=').append(warmStarted).append(',').append(' ');
+    buf.append("elapsed").append('=').append(JodaBeanUtils.toString(elapsed));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-------------------------- AUTOGENERATED END --------------------------
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.bond;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.pricer.ZeroRateDiscountFactors;
+import com.opengamma.strata.pricer.datasets.LegalEntityDiscountingProviderDataSets;
+import com.opengamma.strata.product.bond.ResolvedBondFuture;
+import com.opengamma.strata.product.bond.ResolvedFixedCouponBond;
+
+/**
+ * Test {@link DiscountingBondFutureBasketPricer}.
+ */
+@Test
+public class DiscountingBondFutureBasketPricerTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+
+  // products
+  private static final ResolvedBondFuture FUTURE = BondDataSets.FUTURE_PRODUCT_USD.resolve(REF_DATA);
+  private static final ResolvedBondFuture FUTURE_NEXT = BondDataSets.FUTURE_PRODUCT_USD.toBuilder()
+      .conversionFactors(0.8317, 0.8565, 0.8493, 0.8516, 0.8540, 0.8417, 0.8092)
+      .lastTradeDate(BondDataSets.FUTURE_PRODUCT_USD.getLastTradeDate().plusMonths(3))
+      .firstNoticeDate(BondDataSets.FUTURE_PRODUCT_USD.getFirstNoticeDate().plusMonths(3))
+      .lastNoticeDate(BondDataSets.FUTURE_PRODUCT_USD.getLastNoticeDate().plusMonths(3))
+      .build()
+      .resolve(REF_DATA);
+  private static final List<ResolvedBondFuture> FUTURES = ImmutableList.of(FUTURE, FUTURE_NEXT);
+  // curves
+  private static final LegalEntityDiscountingProvider PROVIDER =
+      LegalEntityDiscountingProviderDataSets.ISSUER_REPO_ZERO;
+  private static final LegalEntityDiscountingProvider PROVIDER_STEEP = steepProvider();
+  private static final List<LegalEntityDiscountingProvider> PROVIDERS =
+      ImmutableList.of(PROVIDER, LegalEntityDiscountingProviderDataSets.ISSUER_REPO_SIMPLE, PROVIDER_STEEP);
+  private static final double TOL = 1.0e-12;
+  // pricers
+  private static final DiscountingBondFutureBasketPricer PRICER = DiscountingBondFutureBasketPricer.DEFAULT;
+  private static final DiscountingBondFutureProductPricer FUTURE_PRICER = DiscountingBondFutureProductPricer.DEFAULT;
+  private static final DiscountingFixedCouponBondProductPricer BOND_PRICER =
+      DiscountingFixedCouponBondProductPricer.DEFAULT;
+
+  // the issuer curve is replaced by a steep curve, moving the cheapest-to-deliver to the longest bond
+  private static LegalEntityDiscountingProvider steepProvider() {
+    ResolvedFixedCouponBond bond = FUTURE.getDeliveryBasket().get(0);
+    IssuerCurveDiscountFactors issuer = PROVIDER.issuerCurveDiscountFactors(bond.getLegalEntityId(), USD);
+    InterpolatedNodalCurve curve = InterpolatedNodalCurve.of(
+        LegalEntityDiscountingProviderDataSets.META_ZERO_ISSUER_USD,
+        LegalEntityDiscountingProviderDataSets.ISSUER_TIME_USD,
+        DoubleArray.of(0.01, 0.01, 0.02, 0.04, 0.08, 0.10),
+        CurveInterpolators.LINEAR);
+    return ((ImmutableLegalEntityDiscountingProvider) PROVIDER).toBuilder()
+        .issuerCurves(ImmutableMap.of(
+            Pair.of(issuer.getLegalEntityGroup(), USD),
+            ZeroRateDiscountFactors.of(USD, PROVIDER.getValuationDate(), curve)))
+        .build();
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_price() {
+    BondFutureBasketResult result = PRICER.price(FUTURES, PROVIDERS);
+    assertEquals(result.getFutureCount(), 2);
+    assertEquals(result.getScenarioCount(), 3);
+    assertFalse(result.hasPriceSensitivities());
+    assertThrowsIllegalArg(() -> result.getPriceSensitivity(0, 0));
+    for (int i = 0; i < FUTURES.size(); ++i) {
+      ResolvedBondFuture future = FUTURES.get(i);
+      for (int s = 0; s < PROVIDERS.size(); ++s) {
+        LegalEntityDiscountingProvider provider = PROVIDERS.get(s);
+        assertEquals(result.getPrice(i, s), FUTURE_PRICER.price(future, provider), TOL);
+        assertEquals(result.getPrices(i).get(s), result.getPrice(i, s));
+        // the cheapest-to-deliver bond has the lowest price
+        int ctd = result.getCheapestToDeliverIndex(i, s);
+        assertEquals(result.getCheapestToDeliver(i, s), future.getDeliveryBasket().get(ctd));
+        double dirtyPrice = BOND_PRICER.dirtyPriceFromCurves(
+            future.getDeliveryBasket().get(ctd), provider, future.getLastDeliveryDate());
+        double cleanPrice = BOND_PRICER.cleanPriceFromDirtyPrice(
+            future.getDeliveryBasket().get(ctd), future.getLastDeliveryDate(), dirtyPrice);
+        assertEquals(cleanPrice / future.getConversionFactors().get(ctd), result.getPrice(i, s), TOL);
+        assertEquals(result.isCheapestToDeliverSwitch(i, s), ctd != result.getCheapestToDeliverIndex(i, 0));
+      }
+    }
+    // the steep curve moves the cheapest-to-deliver
+    assertFalse(result.isCheapestToDeliverSwitch(0, 1));
+    assertTrue(result.isCheapestToDeliverSwitch(0, 2));
+  }
+
+  public void test_priceWithSensitivity() {
+    BondFutureBasketResult result = PRICER.priceWithSensitivity(FUTURES, PROVIDERS);
+    assertTrue(result.hasPriceSensitivities());
+    assertEquals(result.getPrice(1, 2), PRICER.price(FUTURES, PROVIDERS).getPrice(1, 2));
+    for (int i = 0; i < FUTURES.size(); ++i) {
+      for (int s = 0; s < PROVIDERS.size(); ++s) {
+        PointSensitivities expected = FUTURE_PRICER.priceSensitivity(FUTURES.get(i), PROVIDERS.get(s));
+        assertTrue(result.getPriceSensitivity(i, s).equalWithTolerance(expected, TOL));
+      }
+    }
+  }
+
+  public void test_bean() {
+    BondFutureBasketResult test = PRICER.price(FUTURES, PROVIDERS);
+    coverImmutableBean(test);
+    BondFutureBasketResult test2 = PRICER.priceWithSensitivity(FUTURES, PROVIDERS);
+    coverBeanEquals(test, test2);
+    assertSerialization(test2);
+  }
+
+  public void test_bean_dimensions() {
+    double[][] prices = {{1d, 1d}, {1d, 1d}};
+    assertThrowsIllegalArg(() -> BondFutureBasketResult.of(FUTURES, prices, new int[][] {{0, 0}}));
+    assertThrowsIllegalArg(() -> BondFutureBasketResult.of(FUTURES, prices, new int[][] {{0, 0}, {0}}));
+    assertThrowsIllegalArg(() -> BondFutureBasketResult.of(FUTURES, new double[][] {{1d, 1d}}, new int[][] {{0, 0}}));
+  }
+
+}
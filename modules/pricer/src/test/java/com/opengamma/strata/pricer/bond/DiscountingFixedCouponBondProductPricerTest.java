@@ -9,7 +9,10 @@ import static com.opengamma.strata.basics.currency.Currency.EUR;
 import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
 import static com.opengamma.strata.basics.date.HolidayCalendarIds.JPTO;
 import static com.opengamma.strata.basics.date.HolidayCalendarIds.SAT_SUN;
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
 import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
 import static com.opengamma.strata.collect.TestHelper.date;
 import static com.opengamma.strata.pricer.CompoundedRateType.CONTINUOUS;
 import static com.opengamma.strata.pricer.CompoundedRateType.PERIODIC;
@@ -47,6 +50,7 @@ import com.opengamma.strata.market.curve.interpolator.CurveInterpolator;
 import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
+import com.opengamma.strata.math.MathException;
 import com.opengamma.strata.pricer.DiscountFactors;
 import com.opengamma.strata.pricer.DiscountingPaymentPricer;
 import com.opengamma.strata.pricer.ZeroRateDiscountFactors;
@@ -776,4 +780,75 @@ public class DiscountingFixedCouponBondProductPricerTest {
         UnsupportedOperationException.class, "The convention JP_SIMPLE is not supported.");
   }
 
+  //-------------------------------------------------------------------------
+  public void cashFlowTable() {
+    checkCashFlowTable(PRODUCT_US, SETTLEMENT_US, YIELD_US);
+    checkCashFlowTable(PRODUCT_US_0, SETTLEMENT_US, YIELD_US);
+    checkCashFlowTable(PRODUCT_US, SETTLEMENT_LAST_US, YIELD_US);
+    checkCashFlowTable(PRODUCT_UK, SETTLEMENT_UK, YIELD_UK);
+    checkCashFlowTable(PRODUCT_UK, SETTLEMENT_LAST_UK, YIELD_UK);
+    checkCashFlowTable(PRODUCT_GER, SETTLEMENT_GER, YIELD_GER);
+    checkCashFlowTable(PRODUCT_GER, SETTLEMENT_LAST_GER, YIELD_GER);
+    checkCashFlowTable(PRODUCT_JP, SETTLEMENT_JP, YIELD_JP);
+    checkCashFlowTable(PRODUCT_JP, SETTLEMENT_LAST_JP, YIELD_JP);
+  }
+
+  public void cashFlowTableLastPeriodNotStarted() {
+    int nbPeriods = PRODUCT_US.getPeriodicPayments().size();
+    ResolvedFixedCouponBond product = PRODUCT_US.toBuilder()
+        .periodicPayments(PRODUCT_US.getPeriodicPayments().subList(nbPeriods - 1, nbPeriods))
+        .build();
+    FixedCouponBondCashFlowTable table = PRICER.cashFlowTable(product, SETTLEMENT_US);
+    double price = PRICER.dirtyPriceFromYield(table, YIELD_US);
+    assertEquals(PRICER.dirtyPriceFromYield(table, 2d * YIELD_US), price, TOL);
+    assertThrows(() -> PRICER.yieldFromDirtyPrice(table, price), MathException.class);
+  }
+
+  public void cashFlowTableBean() {
+    FixedCouponBondCashFlowTable test = PRICER.cashFlowTable(PRODUCT_US, SETTLEMENT_US);
+    coverImmutableBean(test);
+    FixedCouponBondCashFlowTable test2 = PRICER.cashFlowTable(PRODUCT_UK, SETTLEMENT_UK);
+    coverBeanEquals(test, test2);
+    assertSerialization(test);
+  }
+
+  private void checkCashFlowTable(ResolvedFixedCouponBond product, LocalDate settlementDate, double yield) {
+    FixedCouponBondCashFlowTable table = PRICER.cashFlowTable(product, settlementDate);
+    assertEquals(table.getSettlementDate(), settlementDate);
+    assertEquals(table.getAccruedYearFraction(), PRICER.accruedYearFraction(product, settlementDate));
+    for (int i = 0; i < product.getPeriodicPayments().size(); ++i) {
+      FixedCouponBondPaymentPeriod period = product.getPeriodicPayments().get(i);
+      assertEquals(table.isExCoupon(i), !period.getDetachmentDate().isAfter(settlementDate));
+    }
+    int nbCashFlows = table.getPaymentDates().size();
+    assertEquals(table.getPaymentDates().get(nbCashFlows - 1), product.getNominalPayment().getDate());
+    double price = PRICER.dirtyPriceFromYield(product, settlementDate, yield);
+    assertEquals(PRICER.dirtyPriceFromYield(table, yield), price, TOL);
+    double duration = PRICER.modifiedDurationFromYield(product, settlementDate, yield);
+    assertEquals(PRICER.modifiedDurationFromYield(table, yield), duration, TOL);
+    double convexity = PRICER.convexityFromYield(product, settlementDate, yield);
+    assertEquals(PRICER.convexityFromYield(table, yield), convexity, TOL);
+    assertEquals(PRICER.yieldFromDirtyPrice(table, price), yield, TOL);
+    DoubleArray prices = DoubleArray.of(price, price - 0.05, price + 0.1, price * 0.5);
+    DoubleArray yields = PRICER.yieldFromDirtyPrices(product, settlementDate, prices);
+    for (int i = 0; i < prices.size(); ++i) {
+      assertEquals(yields.get(i), PRICER.yieldFromDirtyPrice(product, settlementDate, prices.get(i)), TOL);
+      assertEquals(PRICER.dirtyPriceFromYield(table, yields.get(i)), prices.get(i), TOL);
+    }
+  }
+
+  public void test_zSpreadFromCurvesAndDirtyPrices() {
+    DoubleArray zSpreads = DoubleArray.of(Z_SPREAD, -0.01, 0.2, 0d);
+    DoubleArray pricesContinuous = zSpreads.map(z -> PRICER.dirtyPriceFromCurvesWithZSpread(
+        PRODUCT, PROVIDER, REF_DATA, z, CONTINUOUS, 0));
+    DoubleArray computedContinuous = PRICER.zSpreadFromCurvesAndDirtyPrices(
+        PRODUCT, PROVIDER, REF_DATA, pricesContinuous, CONTINUOUS, 0);
+    assertTrue(computedContinuous.equalWithTolerance(zSpreads, TOL));
+    DoubleArray pricesPeriodic = zSpreads.map(z -> PRICER.dirtyPriceFromCurvesWithZSpread(
+        PRODUCT, PROVIDER, REF_DATA, z, PERIODIC, PERIOD_PER_YEAR));
+    DoubleArray computedPeriodic = PRICER.zSpreadFromCurvesAndDirtyPrices(
+        PRODUCT, PROVIDER, REF_DATA, pricesPeriodic, PERIODIC, PERIOD_PER_YEAR);
+    assertTrue(computedPeriodic.equalWithTolerance(zSpreads, TOL));
+  }
+
 }
@@ -22,13 +22,17 @@ import java.time.ZonedDateTime;
 import org.testng.annotations.Test;
 
 import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.CurrencyAmountArray;
 import com.opengamma.strata.basics.value.ValueSchedule;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
 import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
 import com.opengamma.strata.product.capfloor.IborCapletFloorletPeriod;
 import com.opengamma.strata.product.capfloor.ResolvedIborCapFloorLeg;
+import com.opengamma.strata.product.common.PayReceive;
+import com.opengamma.strata.product.common.PutCall;
 
 /**
  * Test {@link SabrIborCapFloorLegPricer}.
@@ -109,6 +113,36 @@ public class SabrIborCapFloorLegPricerTest {
     assertEquals(floorComputed.getAmount(), floorExpected, TOL * NOTIONAL_VALUE);
   }
 
+  public void test_presentValueForStrikes() {
+    DoubleArray strikes = DoubleArray.of(0.005, 0.01, STRIKE, 0.02, 0.04);
+    testPresentValueForStrikes(strikes, CALL, RECEIVE, RATES, VOLS);
+    testPresentValueForStrikes(strikes, PUT, PAY, RATES, VOLS);
+    testPresentValueForStrikes(strikes, CALL, RECEIVE, RATES_AFTER, VOLS_AFTER);
+    testPresentValueForStrikes(strikes, PUT, PAY, RATES_AFTER, VOLS_AFTER);
+  }
+
+  private void testPresentValueForStrikes(
+      DoubleArray strikes,
+      PutCall putCall,
+      PayReceive payReceive,
+      ImmutableRatesProvider rates,
+      SabrIborCapletFloorletVolatilities vols) {
+
+    ResolvedIborCapFloorLeg leg = IborCapFloorDataSet.createCapFloorLeg(
+        EUR_EURIBOR_3M, START, END, STRIKE_SCHEDULE, NOTIONAL, putCall, payReceive);
+    CurrencyAmountArray computed = PRICER.presentValueForStrikes(leg, strikes, rates, vols);
+    assertEquals(computed.getCurrency(), EUR);
+    assertEquals(computed.size(), strikes.size());
+    for (int i = 0; i < strikes.size(); i++) {
+      ResolvedIborCapFloorLeg legStrike = IborCapFloorDataSet.createCapFloorLeg(
+          EUR_EURIBOR_3M, START, END, ValueSchedule.of(strikes.get(i)), NOTIONAL, putCall, payReceive);
+      assertEquals(
+          computed.get(i).getAmount(),
+          PRICER.presentValue(legStrike, rates, vols).getAmount(),
+          TOL * NOTIONAL_VALUE);
+    }
+  }
+
   //-------------------------------------------------------------------------
   public void test_presentValueDelta() {
     CurrencyAmount capComputed = PRICER.presentValueDelta(CAP, RATES, VOLS);
@@ -224,6 +224,49 @@ public class SabrExtrapolationReplicationCmsPeriodPricerTest {
     assertEquals(pvCap2.getAmount() - pvFloor2.getAmount(), pvCpn2.getAmount() - pvStrike2, 1.0E+3);
   }
 
+  //-------------------------------------------------------------------------
+  public void test_quadrature() {
+    SabrExtrapolationReplicationCmsPeriodPricer pricerQuad =
+        SabrExtrapolationReplicationCmsPeriodPricer.of(PRICER_SWAP, CUT_OFF_STRIKE, MU, 20);
+    testQuadrature(pricerQuad, COUPON, CAPLET, FLOORLET, VOLATILITIES);
+    testQuadrature(pricerQuad, COUPON, CAPLET_NEGATIVE, FLOORLET_NEGATIVE, VOLATILITIES_SHIFT);
+    assertThrowsIllegalArg(() -> SabrExtrapolationReplicationCmsPeriodPricer.of(PRICER_SWAP, CUT_OFF_STRIKE, MU, 0));
+  }
+
+  // quadrature pricer matches the adaptive integration pricer
+  private void testQuadrature(
+      SabrExtrapolationReplicationCmsPeriodPricer pricerQuad,
+      CmsPeriod coupon,
+      CmsPeriod caplet,
+      CmsPeriod floorlet,
+      SabrParametersSwaptionVolatilities volatilities) {
+
+    double tol = NOTIONAL * 1.0e-8;
+    for (CmsPeriod period : new CmsPeriod[] {coupon, caplet, floorlet}) {
+      assertEquals(
+          pricerQuad.presentValue(period, RATES_PROVIDER, volatilities).getAmount(),
+          PRICER.presentValue(period, RATES_PROVIDER, volatilities).getAmount(),
+          tol);
+      CurrencyParameterSensitivities computedRates = RATES_PROVIDER.parameterSensitivity(
+          pricerQuad.presentValueSensitivityRates(period, RATES_PROVIDER, volatilities).build());
+      CurrencyParameterSensitivities expectedRates = RATES_PROVIDER.parameterSensitivity(
+          PRICER.presentValueSensitivityRates(period, RATES_PROVIDER, volatilities).build());
+      assertTrue(computedRates.equalWithTolerance(expectedRates, tol * 10d));
+      CurrencyParameterSensitivities computedSabr = volatilities.parameterSensitivity(
+          pricerQuad.presentValueSensitivityModelParamsSabr(period, RATES_PROVIDER, volatilities).build());
+      CurrencyParameterSensitivities expectedSabr = volatilities.parameterSensitivity(
+          PRICER.presentValueSensitivityModelParamsSabr(period, RATES_PROVIDER, volatilities).build());
+      // limited by the accuracy of the adaptive integration of the vega, stable in the number of points
+      assertTrue(computedSabr.equalWithTolerance(expectedSabr, tol * 2000d));
+    }
+    for (CmsPeriod period : new CmsPeriod[] {caplet, floorlet}) {
+      assertEquals(
+          pricerQuad.presentValueSensitivityStrike(period, RATES_PROVIDER, volatilities),
+          PRICER.presentValueSensitivityStrike(period, RATES_PROVIDER, volatilities),
+          tol * 10d);
+    }
+  }
+
   //-------------------------------------------------------------------------
   public void test_presentValueSensitivity() {
     PointSensitivityBuilder pvPointCoupon = PRICER.presentValueSensitivityRates(COUPON_SELL, RATES_PROVIDER, VOLATILITIES);
@@ -8,19 +8,32 @@ package com.opengamma.strata.pricer.credit;
 import static com.opengamma.strata.basics.currency.Currency.EUR;
 import static com.opengamma.strata.basics.date.DayCounts.ACT_360;
 import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.collect.Guavate.toImmutableMap;
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.testng.annotations.Test;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.opengamma.strata.basics.StandardId;
 import com.opengamma.strata.basics.schedule.Frequency;
 import com.opengamma.strata.collect.DoubleArrayMath;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.data.ImmutableMarketData;
 import com.opengamma.strata.data.ImmutableMarketDataBuilder;
 import com.opengamma.strata.market.curve.CurveName;
@@ -291,4 +304,110 @@ public class FastCreditCurveCalibratorTest extends IsdaCompliantCreditCurveCalib
     testJacobian(BUILDER_MARKIT, ccMf, ratesProvider, nodes, quotes, ONE_PC, EPS);
   }
 
+  //-------------------------------------------------------------------------
+  public void batchTest() {
+    LocalDate valuationDate = LocalDate.of(2013, 2, 27);
+    DoubleArray ycTime = DoubleArray.of(0.5, 1d, 2d, 5d, 10d, 20d);
+    DoubleArray ycRate = DoubleArray.of(0.002, 0.003, 0.004, 0.009, 0.02, 0.029);
+    IsdaCreditDiscountFactors yc =
+        IsdaCreditDiscountFactors.of(EUR, valuationDate, CurveName.of("yc_usd"), ycTime, ycRate, ACT_365F);
+    StandardId[] entities = new StandardId[] {
+        StandardId.of("OG", "A"), StandardId.of("OG", "B"), StandardId.of("OG", "C")};
+    double[][] quotes = new double[][] {
+        {0.006485, 0.011763, 0.018787, 0.023797, 0.027549},
+        {0.003, 0.005, 0.009, 0.012, 0.015},
+        {0.012, 0.018, 0.025, 0.031, 0.036}};
+    LocalDate startDate = LocalDate.of(2012, 12, 20);
+    LocalDate[] pillarDates = new LocalDate[] {
+        LocalDate.of(2013, 9, 20), LocalDate.of(2015, 3, 20), LocalDate.of(2017, 3, 20), LocalDate.of(2019, 3, 20),
+        LocalDate.of(2023, 3, 20)};
+    CdsConvention conv = ImmutableCdsConvention.of("conv", EUR, ACT_360, Frequency.P3M, BUS_ADJ, CDS_SETTLE_STD);
+    ImmutableMarketDataBuilder builderCredit = ImmutableMarketData.builder(valuationDate);
+    ImmutableMap.Builder<StandardId, IsdaCreditCurveDefinition> definitionsBuilder = ImmutableMap.builder();
+    ImmutableMap.Builder<StandardId, RecoveryRates> recoveryBuilder = ImmutableMap.builder();
+    for (int j = 0; j < entities.length; ++j) {
+      List<CdsIsdaCreditCurveNode> nodes = new ArrayList<>();
+      for (int i = 0; i < pillarDates.length; ++i) {
+        CdsTemplate temp = DatesCdsTemplate.of(startDate, pillarDates[i], conv);
+        QuoteId id = QuoteId.of(StandardId.of("OG", entities[j].getValue() + pillarDates[i]));
+        nodes.add(CdsIsdaCreditCurveNode.ofParSpread(temp, id, entities[j]));
+        builderCredit.addValue(id, quotes[j][i]);
+      }
+      definitionsBuilder.put(entities[j], IsdaCreditCurveDefinition.of(
+          CurveName.of("cc" + entities[j].getValue()), EUR, valuationDate, ACT_365F, nodes, true, false));
+      recoveryBuilder.put(entities[j], ConstantRecoveryRates.of(entities[j], valuationDate, 0.25 + 0.1 * j));
+    }
+    Map<StandardId, IsdaCreditCurveDefinition> definitions = definitionsBuilder.build();
+    ImmutableMarketData marketData = builderCredit.build();
+    ImmutableCreditRatesProvider ratesProvider = ImmutableCreditRatesProvider.builder()
+        .valuationDate(valuationDate)
+        .discountCurves(ImmutableMap.of(EUR, yc))
+        .recoveryRateCurves(recoveryBuilder.build())
+        .creditCurves(ImmutableMap.of())
+        .build();
+    // the batch is identical to the calibration of each curve
+    IsdaCreditCurveBatchResult result =
+        BUILDER_ISDA.calibrate(definitions, marketData, ratesProvider, Runnable::run, REF_DATA);
+    assertEquals(result.getCalibrated(), ImmutableSet.copyOf(entities));
+    for (StandardId entity : entities) {
+      LegalEntitySurvivalProbabilities expected =
+          BUILDER_ISDA.calibrate(definitions.get(entity), marketData, ratesProvider, REF_DATA);
+      assertEquals(result.getCurve(entity), expected);
+    }
+    assertEquals(result.toCreditCurves().size(), entities.length);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      IsdaCreditCurveBatchResult resultParallel =
+          BUILDER_ISDA.calibrate(definitions, marketData, ratesProvider, executor, REF_DATA);
+      assertEquals(resultParallel, result);
+    } finally {
+      executor.shutdown();
+    }
+    // unchanged quotes
+    IsdaCreditCurveBatchResult resultUnchanged =
+        BUILDER_ISDA.calibrate(definitions, marketData, ratesProvider, result, Runnable::run, REF_DATA);
+    assertEquals(resultUnchanged.getCalibrated(), ImmutableSet.of());
+    for (StandardId entity : entities) {
+      assertSame(resultUnchanged.getCurve(entity), result.getCurve(entity));
+    }
+    // moved quote
+    QuoteId movedId = QuoteId.of(StandardId.of("OG", entities[1].getValue() + pillarDates[2]));
+    ImmutableMarketData marketDataMoved = marketData.toBuilder().addValue(movedId, quotes[1][2] + ONE_BP).build();
+    IsdaCreditCurveBatchResult resultMoved =
+        BUILDER_ISDA.calibrate(definitions, marketDataMoved, ratesProvider, result, Runnable::run, REF_DATA);
+    assertEquals(resultMoved.getCalibrated(), ImmutableSet.of(entities[1]));
+    assertSame(resultMoved.getCurve(entities[0]), result.getCurve(entities[0]));
+    assertEquals(
+        resultMoved.getCurve(entities[1]),
+        BUILDER_ISDA.calibrate(definitions.get(entities[1]), marketDataMoved, ratesProvider, REF_DATA));
+    assertFalse(resultMoved.hasFailures());
+    coverImmutableBean(result);
+    coverBeanEquals(result, resultMoved);
+    assertSerialization(result);
+    // missing quote, the other curves are calibrated
+    QuoteId missingId = QuoteId.of(StandardId.of("OG", entities[2].getValue() + pillarDates[0]));
+    ImmutableMarketData marketDataMissing = ImmutableMarketData.builder(valuationDate)
+        .addValueMap(marketData.getValues().entrySet().stream()
+            .filter(e -> !e.getKey().equals(missingId))
+            .collect(toImmutableMap(e -> e.getKey(), e -> e.getValue())))
+        .build();
+    IsdaCreditCurveBatchResult resultMissing =
+        BUILDER_ISDA.calibrate(definitions, marketDataMissing, ratesProvider, result, Runnable::run, REF_DATA);
+    assertTrue(resultMissing.hasFailures());
+    assertEquals(resultMissing.getFailures().keySet(), ImmutableSet.of(entities[2]));
+    assertEquals(resultMissing.getFailures().get(entities[2]).getReason(), FailureReason.CALCULATION_FAILED);
+    assertFalse(resultMissing.getCurves().containsKey(entities[2]));
+    assertSame(resultMissing.getCurve(entities[0]), result.getCurve(entities[0]));
+    assertThrowsIllegalArg(() -> resultMissing.getCurve(entities[2]), "Credit curve calibration failed.*");
+    // the failed curve is calibrated again once the quote is available
+    IsdaCreditCurveBatchResult resultRecovered =
+        BUILDER_ISDA.calibrate(definitions, marketData, ratesProvider, resultMissing, Runnable::run, REF_DATA);
+    assertEquals(resultRecovered.getCalibrated(), ImmutableSet.of(entities[2]));
+    assertEquals(resultRecovered.getCurve(entities[2]), result.getCurve(entities[2]));
+    // key not matching the legal entity of the nodes
+    Map<StandardId, IsdaCreditCurveDefinition> mismatched = ImmutableMap.of(entities[0], definitions.get(entities[1]));
+    assertThrowsIllegalArg(
+        () -> BUILDER_ISDA.calibrate(mismatched, marketData, ratesProvider, Runnable::run, REF_DATA));
+  }
+
 }
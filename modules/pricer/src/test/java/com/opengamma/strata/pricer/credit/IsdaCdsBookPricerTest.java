@@ -0,0 +1,221 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.credit;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static com.opengamma.strata.pricer.common.PriceType.CLEAN;
+import static com.opengamma.strata.pricer.common.PriceType.DIRTY;
+import static com.opengamma.strata.product.common.BuySell.BUY;
+import static com.opengamma.strata.product.common.BuySell.SELL;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.date.HolidayCalendarId;
+import com.opengamma.strata.basics.date.HolidayCalendarIds;
+import com.opengamma.strata.basics.schedule.Frequency;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.market.ValueType;
+import com.opengamma.strata.market.curve.DefaultCurveMetadata;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.curve.interpolator.CurveExtrapolators;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
+import com.opengamma.strata.pricer.common.PriceType;
+import com.opengamma.strata.product.common.BuySell;
+import com.opengamma.strata.product.credit.Cds;
+import com.opengamma.strata.product.credit.ResolvedCds;
+
+/**
+ * Test {@link IsdaCdsBookPricer}.
+ */
+@Test
+public class IsdaCdsBookPricerTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final LocalDate VALUATION_DATE = LocalDate.of(2014, 1, 3);
+  private static final HolidayCalendarId CALENDAR = HolidayCalendarIds.SAT_SUN;
+  private static final StandardId LEGAL_ENTITY = StandardId.of("OG", "ABC");
+
+  private static final DoubleArray TIME_YC = DoubleArray.ofUnsafe(new double[] {0.09041095890410959, 0.16712328767123288,
+      0.2547945205479452, 0.5041095890410959, 0.7534246575342466, 1.0054794520547945, 2.0054794520547947, 3.008219178082192,
+      4.013698630136987, 5.010958904109589, 6.008219178082192, 7.010958904109589, 8.01095890410959, 9.01095890410959,
+      10.016438356164384, 12.013698630136986, 15.021917808219179, 20.01917808219178, 30.024657534246575});
+  private static final DoubleArray RATE_YC = DoubleArray.ofUnsafe(new double[] {-0.002078655697855299, -0.001686438401304855,
+      -0.0013445486228483379, -4.237819925898475E-4, 2.5142499469348057E-5, 5.935063895780138E-4, -3.247081037469503E-4,
+      6.147182786549223E-4, 0.0019060597240545122, 0.0033125742254568815, 0.0047766352312329455, 0.0062374324537341225,
+      0.007639664176639106, 0.008971003650150983, 0.010167545380711455, 0.012196853322376243, 0.01441082634734099,
+      0.016236611610989507, 0.01652439910865982});
+  private static final DefaultCurveMetadata METADATA_YC = DefaultCurveMetadata.builder()
+      .xValueType(ValueType.YEAR_FRACTION)
+      .yValueType(ValueType.ZERO_RATE)
+      .curveName("yield")
+      .dayCount(ACT_365F)
+      .build();
+  private static final InterpolatedNodalCurve NODAL_YC = InterpolatedNodalCurve.of(METADATA_YC, TIME_YC, RATE_YC,
+      CurveInterpolators.PRODUCT_LINEAR, CurveExtrapolators.FLAT, CurveExtrapolators.PRODUCT_LINEAR);
+  private static final IsdaCreditDiscountFactors YIELD_CRVE =
+      IsdaCreditDiscountFactors.of(USD, VALUATION_DATE, NODAL_YC);
+
+  private static final DoubleArray TIME_CC = DoubleArray.ofUnsafe(new double[] {1.2054794520547945, 1.7095890410958905,
+      2.712328767123288, 3.712328767123288, 4.712328767123288, 5.712328767123288, 7.715068493150685, 10.717808219178082});
+  private static final DoubleArray RATE_CC = DoubleArray.ofUnsafe(new double[] {0.009950492020354761, 0.01203385973637765,
+      0.01418821591480718, 0.01684815168721049, 0.01974873350586718, 0.023084203422383043, 0.02696911931489543,
+      0.029605642651816415});
+  private static final DefaultCurveMetadata METADATA_CC = DefaultCurveMetadata.builder()
+      .xValueType(ValueType.YEAR_FRACTION)
+      .yValueType(ValueType.ZERO_RATE)
+      .curveName("credit")
+      .dayCount(ACT_365F)
+      .build();
+  private static final InterpolatedNodalCurve NODAL_CC = InterpolatedNodalCurve.of(METADATA_CC, TIME_CC, RATE_CC,
+      CurveInterpolators.PRODUCT_LINEAR, CurveExtrapolators.FLAT, CurveExtrapolators.PRODUCT_LINEAR);
+  private static final CreditDiscountFactors CREDIT_CRVE =
+      IsdaCreditDiscountFactors.of(USD, VALUATION_DATE, NODAL_CC);
+  private static final ConstantRecoveryRates RECOVERY_RATES =
+      ConstantRecoveryRates.of(LEGAL_ENTITY, VALUATION_DATE, 0.25);
+  private static final StandardId LEGAL_ENTITY_OTHER = StandardId.of("OG", "DEF");
+  private static final CreditDiscountFactors CREDIT_CRVE_OTHER =
+      IsdaCreditDiscountFactors.of(USD, VALUATION_DATE, NODAL_CC.withPerturbation((i, v, m) -> 1.5 * v));
+  private static final ConstantRecoveryRates RECOVERY_RATES_OTHER =
+      ConstantRecoveryRates.of(LEGAL_ENTITY_OTHER, VALUATION_DATE, 0.4);
+  private static final ImmutableCreditRatesProvider RATES_PROVIDER = ImmutableCreditRatesProvider.builder()
+      .valuationDate(VALUATION_DATE)
+      .creditCurves(ImmutableMap.of(
+          Pair.of(LEGAL_ENTITY, USD), LegalEntitySurvivalProbabilities.of(LEGAL_ENTITY, CREDIT_CRVE),
+          Pair.of(LEGAL_ENTITY_OTHER, USD), LegalEntitySurvivalProbabilities.of(LEGAL_ENTITY_OTHER, CREDIT_CRVE_OTHER)))
+      .discountCurves(ImmutableMap.of(USD, YIELD_CRVE))
+      .recoveryRateCurves(ImmutableMap.of(LEGAL_ENTITY, RECOVERY_RATES, LEGAL_ENTITY_OTHER, RECOVERY_RATES_OTHER))
+      .build();
+
+  private static final LocalDate START = LocalDate.of(2013, 12, 20);
+  private static final LocalDate END_5Y = LocalDate.of(2018, 12, 20);
+  private static final LocalDate END_10Y = LocalDate.of(2023, 12, 20);
+  private static final List<ResolvedCds> PRODUCTS = ImmutableList.of(
+      cds(BUY, LEGAL_ENTITY, 1.0e7, START, END_5Y, 0.01),
+      cds(SELL, LEGAL_ENTITY, 2.5e6, START, END_5Y, 0.05),
+      cds(BUY, LEGAL_ENTITY, 3.0e6, START, END_10Y, 0.01),
+      cds(BUY, LEGAL_ENTITY_OTHER, 1.0e7, START, END_5Y, 0.01),
+      cds(SELL, LEGAL_ENTITY_OTHER, 4.0e6, START, END_5Y, 0.05),
+      cds(BUY, LEGAL_ENTITY, 2.0e6, LocalDate.of(2013, 9, 20), END_5Y, 0.01),
+      cds(BUY, LEGAL_ENTITY, 5.0e6, LocalDate.of(2010, 12, 20), LocalDate.of(2013, 12, 20), 0.01),
+      cds(SELL, LEGAL_ENTITY_OTHER, 1.0e6, START, END_10Y, 0.05));
+  private static final LocalDate SETTLEMENT_DATE = LocalDate.of(2014, 1, 8);
+
+  private static final IsdaCdsProductPricer PRODUCT_PRICER = IsdaCdsProductPricer.DEFAULT;
+  private static final IsdaCdsBookPricer PRICER = IsdaCdsBookPricer.DEFAULT;
+  private static final double TOL = 1.0e-12;
+
+  private static ResolvedCds cds(
+      BuySell buySell,
+      StandardId legalEntityId,
+      double notional,
+      LocalDate startDate,
+      LocalDate endDate,
+      double fixedRate) {
+
+    return Cds.of(buySell, legalEntityId, USD, notional, startDate, endDate, Frequency.P3M, CALENDAR, fixedRate)
+        .resolve(REF_DATA);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_price() {
+    for (PriceType priceType : PriceType.values()) {
+      IsdaCdsBookResult result = PRICER.price(PRODUCTS, RATES_PROVIDER, SETTLEMENT_DATE, priceType, REF_DATA);
+      assertEquals(result.size(), PRODUCTS.size());
+      for (int i = 0; i < PRODUCTS.size(); i++) {
+        ResolvedCds product = PRODUCTS.get(i);
+        CurrencyAmount pv = PRODUCT_PRICER.presentValue(product, RATES_PROVIDER, SETTLEMENT_DATE, priceType, REF_DATA);
+        CurrencyAmount rpv01 = PRODUCT_PRICER.rpv01(product, RATES_PROVIDER, SETTLEMENT_DATE, priceType, REF_DATA);
+        JumpToDefault jtd = PRODUCT_PRICER.jumpToDefault(product, RATES_PROVIDER, SETTLEMENT_DATE, REF_DATA);
+        double notional = product.getNotional();
+        assertEquals(result.getPresentValues().get(i).getCurrency(), USD);
+        assertEquals(result.getPresentValues().get(i).getAmount(), pv.getAmount(), notional * TOL);
+        assertEquals(result.getRpv01s().get(i).getAmount(), rpv01.getAmount(), notional * TOL);
+        assertEquals(result.getJumpToDefaults().get(i).getCurrency(), USD);
+        assertEquals(
+            result.getJumpToDefaults().get(i).getAmounts().get(product.getLegalEntityId()),
+            jtd.getAmounts().get(product.getLegalEntityId()),
+            notional * TOL);
+      }
+    }
+  }
+
+  public void test_parSpread() {
+    IsdaCdsBookResult result = PRICER.price(PRODUCTS, RATES_PROVIDER, SETTLEMENT_DATE, CLEAN, REF_DATA);
+    for (int i = 0; i < PRODUCTS.size(); i++) {
+      ResolvedCds product = PRODUCTS.get(i);
+      if (product.getProtectionEndDate().isAfter(VALUATION_DATE)) {
+        double expected = PRODUCT_PRICER.parSpread(product, RATES_PROVIDER, SETTLEMENT_DATE, REF_DATA);
+        assertEquals(result.getParSpreads().get(i), expected, TOL);
+      } else {
+        assertTrue(Double.isNaN(result.getParSpreads().get(i)));
+      }
+    }
+  }
+
+  public void test_groups() {
+    IsdaCdsBookResult result = PRICER.price(PRODUCTS, RATES_PROVIDER, SETTLEMENT_DATE, DIRTY, REF_DATA);
+    // the 5Y products of each entity share their schedule, the expired product is not priced
+    assertEquals(result.getGroupCount(), 5);
+    assertEquals(result.getParSpreads().get(1), result.getParSpreads().get(0));
+    assertEquals(result.getParSpreads().get(4), result.getParSpreads().get(3));
+  }
+
+  public void test_expired() {
+    IsdaCdsBookResult result = PRICER.price(PRODUCTS, RATES_PROVIDER, SETTLEMENT_DATE, CLEAN, REF_DATA);
+    assertEquals(result.getPresentValues().get(6), CurrencyAmount.zero(USD));
+    assertEquals(result.getRpv01s().get(6), CurrencyAmount.zero(USD));
+    assertEquals(result.getJumpToDefaults().get(6), JumpToDefault.of(USD, ImmutableMap.of(LEGAL_ENTITY, 0d)));
+  }
+
+  public void test_empty() {
+    IsdaCdsBookResult result = PRICER.price(ImmutableList.of(), RATES_PROVIDER, SETTLEMENT_DATE, CLEAN, REF_DATA);
+    assertEquals(result.size(), 0);
+    assertEquals(result.getGroupCount(), 0);
+    assertEquals(result.getParSpreads(), DoubleArray.EMPTY);
+  }
+
+  public void test_formula() {
+    IsdaCdsProductPricer productPricer = new IsdaCdsProductPricer(AccrualOnDefaultFormula.MARKIT_FIX);
+    IsdaCdsBookPricer pricer = new IsdaCdsBookPricer(productPricer);
+    IsdaCdsBookResult result = pricer.price(PRODUCTS, RATES_PROVIDER, SETTLEMENT_DATE, DIRTY, REF_DATA);
+    for (int i = 0; i < PRODUCTS.size(); i++) {
+      ResolvedCds product = PRODUCTS.get(i);
+      CurrencyAmount pv = productPricer.presentValue(product, RATES_PROVIDER, SETTLEMENT_DATE, DIRTY, REF_DATA);
+      assertEquals(result.getPresentValues().get(i).getAmount(), pv.getAmount(), product.getNotional() * TOL);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    IsdaCdsBookResult test = PRICER.price(PRODUCTS, RATES_PROVIDER, SETTLEMENT_DATE, CLEAN, REF_DATA);
+    coverImmutableBean(test);
+    IsdaCdsBookResult test2 = PRICER.price(ImmutableList.of(), RATES_PROVIDER, SETTLEMENT_DATE, CLEAN, REF_DATA);
+    coverBeanEquals(test, test2);
+    assertThrowsIllegalArg(() -> IsdaCdsBookResult.of(
+        test.getPresentValues(), DoubleArray.of(1d), test.getRpv01s(), test.getJumpToDefaults(), 1));
+  }
+
+  public void test_serialization() {
+    assertSerialization(PRICER.price(PRODUCTS, RATES_PROVIDER, SETTLEMENT_DATE, CLEAN, REF_DATA));
+  }
+
+}
@@ -16,6 +16,7 @@ import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
+import java.util.List;
 
 import org.testng.annotations.Test;
 
@@ -33,8 +34,12 @@ import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.data.ImmutableMarketData;
 import com.opengamma.strata.data.ImmutableMarketDataBuilder;
+import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioArray;
 import com.opengamma.strata.market.curve.CurveInfoType;
 import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.DefaultCurveMetadata;
+import com.opengamma.strata.market.curve.DefaultCurveMetadataBuilder;
 import com.opengamma.strata.market.curve.IsdaCreditCurveDefinition;
 import com.opengamma.strata.market.curve.NodalCurve;
 import com.opengamma.strata.market.curve.node.CdsIsdaCreditCurveNode;
@@ -390,4 +395,133 @@ public class SpreadSensitivityCalculatorTest {
         NOTIONAL * TOL));
   }
 
+  public void bucketedCs01BookTest() {
+    List<ResolvedCdsTrade> trades = ImmutableList.of(CDS1, CDS2);
+    List<ResolvedCdsTrade> bucket = ImmutableList.copyOf(MARKET_CDS);
+    List<CurrencyParameterSensitivity> bucketed = CS01_AN.bucketedCs01(trades, bucket, RATES_PROVIDER, REF_DATA);
+    List<CurrencyAmount> parallel = CS01_AN.parallelCs01(trades, bucket, RATES_PROVIDER, REF_DATA);
+    assertEquals(bucketed.size(), 2);
+    assertEquals(parallel.size(), 2);
+    for (int i = 0; i < trades.size(); i++) {
+      CurrencyParameterSensitivity expected = CS01_AN.bucketedCs01(trades.get(i), bucket, RATES_PROVIDER, REF_DATA);
+      assertEquals(bucketed.get(i).getMarketDataName(), expected.getMarketDataName());
+      assertEquals(bucketed.get(i).getParameterMetadata(), expected.getParameterMetadata());
+      assertTrue(DoubleArrayMath.fuzzyEquals(
+          bucketed.get(i).getSensitivity().toArray(), expected.getSensitivity().toArray(), NOTIONAL * TOL));
+      assertEquals(parallel.get(i).getCurrency(), USD);
+      assertEquals(parallel.get(i).getAmount(), expected.getSensitivity().sum(), NOTIONAL * TOL);
+    }
+  }
+
+  public void bucketedCs01StoredJacobianTest() {
+    // the curve without Jacobian requires the recalibration to the implied spreads
+    NodalCurve curve = ((IsdaCreditDiscountFactors) CREDIT_CURVE.getSurvivalProbabilities()).getCurve();
+    NodalCurve curveNoJacobian = curve.withMetadata(
+        DefaultCurveMetadata.builder()
+            .curveName(curve.getName())
+            .xValueType(curve.getMetadata().getXValueType())
+            .yValueType(curve.getMetadata().getYValueType())
+            .dayCount(curve.getMetadata().getInfo(CurveInfoType.DAY_COUNT))
+            .parameterMetadata(curve.getMetadata().getParameterMetadata().get())
+            .build());
+    CreditRatesProvider ratesProvider = RATES_PROVIDER.toImmutableCreditRatesProvider().toBuilder()
+        .creditCurves(ImmutableMap.of(Pair.of(LEGAL_ENTITY, USD), LegalEntitySurvivalProbabilities.of(
+            LEGAL_ENTITY, IsdaCreditDiscountFactors.of(USD, VALUATION_DATE, curveNoJacobian))))
+        .build();
+    CurrencyParameterSensitivity computed = CS01_AN.bucketedCs01(CDS1, RATES_PROVIDER, REF_DATA);
+    CurrencyParameterSensitivity expected = CS01_AN.bucketedCs01(CDS1, ratesProvider, REF_DATA);
+    assertEquals(computed.getParameterMetadata(), expected.getParameterMetadata());
+    assertTrue(DoubleArrayMath.fuzzyEquals(
+        computed.getSensitivity().toArray(), expected.getSensitivity().toArray(), NOTIONAL * 1.0e-10));
+  }
+
+  public void bucketedCs01IndexBookTest() {
+    ResolvedCdsIndexTrade cdsIndex2 = CdsIndexTrade.builder()
+        .product(CdsIndex.of(
+            BuySell.SELL, INDEX_ID, LEGAL_ENTITIES, USD, 2d * NOTIONAL, START, END1, P3M, SAT_SUN, DEAL_SPREAD * ONE_BP))
+        .info(TradeInfo.of(VALUATION_DATE))
+        .build()
+        .resolve(REF_DATA);
+    List<ResolvedCdsIndexTrade> trades = ImmutableList.of(CDS_INDEX, cdsIndex2);
+    List<ResolvedCdsIndexTrade> bucket = ImmutableList.copyOf(MARKET_CDS_INDEX);
+    List<CurrencyParameterSensitivity> bucketed = CS01_AN.indexBucketedCs01(trades, bucket, RATES_PROVIDER, REF_DATA);
+    List<CurrencyAmount> parallel = CS01_AN.indexParallelCs01(trades, bucket, RATES_PROVIDER, REF_DATA);
+    assertEquals(bucketed.size(), 2);
+    assertEquals(parallel.size(), 2);
+    for (int i = 0; i < trades.size(); i++) {
+      CurrencyParameterSensitivity expected = CS01_AN.bucketedCs01(trades.get(i), bucket, RATES_PROVIDER, REF_DATA);
+      assertEquals(bucketed.get(i).getMarketDataName(), expected.getMarketDataName());
+      assertEquals(bucketed.get(i).getParameterMetadata(), CDS_INDEX_METADATA);
+      assertTrue(DoubleArrayMath.fuzzyEquals(
+          bucketed.get(i).getSensitivity().toArray(), expected.getSensitivity().toArray(), NOTIONAL * TOL));
+      assertEquals(parallel.get(i).getCurrency(), USD);
+      assertEquals(parallel.get(i).getAmount(), expected.getSensitivity().sum(), NOTIONAL * TOL);
+    }
+    // the curve without Jacobian requires the recalibration to the implied spreads
+    CreditRatesProvider ratesProvider = withoutJacobian(INDEX_ID, CREDIT_CURVE_INDEX);
+    List<CurrencyParameterSensitivity> recalibrated = CS01_AN.indexBucketedCs01(trades, bucket, ratesProvider, REF_DATA);
+    for (int i = 0; i < trades.size(); i++) {
+      assertTrue(DoubleArrayMath.fuzzyEquals(
+          recalibrated.get(i).getSensitivity().toArray(), bucketed.get(i).getSensitivity().toArray(), NOTIONAL * 1.0e-10));
+    }
+  }
+
+  public void bucketedCs01ScenarioTest() {
+    CreditRatesProvider shifted = RATES_PROVIDER.toImmutableCreditRatesProvider().toBuilder()
+        .discountCurves(ImmutableMap.of(USD, IsdaCreditDiscountFactors.of(
+            USD, VALUATION_DATE, CurveName.of("discount"), DoubleArray.of(20d), DoubleArray.of(0.06), ACT_365F)))
+        .build();
+    List<CreditRatesProvider> ratesProviders = ImmutableList.of(RATES_PROVIDER, shifted);
+    List<ResolvedCdsTrade> trades = ImmutableList.of(CDS1, CDS2);
+    List<ResolvedCdsTrade> bucket = ImmutableList.copyOf(MARKET_CDS);
+    List<ScenarioArray<CurrencyParameterSensitivity>> bucketed =
+        CS01_AN.bucketedCs01(trades, bucket, ratesProviders, REF_DATA);
+    List<CurrencyScenarioArray> parallel = CS01_AN.parallelCs01(trades, bucket, ratesProviders, REF_DATA);
+    List<ResolvedCdsIndexTrade> indexTrades = ImmutableList.of(CDS_INDEX);
+    List<ResolvedCdsIndexTrade> indexBucket = ImmutableList.copyOf(MARKET_CDS_INDEX);
+    List<ScenarioArray<CurrencyParameterSensitivity>> indexBucketed =
+        CS01_AN.indexBucketedCs01(indexTrades, indexBucket, ratesProviders, REF_DATA);
+    List<CurrencyScenarioArray> indexParallel = CS01_AN.indexParallelCs01(indexTrades, indexBucket, ratesProviders, REF_DATA);
+    assertEquals(bucketed.size(), 2);
+    assertEquals(parallel.size(), 2);
+    assertEquals(indexBucketed.size(), 1);
+    assertEquals(indexParallel.size(), 1);
+    for (int s = 0; s < ratesProviders.size(); s++) {
+      List<CurrencyParameterSensitivity> expected = CS01_AN.bucketedCs01(trades, bucket, ratesProviders.get(s), REF_DATA);
+      for (int i = 0; i < trades.size(); i++) {
+        assertEquals(bucketed.get(i).getScenarioCount(), 2);
+        assertEquals(bucketed.get(i).get(s).getParameterMetadata(), expected.get(i).getParameterMetadata());
+        assertTrue(DoubleArrayMath.fuzzyEquals(
+            bucketed.get(i).get(s).getSensitivity().toArray(), expected.get(i).getSensitivity().toArray(), NOTIONAL * TOL));
+        assertEquals(parallel.get(i).getCurrency(), USD);
+        assertEquals(parallel.get(i).get(s).getAmount(), expected.get(i).getSensitivity().sum(), NOTIONAL * TOL);
+      }
+      CurrencyParameterSensitivity expectedIndex = CS01_AN.bucketedCs01(CDS_INDEX, indexBucket, ratesProviders.get(s), REF_DATA);
+      assertTrue(DoubleArrayMath.fuzzyEquals(
+          indexBucketed.get(0).get(s).getSensitivity().toArray(), expectedIndex.getSensitivity().toArray(), NOTIONAL * TOL));
+      assertEquals(indexParallel.get(0).get(s).getAmount(), expectedIndex.getSensitivity().sum(), NOTIONAL * TOL);
+    }
+    // the discount curve differs between the scenarios
+    assertTrue(Math.abs(parallel.get(0).get(0).getAmount() - parallel.get(0).get(1).getAmount()) > NOTIONAL * TOL);
+  }
+
+  //-------------------------------------------------------------------------
+  // the rates provider with the credit curve replaced by the same curve without Jacobian
+  private static CreditRatesProvider withoutJacobian(StandardId id, LegalEntitySurvivalProbabilities creditCurve) {
+    NodalCurve curve = ((IsdaCreditDiscountFactors) creditCurve.getSurvivalProbabilities()).getCurve();
+    DefaultCurveMetadataBuilder metadata = DefaultCurveMetadata.builder()
+        .curveName(curve.getName())
+        .xValueType(curve.getMetadata().getXValueType())
+        .yValueType(curve.getMetadata().getYValueType())
+        .dayCount(curve.getMetadata().getInfo(CurveInfoType.DAY_COUNT))
+        .parameterMetadata(curve.getMetadata().getParameterMetadata().get());
+    curve.getMetadata().findInfo(CurveInfoType.CDS_INDEX_FACTOR)
+        .ifPresent(factor -> metadata.addInfo(CurveInfoType.CDS_INDEX_FACTOR, factor));
+    NodalCurve curveNoJacobian = curve.withMetadata(metadata.build());
+    return RATES_PROVIDER.toImmutableCreditRatesProvider().toBuilder()
+        .creditCurves(ImmutableMap.of(Pair.of(id, USD), LegalEntitySurvivalProbabilities.of(
+            id, IsdaCreditDiscountFactors.of(USD, VALUATION_DATE, curveNoJacobian))))
+        .build();
+  }
+
 }
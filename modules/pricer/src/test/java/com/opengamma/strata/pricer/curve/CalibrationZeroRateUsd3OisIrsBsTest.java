@@ -17,6 +17,7 @@ import static com.opengamma.strata.product.swap.type.FixedIborSwapConventions.US
 import static com.opengamma.strata.product.swap.type.FixedOvernightSwapConventions.USD_FIXED_1Y_FED_FUND_OIS;
 import static com.opengamma.strata.product.swap.type.IborIborSwapConventions.USD_LIBOR_3M_LIBOR_6M;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
 import java.time.Period;
@@ -66,6 +67,11 @@ import com.opengamma.strata.market.curve.node.TermDepositCurveNode;
 import com.opengamma.strata.market.observable.QuoteId;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
+import com.opengamma.strata.math.impl.linearalgebra.BlockTriangularDecomposition;
+import com.opengamma.strata.math.impl.linearalgebra.BlockTriangularDecompositionResult;
+import com.opengamma.strata.math.impl.rootfinding.newton.NewtonDefaultVectorRootFinder;
+import com.opengamma.strata.math.linearalgebra.Decomposition;
+import com.opengamma.strata.math.linearalgebra.DecompositionResult;
 import com.opengamma.strata.pricer.deposit.DiscountingIborFixingDepositProductPricer;
 import com.opengamma.strata.pricer.deposit.DiscountingTermDepositProductPricer;
 import com.opengamma.strata.pricer.fra.DiscountingFraTradePricer;
@@ -375,6 +381,32 @@ public class CalibrationZeroRateUsd3OisIrsBsTest {
     assertPresentValue(result);
   }
   
+  public void calibration_block_triangular() {
+    // the Jacobian of each Newton step is split in blocks, none spanning several curves
+    int nbParameters = FWD3_NB_NODES + FWD6_NB_NODES + DSC_NB_NODES;
+    BlockTriangularDecomposition blockDecomposition = new BlockTriangularDecomposition();
+    List<DecompositionResult> decompositions = new ArrayList<>();
+    Decomposition<DecompositionResult> recording = matrix -> {
+      assertEquals(matrix.rowCount(), nbParameters);
+      DecompositionResult decomposition = blockDecomposition.apply(matrix);
+      decompositions.add(decomposition);
+      return decomposition;
+    };
+    CurveCalibrator calibrator = CurveCalibrator.of(
+        new NewtonDefaultVectorRootFinder(1e-9, 1e-9, 100, recording),
+        CalibrationMeasures.PAR_SPREAD,
+        CalibrationMeasures.PRESENT_VALUE);
+    RatesProvider result = calibrator.calibrate(CURVE_GROUP_CONFIG, ALL_QUOTES, REF_DATA);
+    assertPresentValue(result);
+    assertTrue(decompositions.size() > 0);
+    for (DecompositionResult decomposition : decompositions) {
+      assertTrue(decomposition instanceof BlockTriangularDecompositionResult);
+      BlockTriangularDecompositionResult blocks = (BlockTriangularDecompositionResult) decomposition;
+      assertTrue(blocks.getBlockCount() > 1);
+      assertTrue(blocks.getMaxBlockSize() <= Math.max(DSC_NB_NODES, Math.max(FWD3_NB_NODES, FWD6_NB_NODES)));
+    }
+  }
+
   public void calibration_market_quote_sensitivity_one_group() {
     double shift = 1.0E-6;
     Function<MarketData, RatesProvider> f =
@@ -0,0 +1,188 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.fx;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.KRW;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.date.HolidayCalendarIds.USNY;
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.CurrencyPair;
+import com.opengamma.strata.basics.currency.FxRate;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.basics.date.DaysAdjustment;
+import com.opengamma.strata.basics.index.FxIndex;
+import com.opengamma.strata.basics.index.FxIndexObservation;
+import com.opengamma.strata.basics.index.ImmutableFxIndex;
+import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+import com.opengamma.strata.product.fx.ResolvedFxNdf;
+import com.opengamma.strata.product.fx.ResolvedFxSingle;
+
+/**
+ * Test {@link DiscountingFxForwardBookPricer}.
+ */
+@Test
+public class DiscountingFxForwardBookPricerTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final LocalDate VAL_DATE = RatesProviderFxDataSets.VAL_DATE_2014_01_22;
+  private static final LocalDate PAYMENT_DATE_1 = VAL_DATE.plusWeeks(8);
+  private static final LocalDate PAYMENT_DATE_2 = VAL_DATE.plusMonths(9);
+  private static final LocalDate VAL_DATE_LATER = VAL_DATE.plusWeeks(4);
+  private static final FxIndex INDEX = ImmutableFxIndex.builder()
+      .name("USD/KRW")
+      .currencyPair(CurrencyPair.of(USD, KRW))
+      .fixingCalendar(USNY)
+      .maturityDateOffset(DaysAdjustment.ofBusinessDays(2, USNY))
+      .build();
+
+  // products
+  private static final ResolvedFxSingle FWD_GBP_1 =
+      ResolvedFxSingle.of(CurrencyAmount.of(GBP, 1_000_000), FxRate.of(GBP, USD, 1.52), PAYMENT_DATE_1);
+  private static final ResolvedFxSingle FWD_EUR_1 =
+      ResolvedFxSingle.of(CurrencyAmount.of(EUR, -2_000_000), FxRate.of(EUR, USD, 1.41), PAYMENT_DATE_1);
+  private static final ResolvedFxSingle FWD_GBP_2 =
+      ResolvedFxSingle.of(CurrencyAmount.of(GBP, -3_000_000), FxRate.of(GBP, USD, 1.49), PAYMENT_DATE_2);
+  private static final List<ResolvedFxSingle> FORWARDS = ImmutableList.of(FWD_GBP_1, FWD_EUR_1, FWD_GBP_2);
+  private static final ResolvedFxNdf NDF_1 = ndf(CurrencyAmount.of(USD, 100_000_000), PAYMENT_DATE_1);
+  private static final ResolvedFxNdf NDF_2 = ndf(CurrencyAmount.of(KRW, -50_000_000_000d), PAYMENT_DATE_2);
+  // fixed in the scenario with the later valuation date
+  private static final ResolvedFxNdf NDF_FIXED = ndf(CurrencyAmount.of(USD, 10_000_000), VAL_DATE_LATER);
+  private static final List<ResolvedFxNdf> NDFS = ImmutableList.of(NDF_1, NDF_2, NDF_FIXED);
+  // curves, the last scenario is after the first payment date
+  private static final List<RatesProvider> PROVIDERS = ImmutableList.of(
+      RatesProviderFxDataSets.createProvider(),
+      RatesProviderFxDataSets.createProvider(VAL_DATE_LATER, INDEX, 1100d),
+      RatesProviderFxDataSets.createProvider(PAYMENT_DATE_1.plusDays(1), INDEX, 1090d));
+  private static final double TOL = 1.0e-12;
+  // pricers
+  private static final DiscountingFxForwardBookPricer PRICER = DiscountingFxForwardBookPricer.DEFAULT;
+  private static final DiscountingFxSingleProductPricer FWD_PRICER = DiscountingFxSingleProductPricer.DEFAULT;
+  private static final DiscountingFxNdfProductPricer NDF_PRICER = DiscountingFxNdfProductPricer.DEFAULT;
+
+  private static ResolvedFxNdf ndf(CurrencyAmount notional, LocalDate paymentDate) {
+    return ResolvedFxNdf.builder()
+        .settlementCurrencyNotional(notional)
+        .agreedFxRate(FxRate.of(USD, KRW, 1123.45))
+        .observation(FxIndexObservation.of(INDEX, INDEX.calculateFixingFromMaturity(paymentDate, REF_DATA), REF_DATA))
+        .paymentDate(paymentDate)
+        .build();
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_calculate() {
+    FxForwardBookResult result = PRICER.calculate(FORWARDS, PROVIDERS);
+    assertEquals(result.getTradeCount(), 3);
+    assertEquals(result.getScenarioCount(), 3);
+    for (int i = 0; i < FORWARDS.size(); i++) {
+      ResolvedFxSingle fx = FORWARDS.get(i);
+      for (int s = 0; s < PROVIDERS.size(); s++) {
+        RatesProvider provider = PROVIDERS.get(s);
+        PointSensitivities point = FWD_PRICER.presentValueSensitivity(fx, provider);
+        assertAmounts(result.getPresentValue(i), s, FWD_PRICER.presentValue(fx, provider));
+        assertAmounts(result.getCurrencyExposure(i), s, FWD_PRICER.currencyExposure(fx, provider));
+        assertAmounts(result.getPv01(i), s, provider.parameterSensitivity(point).total().multipliedBy(1e-4));
+      }
+    }
+    // the first forwards have expired in the last scenario
+    assertEquals(result.getPresentValue(0).get(2).getAmount(GBP).getAmount(), 0d);
+    assertTrue(result.getPresentValue(2).get(2).getAmount(GBP).getAmount() != 0d);
+  }
+
+  public void test_calculateNdf() {
+    FxForwardBookResult result = PRICER.calculateNdf(NDFS, PROVIDERS);
+    assertEquals(result.getTradeCount(), 3);
+    assertEquals(result.getScenarioCount(), 3);
+    for (int i = 0; i < NDFS.size(); i++) {
+      ResolvedFxNdf ndf = NDFS.get(i);
+      for (int s = 0; s < PROVIDERS.size(); s++) {
+        RatesProvider provider = PROVIDERS.get(s);
+        PointSensitivities point = NDF_PRICER.presentValueSensitivity(ndf, provider);
+        assertAmounts(result.getPresentValue(i), s, MultiCurrencyAmount.of(NDF_PRICER.presentValue(ndf, provider)));
+        assertAmounts(result.getCurrencyExposure(i), s, NDF_PRICER.currencyExposure(ndf, provider));
+        assertAmounts(result.getPv01(i), s, provider.parameterSensitivity(point).total().multipliedBy(1e-4));
+      }
+    }
+    assertEquals(result.getPresentValue(1).getCurrencies(), ImmutableSet.of(KRW));
+  }
+
+  public void test_empty() {
+    FxForwardBookResult result = PRICER.calculate(ImmutableList.of(), PROVIDERS);
+    assertEquals(result.getTradeCount(), 0);
+    assertEquals(result.getScenarioCount(), 3);
+    assertThrowsIllegalArg(() -> PRICER.calculate(FORWARDS, ImmutableList.of()));
+    assertThrowsIllegalArg(() -> PRICER.calculateNdf(NDFS, ImmutableList.of()));
+  }
+
+  public void test_columns() {
+    FxForwardBookResult result = PRICER.calculate(FORWARDS, PROVIDERS);
+    assertEquals(result.getPresentValues().size(), 2);
+    assertEquals(result.getPresentValues().get(0).rowCount(), 3);
+    assertEquals(result.getPresentValues().get(0).columnCount(), 3);
+    assertEquals(result.getCurrencyPairs().get(1), CurrencyPair.of(EUR, USD));
+    assertEquals(
+        result.getPresentValues().get(1).get(1, 0),
+        result.getPresentValue(1).get(0).getAmount(USD).getAmount());
+    FxForwardBookResult resultNdf = PRICER.calculateNdf(NDFS, PROVIDERS);
+    assertEquals(resultNdf.getPresentValues().size(), 1);
+    assertEquals(resultNdf.getCurrencyExposures().size(), 2);
+    assertEquals(resultNdf.getPv01s().size(), 1);
+    assertEquals(resultNdf.getCurrencyPairs().get(1), CurrencyPair.of(KRW, USD));
+  }
+
+  public void test_calculateNdf_sharedObservation() {
+    FxForwardBookResult result = PRICER.calculateNdf(ImmutableList.of(NDF_FIXED, NDF_1, NDF_FIXED), PROVIDERS);
+    FxForwardBookResult expected = PRICER.calculateNdf(ImmutableList.of(NDF_FIXED, NDF_1), PROVIDERS);
+    assertEquals(result.getPresentValue(0), expected.getPresentValue(0));
+    assertEquals(result.getPresentValue(1), expected.getPresentValue(1));
+    assertEquals(result.getPresentValue(2), expected.getPresentValue(0));
+    assertEquals(result.getPv01(2), expected.getPv01(0));
+  }
+
+  public void coverage() {
+    FxForwardBookResult test = PRICER.calculate(FORWARDS, PROVIDERS);
+    coverImmutableBean(test);
+    FxForwardBookResult test2 = PRICER.calculateNdf(NDFS, PROVIDERS);
+    coverBeanEquals(test, test2);
+    assertSerialization(test);
+  }
+
+  //-------------------------------------------------------------------------
+  // checks the amounts of a scenario, currencies missing from the expected amount must be zero
+  private static void assertAmounts(
+      MultiCurrencyScenarioArray computed,
+      int scenarioIndex,
+      MultiCurrencyAmount expected) {
+
+    MultiCurrencyAmount amount = computed.get(scenarioIndex);
+    for (Currency currency : amount.getCurrencies()) {
+      double expectedAmount = expected.contains(currency) ? expected.getAmount(currency).getAmount() : 0d;
+      double tolerance = TOL * Math.max(1d, Math.abs(expectedAmount));
+      assertEquals(amount.getAmount(currency).getAmount(), expectedAmount, tolerance);
+    }
+    assertTrue(amount.getCurrencies().containsAll(expected.getCurrencies()));
+  }
+
+}
@@ -14,9 +14,11 @@ import static org.testng.Assert.assertTrue;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.List;
 
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.basics.currency.Payment;
@@ -303,6 +305,21 @@ public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricerTest {
   }
 
   //-------------------------------------------------------------------------
+  public void test_presentValues() {
+    ResolvedFxVanillaOption callShortExpiry = CALL.toBuilder().expiry(EXPIRY_DATETIME.minusYears(1)).build();
+    List<ResolvedFxSingleBarrierOption> options = ImmutableList.of(
+        CALL_DKO,
+        CALL_UKI_C,
+        ResolvedFxSingleBarrierOption.of(PUT, BARRIER_DKO, REBATE_BASE),
+        ResolvedFxSingleBarrierOption.of(callShortExpiry, BARRIER_UKI),
+        ResolvedFxSingleBarrierOption.of(PUT, BARRIER_UKI));
+    List<CurrencyAmount> computed = PRICER_39.presentValues(options, RATE_PROVIDER, VOLS);
+    assertEquals(computed.size(), options.size());
+    for (int i = 0; i < options.size(); ++i) {
+      assertEquals(computed.get(i), PRICER_39.presentValue(options.get(i), RATE_PROVIDER, VOLS));
+    }
+  }
+
   public void test_presentValueSensitivityRates() {
     ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer pricer =
         new ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer(21);
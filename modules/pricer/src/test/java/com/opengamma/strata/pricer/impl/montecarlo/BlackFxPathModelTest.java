@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.montecarlo;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.CurrencyPair;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.math.impl.random.SobolPathNormalGenerator;
+import com.opengamma.strata.pricer.datasets.RatesProviderDataSets;
+import com.opengamma.strata.pricer.fx.RatesProviderFxDataSets;
+import com.opengamma.strata.pricer.fxopt.BlackFxOptionSmileVolatilities;
+import com.opengamma.strata.pricer.fxopt.FxVolatilitySmileDataSet;
+import com.opengamma.strata.pricer.impl.option.BlackFormulaRepository;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+
+/**
+ * Test {@link BlackFxPathModel}.
+ */
+@Test
+public class BlackFxPathModelTest {
+
+  private static final ZoneId ZONE = ZoneId.of("Z");
+  private static final LocalDate VAL_DATE = RatesProviderDataSets.VAL_DATE_2014_01_22;
+  private static final ZonedDateTime VAL_DATETIME = VAL_DATE.atTime(LocalTime.of(13, 45)).atZone(ZONE);
+  private static final RatesProvider RATES_PROVIDER = RatesProviderFxDataSets.createProviderEURUSD(VAL_DATE);
+  private static final BlackFxOptionSmileVolatilities VOLS =
+      FxVolatilitySmileDataSet.createVolatilitySmileProvider6(VAL_DATETIME);
+  private static final CurrencyPair CURRENCY_PAIR = CurrencyPair.of(EUR, USD);
+  private static final List<ZonedDateTime> OBSERVATIONS = ImmutableList.of(
+      ZonedDateTime.of(2014, 3, 10, 13, 10, 0, 0, ZONE),
+      ZonedDateTime.of(2014, 5, 9, 13, 10, 0, 0, ZONE),
+      ZonedDateTime.of(2014, 8, 11, 13, 10, 0, 0, ZONE));
+  private static final double STRIKE = 1.40;
+  private static final double TOL = 1e-13;
+
+  public void test_of() {
+    DoubleArray times = DoubleArray.of(0.5, 1d);
+    BlackFxPathModel test = BlackFxPathModel.of(times, DoubleArray.of(1.1, 1.2), DoubleArray.of(0.1, 0.1), true);
+    assertEquals(test.getTimes(), times);
+    assertEquals(test.getDimension(), 2);
+    assertEquals(test.getPathSize(), 2);
+    double[] path = new double[2];
+    test.simulate(new double[] {1d, 0d}, path);
+    assertEquals(path[1], 1.2 * Math.exp(0.1 - 0.005), TOL);
+    assertEquals(path[0], 1.1 * Math.exp(0.05 - 0.0025), TOL);
+  }
+
+  public void test_of_marketData() {
+    BlackFxPathModel test = BlackFxPathModel.of(CURRENCY_PAIR, OBSERVATIONS, STRIKE, RATES_PROVIDER, VOLS, true);
+    MonteCarloResult computed = MonteCarloEngine.of(SobolPathNormalGenerator.DEFAULT, 8191)
+        .price(test, path -> Math.max(path[1] - STRIKE, 0d));
+    double time = VOLS.relativeTime(OBSERVATIONS.get(1));
+    double forward = RATES_PROVIDER.fxForwardRates(CURRENCY_PAIR).rate(EUR, OBSERVATIONS.get(1).toLocalDate());
+    double vol = VOLS.volatility(CURRENCY_PAIR, time, STRIKE, forward);
+    double expected = BlackFormulaRepository.price(forward, STRIKE, time, vol, true);
+    assertEquals(test.getTimes().get(1), time);
+    assertEquals(computed.getValue(), expected, 0.2 * computed.getStandardError());
+  }
+
+  public void test_of_invalid() {
+    DoubleArray times = DoubleArray.of(0.5, 1d);
+    assertThrowsIllegalArg(() -> BlackFxPathModel.of(times, DoubleArray.of(1.1), DoubleArray.of(0.1, 0.1), true));
+    assertThrowsIllegalArg(() -> BlackFxPathModel.of(times, DoubleArray.of(1.1, 1.2), DoubleArray.of(0.1), true));
+    // decreasing total variance
+    assertThrowsIllegalArg(() -> BlackFxPathModel.of(
+        times, DoubleArray.of(1.1, 1.2), DoubleArray.of(0.2, 0.1), false));
+  }
+
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.montecarlo;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.math.impl.random.SobolPathNormalGenerator;
+import com.opengamma.strata.pricer.impl.rate.model.HullWhiteOneFactorPiecewiseConstantInterestRateModel;
+import com.opengamma.strata.pricer.impl.rate.swap.CashFlowEquivalentCalculator;
+import com.opengamma.strata.pricer.index.HullWhiteIborFutureDataSet;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParameters;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParametersProvider;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.pricer.swaption.HullWhiteSwaptionPhysicalProductPricer;
+import com.opengamma.strata.product.common.BuySell;
+import com.opengamma.strata.product.common.LongShort;
+import com.opengamma.strata.product.swap.NotionalExchange;
+import com.opengamma.strata.product.swap.ResolvedSwap;
+import com.opengamma.strata.product.swap.ResolvedSwapLeg;
+import com.opengamma.strata.product.swap.type.FixedIborSwapConventions;
+import com.opengamma.strata.product.swaption.PhysicalSwaptionSettlement;
+import com.opengamma.strata.product.swaption.ResolvedSwaption;
+
+/**
+ * Test {@link HullWhiteOneFactorPathModel}.
+ */
+@Test
+public class HullWhiteOneFactorPathModelTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final LocalDate VALUATION = LocalDate.of(2011, 7, 7);
+  private static final LocalDate EXPIRY = LocalDate.of(2016, 7, 7);
+  private static final LocalDate SETTLE = LocalDate.of(2016, 7, 11);
+  private static final double NOTIONAL = 100_000_000d;
+  private static final HullWhiteOneFactorPiecewiseConstantParametersProvider HW_PROVIDER =
+      HullWhiteIborFutureDataSet.createHullWhiteProvider(VALUATION);
+  private static final ImmutableRatesProvider RATES_PROVIDER = HullWhiteIborFutureDataSet.createRatesProvider(VALUATION);
+  private static final HullWhiteOneFactorPiecewiseConstantParameters PARAMETERS = HW_PROVIDER.getParameters();
+  private static final HullWhiteOneFactorPiecewiseConstantInterestRateModel MODEL =
+      HullWhiteOneFactorPiecewiseConstantInterestRateModel.DEFAULT;
+  private static final double TOL = 1e-12;
+
+  //-------------------------------------------------------------------------
+  public void test_of() {
+    DoubleArray simulationTimes = DoubleArray.of(1d, 2d);
+    DoubleArray bondTimes = DoubleArray.of(1.5, 2d, 5d);
+    HullWhiteOneFactorPathModel test =
+        HullWhiteOneFactorPathModel.of(PARAMETERS, simulationTimes, bondTimes, DoubleArray.of(0.98, 0.97, 0.9), true);
+    assertEquals(test.getSimulationTimes(), simulationTimes);
+    assertEquals(test.getBondTimes(), bondTimes);
+    assertEquals(test.getDimension(), 2);
+    assertEquals(test.getPathSize(), 6);
+    assertEquals(test.pathIndex(1, 2), 5);
+  }
+
+  public void test_volatility() {
+    DoubleArray simulationTimes = DoubleArray.of(0.5, 1d, 3d, 4.5);
+    DoubleArray bondTimes = DoubleArray.of(4.5, 5d, 6d, 10d);
+    DoubleArray dfs = DoubleArray.of(0.85, 0.82, 0.78, 0.6);
+    HullWhiteOneFactorPathModel test = HullWhiteOneFactorPathModel.of(PARAMETERS, simulationTimes, bondTimes, dfs, false);
+    // with a single non-zero normal number, the Brownian motion is the square root of the first variance
+    double[] normals = {1d, 0d, 0d, 0d};
+    double[] path = new double[test.getPathSize()];
+    test.simulate(normals, path);
+    for (int i = 0; i < bondTimes.size(); i++) {
+      double alpha = MODEL.alpha(PARAMETERS, 0d, simulationTimes.get(0), 10d, bondTimes.get(i));
+      assertEquals(Math.log(path[test.pathIndex(0, i)] / dfs.get(i)), -alpha - 0.5 * alpha * alpha, TOL);
+      double alphaLast = MODEL.alpha(PARAMETERS, 0d, simulationTimes.get(3), 10d, bondTimes.get(i));
+      double alphaFirst = MODEL.alpha(PARAMETERS, 0d, simulationTimes.get(0), 10d, bondTimes.get(i));
+      assertEquals(
+          Math.log(path[test.pathIndex(3, i)] / dfs.get(i)), -alphaFirst - 0.5 * alphaLast * alphaLast, TOL);
+    }
+  }
+
+  public void test_swaption() {
+    for (BuySell buySell : BuySell.values()) {
+      ResolvedSwap swap = FixedIborSwapConventions.EUR_FIXED_1Y_EURIBOR_6M
+          .toTrade(VALUATION, SETTLE, SETTLE.plusYears(5), buySell, NOTIONAL, 0.0175)
+          .getProduct()
+          .resolve(REF_DATA);
+      ResolvedSwaption swaption = ResolvedSwaption.builder()
+          .expiry(EXPIRY.atTime(LocalTime.of(11, 0)).atZone(ZoneOffset.UTC))
+          .longShort(LongShort.LONG)
+          .swaptionSettlement(PhysicalSwaptionSettlement.DEFAULT)
+          .underlying(swap)
+          .build();
+      double expected = HullWhiteSwaptionPhysicalProductPricer.DEFAULT
+          .presentValue(swaption, RATES_PROVIDER, HW_PROVIDER).getAmount();
+      ResolvedSwapLeg cashFlows = CashFlowEquivalentCalculator.cashFlowEquivalentSwap(swap, RATES_PROVIDER);
+      List<NotionalExchange> payments = cashFlows.getPaymentEvents().stream()
+          .map(NotionalExchange.class::cast)
+          .collect(Collectors.toList());
+      List<LocalDate> bondDates = payments.stream().map(NotionalExchange::getPaymentDate).collect(Collectors.toList());
+      double[] amounts = payments.stream().mapToDouble(p -> p.getPaymentAmount().getAmount()).toArray();
+      HullWhiteOneFactorPathModel model = HullWhiteOneFactorPathModel.of(
+          HW_PROVIDER, ImmutableList.of(EXPIRY), bondDates, RATES_PROVIDER.discountFactors(EUR), true);
+      MonteCarloResult computed = MonteCarloEngine.of(SobolPathNormalGenerator.DEFAULT, 16383).price(model, path -> {
+        double value = 0d;
+        for (int i = 0; i < amounts.length; i++) {
+          value += amounts[i] * path[i];
+        }
+        return Math.max(value, 0d);
+      });
+      assertEquals(computed.getValue(), expected, 0.2 * computed.getStandardError());
+    }
+  }
+
+  public void test_of_invalid() {
+    DoubleArray bondTimes = DoubleArray.of(1.5, 2d);
+    DoubleArray dfs = DoubleArray.of(0.98, 0.97);
+    assertThrowsIllegalArg(() -> HullWhiteOneFactorPathModel.of(
+        PARAMETERS, DoubleArray.of(1d, 3d), bondTimes, dfs, true));
+    assertThrowsIllegalArg(() -> HullWhiteOneFactorPathModel.of(
+        PARAMETERS, DoubleArray.EMPTY, bondTimes, dfs, true));
+    assertThrowsIllegalArg(() -> HullWhiteOneFactorPathModel.of(
+        PARAMETERS, DoubleArray.of(1d), bondTimes, DoubleArray.of(0.98), true));
+    assertThrowsIllegalArg(() -> HullWhiteOneFactorPathModel.of(
+        PARAMETERS, DoubleArray.of(1d), DoubleArray.EMPTY, DoubleArray.EMPTY, true));
+  }
+
+}
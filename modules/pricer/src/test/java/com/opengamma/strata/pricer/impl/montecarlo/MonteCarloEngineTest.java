@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.montecarlo;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.ToDoubleFunction;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.math.impl.random.PseudoRandomPathNormalGenerator;
+import com.opengamma.strata.math.impl.random.SobolPathNormalGenerator;
+import com.opengamma.strata.pricer.impl.option.BlackFormulaRepository;
+
+/**
+ * Test {@link MonteCarloEngine}.
+ */
+@Test
+public class MonteCarloEngineTest {
+
+  private static final DoubleArray TIMES = DoubleArray.of(0.25, 0.5, 1d, 1.5, 2d);
+  private static final DoubleArray FORWARDS = DoubleArray.of(1.20, 1.21, 1.22, 1.23, 1.24);
+  private static final DoubleArray VOLS = DoubleArray.of(0.12, 0.11, 0.10, 0.10, 0.095);
+  private static final BlackFxPathModel MODEL_BRIDGE = BlackFxPathModel.of(TIMES, FORWARDS, VOLS, true);
+  private static final BlackFxPathModel MODEL_INCREMENTAL = BlackFxPathModel.of(TIMES, FORWARDS, VOLS, false);
+  private static final double STRIKE = 1.25;
+  private static final ToDoubleFunction<double[]> CALL = path -> Math.max(path[4] - STRIKE, 0d);
+  private static final double EXPECTED =
+      BlackFormulaRepository.price(FORWARDS.get(4), STRIKE, TIMES.get(4), VOLS.get(4), true);
+  private static final int NB_SAMPLES = 20000;
+  private static final PseudoRandomPathNormalGenerator PSEUDO = new PseudoRandomPathNormalGenerator(20180101L);
+
+  //-------------------------------------------------------------------------
+  public void test_sobolBridge() {
+    MonteCarloEngine engine = MonteCarloEngine.of(SobolPathNormalGenerator.DEFAULT, 16383);
+    MonteCarloResult computed = engine.price(MODEL_BRIDGE, CALL);
+    assertEquals(computed.getNbSamples(), 16383);
+    // quasi-random error much lower than the standard error
+    assertEquals(computed.getValue(), EXPECTED, 0.2 * computed.getStandardError());
+  }
+
+  public void test_pseudoRandom() {
+    MonteCarloResult computed = MonteCarloEngine.of(PSEUDO, NB_SAMPLES).price(MODEL_INCREMENTAL, CALL);
+    assertEquals(computed.getValue(), EXPECTED, 4d * computed.getStandardError());
+    assertTrue(computed.getStandardError() < 0.03 * EXPECTED);
+  }
+
+  public void test_antithetic() {
+    MonteCarloEngine engine = MonteCarloEngine.of(PSEUDO, NB_SAMPLES);
+    MonteCarloResult plain = engine.price(MODEL_INCREMENTAL, CALL);
+    MonteCarloResult computed = engine.withAntithetic(true).price(MODEL_INCREMENTAL, CALL);
+    assertEquals(computed.getNbSamples(), NB_SAMPLES);
+    assertEquals(computed.getValue(), EXPECTED, 4d * computed.getStandardError());
+    assertTrue(computed.getStandardError() < plain.getStandardError());
+    // antithetic forward is exact for a linear payoff in the normal numbers
+    MonteCarloResult linear = engine.withAntithetic(true).price(MODEL_INCREMENTAL, path -> Math.log(path[2]));
+    assertEquals(linear.getValue(), Math.log(FORWARDS.get(2)) - 0.5 * VOLS.get(2) * VOLS.get(2) * TIMES.get(2), 1e-12);
+  }
+
+  public void test_executor() {
+    MonteCarloEngine engine = MonteCarloEngine.of(PSEUDO, NB_SAMPLES).withBlockSize(1000).withAntithetic(true);
+    MonteCarloResult expected = engine.price(MODEL_BRIDGE, CALL);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      MonteCarloResult computed = engine.withExecutor(executor).price(MODEL_BRIDGE, CALL);
+      assertEquals(computed, expected);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  public void test_blockSize() {
+    MonteCarloEngine engine = MonteCarloEngine.of(SobolPathNormalGenerator.DEFAULT, 5000);
+    MonteCarloResult expected = engine.withBlockSize(5000).price(MODEL_BRIDGE, CALL);
+    MonteCarloResult computed = engine.withBlockSize(333).price(MODEL_BRIDGE, CALL);
+    assertEquals(computed.getNbSamples(), 5000);
+    assertEquals(computed.getValue(), expected.getValue(), 1e-14);
+    assertEquals(computed.getStandardError(), expected.getStandardError(), 1e-14);
+  }
+
+  public void test_failure() {
+    MonteCarloEngine engine = MonteCarloEngine.of(PSEUDO, 10);
+    assertThrowsIllegalArg(() -> engine.price(MODEL_BRIDGE, path -> {
+      throw new IllegalArgumentException();
+    }));
+  }
+
+  public void test_invalid() {
+    assertThrowsIllegalArg(() -> MonteCarloEngine.of(null, 10));
+    assertThrowsIllegalArg(() -> MonteCarloEngine.of(PSEUDO, 0));
+    assertThrowsIllegalArg(() -> MonteCarloEngine.of(PSEUDO, 10).withBlockSize(0));
+    assertThrowsIllegalArg(() -> MonteCarloEngine.of(PSEUDO, 10).withExecutor(null));
+  }
+
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.montecarlo;
+
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link MonteCarloResult}.
+ */
+@Test
+public class MonteCarloResultTest {
+
+  public void test_of() {
+    MonteCarloResult test = MonteCarloResult.of(1.5, 0.01, 1000);
+    assertEquals(test.getValue(), 1.5);
+    assertEquals(test.getStandardError(), 0.01);
+    assertEquals(test.getNbSamples(), 1000);
+    assertTrue(test.toString().contains("nbSamples=1000"));
+  }
+
+  public void test_of_invalid() {
+    assertThrowsIllegalArg(() -> MonteCarloResult.of(1.5, -0.01, 1000));
+    assertThrowsIllegalArg(() -> MonteCarloResult.of(1.5, 0.01, 0));
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    MonteCarloResult test = MonteCarloResult.of(1.5, 0.01, 1000);
+    coverImmutableBean(test);
+    MonteCarloResult test2 = MonteCarloResult.of(1.25, 0.02, 2000);
+    coverBeanEquals(test, test2);
+  }
+
+  public void test_serialization() {
+    assertSerialization(MonteCarloResult.of(1.5, 0.01, 1000));
+  }
+
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.option;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.product.common.PutCall;
+
+/**
+ * Test {@link ImpliedVolatilityFormulaRepository}.
+ */
+@Test
+public class ImpliedVolatilityFormulaRepositoryTest {
+
+  private static final double FORWARD = 0.04;
+  private static final double[] STRIKES = {0.0001, 0.005, 0.02, 0.035, 0.04, 0.045, 0.06, 0.1, 0.5};
+  private static final double[] TIMES = {0.01, 0.25, 1d, 5d, 30d};
+  private static final double[] BLACK_VOLS = {0.001, 0.05, 0.2, 0.5, 1d, 2d};
+  private static final double[] NORMAL_VOLS = {0.00001, 0.001, 0.005, 0.01, 0.05};
+  private static final double TOL = 1e-12;
+
+  //-------------------------------------------------------------------------
+  public void test_blackImpliedVolatility() {
+    for (double strike : STRIKES) {
+      for (double time : TIMES) {
+        for (double vol : BLACK_VOLS) {
+          for (boolean isCall : new boolean[] {true, false}) {
+            double price = BlackFormulaRepository.price(FORWARD, strike, time, vol, isCall);
+            double otmPrice = price - Math.max(0d, (isCall ? 1d : -1d) * (FORWARD - strike));
+            if (otmPrice < 1e-250 * FORWARD || otmPrice > (1d - 1e-10) * Math.min(FORWARD, strike)) {
+              continue;  // price insensitive to volatility
+            }
+            double computed = ImpliedVolatilityFormulaRepository.blackImpliedVolatility(
+                price, FORWARD, strike, time, isCall);
+            double vega = BlackFormulaRepository.vega(FORWARD, strike, time, vol);
+            // limited by the accuracy of the price
+            double tol = Math.max(TOL * vol, 1e-14 * Math.max(FORWARD, strike) / vega);
+            assertEquals(computed, vol, tol, strike + " " + time + " " + vol + " " + isCall);
+          }
+        }
+      }
+    }
+  }
+
+  public void test_blackImpliedVolatility_deepOutOfTheMoney() {
+    double time = 0.5;
+    double vol = 0.15;
+    double strike = 0.09;
+    double price = 1e-60;
+    double computed = ImpliedVolatilityFormulaRepository.blackImpliedVolatility(price, FORWARD, strike, time, true);
+    assertEquals(BlackFormulaRepository.price(FORWARD, strike, time, computed, true) / price, 1d, 1e-8);
+    assertEquals(
+        ImpliedVolatilityFormulaRepository.blackImpliedVolatility(
+            BlackFormulaRepository.price(FORWARD, strike, time, vol, true), FORWARD, strike, time, true),
+        vol,
+        TOL);
+  }
+
+  public void test_blackImpliedVolatility_intrinsic() {
+    assertEquals(ImpliedVolatilityFormulaRepository.blackImpliedVolatility(0d, FORWARD, 0.05, 1d, true), 0d);
+    assertEquals(ImpliedVolatilityFormulaRepository.blackImpliedVolatility(FORWARD - 0.03, FORWARD, 0.03, 1d, true), 0d);
+    assertEquals(ImpliedVolatilityFormulaRepository.blackImpliedVolatility(0.05 - FORWARD, FORWARD, 0.05, 0d, false), 0d);
+  }
+
+  public void test_blackImpliedVolatility_outOfBounds() {
+    assertThrowsIllegalArg(() -> ImpliedVolatilityFormulaRepository.blackImpliedVolatility(0.005, FORWARD, 0.03, 1d, true));
+    assertThrowsIllegalArg(() -> ImpliedVolatilityFormulaRepository.blackImpliedVolatility(0.05, FORWARD, 0.05, 1d, true));
+    assertThrowsIllegalArg(() -> ImpliedVolatilityFormulaRepository.blackImpliedVolatility(0.001, FORWARD, 0.05, 0d, true));
+    assertThrowsIllegalArg(() -> ImpliedVolatilityFormulaRepository.blackImpliedVolatility(0.001, -FORWARD, 0.05, 1d, true));
+  }
+
+  public void test_blackImpliedVolatilities() {
+    DoubleArray strikes = DoubleArray.of(0.02, 0.04, 0.06);
+    DoubleArray times = DoubleArray.of(0.5, 1d, 2d);
+    DoubleArray forwards = DoubleArray.of(0.039, 0.04, 0.041);
+    DoubleArray vols = DoubleArray.of(0.3, 0.25, 0.2);
+    DoubleArray prices = DoubleArray.of(
+        3, i -> BlackFormulaRepository.price(forwards.get(i), strikes.get(i), times.get(i), vols.get(i), false));
+    DoubleArray computed =
+        ImpliedVolatilityFormulaRepository.blackImpliedVolatilities(prices, forwards, strikes, times, false);
+    assertEquals(computed.size(), 3);
+    for (int i = 0; i < 3; i++) {
+      assertEquals(computed.get(i), vols.get(i), TOL);
+    }
+    assertThrowsIllegalArg(() -> ImpliedVolatilityFormulaRepository.blackImpliedVolatilities(
+        prices, forwards, strikes.subArray(1), times, false));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_normalImpliedVolatility() {
+    for (double strike : STRIKES) {
+      for (double time : TIMES) {
+        for (double vol : NORMAL_VOLS) {
+          for (PutCall putCall : PutCall.values()) {
+            double price = NormalFormulaRepository.price(FORWARD, strike, time, vol, putCall);
+            double otmPrice = price - Math.max(0d, (putCall.isCall() ? 1d : -1d) * (FORWARD - strike));
+            if (otmPrice < 1e-250) {
+              continue;  // price insensitive to volatility
+            }
+            double computed = ImpliedVolatilityFormulaRepository.normalImpliedVolatility(
+                price, FORWARD, strike, time, putCall.isCall());
+            double vega = NormalFormulaRepository.vega(FORWARD, strike, time, vol, putCall);
+            double tol = Math.max(TOL * vol, 1e-14 * (Math.abs(FORWARD - strike) + price) / vega);
+            assertEquals(computed, vol, tol, strike + " " + time + " " + vol + " " + putCall);
+          }
+        }
+      }
+    }
+  }
+
+  public void test_normalImpliedVolatility_negativeRates() {
+    double forward = -0.002;
+    double strike = -0.005;
+    double vol = 0.006;
+    double price = NormalFormulaRepository.price(forward, strike, 2d, vol, PutCall.CALL);
+    assertEquals(ImpliedVolatilityFormulaRepository.normalImpliedVolatility(price, forward, strike, 2d, true), vol, TOL);
+    double atmPrice = NormalFormulaRepository.price(forward, forward, 2d, vol, PutCall.PUT);
+    assertEquals(
+        ImpliedVolatilityFormulaRepository.normalImpliedVolatility(atmPrice, forward, forward, 2d, false), vol, TOL);
+  }
+
+  public void test_normalImpliedVolatility_outOfBounds() {
+    assertEquals(ImpliedVolatilityFormulaRepository.normalImpliedVolatility(FORWARD - 0.03, FORWARD, 0.03, 1d, true), 0d);
+    assertThrowsIllegalArg(() -> ImpliedVolatilityFormulaRepository.normalImpliedVolatility(0.005, FORWARD, 0.03, 1d, true));
+    assertThrowsIllegalArg(() -> ImpliedVolatilityFormulaRepository.normalImpliedVolatility(0.001, FORWARD, 0.05, 0d, true));
+  }
+
+  public void test_normalImpliedVolatilities() {
+    DoubleArray strikes = DoubleArray.of(0.02, 0.04, 0.06);
+    DoubleArray times = DoubleArray.of(0.5, 1d, 2d);
+    DoubleArray forwards = DoubleArray.of(0.039, 0.04, 0.041);
+    DoubleArray vols = DoubleArray.of(0.01, 0.008, 0.006);
+    DoubleArray prices = DoubleArray.of(
+        3, i -> NormalFormulaRepository.price(forwards.get(i), strikes.get(i), times.get(i), vols.get(i), PutCall.CALL));
+    DoubleArray computed =
+        ImpliedVolatilityFormulaRepository.normalImpliedVolatilities(prices, forwards, strikes, times, true);
+    for (int i = 0; i < 3; i++) {
+      assertEquals(computed.get(i), vols.get(i), TOL);
+    }
+  }
+
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.tree;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.value.ValueDerivatives;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.pricer.fxopt.RecombiningTrinomialTreeData;
+import com.opengamma.strata.pricer.impl.volatility.local.ImpliedTrinomialTreeLocalVolatilityCalculator;
+import com.opengamma.strata.product.common.PutCall;
+import com.opengamma.strata.product.option.BarrierType;
+
+/**
+ * Test {@link TrinomialLattice}.
+ */
+@Test
+public class TrinomialLatticeTest {
+
+  private static final TrinomialTree TRINOMIAL_TREE = new TrinomialTree();
+  private static final double SPOT = 1.4;
+  private static final double TIME = 1.5;
+  private static final int N_STEPS = 41;
+  private static final RecombiningTrinomialTreeData DATA =
+      new ImpliedTrinomialTreeLocalVolatilityCalculator(N_STEPS, TIME).calibrateImpliedVolatility(
+          tk -> 0.1 + 0.1 * Math.pow(Math.log(tk.getSecond() / SPOT), 2), SPOT, t -> 0.01, t -> 0.005);
+  private static final TrinomialLattice LATTICE = TrinomialLattice.of(DATA);
+  private static final double[] STRIKES = {1.2, 1.35, 1.4, 1.45, 1.6};
+
+  //-------------------------------------------------------------------------
+  public void test_of() {
+    assertEquals(LATTICE.getNumberOfSteps(), N_STEPS);
+    assertEquals(LATTICE.getSpot(), SPOT);
+    for (int i = 0; i <= N_STEPS; ++i) {
+      assertEquals(LATTICE.getTime(i), DATA.getTime(i));
+      assertEquals(LATTICE.getStateValueAtLayer(i), DATA.getStateValueAtLayer(i));
+      if (i < N_STEPS) {
+        assertEquals(LATTICE.getDiscountFactor(i), DATA.getDiscountFactorAtLayer(i));
+        assertEquals(LATTICE.getProbabilityAtLayer(i), DATA.getProbabilityAtLayer(i));
+      }
+    }
+  }
+
+  public void test_optionPrices() {
+    List<OptionFunction> functions = new ArrayList<>();
+    for (double strike : STRIKES) {
+      for (PutCall putCall : PutCall.values()) {
+        functions.add(EuropeanVanillaOptionFunction.of(strike, TIME, putCall, N_STEPS));
+        double barrier = putCall.isCall() ? 1.25 : 1.55;
+        BarrierType barrierType = putCall.isCall() ? BarrierType.DOWN : BarrierType.UP;
+        functions.add(ConstantContinuousSingleBarrierKnockoutFunction.of(
+            strike, TIME, putCall, N_STEPS, barrierType, barrier, DoubleArray.filled(N_STEPS + 1, 0.01)));
+      }
+    }
+    DoubleArray prices = LATTICE.optionPrices(functions);
+    List<ValueDerivatives> pricesAdjoint = LATTICE.optionPricesAdjoint(functions);
+    for (int k = 0; k < functions.size(); ++k) {
+      OptionFunction function = functions.get(k);
+      assertEquals(prices.get(k), LATTICE.optionPrice(function));
+      assertEquals(pricesAdjoint.get(k), LATTICE.optionPriceAdjoint(function));
+      assertEquals(pricesAdjoint.get(k), TRINOMIAL_TREE.optionPriceAdjoint(function, DATA));
+      // the same as the generic implementation based on tree data
+      assertEquals(prices.get(k), priceWithTreeData(function), 1e-14);
+    }
+  }
+
+  public void test_defaultFunction() {
+    EuropeanVanillaOptionFunction vanilla = EuropeanVanillaOptionFunction.of(1.45, TIME, PutCall.CALL, N_STEPS);
+    OptionFunction function = new OptionFunction() {
+      @Override
+      public double getTimeToExpiry() {
+        return TIME;
+      }
+
+      @Override
+      public int getNumberOfSteps() {
+        return N_STEPS;
+      }
+
+      @Override
+      public DoubleArray getPayoffAtExpiryTrinomial(DoubleArray stateValue) {
+        return vanilla.getPayoffAtExpiryTrinomial(stateValue);
+      }
+    };
+    assertEquals(LATTICE.optionPrice(function), LATTICE.optionPrice(vanilla), 1e-14);
+  }
+
+  public void test_uniform() {
+    TrinomialLattice test = TrinomialLattice.of(SPOT, 0.95, 1.01, 0.3, 0.45, 0.25, 0.999, TIME, 4);
+    assertEquals(test.getNumberOfSteps(), 4);
+    assertEquals(test.getTime(4), TIME, 1e-15);
+    assertEquals(test.getStateValue(2, 0), SPOT * 0.95 * 0.95);
+    assertEquals(test.getStateValue(2, 4), SPOT * Math.pow(0.95, -2) * Math.pow(1.01, 4));
+    assertEquals(test.getUpProbability(3, 6), 0.3);
+    assertEquals(test.getMiddleProbability(3, 6), 0.45);
+    assertEquals(test.getDownProbability(3, 6), 0.25);
+    assertEquals(test.getDiscountFactor(3), 0.999);
+  }
+
+  public void test_lowerBoundIndex() {
+    TrinomialLattice test = TrinomialLattice.of(1d, 0.5, 1d, 0.3, 0.45, 0.25, 0.999, TIME, 4);
+    // layer 2 is 0.25, 0.5, 1, 2, 4
+    assertEquals(test.lowerBoundIndex(2, 0.1), -1);
+    assertEquals(test.lowerBoundIndex(2, 0.25), 0);
+    assertEquals(test.lowerBoundIndex(2, 0.3), 0);
+    assertEquals(test.lowerBoundIndex(2, 0.75), 1);
+    assertEquals(test.lowerBoundIndex(2, 2d), 3);
+    assertEquals(test.lowerBoundIndex(2, 5d), 4);
+  }
+
+  public void test_mismatch() {
+    assertThrowsIllegalArg(() -> LATTICE.optionPrice(EuropeanVanillaOptionFunction.of(1.4, TIME, PutCall.CALL, 10)));
+    assertThrowsIllegalArg(() -> LATTICE.optionPrices(ImmutableList.of()));
+  }
+
+  //-------------------------------------------------------------------------
+  // backward induction with the tree data and the DoubleArray based methods
+  private static double priceWithTreeData(OptionFunction function) {
+    DoubleArray values = function.getPayoffAtExpiryTrinomial(DATA.getStateValueAtLayer(N_STEPS));
+    for (int i = N_STEPS - 1; i > -1; --i) {
+      DoubleMatrix probability = DATA.getProbabilityAtLayer(i);
+      values = function.getNextOptionValues(
+          DATA.getDiscountFactorAtLayer(i), probability, DATA.getStateValueAtLayer(i), values, i);
+    }
+    return values.get(0);
+  }
+
+}
@@ -348,6 +348,43 @@ public class SabrHaganVolatilityFunctionProviderTest extends SabrVolatilityFunct
     assertThrowsIllegalArg(() -> FUNCTION.volatilityAdjoint(10 * F, STRIKE_ITM, T, dataIn));
   }
 
+  //-------------------------------------------------------------------------
+  public void test_volatilities() {
+    double[] strikes = {0d, 1e-15, 0.01, 0.03, STRIKE_ITM, F, F + 1e-9, STRIKE_OTM, 0.08, 0.2};
+    double[][] parameters = {
+        {ALPHA, BETA, RHO, NU}, {0d, BETA, RHO, NU}, {ALPHA, 0d, RHO, NU}, {ALPHA, 1d, 0.3, NU}, {ALPHA, BETA, -1d, 0.1}};
+    int nbStrikes = strikes.length;
+    for (double[] param : parameters) {
+      double[] volatilities = new double[nbStrikes];
+      FUNCTION.volatilities(F, strikes, T, param[0], param[1], param[2], param[3], volatilities);
+      double[] volatilitiesAdj = new double[nbStrikes + 1];
+      double[] derivatives = new double[6 * nbStrikes];
+      FUNCTION.volatilitiesAdjoint(F, strikes, T, param[0], param[1], param[2], param[3], volatilitiesAdj, derivatives);
+      for (int i = 0; i < nbStrikes; i++) {
+        double volExpected = FUNCTION.volatility(F, strikes[i], T, param[0], param[1], param[2], param[3]);
+        ValueDerivatives adjExpected =
+            FUNCTION.volatilityAdjoint(F, strikes[i], T, param[0], param[1], param[2], param[3]);
+        assertEquals(volatilities[i], volExpected);
+        assertEquals(volatilitiesAdj[i], adjExpected.getValue());
+        for (int j = 0; j < 6; j++) {
+          assertEquals(derivatives[j * nbStrikes + i], adjExpected.getDerivative(j));
+        }
+      }
+    }
+  }
+
+  public void test_volatilities_invalid() {
+    double[] strikes = {0.01, 0.03};
+    assertThrowsIllegalArg(() -> FUNCTION.volatilities(F, strikes, T, ALPHA, BETA, RHO, NU, new double[1]));
+    assertThrowsIllegalArg(() -> FUNCTION.volatilities(-F, strikes, T, ALPHA, BETA, RHO, NU, new double[2]));
+    assertThrowsIllegalArg(
+        () -> FUNCTION.volatilities(F, new double[] {-0.01}, T, ALPHA, BETA, RHO, NU, new double[2]));
+    assertThrowsIllegalArg(
+        () -> FUNCTION.volatilitiesAdjoint(F, strikes, T, ALPHA, BETA, RHO, NU, new double[2], new double[11]));
+    assertThrowsIllegalArg(
+        () -> FUNCTION.volatilitiesAdjoint(F, strikes, -T, ALPHA, BETA, RHO, NU, new double[2], new double[12]));
+  }
+
   public void coverage() {
     coverImmutableBean(FUNCTION);
   }
@@ -20,6 +20,7 @@ import com.opengamma.strata.math.impl.cern.MersenneTwister;
 import com.opengamma.strata.math.impl.cern.RandomEngine;
 import com.opengamma.strata.math.impl.minimization.NonLinearParameterTransforms;
 import com.opengamma.strata.math.impl.statistics.leastsquare.LeastSquareResultsWithTransform;
+import com.opengamma.strata.math.impl.statistics.leastsquare.LevenbergMarquardtLeastSquare;
 
 
 /**
@@ -178,4 +179,19 @@ public class SabrModelFitterTest extends SmileModelFitterTest<SabrFormulaData> {
     }
   }
 
+  public void testLevenbergMarquardtRegression() {
+    double[][] starts = getStartValues();
+    BitSet[] fixed = getFixedValues();
+    for (boolean acceleration : new boolean[] {false, true}) {
+      LevenbergMarquardtLeastSquare solver = new LevenbergMarquardtLeastSquare(1e-12, acceleration);
+      for (int i = 0; i < starts.length; i++) {
+        DoubleArray start = DoubleArray.copyOf(starts[i]);
+        LeastSquareResultsWithTransform expected = _nosiyFitter.solve(start, fixed[i]);
+        LeastSquareResultsWithTransform results = _nosiyFitter.solve(start, fixed[i], solver);
+        assertEquals(results.getChiSq(), expected.getChiSq(), 1e-8 * expected.getChiSq());
+        assertTrue(results.getModelParameters().equalWithTolerance(expected.getModelParameters(), 1e-6));
+      }
+    }
+  }
+
 }
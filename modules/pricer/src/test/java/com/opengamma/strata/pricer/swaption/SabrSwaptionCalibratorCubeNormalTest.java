@@ -13,12 +13,17 @@ import static com.opengamma.strata.pricer.swaption.SwaptionCubeData.MONEYNESS;
 import static com.opengamma.strata.pricer.swaption.SwaptionCubeData.TENORS;
 import static com.opengamma.strata.product.swap.type.FixedIborSwapConventions.EUR_FIXED_1Y_EURIBOR_6M;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 import org.testng.annotations.Test;
 
@@ -130,4 +135,98 @@ public class SabrSwaptionCalibratorCubeNormalTest {
     }
   }
 
+  @Test
+  public void normal_cube_concurrent() {
+    Surface betaSurface = betaSurface(0.50);
+    double shift = 0.0300;
+    Surface shiftSurface = shiftSurface(shift);
+    SabrParametersSwaptionVolatilities calibratedSequential = SABR_CALIBRATION.calibrateWithFixedBetaAndShift(
+        DEFINITION, CALIBRATION_TIME, DATA_SPARSE, MULTICURVE, betaSurface, shiftSurface);
+    List<SabrSwaptionSmileFit> fits = new ArrayList<>();
+    SabrParametersSwaptionVolatilities calibrated = SABR_CALIBRATION.calibrateWithFixedBetaAndShift(
+        DEFINITION, CALIBRATION_TIME, DATA_SPARSE, MULTICURVE, betaSurface, shiftSurface, true,
+        ForkJoinPool.commonPool(), fits::add);
+    checkCalibration(calibrated, shift);
+    int nbNodes = calibratedSequential.getParameters().getAlphaSurface().getParameterCount();
+    assertEquals(calibrated.getParameters().getAlphaSurface().getParameterCount(), nbNodes);
+    assertEquals(fits.size(), nbNodes);
+    // only the smiles of the tenors at odd positions are started from the previous tenor
+    assertEquals(fits.get(0).getTenor(), TENORS.get(0));
+    assertTrue(fits.stream().anyMatch(SabrSwaptionSmileFit::isWarmStarted));
+    for (SabrSwaptionSmileFit fit : fits) {
+      if (TENORS.indexOf(fit.getTenor()) % 2 == 0) {
+        assertFalse(fit.isWarmStarted());
+      }
+      assertTrue(fit.getIterations() > 0);
+      assertFalse(fit.getElapsed().isNegative());
+    }
+  }
+
+  @Test
+  public void normal_cube_recalibration() {
+    Surface betaSurface = betaSurface(0.50);
+    double shift = 0.0300;
+    Surface shiftSurface = shiftSurface(shift);
+    List<SabrSwaptionSmileFit> fitsCold = new ArrayList<>();
+    SabrParametersSwaptionVolatilities previous = SABR_CALIBRATION.calibrateWithFixedBetaAndShift(
+        DEFINITION, CALIBRATION_TIME, DATA_SPARSE, MULTICURVE, betaSurface, shiftSurface, true,
+        Runnable::run, fitsCold::add);
+    List<SabrSwaptionSmileFit> fits = new ArrayList<>();
+    SabrParametersSwaptionVolatilities calibrated = SABR_CALIBRATION.recalibrateWithFixedBetaAndShift(
+        previous, DEFINITION, CALIBRATION_TIME, DATA_SPARSE, MULTICURVE, betaSurface, shiftSurface, true,
+        ForkJoinPool.commonPool(), fits::add);
+    checkCalibration(calibrated, shift);
+    assertEquals(fits.size(), fitsCold.size());
+    // the fits started from the previous calibration reach the same minimum
+    for (int i = 0; i < fits.size(); i++) {
+      assertEquals(fits.get(i).getExpiry(), fitsCold.get(i).getExpiry());
+      assertEquals(fits.get(i).getTenor(), fitsCold.get(i).getTenor());
+      double chiSquareCold = fitsCold.get(i).getChiSquare();
+      assertEquals(fits.get(i).getChiSquare(), chiSquareCold, 1.0E-10 * Math.max(1d, chiSquareCold));
+      assertTrue(fits.get(i).getIterations() > 0);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  private static Surface betaSurface(double beta) {
+    return ConstantSurface.of("Beta", beta)
+        .withMetadata(DefaultSurfaceMetadata.builder()
+            .xValueType(ValueType.YEAR_FRACTION).yValueType(ValueType.YEAR_FRACTION)
+            .zValueType(ValueType.SABR_BETA).surfaceName("Beta").build());
+  }
+
+  private static Surface shiftSurface(double shift) {
+    return ConstantSurface.of("Shift", shift)
+        .withMetadata(DefaultSurfaceMetadata.builder()
+            .xValueType(ValueType.YEAR_FRACTION).yValueType(ValueType.YEAR_FRACTION).surfaceName("Shift").build());
+  }
+
+  private static void checkCalibration(SabrParametersSwaptionVolatilities calibrated, double shift) {
+    for (int looptenor = 0; looptenor < TENORS.size(); looptenor++) {
+      double tenor = TENORS.get(looptenor).get(ChronoUnit.YEARS);
+      for (int loopexpiry = 0; loopexpiry < EXPIRIES.size(); loopexpiry++) {
+        LocalDate expiry = EUR_FIXED_1Y_EURIBOR_6M.getFloatingLeg().getStartDateBusinessDayAdjustment()
+            .adjust(CALIBRATION_DATE.plus(EXPIRIES.get(loopexpiry)), REF_DATA);
+        LocalDate effectiveDate = EUR_FIXED_1Y_EURIBOR_6M.calculateSpotDateFromTradeDate(expiry, REF_DATA);
+        LocalDate endDate = effectiveDate.plus(TENORS.get(looptenor));
+        SwapTrade swap = EUR_FIXED_1Y_EURIBOR_6M
+            .toTrade(CALIBRATION_DATE, effectiveDate, endDate, BuySell.BUY, 1.0, 0.0);
+        double parRate = SWAP_PRICER.parRate(swap.resolve(REF_DATA).getProduct(), MULTICURVE);
+        ZonedDateTime expiryDateTime = expiry.atTime(11, 0).atZone(ZoneId.of("Europe/Berlin"));
+        double time = calibrated.relativeTime(expiryDateTime);
+        for (int loopmoney = 0; loopmoney < MONEYNESS.size(); loopmoney++) {
+          if (!Double.isNaN(DATA_ARRAY_SPARSE[looptenor][loopexpiry][loopmoney])) {
+            double strike = parRate + MONEYNESS.get(loopmoney);
+            double volBlack = calibrated.volatility(expiryDateTime, tenor, strike, parRate);
+            double priceComputed = BlackFormulaRepository.price(parRate + shift, parRate + MONEYNESS.get(loopmoney) + shift,
+                time, volBlack, true);
+            double priceNormal = NormalFormulaRepository.price(parRate, parRate + MONEYNESS.get(loopmoney),
+                time, DATA_ARRAY_SPARSE[looptenor][loopexpiry][loopmoney], PutCall.CALL);
+            assertEquals(priceComputed, priceNormal, TOLERANCE_PRICE_CALIBRATION_LS);
+          }
+        }
+      }
+    }
+  }
+
 }
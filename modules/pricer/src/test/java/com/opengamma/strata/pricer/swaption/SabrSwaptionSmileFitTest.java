@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2018 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swaption;
+
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.time.Duration;
+import java.time.Period;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.date.Tenor;
+
+/**
+ * Test {@link SabrSwaptionSmileFit}.
+ */
+@Test
+public class SabrSwaptionSmileFitTest {
+
+  private static final Duration ELAPSED = Duration.ofMillis(3);
+
+  public void test_of() {
+    SabrSwaptionSmileFit test = SabrSwaptionSmileFit.of(Period.ofMonths(6), Tenor.TENOR_5Y, 12, 0.5, true, ELAPSED);
+    assertEquals(test.getExpiry(), Period.ofMonths(6));
+    assertEquals(test.getTenor(), Tenor.TENOR_5Y);
+    assertEquals(test.getIterations(), 12);
+    assertEquals(test.getChiSquare(), 0.5);
+    assertTrue(test.isWarmStarted());
+    assertEquals(test.getElapsed(), ELAPSED);
+    assertTrue(test.toString().contains("iterations=12"));
+  }
+
+  public void test_of_invalid() {
+    assertThrowsIllegalArg(() -> SabrSwaptionSmileFit.of(Period.ofMonths(6), Tenor.TENOR_5Y, -1, 0.5, true, ELAPSED));
+    assertThrowsIllegalArg(() -> SabrSwaptionSmileFit.of(Period.ofMonths(6), Tenor.TENOR_5Y, 1, -0.5, true, ELAPSED));
+    assertThrowsIllegalArg(() -> SabrSwaptionSmileFit.of(null, Tenor.TENOR_5Y, 1, 0.5, true, ELAPSED));
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    SabrSwaptionSmileFit test = SabrSwaptionSmileFit.of(Period.ofMonths(6), Tenor.TENOR_5Y, 12, 0.5, true, ELAPSED);
+    coverImmutableBean(test);
+    SabrSwaptionSmileFit test2 = SabrSwaptionSmileFit.of(Period.ofYears(1), Tenor.TENOR_10Y, 3, 0.1, false, ELAPSED);
+    coverBeanEquals(test, test2);
+  }
+
+  public void test_serialization() {
+    assertSerialization(SabrSwaptionSmileFit.of(Period.ofMonths(6), Tenor.TENOR_5Y, 12, 0.5, true, ELAPSED));
+  }
+
+}
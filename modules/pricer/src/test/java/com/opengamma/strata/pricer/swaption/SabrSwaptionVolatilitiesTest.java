@@ -127,6 +127,20 @@ public class SabrSwaptionVolatilitiesTest {
     }
   }
 
+  public void test_volatilities() {
+    SabrParametersSwaptionVolatilities prov = SabrParametersSwaptionVolatilities.of(NAME, CONV, DATE_TIME, PARAM);
+    DoubleArray strikes = DoubleArray.ofUnsafe(TEST_STRIKE);
+    for (int i = 0; i < NB_TEST; i++) {
+      double expiryTime = prov.relativeTime(TEST_OPTION_EXPIRY[i]);
+      DoubleArray volComputed = prov.volatilities(expiryTime, TEST_TENOR[i], strikes, TEST_FORWARD);
+      assertEquals(volComputed.size(), NB_STRIKE);
+      for (int j = 0; j < NB_STRIKE; ++j) {
+        double volExpected = prov.volatility(expiryTime, TEST_TENOR[i], TEST_STRIKE[j], TEST_FORWARD);
+        assertEquals(volComputed.get(j), volExpected, TOLERANCE_VOL);
+      }
+    }
+  }
+
   public void test_parameterSensitivity() {
     double alphaSensi = 2.24, betaSensi = 3.45, rhoSensi = -2.12, nuSensi = -0.56;
     SabrParametersSwaptionVolatilities prov = SabrParametersSwaptionVolatilities.of(NAME, CONV, DATE_TIME, PARAM);
@@ -6,10 +6,15 @@
 package com.opengamma.strata.report.framework.expression;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.joda.beans.Bean;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.MetaProperty;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
@@ -41,6 +46,17 @@ import com.opengamma.strata.market.amount.LegAmounts;
  */
 public class BeanTokenEvaluator extends TokenEvaluator<Bean> {
 
+  /**
+   * The properties of each immutable bean type, keyed by lower-case token.
+   */
+  private static final ClassValue<ConcurrentMap<String, Optional<MetaProperty<?>>>> PROPERTIES_BY_TYPE =
+      new ClassValue<ConcurrentMap<String, Optional<MetaProperty<?>>>>() {
+        @Override
+        protected ConcurrentMap<String, Optional<MetaProperty<?>>> computeValue(Class<?> type) {
+          return new ConcurrentHashMap<>();
+        }
+      };
+
   @Override
   public Class<Bean> getTargetType() {
     return Bean.class;
@@ -69,12 +85,10 @@ public class BeanTokenEvaluator extends TokenEvaluator<Bean> {
       String firstToken,
       List<String> remainingTokens) {
 
-    Optional<String> propertyName = bean.propertyNames().stream()
-        .filter(p -> p.equalsIgnoreCase(firstToken))
-        .findFirst();
+    Optional<MetaProperty<?>> metaProperty = findMetaProperty(bean, firstToken);
 
-    if (propertyName.isPresent()) {
-      Object propertyValue = bean.property(propertyName.get()).get();
+    if (metaProperty.isPresent()) {
+      Object propertyValue = metaProperty.get().get(bean);
 
       return propertyValue != null ?
           EvaluationResult.success(propertyValue, remainingTokens) :
@@ -95,4 +109,23 @@ public class BeanTokenEvaluator extends TokenEvaluator<Bean> {
     return invalidTokenFailure(bean, firstToken);
   }
 
+  //-------------------------------------------------------------------------
+  // finds the property matching the token, ignoring case
+  // the properties of an immutable bean are fixed by its type, thus the match is cached by type
+  private static Optional<MetaProperty<?>> findMetaProperty(Bean bean, String token) {
+    if (bean instanceof ImmutableBean) {
+      return PROPERTIES_BY_TYPE.get(bean.getClass())
+          .computeIfAbsent(token.toLowerCase(Locale.ENGLISH), lowerToken -> matchMetaProperty(bean, lowerToken));
+    }
+    return matchMetaProperty(bean, token);
+  }
+
+  // matches the property against the token, ignoring case
+  private static Optional<MetaProperty<?>> matchMetaProperty(Bean bean, String token) {
+    return bean.propertyNames().stream()
+        .filter(p -> p.equalsIgnoreCase(token))
+        .findFirst()
+        .map(name -> bean.metaBean().metaProperty(name));
+  }
+
 }
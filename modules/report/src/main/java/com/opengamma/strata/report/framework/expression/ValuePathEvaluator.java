@@ -52,6 +52,20 @@ public final class ValuePathEvaluator {
       new SecurityTokenEvaluator(),
       new BeanTokenEvaluator(),
       new IterableTokenEvaluator());
+  /**
+   * The evaluator to use for each target type, resolved once per type.
+   */
+  private static final ClassValue<Optional<TokenEvaluator<Object>>> EVALUATOR_BY_TYPE =
+      new ClassValue<Optional<TokenEvaluator<Object>>>() {
+        @Override
+        protected Optional<TokenEvaluator<Object>> computeValue(Class<?> type) {
+          return findEvaluator(type);
+        }
+      };
+  /**
+   * The number of rows above which the rows are evaluated in parallel.
+   */
+  private static final int PARALLEL_THRESHOLD = 1_000;
 
   //-------------------------------------------------------------------------
   /**
@@ -77,6 +91,10 @@ public final class ValuePathEvaluator {
 
   /**
    * Evaluates a value path against a set of results, returning the resolved result for each trade.
+   * <p>
+   * The path is tokenized once and the evaluator for each type encountered is resolved once.
+   * If there are a large number of rows, ranges of rows are evaluated in parallel.
+   * The order of the returned list matches the order of the rows.
    *
    * @param valuePath  the value path
    * @param results  the calculation results
@@ -92,7 +110,11 @@ public final class ValuePathEvaluator {
     }
     CalculationFunctions functions = results.getCalculationFunctions();
     int rowCount = results.getCalculationResults().getRowCount();
-    return IntStream.range(0, rowCount)
+    IntStream rowIndices = IntStream.range(0, rowCount);
+    if (rowCount >= PARALLEL_THRESHOLD) {
+      rowIndices = rowIndices.parallel();
+    }
+    return rowIndices
         .mapToObj(rowIndex -> evaluate(functions, tokens, RootEvaluator.INSTANCE, new ResultsRow(results, rowIndex)))
         .collect(toImmutableList());
   }
@@ -143,8 +165,14 @@ public final class ValuePathEvaluator {
     return ImmutableList.copyOf(tokens);
   }
 
-  @SuppressWarnings("unchecked")
+  // gets the evaluator for the type, using the cached value
   private static Optional<TokenEvaluator<Object>> getEvaluator(Class<?> targetClass) {
+    return EVALUATOR_BY_TYPE.get(targetClass);
+  }
+
+  // finds the first evaluator that supports the type
+  @SuppressWarnings("unchecked")
+  private static Optional<TokenEvaluator<Object>> findEvaluator(Class<?> targetClass) {
     return EVALUATORS.stream()
         .filter(e -> e.getTargetType().isAssignableFrom(targetClass))
         .map(e -> (TokenEvaluator<Object>) e)
@@ -10,9 +10,16 @@ import static com.opengamma.strata.collect.Guavate.toImmutableList;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.IntStream;
 
 import com.google.common.collect.ImmutableList;
@@ -29,6 +36,15 @@ import com.opengamma.strata.report.Report;
  */
 public abstract class ReportFormatter<R extends Report> {
 
+  /**
+   * The number of rows formatted as a single batch when writing CSV.
+   */
+  private static final int CSV_BATCH_SIZE = 1_000;
+  /**
+   * The maximum number of formatted batches held in memory when writing CSV.
+   */
+  private static final int MAX_PENDING_BATCHES = Math.max(2, Runtime.getRuntime().availableProcessors() * 2);
+
   /**
    * The default format settings, used if there are no settings for a data type.
    */
@@ -50,19 +66,86 @@ public abstract class ReportFormatter<R extends Report> {
   //-------------------------------------------------------------------------
   /**
    * Outputs the report table in CSV format.
+   * <p>
+   * See {@link #writeCsv(Report, Writer)}.
    * 
    * @param report  the report
    * @param out  the output stream to write to
    */
   @SuppressWarnings("resource")
   public void writeCsv(R report, OutputStream out) {
-    OutputStreamWriter outputWriter = new OutputStreamWriter(out, StandardCharsets.UTF_8);
-    CsvOutput csvOut = CsvOutput.safe(outputWriter);
-    csvOut.writeLine(report.getColumnHeaders());
-    IntStream.range(0, report.getRowCount())
-        .mapToObj(rowIdx -> formatRow(report, rowIdx, ReportOutputFormat.CSV))
-        .forEach(csvOut::writeLine);
-    Unchecked.wrap(outputWriter::flush);
+    writeCsv(report, new OutputStreamWriter(out, StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Outputs the report table in CSV format.
+   * <p>
+   * The rows are formatted and written in batches, thus the formatted text of the whole report
+   * is never held in memory. Large reports are formatted in parallel using the common fork-join pool.
+   * The writer is flushed but not closed.
+   * 
+   * @param report  the report
+   * @param writer  the writer to write to
+   */
+  public void writeCsv(R report, Writer writer) {
+    Executor executor = report.getRowCount() > CSV_BATCH_SIZE ? ForkJoinPool.commonPool() : Runnable::run;
+    writeCsv(report, writer, executor);
+  }
+
+  /**
+   * Outputs the report table in CSV format, formatting batches of rows using the specified executor.
+   * <p>
+   * Batches of rows are formatted on the executor and written to the writer in order on the calling thread.
+   * A bounded number of formatted batches are held in memory at any one time.
+   * The writer is flushed but not closed.
+   * 
+   * @param report  the report
+   * @param writer  the writer to write to
+   * @param executor  the executor used to format batches of rows
+   */
+  public void writeCsv(R report, Writer writer, Executor executor) {
+    CsvOutput.safe(writer).writeLine(report.getColumnHeaders());
+    Deque<CompletableFuture<String>> pending = new ArrayDeque<>();
+    int rowCount = report.getRowCount();
+    for (int batchStart = 0; batchStart < rowCount; batchStart += CSV_BATCH_SIZE) {
+      int startRow = batchStart;
+      int endRow = Math.min(batchStart + CSV_BATCH_SIZE, rowCount);
+      pending.add(CompletableFuture.supplyAsync(() -> formatCsvRows(report, startRow, endRow), executor));
+      while (pending.size() >= MAX_PENDING_BATCHES) {
+        write(writer, join(pending.removeFirst()));
+      }
+    }
+    while (!pending.isEmpty()) {
+      write(writer, join(pending.removeFirst()));
+    }
+    Unchecked.wrap(writer::flush);
+  }
+
+  // formats a batch of rows as CSV text
+  private String formatCsvRows(R report, int startRow, int endRow) {
+    StringBuilder buf = new StringBuilder(1024);
+    CsvOutput csvOut = CsvOutput.safe(buf);
+    for (int rowIdx = startRow; rowIdx < endRow; rowIdx++) {
+      csvOut.writeLine(formatRow(report, rowIdx, ReportOutputFormat.CSV));
+    }
+    return buf.toString();
+  }
+
+  // writes the text
+  private static void write(Writer writer, String text) {
+    Unchecked.wrap(() -> writer.write(text));
+  }
+
+  // waits for the batch to be formatted, unwrapping the exception
+  private static String join(CompletableFuture<String> future) {
+    try {
+      return future.join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) ex.getCause();
+      }
+      throw ex;
+    }
   }
 
   /**
@@ -6,6 +6,7 @@
 package com.opengamma.strata.report.framework.expression;
 
 import static com.opengamma.strata.basics.index.IborIndices.GBP_LIBOR_3M;
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
 import static com.opengamma.strata.collect.TestHelper.date;
 import static com.opengamma.strata.product.common.BuySell.BUY;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -13,6 +14,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import org.testng.annotations.Test;
 
@@ -122,6 +124,29 @@ public class ValuePathEvaluatorTest {
     assertThat(counterpartyResults).isEqualTo(expectedCounterparties);
   }
 
+  public void productPath_manyRows() {
+    int rowCount = 5_000;
+    Measure measure = Measure.of("PresentValue");
+    Column column = Column.of(measure);
+    List<Trade> trades = IntStream.range(0, rowCount)
+        .mapToObj(i -> trade("cpty" + i, 1_000 + i))
+        .collect(toImmutableList());
+    List<Result<?>> resultValues = IntStream.range(0, rowCount)
+        .mapToObj(i -> Result.success(CurrencyAmount.of(Currency.GBP, i)))
+        .collect(toImmutableList());
+    Results results = Results.of(ImmutableList.of(column.toHeader()), resultValues);
+    ReportCalculationResults reportResults =
+        ReportCalculationResults.of(LocalDate.now(ZoneOffset.UTC), trades, ImmutableList.of(column), results);
+
+    List<Result<?>> notionalResults = ValuePathEvaluator.evaluate("Trade.product.NOTIONAL", reportResults);
+    assertThat(notionalResults).hasSize(rowCount);
+    for (int i = 0; i < rowCount; i++) {
+      assertThat(notionalResults.get(i)).isEqualTo(Result.success(1_000d + i));
+    }
+    List<Result<?>> amountResults = ValuePathEvaluator.evaluate("Measures.PresentValue", reportResults);
+    assertThat(amountResults).isEqualTo(resultValues);
+  }
+
   //--------------------------------------------------------------------------------------------------
 
   private static ReportCalculationResults reportResults() {
@@ -5,15 +5,19 @@
  */
 package com.opengamma.strata.report.trade;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.io.StringWriter;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import org.testng.annotations.Test;
 
+import com.google.common.base.Splitter;
 import com.google.common.collect.ArrayTable;
 import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.collect.result.FailureReason;
@@ -62,6 +66,30 @@ public class TradeReportFormatterTest {
     assertThat(columnTypes).isEqualTo(ImmutableList.of(Object.class, Object.class));
   }
 
+  public void writeCsv() {
+    int rowCount = 2_500;
+    ImmutableList<Integer> rows = IntStream.range(0, rowCount).boxed().collect(toImmutableList());
+    ArrayTable<Integer, Integer, Result<?>> table = ArrayTable.create(rows, INDICES);
+    for (int i = 0; i < rowCount; i++) {
+      table.put(i, 0, Result.success(i + 0.125d));
+      table.put(i, 1, i % 10 == 0 ? Result.failure(FailureReason.ERROR, "fail") : Result.success("row" + i));
+    }
+    TradeReport report = report(table);
+
+    StringWriter parallel = new StringWriter();
+    TradeReportFormatter.INSTANCE.writeCsv(report, parallel);
+    StringWriter sequential = new StringWriter();
+    TradeReportFormatter.INSTANCE.writeCsv(report, sequential, Runnable::run);
+    assertThat(parallel.toString()).isEqualTo(sequential.toString());
+
+    List<String> lines = Splitter.on(System.lineSeparator()).omitEmptyStrings().splitToList(parallel.toString());
+    assertThat(lines).hasSize(rowCount + 1);
+    assertThat(lines.get(0)).isEqualTo("col0,col1");
+    assertThat(lines.get(1)).isEqualTo("0.125,FAIL: fail");
+    assertThat(lines.get(2)).isEqualTo("1.125,row1");
+    assertThat(lines.get(rowCount)).isEqualTo("2499.125,row2499");
+  }
+
   private TradeReport report(ArrayTable<Integer, Integer, Result<?>> table) {
     return TradeReport.builder()
         .columns(